@@ -28,6 +28,8 @@ public class PromptStatsBuilder {
     private boolean executedSuccessfully;
     private String reasonExecutionFailed;
     private double secondsTakenToRespondPrompt;
+    private double secondsToFirstToken;
+    private double tokensPerSecond;
 
     public PromptStatsBuilder executedSuccessfully(final boolean executedSuccessfully) {
         this.executedSuccessfully = executedSuccessfully;
@@ -39,6 +41,16 @@ public class PromptStatsBuilder {
         return this;
     }
 
+    public PromptStatsBuilder secondsToFirstToken(final double secondsToFirstToken) {
+        this.secondsToFirstToken = secondsToFirstToken;
+        return this;
+    }
+
+    public PromptStatsBuilder tokensPerSecond(final double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+        return this;
+    }
+
     public PromptStatsBuilder reasonExecutionFailed(final String reasonExecutionFailed) {
         this.reasonExecutionFailed = reasonExecutionFailed;
         return this;
@@ -50,6 +62,8 @@ public class PromptStatsBuilder {
         LOGGER.warn("setSecondsTakenToRespondPrompt({})", secondsTakenToRespondPrompt);
         stats.setExecutedSuccessfully(executedSuccessfully);
         stats.setSecondsTakenToRespondPrompt(secondsTakenToRespondPrompt);
+        stats.setSecondsToFirstToken(secondsToFirstToken);
+        stats.setTokensPerSecond(tokensPerSecond);
         if (!executedSuccessfully) {
             stats.setReasonExecutionFailed(reasonExecutionFailed);
             LOGGER.warn("setReasonExecutionFailed({})", reasonExecutionFailed);
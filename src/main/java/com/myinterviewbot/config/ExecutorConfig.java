@@ -0,0 +1,137 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class that creates the thread pools used to run work outside the request threads.
+ *
+ * @author Alan Quintero
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${prompt.stream.max-threads:8}")
+    private int promptStreamMaxThreads;
+
+    @Value("${ai.max-concurrent-prompts:2}")
+    private int maxConcurrentPrompts;
+
+    @Value("${question.pool.refill-threads:1}")
+    private int questionPoolRefillThreads;
+
+    @Value("${transcript.ffmpeg.max-concurrent-jobs:1}")
+    private int ffmpegMaxConcurrentJobs;
+
+    @Value("${transcript.whisper.max-concurrent-jobs:1}")
+    private int whisperMaxConcurrentJobs;
+
+    @Value("${video.transcode.max-workers:1}")
+    private int transcodeMaxWorkers;
+
+    /**
+     * Thread pool that runs the prompts whose output is streamed to the browser (Server-Sent Events).
+     *
+     * @return the executor for streamed prompts
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService promptStreamExecutor() {
+        return Executors.newFixedThreadPool(promptStreamMaxThreads, namedThreadFactory("prompt-stream"));
+    }
+
+    /**
+     * Thread pool that runs independent prompts in parallel (e.g. feedback and evaluation of the same answer).
+     * Its size is the number of prompts the AI model is allowed to run at the same time.
+     *
+     * @return the executor for parallel prompts
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService promptExecutor() {
+        return Executors.newFixedThreadPool(maxConcurrentPrompts, namedThreadFactory("prompt"));
+    }
+
+    /**
+     * Thread pool that generates the questions of the question pool. It never has more threads than
+     * the number of prompts the AI model is allowed to run at the same time.
+     *
+     * @return the executor for the question pool refills
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService questionPoolExecutor() {
+        final int threads = Math.max(1, Math.min(questionPoolRefillThreads, maxConcurrentPrompts));
+        return Executors.newFixedThreadPool(threads, namedThreadFactory("question-pool"));
+    }
+
+    /**
+     * Single thread that checks from time to time if the question pool needs to be refilled.
+     *
+     * @return the scheduler for the question pool
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService questionPoolScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(namedThreadFactory("question-pool-scheduler"));
+    }
+
+    /**
+     * Thread pool that runs the audio extraction (ffmpeg) of the transcript jobs.
+     *
+     * @return the executor for the audio extraction stage
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService ffmpegExecutor() {
+        return Executors.newFixedThreadPool(Math.max(1, ffmpegMaxConcurrentJobs), namedThreadFactory("ffmpeg"));
+    }
+
+    /**
+     * Thread pool that runs the transcription (whisper) of the transcript jobs. Whisper uses all the CPU cores
+     * it can get, so by default only one transcription runs at a time.
+     *
+     * @return the executor for the transcription stage
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService whisperExecutor() {
+        return Executors.newFixedThreadPool(Math.max(1, whisperMaxConcurrentJobs), namedThreadFactory("whisper"));
+    }
+
+    /**
+     * Thread pool that transcodes the recordings in the background. Its threads have the lowest priority, and
+     * ffmpeg runs with the lowest CPU priority too.
+     *
+     * @return the executor for the transcoding
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService transcodeExecutor() {
+        final ThreadFactory threadFactory = namedThreadFactory("transcode");
+        return Executors.newFixedThreadPool(Math.max(1, transcodeMaxWorkers), runnable -> {
+            final Thread thread = threadFactory.newThread(runnable);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a thread factory that gives the threads a readable name, which makes the logs easier to follow.
+     *
+     * @param prefix the thread name prefix
+     * @return the thread factory
+     */
+    static ThreadFactory namedThreadFactory(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -7,6 +7,9 @@ package com.myinterviewbot.config;
 import com.myinterviewbot.service.InterviewDataService;
 import com.myinterviewbot.service.QuestionService;
 import com.myinterviewbot.service.SettingsService;
+import com.myinterviewbot.service.storage.InterviewRepository;
+import com.myinterviewbot.service.storage.QuestionRepository;
+import com.myinterviewbot.service.storage.SettingsRepository;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +41,16 @@ public class InitDataService {
     @Value("${whisper.provider}")
     private String whisperProvider;
 
-    public InitDataService() {
+    private final InterviewRepository interviewRepository;
+    private final QuestionRepository questionRepository;
+    private final SettingsRepository settingsRepository;
+
+    public InitDataService(final InterviewRepository interviewRepository,
+                           final QuestionRepository questionRepository,
+                           final SettingsRepository settingsRepository) {
+        this.interviewRepository = interviewRepository;
+        this.questionRepository = questionRepository;
+        this.settingsRepository = settingsRepository;
         settingsService = SettingsService.getInstance();
         questionService = QuestionService.getInstance();
         interviewDataService = InterviewDataService.getInstance();
@@ -47,8 +59,8 @@ public class InitDataService {
     @PostConstruct
     public void init() throws IOException {
         LOGGER.info("Initializing data...");
-        settingsService.initData(aiProvider, aiModel, whisperProvider);
-        questionService.initData();
-        interviewDataService.initData();
+        settingsService.initData(settingsRepository, aiProvider, aiModel, whisperProvider);
+        questionService.initData(questionRepository);
+        interviewDataService.initData(interviewRepository);
     }
 }
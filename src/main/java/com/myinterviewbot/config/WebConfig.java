@@ -18,8 +18,10 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * </p>
  *
  * <p>
- * This is useful for serving uploaded media files (such as recorded interview videos)
- * directly from the file system without needing a dedicated controller.
+ * This is useful for serving uploaded files directly from the file system without needing a
+ * dedicated controller. The recorded interviews are the exception: they are streamed with
+ * range and caching support by {@link com.myinterviewbot.controller.VideoController}, whose
+ * mapping takes precedence over this handler.
  * </p>
  *
  * @author Alan Quintero
@@ -4,13 +4,19 @@
  */
 package com.myinterviewbot.config.provider;
 
+import com.myinterviewbot.service.ai.CachedAIService;
+import com.myinterviewbot.service.ai.QueuedAIService;
 import com.myinterviewbot.service.ai.model.AIService;
+import com.myinterviewbot.service.ai.model.OllamaHttpService;
 import com.myinterviewbot.service.ai.model.OllamaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.File;
 
 /**
  * Configuration class responsible for initializing and providing the appropriate AI service
@@ -26,18 +32,83 @@ public class AIConfig {
     @Value("${ai.provider}")
     private String aiProvider;
 
+    @Value("${ai.ollama.base-url:http://localhost:11434}")
+    private String ollamaBaseUrl;
+
+    @Value("${ai.ollama.api:generate}")
+    private String ollamaApi;
+
+    @Value("${ai.ollama.timeout-seconds:90}")
+    private long ollamaTimeoutSeconds;
+
+    @Value("${ai.max-concurrent-prompts:2}")
+    private int maxConcurrentPrompts;
+
+    @Value("${ai.queue.capacity:16}")
+    private int queueCapacity;
+
+    @Value("${ai.queue.max-wait-seconds:120}")
+    private long queueMaxWaitSeconds;
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${ai.cache.max-entries:200}")
+    private int cacheMaxEntries;
+
+    @Value("${ai.cache.ttl-minutes:1440}")
+    private long cacheTtlMinutes;
+
+    @Value("${ai.cache.disk-enabled:false}")
+    private boolean cacheDiskEnabled;
+
+    @Value("${ai.cache.disk-max-entries:1000}")
+    private int cacheDiskMaxEntries;
+
     /**
-     * Creates and returns the appropriate AI service implementation based on the
-     * {@code ai.provider} property.
+     * Creates and returns the AI service used by the application: the prompt cache (when enabled)
+     * in front of the prompt queue, so cached responses never wait for the AI model.
      *
-     * @return an instance of the corresponding AI service
+     * @param queuedAiService the queued AI service
+     * @return the AI service
      */
     @Bean
-    public AIService aiService() {
+    @Primary
+    public AIService aiService(final QueuedAIService queuedAiService) {
+        if (!cacheEnabled) {
+            LOGGER.info("Prompt cache disabled");
+            return queuedAiService;
+        }
+        LOGGER.info("Prompt cache: {} entries, {} minutes, disk: {}", cacheMaxEntries, cacheTtlMinutes, cacheDiskEnabled);
+        return new CachedAIService(queuedAiService, cacheMaxEntries, cacheTtlMinutes,
+                cacheDiskEnabled ? new File(CachedAIService.CACHE_DIR) : null, cacheDiskMaxEntries);
+    }
+
+    /**
+     * Creates and returns the AI service selected by the {@code ai.provider} property behind a prompt queue
+     * that limits how many prompts run at the same time.
+     *
+     * @return the queued AI service
+     */
+    @Bean
+    public QueuedAIService queuedAiService() {
+        LOGGER.info("Prompt queue: {} prompts at the same time, {} waiting at most", maxConcurrentPrompts, queueCapacity);
+        return new QueuedAIService(createAiService(), maxConcurrentPrompts, queueCapacity, queueMaxWaitSeconds);
+    }
+
+    /**
+     * Creates the appropriate AI service implementation based on the {@code ai.provider} property.
+     *
+     * @return an instance of the corresponding AI service
+     */
+    private AIService createAiService() {
         switch (aiProvider.toLowerCase()) {
             case "ollama":
                 LOGGER.info("Using ollama AI");
                 return new OllamaService();
+            case "ollama-http":
+                LOGGER.info("Using ollama AI through the HTTP API at {}", ollamaBaseUrl);
+                return new OllamaHttpService(ollamaBaseUrl, ollamaApi, ollamaTimeoutSeconds);
             default:
                 LOGGER.warn("AI Provider not supported yet! Using ollama AI");
                 return new OllamaService();
@@ -0,0 +1,178 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.config.provider;
+
+import com.myinterviewbot.service.storage.EmbeddedDatabase;
+import com.myinterviewbot.service.storage.InterviewRepository;
+import com.myinterviewbot.service.storage.JsonInterviewRepository;
+import com.myinterviewbot.service.storage.JsonMigration;
+import com.myinterviewbot.service.storage.JsonQuestionRepository;
+import com.myinterviewbot.service.storage.JsonSettingsRepository;
+import com.myinterviewbot.service.storage.PersistenceWriter;
+import com.myinterviewbot.service.storage.SnapshotFormat;
+import com.myinterviewbot.service.storage.QuestionRepository;
+import com.myinterviewbot.service.storage.SettingsRepository;
+import com.myinterviewbot.service.storage.SqlInterviewRepository;
+import com.myinterviewbot.service.storage.SqlQuestionRepository;
+import com.myinterviewbot.service.storage.SqlSettingsRepository;
+import com.myinterviewbot.utils.Utils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Configuration class responsible for providing the repositories of the interviews, questions and settings
+ * based on the {@code storage.backend} property.
+ *
+ * <p>With the {@code h2} backend, the JSON files written by previous versions are copied into the database the
+ * first time it is opened. With the {@code json} backend, the files are written in the background by a
+ * {@link PersistenceWriter}, which collects the changes of {@code storage.write.delay-ms} into one write.</p>
+ *
+ * @author Alan Quintero
+ */
+@Configuration
+public class StorageConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageConfig.class);
+
+    private static final File QUESTIONS_FILE = new File("uploads/questions/questions.json");
+    private static final File SETTINGS_FILE = new File("uploads/settings/settings.json");
+
+    @Value("${storage.backend:h2}")
+    private String storageBackend;
+
+    @Value("${storage.h2.file:uploads/db/myinterviewbot}")
+    private String h2File;
+
+    @Value("${storage.write.delay-ms:200}")
+    private long writeDelayMs;
+
+    @Value("${storage.write.fsync:true}")
+    private boolean writeFsync;
+
+    @Value("${storage.snapshot.format:json}")
+    private String snapshotFormat;
+
+    @Value("${storage.snapshot.compress:false}")
+    private boolean snapshotCompress;
+
+    private EmbeddedDatabase database;
+
+    private PersistenceWriter writer;
+
+    private JsonInterviewRepository jsonInterviewRepository;
+
+    // Closed by closeStorage, after the writer has written the last changes
+    @Bean(destroyMethod = "")
+    public InterviewRepository interviewRepository() throws IOException {
+        if (useDatabase()) {
+            final SqlInterviewRepository repository = new SqlInterviewRepository(getDatabase());
+            repository.reindex();
+            return repository;
+        }
+        final JsonInterviewRepository repository = new JsonInterviewRepository(new File(Utils.INTERVIEWS_DIR), getWriter(), getSnapshotFormat());
+        repository.open();
+        jsonInterviewRepository = repository;
+        return repository;
+    }
+
+    @Bean
+    public QuestionRepository questionRepository() throws IOException {
+        if (useDatabase()) {
+            return new SqlQuestionRepository(getDatabase());
+        }
+        final JsonQuestionRepository repository = new JsonQuestionRepository(QUESTIONS_FILE, getWriter());
+        repository.open();
+        return repository;
+    }
+
+    @Bean
+    public SettingsRepository settingsRepository() throws IOException {
+        if (useDatabase()) {
+            return new SqlSettingsRepository(getDatabase());
+        }
+        return new JsonSettingsRepository(SETTINGS_FILE, getWriter());
+    }
+
+    @PreDestroy
+    public synchronized void closeStorage() {
+        if (writer != null) {
+            // Writes the last changes
+            writer.close();
+            writer = null;
+        }
+        if (jsonInterviewRepository != null) {
+            try {
+                jsonInterviewRepository.close();
+            } catch (IOException e) {
+                LOGGER.error("Failed to close the interview texts: {}", e.getMessage());
+            }
+            jsonInterviewRepository = null;
+        }
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+    }
+
+    private boolean useDatabase() {
+        switch (storageBackend.toLowerCase(Locale.ROOT)) {
+            case "h2":
+                return true;
+            case "json":
+                return false;
+            default:
+                LOGGER.warn("Storage backend {} not supported! Using h2", storageBackend);
+                return true;
+        }
+    }
+
+    private SnapshotFormat getSnapshotFormat() {
+        try {
+            return SnapshotFormat.of(snapshotFormat, snapshotCompress);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Snapshot format {} not supported! Using json", snapshotFormat);
+            return SnapshotFormat.of("json", snapshotCompress);
+        }
+    }
+
+    private synchronized PersistenceWriter getWriter() {
+        if (writer == null) {
+            writer = new PersistenceWriter(writeDelayMs, writeFsync);
+        }
+        return writer;
+    }
+
+    /**
+     * Opens the database the first time it is needed, and copies the JSON files into it if it was never done.
+     */
+    private synchronized EmbeddedDatabase getDatabase() throws IOException {
+        if (database == null) {
+            final File databaseFile = new File(h2File).getAbsoluteFile();
+            final File databaseDir = databaseFile.getParentFile();
+            if (!databaseDir.exists() && !databaseDir.mkdirs()) {
+                throw new IOException("Failed to create " + databaseDir + " directory");
+            }
+            LOGGER.info("Using the H2 database {}", databaseFile);
+            final EmbeddedDatabase openedDatabase = new EmbeddedDatabase("jdbc:h2:file:" + databaseFile.getPath());
+            openedDatabase.open();
+            try {
+                new JsonMigration(openedDatabase).migrate(new File(Utils.INTERVIEWS_DIR), QUESTIONS_FILE, SETTINGS_FILE);
+            } catch (IOException e) {
+                openedDatabase.close();
+                throw e;
+            }
+            database = openedDatabase;
+        }
+        return database;
+    }
+}
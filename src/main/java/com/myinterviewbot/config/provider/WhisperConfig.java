@@ -6,6 +6,7 @@ package com.myinterviewbot.config.provider;
 
 import com.myinterviewbot.service.whisper.OpenAiWhisper;
 import com.myinterviewbot.service.whisper.Whisper;
+import com.myinterviewbot.service.whisper.WhisperWorker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +26,18 @@ public class WhisperConfig {
     @Value("${whisper.provider}")
     private String whisperProvider;
 
+    @Value("${whisper.python:python3}")
+    private String whisperPython;
+
+    @Value("${whisper.worker.start-timeout-seconds:120}")
+    private long workerStartTimeoutSeconds;
+
+    @Value("${whisper.worker.timeout-seconds:600}")
+    private long workerTimeoutSeconds;
+
+    @Value("${whisper.worker.health-check-seconds:30}")
+    private long workerHealthCheckSeconds;
+
     /**
      * Creates and returns the appropriate Whisper service implementation based on the
      * {@code whisper.provider} property.
@@ -36,10 +49,13 @@ public class WhisperConfig {
         switch (whisperProvider.toLowerCase()) {
             case "openai-whisper":
                 LOGGER.info("Using openai-whisper");
-                return new OpenAiWhisper();
+                return new OpenAiWhisper(whisperPython);
+            case "whisper-worker":
+                LOGGER.info("Using a resident Whisper worker, health check every {} seconds", workerHealthCheckSeconds);
+                return new WhisperWorker(whisperPython, workerStartTimeoutSeconds, workerTimeoutSeconds, workerHealthCheckSeconds);
             default:
                 LOGGER.warn("Whisper Provider not supported yet! Using openai-whisper");
-                return new OpenAiWhisper();
+                return new OpenAiWhisper(whisperPython);
         }
     }
 }
@@ -6,17 +6,30 @@ package com.myinterviewbot.controller;
 
 import com.myinterviewbot.model.SystemRequirements;
 import com.myinterviewbot.model.Transcript;
-import com.myinterviewbot.service.FfmpegService;
-import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.model.TranscriptJob;
+import com.myinterviewbot.model.TranscriptMetrics;
+import com.myinterviewbot.model.UploadStatus;
+import com.myinterviewbot.service.transcript.LiveTranscriptService;
+import com.myinterviewbot.service.transcript.TranscriptJobService;
+import com.myinterviewbot.service.upload.UploadService;
 import com.myinterviewbot.system.SystemChecker;
 import com.myinterviewbot.utils.Utils;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
 
 /**
  * REST controller for handling general requests.
@@ -33,14 +46,22 @@ public class ApiController {
 
     private final SystemChecker systemChecker;
 
-    private final WhisperService whisperService;
+    private final UploadService uploadService;
 
-    private final FfmpegService ffmpegService;
+    private final TranscriptJobService transcriptJobService;
 
-    public ApiController(final SystemChecker systemChecker, final WhisperService whisperService, final FfmpegService ffmpegService) {
+    private final LiveTranscriptService liveTranscriptService;
+
+    private final long jobEventsTimeoutMs;
+
+    public ApiController(final SystemChecker systemChecker, final UploadService uploadService, final TranscriptJobService transcriptJobService,
+                         final LiveTranscriptService liveTranscriptService,
+                         @Value("${transcript.jobs.events-timeout-minutes:15}") final long jobEventsTimeoutMinutes) {
         this.systemChecker = systemChecker;
-        this.whisperService = whisperService;
-        this.ffmpegService = ffmpegService;
+        this.uploadService = uploadService;
+        this.transcriptJobService = transcriptJobService;
+        this.liveTranscriptService = liveTranscriptService;
+        this.jobEventsTimeoutMs = jobEventsTimeoutMinutes * 60 * 1000;
     }
 
     @GetMapping("/requirements")
@@ -68,22 +89,223 @@ public class ApiController {
         LOGGER.info("/transcript file: {}", file);
         // Save file locally
         final File videoFile = Utils.saveVideo(file);
+        return transcribe(videoFile);
+    }
+
+    /**
+     * Receives a candidate's video answer and starts a transcript job, without waiting for the transcript.
+     * The client follows the job with {@link #getTranscriptJob(String)} or {@link #streamTranscriptJob(String)}.
+     *
+     * @param file the uploaded video file from the candidate
+     * @return the new job (202), 500 if the video could not be saved, or 429 if too many jobs are running
+     */
+    @PostMapping(value = "/transcript/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TranscriptJob> startTranscriptJob(@RequestParam("file") final MultipartFile file) {
+        LOGGER.info("/transcript/jobs file: {}", file);
+        final File videoFile = Utils.saveVideo(file);
         if (videoFile == null) {
-            return new Transcript();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(transcriptJobService.submit(videoFile));
+    }
 
-        // Extract audio
-        final File audioFile = ffmpegService.extractAudio(videoFile);
-        if (audioFile == null) {
-            return new Transcript();
+    /**
+     * Returns the average CPU time and bytes written per transcript, for each audio mode (PCM pipe or audio file).
+     *
+     * @return the transcript metrics
+     */
+    @GetMapping("/transcript/metrics")
+    public TranscriptMetrics getTranscriptMetrics() {
+        return transcriptJobService.getMetrics();
+    }
+
+    /**
+     * Returns the current stage of a transcript job and, when it is completed, the transcript.
+     *
+     * @param jobId the job id
+     * @return the job, or 404 if the job does not exist
+     */
+    @GetMapping("/transcript/jobs/{jobId}")
+    public ResponseEntity<TranscriptJob> getTranscriptJob(@PathVariable("jobId") final String jobId) {
+        final TranscriptJob job = transcriptJobService.getJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Streams the stage changes of a transcript job (Server-Sent Events). Every change is a "stage" event
+     * with the job, the stream ends after the job is completed or failed.
+     *
+     * @param jobId the job id
+     * @return the event stream, or 404 if the job does not exist
+     */
+    @GetMapping(value = "/transcript/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTranscriptJob(@PathVariable("jobId") final String jobId) {
+        final SseEmitter emitter = new SseEmitter(jobEventsTimeoutMs);
+        final Consumer<TranscriptJob> listener = job -> sendJobEvent(emitter, job);
+        final TranscriptJob job = transcriptJobService.addListener(jobId, listener);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
         }
+        emitter.onCompletion(() -> transcriptJobService.removeListener(jobId, listener));
+        emitter.onTimeout(() -> transcriptJobService.removeListener(jobId, listener));
+        sendJobEvent(emitter, job);
+        return ResponseEntity.ok(emitter);
+    }
 
-        // Transcribe audio
-        final String transcript = whisperService.transcribe(audioFile);
-        if (transcript == null) {
+    /**
+     * Starts a chunked upload of a video answer. Long answers are sent in chunks, so an interrupted
+     * upload can continue from the last received chunk instead of starting again.
+     *
+     * @return the upload status, with the id of the upload
+     * @throws IOException if the upload could not be started
+     */
+    @PostMapping("/upload")
+    public UploadStatus startUpload() throws IOException {
+        final UploadStatus uploadStatus = uploadService.startUpload();
+        LOGGER.info("/upload started: {}", uploadStatus);
+        return uploadStatus;
+    }
+
+    /**
+     * Returns how many bytes of the upload were received, so the browser knows where to continue.
+     *
+     * @param uploadId the upload id
+     * @return the upload status, or 404 if the upload does not exist
+     */
+    @GetMapping("/upload/{uploadId}")
+    public ResponseEntity<UploadStatus> getUploadStatus(@PathVariable("uploadId") final String uploadId) {
+        final UploadStatus uploadStatus = uploadService.getStatus(uploadId);
+        return uploadStatus != null ? ResponseEntity.ok(uploadStatus) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Receives a chunk of the video. The request body is the chunk, written to disk as it arrives.
+     *
+     * @param uploadId the upload id
+     * @param offset   the position of the chunk in the video
+     * @param request  the HTTP request, its body is the chunk
+     * @return the upload status, 404 if the upload does not exist, or 409 if the offset is not the number of received bytes
+     * @throws IOException if the chunk could not be saved
+     */
+    @PutMapping(value = "/upload/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadStatus> uploadChunk(@PathVariable("uploadId") final String uploadId,
+                                                    @RequestParam("offset") final long offset,
+                                                    final HttpServletRequest request) throws IOException {
+        try (InputStream inputStream = request.getInputStream()) {
+            final UploadStatus uploadStatus = uploadService.appendChunk(uploadId, offset, inputStream);
+            return uploadStatus != null ? ResponseEntity.ok(uploadStatus) : ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Completes a chunked upload and returns the transcript of the video, like {@link #getTranscript(MultipartFile)}.
+     *
+     * @param uploadId the upload id
+     * @param filename the name of the video file
+     * @return the transcript, or 404 if the upload does not exist
+     * @throws IOException if the video could not be saved
+     */
+    @PostMapping("/upload/{uploadId}/transcript")
+    public ResponseEntity<Transcript> completeUpload(@PathVariable("uploadId") final String uploadId,
+                                                     @RequestParam(value = "filename", defaultValue = "answer.webm") final String filename) throws IOException {
+        LOGGER.info("/upload/{}/transcript file: {}", uploadId, filename);
+        final File videoFile = uploadService.completeUpload(uploadId, filename);
+        if (videoFile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(transcribe(videoFile));
+    }
+
+    /**
+     * Completes a chunked upload and starts a transcript job, like {@link #startTranscriptJob(MultipartFile)}.
+     *
+     * @param uploadId the upload id
+     * @param filename the name of the video file
+     * @return the new job (202), 404 if the upload does not exist, or 429 if too many jobs are running
+     * @throws IOException if the video could not be saved
+     */
+    @PostMapping("/upload/{uploadId}/transcript/jobs")
+    public ResponseEntity<TranscriptJob> completeUploadAsJob(@PathVariable("uploadId") final String uploadId,
+                                                             @RequestParam(value = "filename", defaultValue = "answer.webm") final String filename) throws IOException {
+        LOGGER.info("/upload/{}/transcript/jobs file: {}", uploadId, filename);
+        final File videoFile = uploadService.completeUpload(uploadId, filename);
+        if (videoFile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(transcriptJobService.submit(videoFile));
+    }
+
+    /**
+     * Starts the upload of an answer that is transcribed while it is being recorded.
+     * The browser sends every recorded segment with {@link #uploadLiveSegment(String, long, HttpServletRequest)}.
+     *
+     * @return the upload status, with the id of the upload
+     * @throws IOException if the upload could not be started
+     */
+    @PostMapping("/transcript/live")
+    public UploadStatus startLiveTranscript() throws IOException {
+        final UploadStatus uploadStatus = liveTranscriptService.start();
+        LOGGER.info("/transcript/live started: {}", uploadStatus);
+        return uploadStatus;
+    }
+
+    /**
+     * Receives a recorded segment of the answer, the new audio is transcribed in the background.
+     *
+     * @param uploadId the upload id
+     * @param offset   the position of the segment in the video
+     * @param request  the HTTP request, its body is the segment
+     * @return the upload status, 404 if the live transcript does not exist, or 409 if the offset is not the number of received bytes
+     * @throws IOException if the segment could not be saved
+     */
+    @PutMapping(value = "/transcript/live/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadStatus> uploadLiveSegment(@PathVariable("uploadId") final String uploadId,
+                                                          @RequestParam("offset") final long offset,
+                                                          final HttpServletRequest request) throws IOException {
+        try (InputStream inputStream = request.getInputStream()) {
+            final UploadStatus uploadStatus = liveTranscriptService.appendSegment(uploadId, offset, inputStream);
+            return uploadStatus != null ? ResponseEntity.ok(uploadStatus) : ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Completes the recording and returns its transcript, most of it already transcribed while recording.
+     *
+     * @param uploadId the upload id
+     * @param filename the name of the video file
+     * @return the transcript, or 404 if the live transcript does not exist
+     * @throws IOException if the video could not be saved
+     */
+    @PostMapping("/transcript/live/{uploadId}/transcript")
+    public ResponseEntity<Transcript> completeLiveTranscript(@PathVariable("uploadId") final String uploadId,
+                                                             @RequestParam(value = "filename", defaultValue = "answer.webm") final String filename) throws IOException {
+        LOGGER.info("/transcript/live/{}/transcript file: {}", uploadId, filename);
+        final Transcript transcript = liveTranscriptService.complete(uploadId, filename);
+        return transcript != null ? ResponseEntity.ok(transcript) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Extracts the audio of the saved video and transcribes it, waiting for the transcript job.
+     */
+    private Transcript transcribe(final File videoFile) {
+        if (videoFile == null) {
             return new Transcript();
         }
+        final Transcript transcript = transcriptJobService.transcribe(videoFile);
+        return transcript != null ? transcript : new Transcript();
+    }
 
-        return new Transcript(transcript, videoFile.getName());
+    private static void sendJobEvent(final SseEmitter emitter, final TranscriptJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("stage").data(job, MediaType.APPLICATION_JSON));
+            if (job.getStage().isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            // The client went away, the listener is removed
+            throw new UncheckedIOException(e);
+        } catch (IllegalStateException e) {
+            // The stream was already completed by the last stage event
+        }
     }
 }
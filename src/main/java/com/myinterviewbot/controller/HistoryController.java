@@ -4,13 +4,25 @@
  */
 package com.myinterviewbot.controller;
 
+import com.myinterviewbot.model.HistorySummary;
+import com.myinterviewbot.model.HistoryTrends;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+import com.myinterviewbot.model.InterviewSummary;
 import com.myinterviewbot.model.MyInterviews;
 import com.myinterviewbot.service.InterviewDataService;
+import com.myinterviewbot.service.storage.InvalidHistoryQueryException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
 
 /**
  * REST controller for handling history requests.
@@ -23,6 +35,10 @@ public class HistoryController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HistoryController.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TREND_WINDOW = 100;
+    private static final int MAX_TREND_POINTS = 200;
+
     private final InterviewDataService interviewDataService;
 
     public HistoryController() {
@@ -38,6 +54,100 @@ public class HistoryController {
         return interviewDataService.getMyInterviews();
     }
 
+    /**
+     * Get the score statistics of the history: in total, by question category and difficulty, by day and by week.
+     * They are kept up to date as interviews are added and removed, so nothing is computed here.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<HistorySummary> getSummary(final WebRequest webRequest) {
+        LOGGER.info("Get History Summary");
+        if (webRequest.checkNotModified(getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(interviewDataService.getHistorySummary());
+    }
+
+    /**
+     * Get the score trends of the history, in total and by question category: the moving average of the last
+     * {@code window} evaluated interviews and of the window before it, an exponentially weighted average with weight
+     * {@code alpha} for the last score, the 10th, 50th and 90th percentiles of the last window, and the last
+     * {@code points} scores with their averages. They are cached until the history changes.
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<HistoryTrends> getTrends(@RequestParam(value = "window", defaultValue = "5") final int window,
+                                                   @RequestParam(value = "alpha", defaultValue = "0.3") final double alpha,
+                                                   @RequestParam(value = "points", defaultValue = "20") final int points,
+                                                   final WebRequest webRequest) {
+        LOGGER.info("Get History Trends, window: {}, alpha: {}, points: {}", window, alpha, points);
+        if (window < 1 || window > MAX_TREND_WINDOW) {
+            throw new InvalidHistoryQueryException("The window must be between 1 and " + MAX_TREND_WINDOW);
+        }
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new InvalidHistoryQueryException("The alpha must be greater than 0 and at most 1");
+        }
+        if (points < 0 || points > MAX_TREND_POINTS) {
+            throw new InvalidHistoryQueryException("The points must be between 0 and " + MAX_TREND_POINTS);
+        }
+        if (webRequest.checkNotModified(getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(interviewDataService.getTrends(window, alpha, points));
+    }
+
+    /**
+     * Get a page of the interviews that match the filters.
+     *
+     * <p>The {@code list} view returns {@link InterviewSummary} entries, without the answer and the feedback texts,
+     * the {@code detail} view returns the whole {@link InterviewEntry}. The next page is requested with the
+     * {@code nextCursor} of the response and the same filters and sort. The response has an ETag that changes when
+     * the history changes, a request with a matching {@code If-None-Match} header gets {@code 304 Not Modified}.</p>
+     */
+    @GetMapping("/interviews")
+    public ResponseEntity<InterviewPage<?>> getInterviews(@RequestParam(value = "cursor", required = false) final String cursor,
+                                                          @RequestParam(value = "limit", defaultValue = "20") final int limit,
+                                                          @RequestParam(value = "sort", defaultValue = "newest") final String sort,
+                                                          @RequestParam(value = "view", defaultValue = "list") final String view,
+                                                          @RequestParam(value = "profession", required = false) final String profession,
+                                                          @RequestParam(value = "category", required = false) final String category,
+                                                          @RequestParam(value = "difficulty", required = false) final String difficulty,
+                                                          @RequestParam(value = "from", required = false) final Long from,
+                                                          @RequestParam(value = "to", required = false) final Long to,
+                                                          @RequestParam(value = "minScore", required = false) final Double minScore,
+                                                          @RequestParam(value = "maxScore", required = false) final Double maxScore,
+                                                          final WebRequest webRequest) {
+        LOGGER.info("Get Interviews, cursor: {}, limit: {}, sort: {}, view: {}", cursor, limit, sort, view);
+        final InterviewSort interviewSort = parseSort(sort);
+        final boolean detailView = parseDetailView(view);
+        if (webRequest.checkNotModified(getETag())) {
+            return null;
+        }
+
+        final InterviewFilter filter = new InterviewFilter(blankToNull(profession), blankToNull(category), blankToNull(difficulty), from, to);
+        filter.setMinScore(minScore);
+        filter.setMaxScore(maxScore);
+        final InterviewPage<InterviewEntry> page = interviewDataService.findInterviewPage(filter, interviewSort, cursor,
+                Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        final InterviewPage<?> body = detailView ? page
+                : new InterviewPage<>(page.getEntries().stream().map(InterviewSummary::new).toList(), page.getNextCursor());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    /**
+     * Get an interview with all its details
+     */
+    @GetMapping("/interviews/{id}")
+    public ResponseEntity<InterviewEntry> getInterview(@PathVariable("id") final long id, final WebRequest webRequest) {
+        LOGGER.info("Get Interview {}", id);
+        if (webRequest.checkNotModified(getETag())) {
+            return null;
+        }
+        final InterviewEntry entry = interviewDataService.getInterview(id);
+        if (entry == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(entry);
+    }
+
     /**
      * Delete a specific interview by ID
      */
@@ -51,4 +161,31 @@ public class HistoryController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Interview not found");
         }
     }
+
+    /**
+     * The responses only change when the history changes, so the version of the history is their ETag.
+     */
+    private String getETag() {
+        return "\"history-" + interviewDataService.getVersion() + "\"";
+    }
+
+    private static InterviewSort parseSort(final String sort) {
+        try {
+            return InterviewSort.valueOf(sort.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidHistoryQueryException("Unknown sort " + sort);
+        }
+    }
+
+    private static boolean parseDetailView(final String view) {
+        return switch (view.trim().toLowerCase(Locale.ROOT)) {
+            case "list" -> false;
+            case "detail" -> true;
+            default -> throw new InvalidHistoryQueryException("Unknown view " + view);
+        };
+    }
+
+    private static String blankToNull(final String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 }
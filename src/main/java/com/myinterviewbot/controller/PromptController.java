@@ -4,16 +4,31 @@
  */
 package com.myinterviewbot.controller;
 
+import com.myinterviewbot.factory.PromptResponseFactory;
 import com.myinterviewbot.model.*;
 import com.myinterviewbot.model.behavior.BehaviorCategory;
 import com.myinterviewbot.model.difficulty.QuestionDifficultyLevel;
 import com.myinterviewbot.service.InterviewDataService;
 import com.myinterviewbot.service.PromptService;
+import com.myinterviewbot.service.QuestionPoolService;
+import com.myinterviewbot.service.ai.PromptQueueFullException;
+import com.myinterviewbot.service.ai.QueuedAIService;
+import com.myinterviewbot.service.video.VideoTranscodeService;
 import com.myinterviewbot.utils.Utils;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * REST controller for handling prompt-related requests.
@@ -30,12 +45,59 @@ public class PromptController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PromptController.class);
 
+    /**
+     * Max time a streamed prompt can keep the connection open.
+     */
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
     private final PromptService promptService;
     private final InterviewDataService interviewDataService;
+    private final ExecutorService promptStreamExecutor;
+    private final QueuedAIService queuedAIService;
+    private final QuestionPoolService questionPoolService;
+    private final VideoTranscodeService videoTranscodeService;
 
-    public PromptController(final PromptService promptService) {
+    public PromptController(final PromptService promptService, @Qualifier("promptStreamExecutor") final ExecutorService promptStreamExecutor,
+                            final QueuedAIService queuedAIService, final QuestionPoolService questionPoolService,
+                            final VideoTranscodeService videoTranscodeService) {
         this.promptService = promptService;
+        this.questionPoolService = questionPoolService;
+        this.videoTranscodeService = videoTranscodeService;
         this.interviewDataService = InterviewDataService.getInstance();
+        this.promptStreamExecutor = promptStreamExecutor;
+        this.queuedAIService = queuedAIService;
+    }
+
+    /**
+     * Returns the prompt queue metrics: queue depth, prompts running, wait time and rejected prompts.
+     *
+     * @return the prompt queue metrics
+     */
+    @GetMapping("/metrics")
+    public PromptQueueMetrics getMetrics() {
+        return queuedAIService.getMetrics();
+    }
+
+    /**
+     * Returns the evaluation metrics: how often the AI model output could not be used as an evaluation,
+     * and how often it had to be repaired.
+     *
+     * @return the evaluation metrics
+     */
+    @GetMapping("/metrics/evaluation")
+    public EvaluationMetrics getEvaluationMetrics() {
+        return promptService.getEvaluationMetrics();
+    }
+
+    /**
+     * Returns the generation metrics: how often the questions and feedbacks were too long and had to be cut,
+     * and how often the AI model still had to be asked again.
+     *
+     * @return the generation metrics
+     */
+    @GetMapping("/metrics/generation")
+    public GenerationMetrics getGenerationMetrics() {
+        return promptService.getGenerationMetrics();
     }
 
     /**
@@ -49,7 +111,38 @@ public class PromptController {
     @PostMapping("/generateQuestion")
     public PromptResponse generateQuestion(@RequestBody final PromptRequest promptRequest, final HttpSession session) {
         LOGGER.info("/question input: {}", promptRequest);
-        final PromptResponse promptResponse = promptService.generateQuestion(promptRequest, session);
+        return generateQuestion(promptRequest, session, null);
+    }
+
+    /**
+     * Generates an interview question for a specific profession, streaming the text as the model generates it.
+     *
+     * <p>The stream sends {@code token} events with the generated text chunks and a final {@code done} event
+     * with the same {@link PromptResponse} returned by {@link #generateQuestion(PromptRequest, HttpSession)}.</p>
+     *
+     * @param promptRequest the input needed to generate a question
+     * @return the Server-Sent Events stream
+     */
+    @PostMapping(value = "/generateQuestion/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuestion(@RequestBody final PromptRequest promptRequest, final HttpSession session) {
+        LOGGER.info("/question/stream input: {}", promptRequest);
+        return stream(tokenConsumer -> generateQuestion(promptRequest, session, tokenConsumer));
+    }
+
+    /**
+     * Takes the question from the question pool, or generates it when the pool is empty.
+     */
+    private PromptResponse generateQuestion(final PromptRequest promptRequest, final HttpSession session, final Consumer<String> tokenConsumer) {
+        final String pooledQuestion = questionPoolService.takeQuestion(promptRequest);
+        if (pooledQuestion != null) {
+            promptService.markQuestionAsked(promptRequest.getProfession(), session);
+            if (tokenConsumer != null) {
+                tokenConsumer.accept(pooledQuestion);
+            }
+            return PromptResponseFactory.createSuccessResponse(new QuestionResponse(pooledQuestion), 0);
+        }
+
+        final PromptResponse promptResponse = promptService.generateQuestion(promptRequest, session, tokenConsumer);
         promptResponse.setPromptResponse(new QuestionResponse(promptResponse.getPromptResponse().toString()));
         return promptResponse;
     }
@@ -66,6 +159,21 @@ public class PromptController {
         return promptService.generateFeedback(promptRequest);
     }
 
+    /**
+     * Receives a transcript, asks AI for feedback, and streams the feedback as the model generates it.
+     *
+     * <p>The stream sends {@code token} events with the generated text chunks and a final {@code done} event
+     * with the same {@link PromptResponse} returned by {@link #getFeedback(PromptRequest)}.</p>
+     *
+     * @param promptRequest the input needed to generate the feedback
+     * @return the Server-Sent Events stream
+     */
+    @PostMapping(value = "/feedback/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFeedback(@RequestBody final PromptRequest promptRequest) {
+        LOGGER.info("/feedback/stream input: {}", promptRequest);
+        return stream(tokenConsumer -> promptService.generateFeedback(promptRequest, tokenConsumer));
+    }
+
     /**
      * Receives a transcript, asks AI for an evaluation, and returns evaluation.
      *
@@ -80,9 +188,60 @@ public class PromptController {
 
         // Generating AI evaluation
         final PromptResponse promptResponse = promptService.generateEvaluation(promptRequest);
-        final Evaluation evaluation = (Evaluation) promptResponse.getPromptResponse();
 
         // Saves the interview entry
+        saveInterview(promptRequest, promptResponse);
+
+        return promptResponse;
+    }
+
+    /**
+     * Receives a transcript, asks AI for feedback and evaluation at the same time, and returns both.
+     *
+     * <p>The process includes storing the interview entry once both are ready.</p>
+     *
+     * @param promptRequest the input needed to generate the feedback and the evaluation
+     * @return AI-generated feedback and evaluation on the candidate's answer
+     */
+    @PostMapping(value = "/review")
+    public ReviewResponse getReview(@RequestBody final PromptRequest promptRequest) {
+        LOGGER.info("/review input: {}", promptRequest);
+        return review(promptRequest, null);
+    }
+
+    /**
+     * Receives a transcript, asks AI for feedback and evaluation at the same time, and streams the feedback
+     * as the model generates it.
+     *
+     * <p>The stream sends {@code token} events with the feedback text chunks and a final {@code done} event
+     * with the same {@link ReviewResponse} returned by {@link #getReview(PromptRequest)}.</p>
+     *
+     * @param promptRequest the input needed to generate the feedback and the evaluation
+     * @return the Server-Sent Events stream
+     */
+    @PostMapping(value = "/review/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReview(@RequestBody final PromptRequest promptRequest) {
+        LOGGER.info("/review/stream input: {}", promptRequest);
+        return stream(tokenConsumer -> review(promptRequest, tokenConsumer));
+    }
+
+    private ReviewResponse review(final PromptRequest promptRequest, final Consumer<String> tokenConsumer) {
+        final ReviewResponse reviewResponse = promptService.generateReview(promptRequest, tokenConsumer);
+        final Object feedback = reviewResponse.getFeedback().getPromptResponse();
+        promptRequest.setFeedback(feedback != null ? feedback.toString() : null);
+        saveInterview(promptRequest, reviewResponse.getEvaluation());
+        return reviewResponse;
+    }
+
+    /**
+     * Saves the interview entry of the given request.
+     *
+     * @param promptRequest      the request with the question, answer and feedback
+     * @param evaluationResponse the AI-generated evaluation
+     */
+    private void saveInterview(final PromptRequest promptRequest, final PromptResponse evaluationResponse) {
+        final Evaluation evaluation = evaluationResponse.getPromptResponse() instanceof Evaluation ? (Evaluation) evaluationResponse.getPromptResponse() : null;
+
         final long timestamp = Utils.getTimestamp(promptRequest.getTranscript().getFileName());
         final String videoUrl = Utils.getVideoUrl(promptRequest.getTranscript().getFileName());
         // Save the display name for the question options
@@ -94,7 +253,46 @@ public class PromptController {
         }
 
         interviewDataService.addInterview(timestamp, new InterviewEntry(timestamp, InterviewType.BEHAVIORAL, promptRequest.getProfession(), promptRequest.getQuestion(), promptRequest.getTranscript().getTranscript(), promptRequest.getFeedback(), videoUrl, evaluation));
+        // The answer is already transcribed, so the recording can be made smaller
+        videoTranscodeService.submit(timestamp);
+    }
 
-        return promptResponse;
+    /**
+     * Runs the given prompt in the stream thread pool and sends its output through Server-Sent Events.
+     * If the prompt queue is full, the stream only sends a {@code rejected} event with the reason.
+     *
+     * @param prompt the prompt to run, it receives the consumer for the generated text chunks
+     * @return the Server-Sent Events stream
+     */
+    private SseEmitter stream(final Function<Consumer<String>, Object> prompt) {
+        final SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        promptStreamExecutor.execute(() -> {
+            try {
+                final Object response = prompt.apply(token -> {
+                    try {
+                        // Tokens are sent as JSON, so new lines in the text don't break the event format
+                        emitter.send(SseEmitter.event().name("token").data(Map.of("token", token), MediaType.APPLICATION_JSON));
+                    } catch (IOException e) {
+                        // The client went away, stop generating
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (PromptQueueFullException e) {
+                // The stream is already open, so the rejection is sent as an event instead of an HTTP 429
+                LOGGER.warn("Prompt stream rejected: {}", e.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("rejected").data(Map.of("message", e.getMessage()), MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (IOException ex) {
+                    emitter.completeWithError(ex);
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Prompt stream ended with error: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
     }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.controller;
+
+import com.myinterviewbot.service.video.ByteRange;
+import com.myinterviewbot.service.video.RangeNotSatisfiableException;
+import com.myinterviewbot.service.video.VideoStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller that streams the recorded interviews, at the same URLs the resource handler of {@link com.myinterviewbot.config.WebConfig}
+ * used, so the saved video URLs keep working.
+ *
+ * <p>A {@code Range} request gets {@code 206 Partial Content} with only the requested bytes, so seeking in a long
+ * recording does not download it again. The bytes are sent with sendfile when the server supports it, or with
+ * {@link java.nio.channels.FileChannel#transferTo} otherwise. The recordings never change, so the browser can
+ * keep them for a long time and revalidate them with a strong ETag.</p>
+ *
+ * @author Alan Quintero
+ */
+@Controller
+public class VideoController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoController.class);
+
+    // Request attributes of Tomcat to send a file with sendfile after the request
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final VideoStreamService videoStreamService;
+
+    private final CacheControl cacheControl;
+
+    public VideoController(final VideoStreamService videoStreamService,
+                           @Value("${video.cache-max-age-days:365}") final long cacheMaxAgeDays) {
+        this.videoStreamService = videoStreamService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAgeDays, TimeUnit.DAYS).cachePrivate().immutable();
+    }
+
+    /**
+     * Streams a recording, or the range of it in the {@code Range} header.
+     *
+     * @param record   the record directory
+     * @param filename the recording in the record directory
+     * @param request  the HTTP request
+     * @param response the HTTP response, 404 if the recording does not exist, 301 to the transcoded file if the
+     *                 recording was replaced by it, 304 if the browser has it, 206 for a range, or 416 if the range is
+     *                 after the end of the recording
+     * @throws IOException if the response could not be written
+     */
+    @GetMapping("/uploads/interviews/{record:[\\w-]+}/{filename:[\\w.-]+\\.(?:webm|weba|mp4|m4a|mp3|ogg|wav)}")
+    public void streamRecording(@PathVariable("record") final String record,
+                                @PathVariable("filename") final String filename,
+                                final HttpServletRequest request,
+                                final HttpServletResponse response) throws IOException {
+        final File recording = videoStreamService.findRecording(record, filename);
+        if (recording == null) {
+            // The browser may have the URL of a recording removed after it was transcoded
+            final File transcoded = videoStreamService.findTranscodedRecording(record, filename);
+            if (transcoded == null) {
+                response.sendError(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            response.setStatus(HttpStatus.MOVED_PERMANENTLY.value());
+            response.setHeader(HttpHeaders.LOCATION, "/uploads/interviews/" + record + "/" + transcoded.getName());
+            return;
+        }
+
+        final long length = recording.length();
+        final String eTag = videoStreamService.getETag(recording);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, recording.lastModified())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        ByteRange range;
+        try {
+            range = isRangeValid(request, eTag, recording.lastModified())
+                    ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length) : null;
+        } catch (RangeNotSatisfiableException e) {
+            LOGGER.info("{}", e.getMessage());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + e.getLength());
+            response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        if (range != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.toContentRange(length));
+        } else {
+            range = new ByteRange(0, length - 1);
+        }
+        response.setContentLengthLong(range.getLength());
+        if ("HEAD".equals(request.getMethod()) || range.getLength() == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat sends the bytes from the file to the socket after this method returns
+            request.setAttribute(SENDFILE_FILENAME, recording.getAbsolutePath());
+            request.setAttribute(SENDFILE_START, range.getStart());
+            request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+            return;
+        }
+        try {
+            videoStreamService.transfer(recording, range, Channels.newChannel(response.getOutputStream()));
+        } catch (IOException e) {
+            // Usually the browser closed the request because the user moved to another position
+            LOGGER.debug("Streaming of {} stopped: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns if the {@code Range} header can be used: the {@code If-Range} header, if any, must match the
+     * recording, otherwise the browser has an older version and gets the whole recording.
+     */
+    private static boolean isRangeValid(final HttpServletRequest request, final String eTag, final long lastModified) {
+        final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -30,6 +30,17 @@ public class PromptResponseFactory {
         return new PromptResponse(stats, response);
     }
 
+    public static PromptResponse createSuccessResponse(final Object response, final long durationMs, final long firstTokenMs, final double tokensPerSecond) {
+        final PromptStats stats = new PromptStatsBuilder()
+                .executedSuccessfully(true)
+                .secondsTakenToRespondPrompt(durationMs / 1000.0)
+                .secondsToFirstToken(firstTokenMs / 1000.0)
+                .tokensPerSecond(tokensPerSecond)
+                .build();
+
+        return new PromptResponse(stats, response);
+    }
+
     public static PromptResponse createFailedResponse(final Object response, final String reasonExecutionFailed, final long durationMs) {
         final PromptStats stats = new PromptStatsBuilder()
                 .executedSuccessfully(false)
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class with the trend of every evaluation dimension over a group of interviews.
+ *
+ * @author Alan Quintero
+ */
+public class DimensionTrends {
+
+    private ScoreTrend clarity;
+
+    private ScoreTrend structure;
+
+    private ScoreTrend relevance;
+
+    private ScoreTrend communication;
+
+    private ScoreTrend depth;
+
+    public ScoreTrend getClarity() {
+        return clarity;
+    }
+
+    public void setClarity(final ScoreTrend clarity) {
+        this.clarity = clarity;
+    }
+
+    public ScoreTrend getStructure() {
+        return structure;
+    }
+
+    public void setStructure(final ScoreTrend structure) {
+        this.structure = structure;
+    }
+
+    public ScoreTrend getRelevance() {
+        return relevance;
+    }
+
+    public void setRelevance(final ScoreTrend relevance) {
+        this.relevance = relevance;
+    }
+
+    public ScoreTrend getCommunication() {
+        return communication;
+    }
+
+    public void setCommunication(final ScoreTrend communication) {
+        this.communication = communication;
+    }
+
+    public ScoreTrend getDepth() {
+        return depth;
+    }
+
+    public void setDepth(final ScoreTrend depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public String toString() {
+        return "DimensionTrends{" +
+                "clarity=" + clarity +
+                ", structure=" + structure +
+                ", relevance=" + relevance +
+                ", communication=" + communication +
+                ", depth=" + depth +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store how often the AI model output could be used as an evaluation.
+ *
+ * @author Alan Quintero
+ */
+public class EvaluationMetrics {
+
+    private long evaluations;
+
+    private long failedEvaluations;
+
+    private long repairedJson;
+
+    private long repairPrompts;
+
+    private long successfulRepairPrompts;
+
+    private double failureRate;
+
+    public EvaluationMetrics() {
+    }
+
+    public EvaluationMetrics(final long evaluations, final long failedEvaluations, final long repairedJson, final long repairPrompts, final long successfulRepairPrompts) {
+        this.evaluations = evaluations;
+        this.failedEvaluations = failedEvaluations;
+        this.repairedJson = repairedJson;
+        this.repairPrompts = repairPrompts;
+        this.successfulRepairPrompts = successfulRepairPrompts;
+        this.failureRate = evaluations == 0 ? 0 : (double) failedEvaluations / evaluations;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public void setEvaluations(final long evaluations) {
+        this.evaluations = evaluations;
+    }
+
+    public long getFailedEvaluations() {
+        return failedEvaluations;
+    }
+
+    public void setFailedEvaluations(final long failedEvaluations) {
+        this.failedEvaluations = failedEvaluations;
+    }
+
+    public long getRepairedJson() {
+        return repairedJson;
+    }
+
+    public void setRepairedJson(final long repairedJson) {
+        this.repairedJson = repairedJson;
+    }
+
+    public long getRepairPrompts() {
+        return repairPrompts;
+    }
+
+    public void setRepairPrompts(final long repairPrompts) {
+        this.repairPrompts = repairPrompts;
+    }
+
+    public long getSuccessfulRepairPrompts() {
+        return successfulRepairPrompts;
+    }
+
+    public void setSuccessfulRepairPrompts(final long successfulRepairPrompts) {
+        this.successfulRepairPrompts = successfulRepairPrompts;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public void setFailureRate(final double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "evaluations=" + evaluations +
+                ", failedEvaluations=" + failedEvaluations +
+                ", repairedJson=" + repairedJson +
+                ", repairPrompts=" + repairPrompts +
+                ", successfulRepairPrompts=" + successfulRepairPrompts +
+                ", failureRate=" + failureRate +
+                '}';
+    }
+}
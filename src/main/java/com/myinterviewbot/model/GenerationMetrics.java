@@ -0,0 +1,112 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store how often the generated questions and feedbacks were too long,
+ * and how often the AI model still had to be asked again.
+ *
+ * @author Alan Quintero
+ */
+public class GenerationMetrics {
+
+    private long questions;
+
+    private long truncatedQuestions;
+
+    private long questionRetries;
+
+    private long feedbacks;
+
+    private long truncatedFeedbacks;
+
+    private long feedbackRetries;
+
+    private double retryRate;
+
+    public GenerationMetrics() {
+    }
+
+    public GenerationMetrics(final long questions, final long truncatedQuestions, final long questionRetries,
+                             final long feedbacks, final long truncatedFeedbacks, final long feedbackRetries) {
+        this.questions = questions;
+        this.truncatedQuestions = truncatedQuestions;
+        this.questionRetries = questionRetries;
+        this.feedbacks = feedbacks;
+        this.truncatedFeedbacks = truncatedFeedbacks;
+        this.feedbackRetries = feedbackRetries;
+        final long generations = questions + feedbacks;
+        this.retryRate = generations == 0 ? 0 : (double) (questionRetries + feedbackRetries) / generations;
+    }
+
+    public long getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(final long questions) {
+        this.questions = questions;
+    }
+
+    public long getTruncatedQuestions() {
+        return truncatedQuestions;
+    }
+
+    public void setTruncatedQuestions(final long truncatedQuestions) {
+        this.truncatedQuestions = truncatedQuestions;
+    }
+
+    public long getQuestionRetries() {
+        return questionRetries;
+    }
+
+    public void setQuestionRetries(final long questionRetries) {
+        this.questionRetries = questionRetries;
+    }
+
+    public long getFeedbacks() {
+        return feedbacks;
+    }
+
+    public void setFeedbacks(final long feedbacks) {
+        this.feedbacks = feedbacks;
+    }
+
+    public long getTruncatedFeedbacks() {
+        return truncatedFeedbacks;
+    }
+
+    public void setTruncatedFeedbacks(final long truncatedFeedbacks) {
+        this.truncatedFeedbacks = truncatedFeedbacks;
+    }
+
+    public long getFeedbackRetries() {
+        return feedbackRetries;
+    }
+
+    public void setFeedbackRetries(final long feedbackRetries) {
+        this.feedbackRetries = feedbackRetries;
+    }
+
+    public double getRetryRate() {
+        return retryRate;
+    }
+
+    public void setRetryRate(final double retryRate) {
+        this.retryRate = retryRate;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "questions=" + questions +
+                ", truncatedQuestions=" + truncatedQuestions +
+                ", questionRetries=" + questionRetries +
+                ", feedbacks=" + feedbacks +
+                ", truncatedFeedbacks=" + truncatedFeedbacks +
+                ", feedbackRetries=" + feedbackRetries +
+                ", retryRate=" + retryRate +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import java.util.Map;
+
+/**
+ * DTO class with the score statistics of the whole history, and broken down by question category, question
+ * difficulty, day and week.
+ *
+ * @author Alan Quintero
+ */
+public class HistorySummary {
+
+    private ScoreBreakdown total;
+
+    private Map<String, ScoreBreakdown> byCategory;
+
+    private Map<String, ScoreBreakdown> byDifficulty;
+
+    // By day, e.g. "2025-01-31"
+    private Map<String, ScoreBreakdown> daily;
+
+    // By the Monday that starts the week, e.g. "2025-01-27"
+    private Map<String, ScoreBreakdown> weekly;
+
+    public ScoreBreakdown getTotal() {
+        return total;
+    }
+
+    public void setTotal(final ScoreBreakdown total) {
+        this.total = total;
+    }
+
+    public Map<String, ScoreBreakdown> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(final Map<String, ScoreBreakdown> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public Map<String, ScoreBreakdown> getByDifficulty() {
+        return byDifficulty;
+    }
+
+    public void setByDifficulty(final Map<String, ScoreBreakdown> byDifficulty) {
+        this.byDifficulty = byDifficulty;
+    }
+
+    public Map<String, ScoreBreakdown> getDaily() {
+        return daily;
+    }
+
+    public void setDaily(final Map<String, ScoreBreakdown> daily) {
+        this.daily = daily;
+    }
+
+    public Map<String, ScoreBreakdown> getWeekly() {
+        return weekly;
+    }
+
+    public void setWeekly(final Map<String, ScoreBreakdown> weekly) {
+        this.weekly = weekly;
+    }
+
+    @Override
+    public String toString() {
+        return "HistorySummary{" +
+                "total=" + total +
+                ", byCategory=" + byCategory +
+                ", byDifficulty=" + byDifficulty +
+                ", daily=" + daily +
+                ", weekly=" + weekly +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import java.util.Map;
+
+/**
+ * DTO class with the score trends of the whole history and of each question category.
+ *
+ * @author Alan Quintero
+ */
+public class HistoryTrends {
+
+    // Evaluated interviews in a moving average
+    private int window;
+
+    // Weight of the last score in the exponential average
+    private double alpha;
+
+    private DimensionTrends total;
+
+    // By question category, e.g. "Teamwork"
+    private Map<String, DimensionTrends> byCategory;
+
+    public int getWindow() {
+        return window;
+    }
+
+    public void setWindow(final int window) {
+        this.window = window;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(final double alpha) {
+        this.alpha = alpha;
+    }
+
+    public DimensionTrends getTotal() {
+        return total;
+    }
+
+    public void setTotal(final DimensionTrends total) {
+        this.total = total;
+    }
+
+    public Map<String, DimensionTrends> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(final Map<String, DimensionTrends> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryTrends{" +
+                "window=" + window +
+                ", alpha=" + alpha +
+                ", total=" + total +
+                ", byCategory=" + byCategory +
+                '}';
+    }
+}
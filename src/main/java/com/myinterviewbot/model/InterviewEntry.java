@@ -19,6 +19,10 @@ public class InterviewEntry {
     private String feedback;
     private String videoUrl;
     private Evaluation evaluation;
+    // Set when the recording is transcoded in the background, null before
+    private String thumbnailUrl;
+    private Long videoSize;
+    private Long originalVideoSize;
 
     public InterviewEntry() {
     }
@@ -97,4 +101,28 @@ public class InterviewEntry {
     public void setEvaluation(final Evaluation evaluation) {
         this.evaluation = evaluation;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(final String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public Long getVideoSize() {
+        return videoSize;
+    }
+
+    public void setVideoSize(final Long videoSize) {
+        this.videoSize = videoSize;
+    }
+
+    public Long getOriginalVideoSize() {
+        return originalVideoSize;
+    }
+
+    public void setOriginalVideoSize(final Long originalVideoSize) {
+        this.originalVideoSize = originalVideoSize;
+    }
 }
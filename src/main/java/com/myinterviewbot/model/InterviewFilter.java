@@ -0,0 +1,143 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import com.myinterviewbot.utils.Utils;
+
+/**
+ * DTO class with the conditions used to find interviews. A {@code null} condition matches every interview.
+ *
+ * @author Alan Quintero
+ */
+public class InterviewFilter {
+
+    private String profession;
+
+    private String category;
+
+    private String difficulty;
+
+    // Inclusive
+    private Long fromTimestamp;
+
+    // Exclusive
+    private Long toTimestamp;
+
+    // Inclusive, on the average score of the evaluation. Interviews not evaluated never match a score threshold
+    private Double minScore;
+
+    private Double maxScore;
+
+    public InterviewFilter() {
+    }
+
+    public InterviewFilter(final String profession, final String category, final String difficulty, final Long fromTimestamp, final Long toTimestamp) {
+        this.profession = profession;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+    }
+
+    /**
+     * Returns if the interview meets all the conditions.
+     *
+     * @param entry the interview
+     * @return {@code true} if the interview matches the filter
+     */
+    public boolean matches(final InterviewEntry entry) {
+        final Question question = entry.getQuestion();
+        return (profession == null || profession.equals(entry.getProfession()))
+                && (category == null || (question != null && category.equals(question.getCategory())))
+                && (difficulty == null || (question != null && difficulty.equals(question.getDifficulty())))
+                && (fromTimestamp == null || entry.getTimestamp() >= fromTimestamp)
+                && (toTimestamp == null || entry.getTimestamp() < toTimestamp)
+                && matchesScore(Utils.getAverageScore(entry.getEvaluation()));
+    }
+
+    /**
+     * Returns if an average score meets the score thresholds.
+     *
+     * @param averageScore the average score of an interview, 0 if it was not evaluated
+     * @return {@code true} if there are no thresholds or the score meets them
+     */
+    public boolean matchesScore(final double averageScore) {
+        if (minScore == null && maxScore == null) {
+            return true;
+        }
+        return averageScore > 0
+                && (minScore == null || averageScore >= minScore)
+                && (maxScore == null || averageScore <= maxScore);
+    }
+
+    public String getProfession() {
+        return profession;
+    }
+
+    public void setProfession(final String profession) {
+        this.profession = profession;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(final String category) {
+        this.category = category;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(final String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public Long getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    public void setFromTimestamp(final Long fromTimestamp) {
+        this.fromTimestamp = fromTimestamp;
+    }
+
+    public Long getToTimestamp() {
+        return toTimestamp;
+    }
+
+    public void setToTimestamp(final Long toTimestamp) {
+        this.toTimestamp = toTimestamp;
+    }
+
+    public Double getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(final Double minScore) {
+        this.minScore = minScore;
+    }
+
+    public Double getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(final Double maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    @Override
+    public String toString() {
+        return "InterviewFilter{" +
+                "profession='" + profession + '\'' +
+                ", category='" + category + '\'' +
+                ", difficulty='" + difficulty + '\'' +
+                ", fromTimestamp=" + fromTimestamp +
+                ", toTimestamp=" + toTimestamp +
+                ", minScore=" + minScore +
+                ", maxScore=" + maxScore +
+                '}';
+    }
+}
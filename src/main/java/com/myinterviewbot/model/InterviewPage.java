@@ -0,0 +1,53 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import java.util.List;
+
+/**
+ * DTO class with a page of the interview history.
+ *
+ * @param <T> the type of the interviews, the whole {@link InterviewEntry} or an {@link InterviewSummary}
+ * @author Alan Quintero
+ */
+public class InterviewPage<T> {
+
+    private List<T> entries;
+
+    // Cursor to request the next page, null on the last page
+    private String nextCursor;
+
+    public InterviewPage() {
+    }
+
+    public InterviewPage(final List<T> entries, final String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(final List<T> entries) {
+        this.entries = entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(final String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "InterviewPage{" +
+                "entries=" + (entries != null ? entries.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * Order of the interviews in the history. Interviews with the same date or score are ordered by id, in the same direction.
+ *
+ * @author Alan Quintero
+ */
+public enum InterviewSort {
+    NEWEST,
+    OLDEST,
+    // By the average score of the evaluation
+    HIGHEST_SCORE,
+    LOWEST_SCORE
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import com.myinterviewbot.utils.Utils;
+
+/**
+ * DTO class with the fields of an interview shown in the history list: everything but the answer and the
+ * feedback texts, which are requested with the interview details.
+ *
+ * @author Alan Quintero
+ */
+public class InterviewSummary {
+
+    private long timestamp;
+
+    private InterviewType interviewType;
+
+    private String profession;
+
+    private Question question;
+
+    private String videoUrl;
+
+    private String thumbnailUrl;
+
+    private int clarityScore;
+
+    private int structureScore;
+
+    private int relevanceScore;
+
+    private int communicationScore;
+
+    private int depthScore;
+
+    // 0 if the interview was not evaluated
+    private double averageScore;
+
+    public InterviewSummary() {
+    }
+
+    public InterviewSummary(final InterviewEntry entry) {
+        this.timestamp = entry.getTimestamp();
+        this.interviewType = entry.getInterviewType();
+        this.profession = entry.getProfession();
+        this.question = entry.getQuestion();
+        this.videoUrl = entry.getVideoUrl();
+        this.thumbnailUrl = entry.getThumbnailUrl();
+        final Evaluation evaluation = entry.getEvaluation();
+        if (evaluation != null) {
+            this.clarityScore = evaluation.getClarityScore();
+            this.structureScore = evaluation.getStructureScore();
+            this.relevanceScore = evaluation.getRelevanceScore();
+            this.communicationScore = evaluation.getCommunicationScore();
+            this.depthScore = evaluation.getDepthScore();
+        }
+        this.averageScore = Utils.getAverageScore(evaluation);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public InterviewType getInterviewType() {
+        return interviewType;
+    }
+
+    public void setInterviewType(final InterviewType interviewType) {
+        this.interviewType = interviewType;
+    }
+
+    public String getProfession() {
+        return profession;
+    }
+
+    public void setProfession(final String profession) {
+        this.profession = profession;
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(final Question question) {
+        this.question = question;
+    }
+
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+
+    public void setVideoUrl(final String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(final String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public int getClarityScore() {
+        return clarityScore;
+    }
+
+    public void setClarityScore(final int clarityScore) {
+        this.clarityScore = clarityScore;
+    }
+
+    public int getStructureScore() {
+        return structureScore;
+    }
+
+    public void setStructureScore(final int structureScore) {
+        this.structureScore = structureScore;
+    }
+
+    public int getRelevanceScore() {
+        return relevanceScore;
+    }
+
+    public void setRelevanceScore(final int relevanceScore) {
+        this.relevanceScore = relevanceScore;
+    }
+
+    public int getCommunicationScore() {
+        return communicationScore;
+    }
+
+    public void setCommunicationScore(final int communicationScore) {
+        this.communicationScore = communicationScore;
+    }
+
+    public int getDepthScore() {
+        return depthScore;
+    }
+
+    public void setDepthScore(final int depthScore) {
+        this.depthScore = depthScore;
+    }
+
+    public double getAverageScore() {
+        return averageScore;
+    }
+
+    public void setAverageScore(final double averageScore) {
+        this.averageScore = averageScore;
+    }
+
+    @Override
+    public String toString() {
+        return "InterviewSummary{" +
+                "timestamp=" + timestamp +
+                ", interviewType=" + interviewType +
+                ", profession='" + profession + '\'' +
+                ", question=" + question +
+                ", videoUrl='" + videoUrl + '\'' +
+                ", thumbnailUrl='" + thumbnailUrl + '\'' +
+                ", averageScore=" + averageScore +
+                '}';
+    }
+}
@@ -7,4 +7,6 @@ public class PromptExecutionResult {
     public static final String EXCEPTION = "Exception: ";
 
     public static final String INPUT_PARAMETERS_NOT_PRESENT = "Input parameters not present";
+
+    public static final String QUEUE_TIMEOUT = "Prompt waited too long in the queue";
 }
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * DTO class to store how a prompt must be executed.
+ *
+ * @author Alan Quintero
+ */
+public class PromptOptions {
+
+    private PromptPriority priority = PromptPriority.FEEDBACK;
+
+    private boolean bypassCache;
+
+    /**
+     * JSON schema the response must follow, {@code null} for free text.
+     */
+    private JsonNode format;
+
+    /**
+     * Max tokens the model can generate, {@code null} for the model default.
+     */
+    private Integer maxTokens;
+
+    /**
+     * Texts that stop the generation when the model writes them, {@code null} for none.
+     */
+    private List<String> stop;
+
+    /**
+     * Randomness of the generated text, from 0 (always the most likely text), {@code null} for the model default.
+     */
+    private Double temperature;
+
+    /**
+     * Random seed, the same prompt with the same seed generates the same text, {@code null} for a random seed.
+     */
+    private Integer seed;
+
+    public PromptOptions() {
+    }
+
+    public PromptOptions(final PromptPriority priority) {
+        this.priority = priority;
+    }
+
+    public PromptPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(final PromptPriority priority) {
+        this.priority = priority;
+    }
+
+    public boolean isBypassCache() {
+        return bypassCache;
+    }
+
+    public void setBypassCache(final boolean bypassCache) {
+        this.bypassCache = bypassCache;
+    }
+
+    public JsonNode getFormat() {
+        return format;
+    }
+
+    public void setFormat(final JsonNode format) {
+        this.format = format;
+    }
+
+    public Integer getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(final Integer maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public List<String> getStop() {
+        return stop;
+    }
+
+    public void setStop(final List<String> stop) {
+        this.stop = stop;
+    }
+
+    public Double getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(final Double temperature) {
+        this.temperature = temperature;
+    }
+
+    public Integer getSeed() {
+        return seed;
+    }
+
+    public void setSeed(final Integer seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "priority=" + priority +
+                ", bypassCache=" + bypassCache +
+                ", format=" + (format != null) +
+                ", maxTokens=" + maxTokens +
+                ", stop=" + stop +
+                ", temperature=" + temperature +
+                ", seed=" + seed +
+                '}';
+    }
+}
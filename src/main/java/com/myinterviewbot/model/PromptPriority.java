@@ -0,0 +1,18 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * Enum for the priority of a prompt when it waits for the AI model.
+ * The declaration order is the priority order, the first one runs first.
+ *
+ * @author Alan Quintero
+ */
+public enum PromptPriority {
+    QUESTION,
+    FEEDBACK,
+    EVALUATION,
+    BACKGROUND
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import java.util.Map;
+
+/**
+ * DTO class to store the metrics of the prompt queue.
+ *
+ * @author Alan Quintero
+ */
+public class PromptQueueMetrics {
+
+    private int queueDepth;
+
+    private Map<PromptPriority, Integer> queueDepthByPriority;
+
+    private int inFlight;
+
+    private int maxInFlight;
+
+    private int queueCapacity;
+
+    private long executedPrompts;
+
+    private long rejectedPrompts;
+
+    private long timedOutPrompts;
+
+    private double averageSecondsInQueue;
+
+    private double maxSecondsInQueue;
+
+    public PromptQueueMetrics() {
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(final int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public Map<PromptPriority, Integer> getQueueDepthByPriority() {
+        return queueDepthByPriority;
+    }
+
+    public void setQueueDepthByPriority(final Map<PromptPriority, Integer> queueDepthByPriority) {
+        this.queueDepthByPriority = queueDepthByPriority;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(final int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getExecutedPrompts() {
+        return executedPrompts;
+    }
+
+    public void setExecutedPrompts(final long executedPrompts) {
+        this.executedPrompts = executedPrompts;
+    }
+
+    public long getRejectedPrompts() {
+        return rejectedPrompts;
+    }
+
+    public void setRejectedPrompts(final long rejectedPrompts) {
+        this.rejectedPrompts = rejectedPrompts;
+    }
+
+    public long getTimedOutPrompts() {
+        return timedOutPrompts;
+    }
+
+    public void setTimedOutPrompts(final long timedOutPrompts) {
+        this.timedOutPrompts = timedOutPrompts;
+    }
+
+    public double getAverageSecondsInQueue() {
+        return averageSecondsInQueue;
+    }
+
+    public void setAverageSecondsInQueue(final double averageSecondsInQueue) {
+        this.averageSecondsInQueue = averageSecondsInQueue;
+    }
+
+    public double getMaxSecondsInQueue() {
+        return maxSecondsInQueue;
+    }
+
+    public void setMaxSecondsInQueue(final double maxSecondsInQueue) {
+        this.maxSecondsInQueue = maxSecondsInQueue;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "queueDepth=" + queueDepth +
+                ", inFlight=" + inFlight +
+                ", maxInFlight=" + maxInFlight +
+                ", queueCapacity=" + queueCapacity +
+                ", executedPrompts=" + executedPrompts +
+                ", rejectedPrompts=" + rejectedPrompts +
+                ", timedOutPrompts=" + timedOutPrompts +
+                ", averageSecondsInQueue=" + averageSecondsInQueue +
+                ", maxSecondsInQueue=" + maxSecondsInQueue +
+                '}';
+    }
+}
@@ -21,6 +21,18 @@ public class PromptStats {
 
     private double secondsTakenToRespondPrompt;
 
+    private double secondsToFirstToken;
+
+    private double tokensPerSecond;
+
+    private int queuePosition;
+
+    private double secondsInQueue;
+
+    private boolean cacheHit;
+
+    private double cacheHitRatio;
+
     public PromptStats() {
     }
 
@@ -62,6 +74,54 @@ public class PromptStats {
         this.secondsTakenToRespondPrompt = secondsTakenToRespondPrompt;
     }
 
+    public double getSecondsToFirstToken() {
+        return secondsToFirstToken;
+    }
+
+    public void setSecondsToFirstToken(final double secondsToFirstToken) {
+        this.secondsToFirstToken = secondsToFirstToken;
+    }
+
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(final double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public int getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(final int queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public double getSecondsInQueue() {
+        return secondsInQueue;
+    }
+
+    public void setSecondsInQueue(final double secondsInQueue) {
+        this.secondsInQueue = secondsInQueue;
+    }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public void setCacheHit(final boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+
+    public double getCacheHitRatio() {
+        return cacheHitRatio;
+    }
+
+    public void setCacheHitRatio(final double cacheHitRatio) {
+        this.cacheHitRatio = cacheHitRatio;
+    }
+
     public boolean isExceptionDetected() {
         return exceptionDetected;
     }
@@ -76,6 +136,12 @@ public class PromptStats {
                 "slowPromptResponse=" + slowPromptResponse +
                 ", executedSuccessfully=" + executedSuccessfully +
                 ", exceptionDetected=" + exceptionDetected +
+                ", secondsToFirstToken=" + secondsToFirstToken +
+                ", tokensPerSecond=" + tokensPerSecond +
+                ", queuePosition=" + queuePosition +
+                ", secondsInQueue=" + secondsInQueue +
+                ", cacheHit=" + cacheHit +
+                ", cacheHitRatio=" + cacheHitRatio +
                 '}';
     }
 }
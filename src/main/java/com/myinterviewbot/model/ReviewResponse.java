@@ -0,0 +1,49 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to return the feedback and the evaluation of an answer together.
+ *
+ * @author Alan Quintero
+ */
+public class ReviewResponse {
+
+    private PromptResponse feedback;
+
+    private PromptResponse evaluation;
+
+    public ReviewResponse() {
+    }
+
+    public ReviewResponse(final PromptResponse feedback, final PromptResponse evaluation) {
+        this.feedback = feedback;
+        this.evaluation = evaluation;
+    }
+
+    public PromptResponse getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(final PromptResponse feedback) {
+        this.feedback = feedback;
+    }
+
+    public PromptResponse getEvaluation() {
+        return evaluation;
+    }
+
+    public void setEvaluation(final PromptResponse evaluation) {
+        this.evaluation = evaluation;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewResponse{" +
+                "feedback=" + feedback +
+                ", evaluation=" + evaluation +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class with the score statistics of every evaluation dimension over a group of interviews.
+ *
+ * @author Alan Quintero
+ */
+public class ScoreBreakdown {
+
+    private long interviews;
+
+    private ScoreStatistics clarity;
+
+    private ScoreStatistics structure;
+
+    private ScoreStatistics relevance;
+
+    private ScoreStatistics communication;
+
+    private ScoreStatistics depth;
+
+    public long getInterviews() {
+        return interviews;
+    }
+
+    public void setInterviews(final long interviews) {
+        this.interviews = interviews;
+    }
+
+    public ScoreStatistics getClarity() {
+        return clarity;
+    }
+
+    public void setClarity(final ScoreStatistics clarity) {
+        this.clarity = clarity;
+    }
+
+    public ScoreStatistics getStructure() {
+        return structure;
+    }
+
+    public void setStructure(final ScoreStatistics structure) {
+        this.structure = structure;
+    }
+
+    public ScoreStatistics getRelevance() {
+        return relevance;
+    }
+
+    public void setRelevance(final ScoreStatistics relevance) {
+        this.relevance = relevance;
+    }
+
+    public ScoreStatistics getCommunication() {
+        return communication;
+    }
+
+    public void setCommunication(final ScoreStatistics communication) {
+        this.communication = communication;
+    }
+
+    public ScoreStatistics getDepth() {
+        return depth;
+    }
+
+    public void setDepth(final ScoreStatistics depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreBreakdown{" +
+                "interviews=" + interviews +
+                ", clarity=" + clarity +
+                ", structure=" + structure +
+                ", relevance=" + relevance +
+                ", communication=" + communication +
+                ", depth=" + depth +
+                '}';
+    }
+}
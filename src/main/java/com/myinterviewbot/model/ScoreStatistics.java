@@ -0,0 +1,99 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class with the statistics of one evaluation dimension (e.g. clarity) over a group of interviews.
+ * Interviews where the dimension was not evaluated are not counted.
+ *
+ * @author Alan Quintero
+ */
+public class ScoreStatistics {
+
+    private long count;
+
+    private long sum;
+
+    private double average;
+
+    private int min;
+
+    private int max;
+
+    // Population variance
+    private double variance;
+
+    public ScoreStatistics() {
+    }
+
+    public ScoreStatistics(final long count, final long sum, final double average, final int min, final int max, final double variance) {
+        this.count = count;
+        this.sum = sum;
+        this.average = average;
+        this.min = min;
+        this.max = max;
+        this.variance = variance;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(final long count) {
+        this.count = count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public void setSum(final long sum) {
+        this.sum = sum;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public void setAverage(final double average) {
+        this.average = average;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public void setMin(final int min) {
+        this.min = min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public void setMax(final int max) {
+        this.max = max;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public void setVariance(final double variance) {
+        this.variance = variance;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreStatistics{" +
+                "count=" + count +
+                ", sum=" + sum +
+                ", average=" + average +
+                ", min=" + min +
+                ", max=" + max +
+                ", variance=" + variance +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+import java.util.List;
+
+/**
+ * DTO class with the trend of one evaluation dimension (e.g. clarity): how the last interviews compare with the
+ * previous ones. The window is a number of evaluated interviews, the most recent ones.
+ *
+ * @author Alan Quintero
+ */
+public class ScoreTrend {
+
+    // Interviews where the dimension was evaluated
+    private long count;
+
+    // Average of the last window
+    private double movingAverage;
+
+    // Average of the window before the last one, 0 if there were not enough interviews
+    private double previousMovingAverage;
+
+    // movingAverage - previousMovingAverage, positive when improving
+    private double change;
+
+    // Exponentially weighted average of all the scores, recent scores weigh more
+    private double exponentialAverage;
+
+    // Percentiles of the scores of the last window
+    private int percentile10;
+
+    private int percentile50;
+
+    private int percentile90;
+
+    // The last points, oldest first
+    private List<TrendPoint> points;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(final long count) {
+        this.count = count;
+    }
+
+    public double getMovingAverage() {
+        return movingAverage;
+    }
+
+    public void setMovingAverage(final double movingAverage) {
+        this.movingAverage = movingAverage;
+    }
+
+    public double getPreviousMovingAverage() {
+        return previousMovingAverage;
+    }
+
+    public void setPreviousMovingAverage(final double previousMovingAverage) {
+        this.previousMovingAverage = previousMovingAverage;
+    }
+
+    public double getChange() {
+        return change;
+    }
+
+    public void setChange(final double change) {
+        this.change = change;
+    }
+
+    public double getExponentialAverage() {
+        return exponentialAverage;
+    }
+
+    public void setExponentialAverage(final double exponentialAverage) {
+        this.exponentialAverage = exponentialAverage;
+    }
+
+    public int getPercentile10() {
+        return percentile10;
+    }
+
+    public void setPercentile10(final int percentile10) {
+        this.percentile10 = percentile10;
+    }
+
+    public int getPercentile50() {
+        return percentile50;
+    }
+
+    public void setPercentile50(final int percentile50) {
+        this.percentile50 = percentile50;
+    }
+
+    public int getPercentile90() {
+        return percentile90;
+    }
+
+    public void setPercentile90(final int percentile90) {
+        this.percentile90 = percentile90;
+    }
+
+    public List<TrendPoint> getPoints() {
+        return points;
+    }
+
+    public void setPoints(final List<TrendPoint> points) {
+        this.points = points;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreTrend{" +
+                "count=" + count +
+                ", movingAverage=" + movingAverage +
+                ", previousMovingAverage=" + previousMovingAverage +
+                ", change=" + change +
+                ", exponentialAverage=" + exponentialAverage +
+                ", percentile10=" + percentile10 +
+                ", percentile50=" + percentile50 +
+                ", percentile90=" + percentile90 +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store the status of a transcript job: its current stage and, when it is completed, the transcript.
+ *
+ * @author Alan Quintero
+ */
+public class TranscriptJob {
+
+    private String jobId;
+
+    private TranscriptJobStage stage;
+
+    private int progress;
+
+    private String error;
+
+    private Transcript transcript;
+
+    private TranscriptStats stats;
+
+    private long createdAt;
+
+    private long updatedAt;
+
+    public TranscriptJob() {
+    }
+
+    public TranscriptJob(final String jobId) {
+        this.jobId = jobId;
+        this.createdAt = System.currentTimeMillis();
+        setStage(TranscriptJobStage.QUEUED);
+    }
+
+    /**
+     * Creates a copy of the given job, so the copy can be sent to the client while the job continues.
+     *
+     * @param job the job to copy
+     */
+    public TranscriptJob(final TranscriptJob job) {
+        this.jobId = job.jobId;
+        this.stage = job.stage;
+        this.progress = job.progress;
+        this.error = job.error;
+        this.transcript = job.transcript;
+        this.stats = job.stats;
+        this.createdAt = job.createdAt;
+        this.updatedAt = job.updatedAt;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    public TranscriptJobStage getStage() {
+        return stage;
+    }
+
+    /**
+     * Sets the stage of the job, updating its progress and the last update time.
+     *
+     * @param stage the new stage
+     */
+    public void setStage(final TranscriptJobStage stage) {
+        this.stage = stage;
+        this.progress = stage.getProgress();
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(final int progress) {
+        this.progress = progress;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+
+    public Transcript getTranscript() {
+        return transcript;
+    }
+
+    public void setTranscript(final Transcript transcript) {
+        this.transcript = transcript;
+    }
+
+    public TranscriptStats getStats() {
+        return stats;
+    }
+
+    public void setStats(final TranscriptStats stats) {
+        this.stats = stats;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(final long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(final long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "jobId='" + jobId + '\'' +
+                ", stage=" + stage +
+                ", progress=" + progress +
+                ", error='" + error + '\'' +
+                ", transcript=" + transcript +
+                ", stats=" + stats +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * Enum for the stages of a transcript job, in the order they run, with the progress of the job at each stage.
+ *
+ * @author Alan Quintero
+ */
+public enum TranscriptJobStage {
+    QUEUED(0),
+    EXTRACTING_AUDIO(10),
+    TRANSCRIBING(40),
+    COMPLETED(100),
+    FAILED(100);
+
+    private final int progress;
+
+    TranscriptJobStage(final int progress) {
+        this.progress = progress;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
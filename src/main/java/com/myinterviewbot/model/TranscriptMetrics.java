@@ -0,0 +1,100 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store the average cost of a transcript for each audio mode (PCM pipe or audio file),
+ * so both modes can be compared.
+ *
+ * @author Alan Quintero
+ */
+public class TranscriptMetrics {
+
+    private String audioMode;
+
+    private long pcmTranscripts;
+
+    private double pcmAverageCpuMillis;
+
+    private double pcmAverageBytesWritten;
+
+    private long fileTranscripts;
+
+    private double fileAverageCpuMillis;
+
+    private double fileAverageBytesWritten;
+
+    public TranscriptMetrics() {
+    }
+
+    public String getAudioMode() {
+        return audioMode;
+    }
+
+    public void setAudioMode(final String audioMode) {
+        this.audioMode = audioMode;
+    }
+
+    public long getPcmTranscripts() {
+        return pcmTranscripts;
+    }
+
+    public void setPcmTranscripts(final long pcmTranscripts) {
+        this.pcmTranscripts = pcmTranscripts;
+    }
+
+    public double getPcmAverageCpuMillis() {
+        return pcmAverageCpuMillis;
+    }
+
+    public void setPcmAverageCpuMillis(final double pcmAverageCpuMillis) {
+        this.pcmAverageCpuMillis = pcmAverageCpuMillis;
+    }
+
+    public double getPcmAverageBytesWritten() {
+        return pcmAverageBytesWritten;
+    }
+
+    public void setPcmAverageBytesWritten(final double pcmAverageBytesWritten) {
+        this.pcmAverageBytesWritten = pcmAverageBytesWritten;
+    }
+
+    public long getFileTranscripts() {
+        return fileTranscripts;
+    }
+
+    public void setFileTranscripts(final long fileTranscripts) {
+        this.fileTranscripts = fileTranscripts;
+    }
+
+    public double getFileAverageCpuMillis() {
+        return fileAverageCpuMillis;
+    }
+
+    public void setFileAverageCpuMillis(final double fileAverageCpuMillis) {
+        this.fileAverageCpuMillis = fileAverageCpuMillis;
+    }
+
+    public double getFileAverageBytesWritten() {
+        return fileAverageBytesWritten;
+    }
+
+    public void setFileAverageBytesWritten(final double fileAverageBytesWritten) {
+        this.fileAverageBytesWritten = fileAverageBytesWritten;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "audioMode='" + audioMode + '\'' +
+                ", pcmTranscripts=" + pcmTranscripts +
+                ", pcmAverageCpuMillis=" + pcmAverageCpuMillis +
+                ", pcmAverageBytesWritten=" + pcmAverageBytesWritten +
+                ", fileTranscripts=" + fileTranscripts +
+                ", fileAverageCpuMillis=" + fileAverageCpuMillis +
+                ", fileAverageBytesWritten=" + fileAverageBytesWritten +
+                '}';
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store what a transcript cost: the CPU time of the ffmpeg and whisper processes
+ * and the bytes they wrote to disk.
+ *
+ * @author Alan Quintero
+ */
+public class TranscriptStats {
+
+    public static final String PCM_MODE = "pcm";
+    public static final String FILE_MODE = "file";
+
+    /**
+     * How the audio went from ffmpeg to whisper: {@link #PCM_MODE} (pipe) or {@link #FILE_MODE} (audio file).
+     */
+    private String audioMode;
+
+    private long ffmpegCpuMillis;
+
+    private long whisperCpuMillis;
+
+    private long bytesWritten;
+
+    public TranscriptStats() {
+    }
+
+    public TranscriptStats(final String audioMode) {
+        this.audioMode = audioMode;
+    }
+
+    public String getAudioMode() {
+        return audioMode;
+    }
+
+    public void setAudioMode(final String audioMode) {
+        this.audioMode = audioMode;
+    }
+
+    public long getFfmpegCpuMillis() {
+        return ffmpegCpuMillis;
+    }
+
+    public void setFfmpegCpuMillis(final long ffmpegCpuMillis) {
+        this.ffmpegCpuMillis = ffmpegCpuMillis;
+    }
+
+    public long getWhisperCpuMillis() {
+        return whisperCpuMillis;
+    }
+
+    public void setWhisperCpuMillis(final long whisperCpuMillis) {
+        this.whisperCpuMillis = whisperCpuMillis;
+    }
+
+    public long getCpuMillis() {
+        return ffmpegCpuMillis + whisperCpuMillis;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(final long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Adds bytes written to disk by one of the processes.
+     *
+     * @param bytes the bytes written
+     */
+    public void addBytesWritten(final long bytes) {
+        this.bytesWritten += bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "audioMode='" + audioMode + '\'' +
+                ", ffmpegCpuMillis=" + ffmpegCpuMillis +
+                ", whisperCpuMillis=" + whisperCpuMillis +
+                ", bytesWritten=" + bytesWritten +
+                '}';
+    }
+}
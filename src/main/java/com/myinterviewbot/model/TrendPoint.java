@@ -0,0 +1,73 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class with a score of an interview and the trend values right after it.
+ *
+ * @author Alan Quintero
+ */
+public class TrendPoint {
+
+    private long timestamp;
+
+    private int score;
+
+    private double movingAverage;
+
+    private double exponentialAverage;
+
+    public TrendPoint() {
+    }
+
+    public TrendPoint(final long timestamp, final int score, final double movingAverage, final double exponentialAverage) {
+        this.timestamp = timestamp;
+        this.score = score;
+        this.movingAverage = movingAverage;
+        this.exponentialAverage = exponentialAverage;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(final int score) {
+        this.score = score;
+    }
+
+    public double getMovingAverage() {
+        return movingAverage;
+    }
+
+    public void setMovingAverage(final double movingAverage) {
+        this.movingAverage = movingAverage;
+    }
+
+    public double getExponentialAverage() {
+        return exponentialAverage;
+    }
+
+    public void setExponentialAverage(final double exponentialAverage) {
+        this.exponentialAverage = exponentialAverage;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendPoint{" +
+                "timestamp=" + timestamp +
+                ", score=" + score +
+                ", movingAverage=" + movingAverage +
+                ", exponentialAverage=" + exponentialAverage +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * DTO class to store the status of a chunked upload, so the browser knows where to continue it.
+ *
+ * @author Alan Quintero
+ */
+public class UploadStatus {
+
+    private String uploadId;
+
+    private long receivedBytes;
+
+    private long maxBytes;
+
+    public UploadStatus() {
+    }
+
+    public UploadStatus(final String uploadId, final long receivedBytes, final long maxBytes) {
+        this.uploadId = uploadId;
+        this.receivedBytes = receivedBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(final String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(final long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "uploadId='" + uploadId + '\'' +
+                ", receivedBytes=" + receivedBytes +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
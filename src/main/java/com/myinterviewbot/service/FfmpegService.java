@@ -4,12 +4,22 @@
  */
 package com.myinterviewbot.service;
 
+import com.myinterviewbot.model.TranscriptStats;
+import com.myinterviewbot.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for handling video and audio operations using FFmpeg.
@@ -17,6 +27,10 @@ import java.io.IOException;
  * <p>This service can extract audio from video files and potentially handle
  * other video/audio processing tasks.</p>
  *
+ * <p>The audio extractions are part of a transcription, the user is waiting for them. The background work
+ * (transcoding and thumbnails) runs with the lowest CPU priority and checks {@link #isExtractingAudio()} so it
+ * never competes with them.</p>
+ *
  * @author Alan Quintero
  */
 @Service
@@ -25,45 +39,293 @@ public class FfmpegService {
     private static final Logger LOGGER = LoggerFactory.getLogger(FfmpegService.class);
 
     /**
-     * Extracts the audio track from a given video file and saves it as an MP3 file.
+     * Sample rate expected by Whisper.
+     */
+    public static final int PCM_SAMPLE_RATE = 16000;
+
+    private static final long CPU_SAMPLE_MS = 100;
+
+    // The audio extractions and PCM streams running
+    private final AtomicInteger activeExtractions = new AtomicInteger();
+
+    @Value("${transcript.audio-format:wav}")
+    private String audioFormat = "wav";
+
+    public File extractAudio(final File videoFile) {
+        return extractAudio(videoFile, null);
+    }
+
+    /**
+     * Extracts the audio track from a given video file and saves it as an audio file next to the video.
+     *
+     * <p>By default ({@code transcript.audio-format=wav}) the audio is saved as 16 kHz mono PCM WAV, the format
+     * Whisper works with, so it is neither encoded nor decoded again. With {@code mp3} it is encoded as MP3,
+     * smaller but lossy and slower.</p>
      *
      * @param videoFile the video file from which to extract audio
-     * @return the extracted audio file as an MP3
-     * @throws IOException          if there is an error reading or writing files
-     * @throws InterruptedException if the FFmpeg process is interrupted
+     * @param stats     receives the CPU time of ffmpeg and the bytes written, can be {@code null}
+     * @return the extracted audio file, or {@code null} if it could not be extracted
      */
-    public File extractAudio(final File videoFile) {
+    public File extractAudio(final File videoFile, final TranscriptStats stats) {
         LOGGER.info("Extracting audio file from video...");
 
+        activeExtractions.incrementAndGet();
         try {
-            // Change extension to .mp3 regardless of input extension
+            final boolean mp3 = "mp3".equalsIgnoreCase(audioFormat);
+            // Change extension regardless of input extension
             String baseName = videoFile.getName();
             if (baseName.contains(".")) {
                 baseName = baseName.substring(0, baseName.lastIndexOf('.'));
             }
-            final File audioFile = new File(videoFile.getParent(), baseName + ".mp3");
+            File audioFile = new File(videoFile.getParent(), baseName + (mp3 ? ".mp3" : ".wav"));
+            if (audioFile.getName().equals(videoFile.getName())) {
+                // The recording is already an audio file with the same extension, it must not be overwritten
+                audioFile = new File(videoFile.getParent(), baseName + "-audio" + (mp3 ? ".mp3" : ".wav"));
+            }
 
-            final ProcessBuilder pb = new ProcessBuilder(
-                    "ffmpeg",
-                    "-i", videoFile.getAbsolutePath(),
-                    "-vn",  // no video
-                    "-acodec", "libmp3lame",
-                    audioFile.getAbsolutePath()
-            );
+            final ProcessBuilder pb;
+            if (mp3) {
+                pb = new ProcessBuilder(
+                        "ffmpeg",
+                        "-nostdin",
+                        "-y",
+                        "-i", videoFile.getAbsolutePath(),
+                        "-vn",  // no video
+                        "-acodec", "libmp3lame",
+                        audioFile.getAbsolutePath()
+                );
+            } else {
+                pb = new ProcessBuilder(
+                        "ffmpeg",
+                        "-nostdin",
+                        "-y",
+                        "-i", videoFile.getAbsolutePath(),
+                        "-vn",  // no video
+                        "-ac", "1", // mono
+                        "-ar", String.valueOf(PCM_SAMPLE_RATE),
+                        "-acodec", "pcm_s16le",
+                        audioFile.getAbsolutePath()
+                );
+            }
 
             pb.inheritIO();
             final Process process = pb.start();
-            final int exitCode = process.waitFor();
+            final long cpuMillis = Utils.waitForProcess(process);
 
-            if (exitCode != 0) {
+            if (process.exitValue() != 0) {
                 throw new RuntimeException("FFmpeg failed to extract audio from " + videoFile.getName());
             }
-            LOGGER.info("Audio file extracted...");
+            if (stats != null) {
+                stats.setFfmpegCpuMillis(stats.getFfmpegCpuMillis() + cpuMillis);
+                stats.addBytesWritten(audioFile.length());
+            }
+            LOGGER.info("Audio file extracted: {} bytes, {} ms of CPU", audioFile.length(), cpuMillis);
             return audioFile;
         } catch (Exception e) {
             LOGGER.error("Failed while extracting audio.", e);
+        } finally {
+            activeExtractions.decrementAndGet();
         }
         return null;
     }
 
+    /**
+     * Starts decoding the audio track of a video as raw 16 kHz mono PCM (signed 16-bit little-endian),
+     * read from the returned stream while ffmpeg decodes it. Nothing is written to disk.
+     *
+     * <p>Closing the stream waits for ffmpeg to finish, and fails if ffmpeg failed.</p>
+     *
+     * @param videoFile the video file from which to extract audio
+     * @param stats     receives the CPU time of ffmpeg, can be {@code null}
+     * @return the PCM stream
+     * @throws IOException if ffmpeg could not be started
+     */
+    public InputStream streamPcm(final File videoFile, final TranscriptStats stats) throws IOException {
+        LOGGER.info("Streaming PCM audio from video...");
+        final ProcessBuilder pb = new ProcessBuilder(
+                "ffmpeg",
+                "-nostdin",
+                "-loglevel", "error",
+                "-i", videoFile.getAbsolutePath(),
+                "-vn",  // no video
+                "-ac", "1", // mono
+                "-ar", String.valueOf(PCM_SAMPLE_RATE),
+                "-f", "s16le",
+                "-" // stdout
+        );
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        final Process process = pb.start();
+        activeExtractions.incrementAndGet();
+        return new PcmInputStream(process, videoFile, stats, activeExtractions);
+    }
+
+    /**
+     * Starts decoding a recording that is still being received, fed to ffmpeg through its standard input.
+     *
+     * <p>Decoding the growing file again on every pass would decode its beginning again each time, a cost
+     * that grows with the square of the length of the answer. A recording still being written has no index
+     * either, so ffmpeg cannot seek in it without decoding from the start. A single decoder reads each byte once.</p>
+     *
+     * @param name the name of the recording, for the logs
+     * @return the decoder, to be finished or closed
+     * @throws IOException if ffmpeg could not be started
+     */
+    public PcmDecoder startPcmDecoder(final String name) throws IOException {
+        LOGGER.info("Starting the PCM decoder of {}...", name);
+        final ProcessBuilder pb = new ProcessBuilder(
+                "ffmpeg",
+                "-loglevel", "error",
+                "-i", "pipe:0", // stdin
+                "-vn",  // no video
+                "-ac", "1", // mono
+                "-ar", String.valueOf(PCM_SAMPLE_RATE),
+                "-f", "s16le",
+                "-" // stdout
+        );
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        final Process process = pb.start();
+        activeExtractions.incrementAndGet();
+        return new PcmDecoder(process, name, activeExtractions);
+    }
+
+    /**
+     * Returns if audio is being extracted for a transcription.
+     *
+     * @return {@code true} if an audio extraction or a PCM stream is running
+     */
+    public boolean isExtractingAudio() {
+        return activeExtractions.get() > 0;
+    }
+
+    /**
+     * Starts transcoding a recording with the lowest CPU priority. The caller waits for the process, and can
+     * destroy it to give the CPU back.
+     *
+     * @param videoFile     the recording
+     * @param outputFile    the transcoded file, its extension sets the container
+     * @param outputOptions the ffmpeg options of the output (codecs, bitrates, filters...)
+     * @return the ffmpeg process
+     * @throws IOException if ffmpeg could not be started
+     */
+    public Process startTranscode(final File videoFile, final File outputFile, final List<String> outputOptions) throws IOException {
+        LOGGER.info("Transcoding {} to {}...", videoFile.getName(), outputFile.getName());
+        final List<String> command = new ArrayList<>(List.of(
+                "ffmpeg",
+                "-nostdin",
+                "-y",
+                "-loglevel", "error",
+                "-i", videoFile.getAbsolutePath()
+        ));
+        command.addAll(outputOptions);
+        command.add(outputFile.getAbsolutePath());
+        return startLowPriority(command);
+    }
+
+    /**
+     * Starts saving a representative frame of a recording as an image, with the lowest CPU priority.
+     *
+     * @param videoFile     the recording
+     * @param thumbnailFile the image, e.g. a JPEG file
+     * @param width         the width of the image, the height keeps the aspect ratio
+     * @return the ffmpeg process
+     * @throws IOException if ffmpeg could not be started
+     */
+    public Process startThumbnail(final File videoFile, final File thumbnailFile, final int width) throws IOException {
+        LOGGER.info("Saving the thumbnail of {}...", videoFile.getName());
+        return startLowPriority(List.of(
+                "ffmpeg",
+                "-nostdin",
+                "-y",
+                "-loglevel", "error",
+                "-i", videoFile.getAbsolutePath(),
+                // Picks a representative frame of the first seconds, not a black first frame
+                "-vf", "thumbnail,scale=" + width + ":-2",
+                "-frames:v", "1",
+                thumbnailFile.getAbsolutePath()
+        ));
+    }
+
+    /**
+     * Starts a command with the lowest CPU priority, with {@code nice} where it exists.
+     */
+    private static Process startLowPriority(final List<String> command) throws IOException {
+        final List<String> niceCommand = new ArrayList<>();
+        if (!System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")) {
+            niceCommand.addAll(List.of("nice", "-n", "19"));
+        }
+        niceCommand.addAll(command);
+        final ProcessBuilder pb = new ProcessBuilder(niceCommand);
+        pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return pb.start();
+    }
+
+    /**
+     * The output of a running ffmpeg process.
+     */
+    private static final class PcmInputStream extends FilterInputStream {
+
+        private final Process process;
+        private final File videoFile;
+        private final TranscriptStats stats;
+        private final AtomicInteger activeExtractions;
+        private long cpuMillis;
+        private long lastSampleTime;
+        private boolean closed;
+
+        private PcmInputStream(final Process process, final File videoFile, final TranscriptStats stats,
+                               final AtomicInteger activeExtractions) {
+            super(process.getInputStream());
+            this.process = process;
+            this.videoFile = videoFile;
+            this.stats = stats;
+            this.activeExtractions = activeExtractions;
+        }
+
+        @Override
+        public int read() throws IOException {
+            sampleCpu();
+            return super.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            sampleCpu();
+            return super.read(b, off, len);
+        }
+
+        /**
+         * ffmpeg finishes as soon as the last PCM byte is read, so its CPU time is sampled while it is read.
+         */
+        private void sampleCpu() {
+            final long now = System.currentTimeMillis();
+            if (now - lastSampleTime >= CPU_SAMPLE_MS) {
+                lastSampleTime = now;
+                cpuMillis = process.info().totalCpuDuration().map(Duration::toMillis).orElse(cpuMillis);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                activeExtractions.decrementAndGet();
+            }
+            super.close();
+            try {
+                cpuMillis = Math.max(cpuMillis, Utils.waitForProcess(process));
+                if (stats != null) {
+                    stats.setFfmpegCpuMillis(stats.getFfmpegCpuMillis() + cpuMillis);
+                }
+                LOGGER.info("PCM audio streamed, {} ms of CPU", cpuMillis);
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for FFmpeg", e);
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("FFmpeg failed to stream audio from " + videoFile.getName());
+            }
+        }
+    }
 }
@@ -4,37 +4,57 @@
  */
 package com.myinterviewbot.service;
 
-import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.HistorySummary;
+import com.myinterviewbot.model.HistoryTrends;
 import com.myinterviewbot.model.InterviewEntry;
-
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
 import com.myinterviewbot.model.MyInterviews;
 import com.myinterviewbot.model.ScoreSummary;
-import com.myinterviewbot.utils.Utils;
+import com.myinterviewbot.service.history.ScoreAggregator;
+import com.myinterviewbot.service.history.TrendAnalyzer;
+import com.myinterviewbot.service.storage.InterviewCursor;
+import com.myinterviewbot.service.storage.InterviewRepository;
+import com.myinterviewbot.service.storage.InvalidHistoryQueryException;
+import com.myinterviewbot.service.storage.JsonInterviewRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.*;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Singleton service class that manages interview data during the application's runtime.
  * <p>
- * This class holds all interviews in memory and provides methods to access, add, update,
- * and delete interview records. It can also persist the data to a JSON file and load it
- * when the application starts.
+ * This class provides methods to access, add, update, and delete interview records, which are
+ * stored by an {@link InterviewRepository}: an embedded database by default, where the history
+ * stays on disk and only the requested interviews are read, or a JSON snapshot and journal
+ * kept in memory (see {@link JsonInterviewRepository}).
  * </p>
  *
  * <p><b>Responsibilities:</b></p>
  * <ul>
  *     <li>Store interview data (id, timestamp, profession, question, answer, feedback, video file path)</li>
- *     <li>Provide fast access and lookup using a map keyed by interview ID</li>
- *     <li>Load data from a persistent file on startup</li>
- *     <li>Save data to a persistent file when updated</li>
+ *     <li>Find interviews by timestamp, profession, category and difficulty</li>
+ *     <li>Keep the score statistics of the history up to date (see {@link ScoreAggregator})</li>
+ *     <li>Compute the score trends of the history (see {@link TrendAnalyzer})</li>
  * </ul>
  *
+ * <p>Requests change the history from many threads. Adding or removing an interview updates the repository and the
+ * score statistics together, under the lock of one of 32 stripes chosen by the interview id,
+ * so changes of different interviews run in parallel and changes of the same interview one after the other.
+ * Clearing the history waits for all of them.</p>
+ *
  * <p><b>Note:</b> This class is implemented as a singleton. Use {@link #getInstance()} to
  * obtain the single instance.</p>
  *
@@ -44,14 +64,33 @@ public class InterviewDataService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InterviewDataService.class);
 
+    private static final int LOCK_STRIPES = 32;
+
     private static InterviewDataService instance;
-    private final Map<Long, InterviewEntry> interviews;
-    private final ObjectMapper objectMapper;
-    private File storageFile;
+    private InterviewRepository repository;
+
+    // Changes with every change of the history (and on every start), so a response can be reused while it is the same.
+    // It is incremented in a finally block after the repository is written, never before: a response read while the
+    // change is written is cached under the old version and replaced on the next request
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // Updated on every change, so the score statistics never need to read the whole history again
+    private final ScoreAggregator scoreAggregator = new ScoreAggregator(ZoneId.systemDefault());
+
+    private static final int MAX_CACHED_TRENDS = 16;
+
+    // The trends by their parameters, computed for the version of the history in trendsVersion
+    private final Map<String, HistoryTrends> trendsCache = new LinkedHashMap<>();
+    private long trendsVersion;
+
+    // Held for reading by the changes of one interview, and for writing by the changes of the whole history
+    private final ReadWriteLock historyLock = new ReentrantReadWriteLock();
+    private final Object[] stripes = new Object[LOCK_STRIPES];
 
     private InterviewDataService() {
-        this.interviews = new LinkedHashMap<>();
-        this.objectMapper = new ObjectMapper();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
     }
 
     public static synchronized InterviewDataService getInstance() {
@@ -61,148 +100,275 @@ public class InterviewDataService {
         return instance;
     }
 
-    public void initData() throws IOException {
-        LOGGER.info("initData");
-        // Ensure base upload directory exists
-        final File uploadsDir = new File(Utils.INTERVIEWS_DIR);
-        if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
-            throw new IOException("Failed to create uploads/interviews directory");
-        }
-
-        storageFile = new File(uploadsDir, "interviews.json");
+    /**
+     * Forgets the instance, so the next {@link #getInstance()} starts without a repository. Only for the tests.
+     */
+    static synchronized void resetInstance() {
+        instance = null;
+    }
 
-        // Create empty JSON file if it doesn't exist
-        if (!storageFile.exists()) {
-            try {
-                objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, new LinkedHashMap<>());
-            } catch (IOException e) {
-                throw new IOException("Failed to create interviews.json");
-            }
+    public void initData(final InterviewRepository repository) throws IOException {
+        LOGGER.info("initData");
+        final long startTime = System.currentTimeMillis();
+        historyLock.writeLock().lock();
+        try {
+            this.repository = repository;
+            scoreAggregator.clear();
+            repository.forEachScores(scoreAggregator::add);
+        } finally {
+            historyLock.writeLock().unlock();
+            version.incrementAndGet();
         }
-
-        loadFromFile();
+        LOGGER.info("{} interviews in the history, score statistics built in {} ms.",
+                scoreAggregator.getSummary().getTotal().getInterviews(), System.currentTimeMillis() - startTime);
     }
 
     public void addInterview(final Long id, final InterviewEntry entry) {
         LOGGER.info("addInterview");
-        interviews.put(id, entry);
-        saveToFile();
+        historyLock.readLock().lock();
+        try {
+            synchronized (getStripe(id)) {
+                final InterviewEntry previousEntry = repository.findById(id);
+                repository.save(id, entry);
+                if (previousEntry != null) {
+                    scoreAggregator.remove(previousEntry);
+                }
+                scoreAggregator.add(entry);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to save interview {}: {}", id, e.getMessage());
+        } finally {
+            historyLock.readLock().unlock();
+            version.incrementAndGet();
+        }
     }
 
     public MyInterviews getMyInterviews() {
         LOGGER.info("getMyInterviews");
-        final List<InterviewEntry> entries = interviews.values()
-                .stream()
-                .sorted(Comparator.comparingLong(InterviewEntry::getTimestamp).reversed())
-                .toList();
+        final List<InterviewEntry> entries = findInterviews(new InterviewFilter());
         LOGGER.info("getMyInterviews size: {}", entries.size());
-        return new MyInterviews(createScoreSummary(entries), entries);
+        return new MyInterviews(scoreAggregator.getScoreSummary(), entries);
     }
 
-    public boolean removeInterview(final Long id) {
-        LOGGER.info("removeInterview");
-        final InterviewEntry entry = interviews.remove(id);
-        saveToFile();
-        return entry != null;
+    /**
+     * Returns the score statistics of the history, in total and by category, difficulty, day and week.
+     *
+     * @return the summary
+     */
+    public HistorySummary getHistorySummary() {
+        LOGGER.info("getHistorySummary");
+        return scoreAggregator.getSummary();
     }
 
-    public void clearInterviews() {
-        LOGGER.info("clearInterviews");
-        interviews.clear();
-        saveToFile();
-    }
-
-    private void loadFromFile() {
-        LOGGER.info("loadFromFile");
-        if (storageFile.exists()) {
-            try {
-                Map<Long, InterviewEntry> loaded = objectMapper.readValue(
-                        storageFile,
-                        new TypeReference<>() {
-                        }
-                );
-                interviews.putAll(loaded);
-                LOGGER.info("Loaded {} interviews from file.", loaded.size());
-            } catch (IOException e) {
-                LOGGER.error("Failed to load interviews: {}", e.getMessage());
+    /**
+     * Returns the score trends of the history. They are computed in one pass over the history and reused
+     * until an interview is added or removed.
+     *
+     * @param window    the evaluated interviews in a moving average
+     * @param alpha     the weight of the last score in the exponential average
+     * @param maxPoints the last points returned for each dimension
+     * @return the trends, empty if the interviews could not be read
+     */
+    public HistoryTrends getTrends(final int window, final double alpha, final int maxPoints) {
+        LOGGER.info("getTrends, window: {}, alpha: {}, points: {}", window, alpha, maxPoints);
+        final String key = window + ":" + alpha + ":" + maxPoints;
+        final long currentVersion = version.get();
+        synchronized (trendsCache) {
+            if (trendsVersion != currentVersion) {
+                trendsCache.clear();
+                trendsVersion = currentVersion;
+            }
+            final HistoryTrends cachedTrends = trendsCache.get(key);
+            if (cachedTrends != null) {
+                return cachedTrends;
             }
         }
-    }
 
-    private void saveToFile() {
-        LOGGER.info("Saving {} interviews to file.", interviews.size());
+        final long startTime = System.currentTimeMillis();
+        final TrendAnalyzer analyzer = new TrendAnalyzer(window, alpha, maxPoints);
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, interviews);
+            repository.forEachScores(analyzer::add);
         } catch (IOException e) {
-            LOGGER.error("Failed to save interviews: {}", e.getMessage());
+            LOGGER.error("Failed to read interviews: {}", e.getMessage());
+            return new TrendAnalyzer(window, alpha, maxPoints).getTrends();
         }
+        final HistoryTrends trends = analyzer.getTrends();
+        LOGGER.info("Trends computed in {} ms", System.currentTimeMillis() - startTime);
+
+        synchronized (trendsCache) {
+            // Not cached if the history changed while the trends were computed
+            if (trendsVersion == currentVersion && version.get() == currentVersion) {
+                if (trendsCache.size() >= MAX_CACHED_TRENDS) {
+                    trendsCache.remove(trendsCache.keySet().iterator().next());
+                }
+                trendsCache.put(key, trends);
+            }
+        }
+        return trends;
     }
 
-    ScoreSummary createScoreSummary(final List<InterviewEntry> entries) {
-        LOGGER.info("createScoreSummary");
-        if (entries == null || entries.isEmpty()) {
-            return new ScoreSummary();
+    /**
+     * Returns the interviews that match the filter, the most recent first.
+     *
+     * @param filter the conditions the interviews must meet
+     * @return the interviews, empty if they could not be read
+     */
+    public List<InterviewEntry> findInterviews(final InterviewFilter filter) {
+        LOGGER.info("findInterviews: {}", filter);
+        try {
+            return repository.find(filter);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read interviews: {}", e.getMessage());
+            return new ArrayList<>();
         }
-        // Clarity
-        int clarityCount = 0;
-        int clarityAccumulativeScore = 0;
-        // Structure
-        int structureCount = 0;
-        int structureAccumulativeScore = 0;
-        // Relevance
-        int relevanceCount = 0;
-        int relevanceAccumulativeScore = 0;
-        // Communication
-        int communicationCount = 0;
-        int communicationAccumulativeScore = 0;
-        // Depth
-        int depthCount = 0;
-        int depthAccumulativeScore = 0;
-
-        for (final InterviewEntry entry : entries) {
-            final Evaluation evaluation = entry.getEvaluation();
-            if (evaluation == null) {
-                continue;
-            }
-            if (evaluation.getClarityScore() > 0) {
-                clarityCount++;
-                clarityAccumulativeScore += evaluation.getClarityScore();
-            }
-            if (evaluation.getStructureScore() > 0) {
-                structureCount++;
-                structureAccumulativeScore += evaluation.getStructureScore();
-            }
-            if (evaluation.getRelevanceScore() > 0) {
-                relevanceCount++;
-                relevanceAccumulativeScore += evaluation.getRelevanceScore();
-            }
-            if (evaluation.getCommunicationScore() > 0) {
-                communicationCount++;
-                communicationAccumulativeScore += evaluation.getCommunicationScore();
-            }
-            if (evaluation.getDepthScore() > 0) {
-                depthCount++;
-                depthAccumulativeScore += evaluation.getDepthScore();
-            }
+    }
+
+    /**
+     * Returns a page of the interviews that match the filter.
+     *
+     * @param filter the conditions the interviews must meet
+     * @param sort   the order of the interviews
+     * @param cursor the next cursor of the previous page, {@code null} for the first page
+     * @param limit  the max number of interviews in the page
+     * @return the page, empty if the interviews could not be read
+     * @throws InvalidHistoryQueryException if the cursor is not valid for the sort
+     */
+    public InterviewPage<InterviewEntry> findInterviewPage(final InterviewFilter filter, final InterviewSort sort,
+                                                           final String cursor, final int limit) {
+        LOGGER.info("findInterviewPage: {}, sort: {}, limit: {}", filter, sort, limit);
+        final InterviewCursor after = cursor != null && !cursor.isBlank() ? InterviewCursor.decode(cursor, sort) : null;
+        try {
+            return repository.findPage(filter, sort, after, limit);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read interviews: {}", e.getMessage());
+            return new InterviewPage<>(new ArrayList<>(), null);
         }
-        final ScoreSummary scoreSummary = new ScoreSummary();
-        if (clarityCount > 0) {
-            scoreSummary.setClarityScoreAverage((double) clarityAccumulativeScore / clarityCount);
+    }
+
+    /**
+     * Returns an interview with all its details.
+     *
+     * @param id the interview id
+     * @return the interview, or {@code null} if it does not exist or could not be read
+     */
+    public InterviewEntry getInterview(final Long id) {
+        LOGGER.info("getInterview: {}", id);
+        try {
+            return repository.findById(id);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read interview {}: {}", id, e.getMessage());
+            return null;
         }
-        if (structureCount > 0) {
-            scoreSummary.setStructureScoreAverage((double) structureAccumulativeScore / structureCount);
+    }
+
+    /**
+     * Calls the consumer with every interview, the oldest first, without their texts (see
+     * {@link InterviewRepository#forEach(Consumer)}).
+     *
+     * @param consumer receives the interviews
+     */
+    public void forEachInterview(final Consumer<InterviewEntry> consumer) {
+        LOGGER.info("forEachInterview");
+        try {
+            repository.forEach(consumer);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read interviews: {}", e.getMessage());
         }
-        if (relevanceCount > 0) {
-            scoreSummary.setRelevanceScoreAverage((double) relevanceAccumulativeScore / relevanceCount);
+    }
+
+    /**
+     * Records the transcoded recording of an interview. The scores do not change, so the score statistics are
+     * not updated.
+     *
+     * @param id                the interview id
+     * @param videoUrl          the URL of the recording to play
+     * @param thumbnailUrl      the URL of the thumbnail, {@code null} if there is none
+     * @param videoSize         the bytes of the recording to play
+     * @param originalVideoSize the bytes of the recording before it was transcoded
+     * @return {@code false} if the interview does not exist (e.g. it was removed while it was transcoded) or could
+     * not be saved
+     */
+    public boolean updateVideo(final Long id, final String videoUrl, final String thumbnailUrl, final long videoSize,
+                               final long originalVideoSize) {
+        LOGGER.info("updateVideo: {}", id);
+        historyLock.readLock().lock();
+        try {
+            synchronized (getStripe(id)) {
+                final InterviewEntry entry = repository.findById(id);
+                if (entry == null) {
+                    return false;
+                }
+                entry.setVideoUrl(videoUrl);
+                entry.setThumbnailUrl(thumbnailUrl);
+                entry.setVideoSize(videoSize);
+                entry.setOriginalVideoSize(originalVideoSize);
+                repository.save(id, entry);
+                return true;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to save the video of interview {}: {}", id, e.getMessage());
+            return false;
+        } finally {
+            historyLock.readLock().unlock();
+            version.incrementAndGet();
         }
-        if (communicationCount > 0) {
-            scoreSummary.setCommunicationScoreAverage((double) communicationAccumulativeScore / communicationCount);
+    }
+
+    /**
+     * Returns the version of the history, which changes every time an interview is added or removed.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean removeInterview(final Long id) {
+        LOGGER.info("removeInterview");
+        historyLock.readLock().lock();
+        try {
+            synchronized (getStripe(id)) {
+                final InterviewEntry entry = repository.findById(id);
+                if (entry == null || !repository.delete(id)) {
+                    return false;
+                }
+                scoreAggregator.remove(entry);
+                return true;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to remove interview {}: {}", id, e.getMessage());
+            return false;
+        } finally {
+            historyLock.readLock().unlock();
+            version.incrementAndGet();
         }
-        if (depthCount > 0) {
-            scoreSummary.setDepthScoreAverage((double) depthAccumulativeScore / depthCount);
+    }
+
+    public void clearInterviews() {
+        LOGGER.info("clearInterviews");
+        historyLock.writeLock().lock();
+        try {
+            repository.deleteAll();
+            scoreAggregator.clear();
+        } catch (IOException e) {
+            LOGGER.error("Failed to remove the interviews: {}", e.getMessage());
+        } finally {
+            historyLock.writeLock().unlock();
+            version.incrementAndGet();
         }
-        return scoreSummary;
     }
-}
 
+    private Object getStripe(final Long id) {
+        return stripes[Math.floorMod(Objects.hashCode(id), LOCK_STRIPES)];
+    }
 
+    ScoreSummary createScoreSummary(final List<InterviewEntry> entries) {
+        LOGGER.info("createScoreSummary");
+        if (entries == null || entries.isEmpty()) {
+            return new ScoreSummary();
+        }
+        final ScoreAggregator aggregator = new ScoreAggregator(ZoneId.systemDefault());
+        entries.forEach(aggregator::add);
+        return aggregator.getScoreSummary();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An ffmpeg process that decodes a recording while it is still being received. The bytes appended to the
+ * recording are written to ffmpeg as they arrive, and the decoded audio (16 kHz mono PCM, signed 16-bit
+ * little-endian) is read in the background, so every byte of the recording is decoded only once.
+ *
+ * <p>Created with {@link FfmpegService#startPcmDecoder(String)}. The methods are not thread-safe, except
+ * {@link #close()}.</p>
+ *
+ * @author Alan Quintero
+ */
+public class PcmDecoder implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PcmDecoder.class);
+
+    private final Process process;
+    private final String name;
+    private final AtomicInteger activeExtractions;
+    private final OutputStream input;
+    private final WritableByteChannel inputChannel;
+    private final Thread reader;
+
+    // Audio decoded and not taken yet, guarded by itself
+    private final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+    private long decodedBytes;
+    private long fedBytes;
+    private boolean closed;
+
+    PcmDecoder(final Process process, final String name, final AtomicInteger activeExtractions) {
+        this.process = process;
+        this.name = name;
+        this.activeExtractions = activeExtractions;
+        this.input = process.getOutputStream();
+        this.inputChannel = Channels.newChannel(input);
+        this.reader = new Thread(this::readOutput, "pcm-decoder-" + name);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Writes to ffmpeg the bytes appended to the recording since the last call.
+     *
+     * @param recording the recording being received
+     * @throws IOException if the recording could not be read, or ffmpeg stopped
+     */
+    public void feed(final File recording) throws IOException {
+        try (FileChannel channel = FileChannel.open(recording.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            while (fedBytes < size) {
+                fedBytes += channel.transferTo(fedBytes, size - fedBytes, inputChannel);
+            }
+        }
+        input.flush();
+    }
+
+    /**
+     * Returns the audio decoded since the last call, in whole samples. ffmpeg decodes in the background, so
+     * the audio of the last bytes fed can be returned by the next call.
+     *
+     * @return the new PCM audio, can be empty
+     */
+    public byte[] takeDecoded() {
+        synchronized (decoded) {
+            final byte[] pcm = decoded.toByteArray();
+            final int length = pcm.length - pcm.length % 2;
+            decoded.reset();
+            decoded.write(pcm, length, pcm.length - length);
+            return length == pcm.length ? pcm : Arrays.copyOf(pcm, length);
+        }
+    }
+
+    /**
+     * Tells ffmpeg the recording is complete, waits for it to decode the rest and returns the audio not
+     * taken yet. The decoder is closed.
+     *
+     * <p>An ffmpeg error after some audio was decoded is ignored, the end of a recording can be incomplete.</p>
+     *
+     * @return the rest of the PCM audio
+     * @throws IOException if no audio could be decoded
+     */
+    public byte[] finish() throws IOException {
+        try {
+            input.close();
+            reader.join();
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for FFmpeg", e);
+        } finally {
+            close();
+        }
+        if (process.exitValue() != 0) {
+            synchronized (decoded) {
+                if (decodedBytes == 0) {
+                    throw new IOException("FFmpeg failed to decode the audio of " + name);
+                }
+            }
+            LOGGER.warn("Incomplete end of {} ignored", name);
+        }
+        LOGGER.info("Audio of {} decoded: {} bytes of recording, {} bytes of PCM", name, fedBytes, decodedBytes);
+        return takeDecoded();
+    }
+
+    /**
+     * Stops ffmpeg if it is still running.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        activeExtractions.decrementAndGet();
+        if (process.isAlive()) {
+            process.destroyForcibly();
+        }
+    }
+
+    private void readOutput() {
+        final byte[] buffer = new byte[8192];
+        try (InputStream output = process.getInputStream()) {
+            int read;
+            while ((read = output.read(buffer)) != -1) {
+                synchronized (decoded) {
+                    decoded.write(buffer, 0, read);
+                    decodedBytes += read;
+                }
+            }
+        } catch (IOException e) {
+            // ffmpeg was stopped
+            LOGGER.debug("Output of the decoder of {} closed: {}", name, e.getMessage());
+        }
+    }
+}
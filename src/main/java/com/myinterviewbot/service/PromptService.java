@@ -4,17 +4,29 @@
  */
 package com.myinterviewbot.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.myinterviewbot.factory.PromptResponseFactory;
 import com.myinterviewbot.model.*;
+import com.myinterviewbot.service.ai.PromptQueueFullException;
 import com.myinterviewbot.service.ai.model.AIService;
+import com.myinterviewbot.utils.JsonUtils;
 import com.myinterviewbot.utils.Utils;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
 /**
  * Service responsible for sending prompts to the selected AI model and retrieving responses.
  *
@@ -30,12 +42,52 @@ public class PromptService {
 
     private static final int QUESTION_MAX_NUMBER_OF_WORDS = 35;
     private static final int FEEDBACK_MAX_NUMBER_OF_WORDS = 250;
-    private static final int MAX_NUMBER_OF_ATTEMPTS = 3;
+    // About 1.3 tokens per word, plus some room so the model can finish the last sentence
+    private static final int QUESTION_MAX_TOKENS = 80;
+    private static final int FEEDBACK_MAX_TOKENS = 400;
+    private static final double QUESTION_TEMPERATURE = 0.8;
+    private static final double FEEDBACK_TEMPERATURE = 0.5;
+    private static final double EVALUATION_TEMPERATURE = 0.2;
+    // Fixed seed, so the same answer gets the same scores
+    private static final int EVALUATION_SEED = 42;
+    private static final ObjectNode EVALUATION_SCHEMA = JsonUtils.createJsonSchema(Evaluation.class);
+    private static final String QUESTION_RESTRICTION = "The question must be less than " + QUESTION_MAX_NUMBER_OF_WORDS + " words. Generate ONLY the behavioral interview question — do not include any explanations or introductions.";
 
     @Autowired
     private AIService aiService;
 
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicLong failedEvaluations = new AtomicLong();
+    private final AtomicLong repairedEvaluationJson = new AtomicLong();
+    private final AtomicLong repairPrompts = new AtomicLong();
+    private final AtomicLong successfulRepairPrompts = new AtomicLong();
+    private final AtomicLong questions = new AtomicLong();
+    private final AtomicLong truncatedQuestions = new AtomicLong();
+    private final AtomicLong questionRetries = new AtomicLong();
+    private final AtomicLong feedbacks = new AtomicLong();
+    private final AtomicLong truncatedFeedbacks = new AtomicLong();
+    private final AtomicLong feedbackRetries = new AtomicLong();
+
+    @Autowired
+    @Qualifier("promptExecutor")
+    private ExecutorService promptExecutor;
+
     public PromptResponse generateQuestion(final PromptRequest promptRequest, final HttpSession session) {
+        return generateQuestion(promptRequest, session, null);
+    }
+
+    /**
+     * Generates a question, sending the text of the first model answer to the given consumer while it is generated.
+     * The answer is bounded by a max number of tokens; if it is still too long, it is cut after its last complete
+     * sentence, and only when there is none the model is asked once more. The retry is not streamed and only the
+     * returned response contains the final question.
+     *
+     * @param promptRequest the input needed to generate a question
+     * @param session       the HTTP session
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the generated question
+     */
+    public PromptResponse generateQuestion(final PromptRequest promptRequest, final HttpSession session, final Consumer<String> tokenConsumer) {
         LOGGER.info("Generating question using next input: {}", promptRequest);
         if (promptRequest.getProfession() == null || promptRequest.getProfession().isEmpty() || promptRequest.getQuestion() == null) {
             LOGGER.warn("Some inputs are null or empty");
@@ -43,18 +95,8 @@ public class PromptService {
         }
 
         final Question question = promptRequest.getQuestion();
-        final String difficulty;
-        if (question.getDifficulty() != null && !question.getDifficulty().isEmpty()) {
-            difficulty = " with difficulty level as " + question.getDifficulty() + ",";
-        } else {
-            difficulty = "";
-        }
-        final String category;
-        if (question.getCategory() != null && !question.getCategory().isEmpty()) {
-            category = " focused on " + question.getCategory() + ". ";
-        } else {
-            category = ". ";
-        }
+        final String difficulty = getDifficultyText(question);
+        final String category = getCategoryText(question);
 
         String lastProfession = (String) session.getAttribute("currentProfession");
         Boolean firstQuestion = (Boolean) session.getAttribute("firstQuestion");
@@ -67,7 +109,7 @@ public class PromptService {
             firstQuestion = true;
         }
 
-        final String restriction = "The question must be less than " + QUESTION_MAX_NUMBER_OF_WORDS + " words. Generate ONLY the behavioral interview question — do not include any explanations or introductions.";
+        final String restriction = QUESTION_RESTRICTION;
         String prompt;
         if (firstQuestion == null || firstQuestion) {
             prompt = "You are a concise behavioral interview coach. Generate a single, realistic, behavioral interview question for a " + profession + difficulty + category + restriction;
@@ -76,11 +118,8 @@ public class PromptService {
             prompt = "Give me another behavioral interview question for a " + profession + difficulty + category + restriction;
         }
 
-        /*
-            Sometimes the model response with a very long question, the next code will try to avoid returning a long question by asking the model to generate another question.
-            This process will be repeated a maximum of three time, hope the model can generate a good question.
-        */
-        PromptResponse promptResponse = aiService.executePrompt(prompt);
+        PromptResponse promptResponse = executePrompt(prompt, createQuestionOptions(PromptPriority.QUESTION), tokenConsumer);
+        questions.incrementAndGet();
         String questionResponse = promptResponse.getPromptResponse().toString();
         if (questionResponse.isBlank()) {
             return promptResponse;
@@ -88,30 +127,18 @@ public class PromptService {
 
         int words = Utils.countWords(questionResponse);
         if (words > QUESTION_MAX_NUMBER_OF_WORDS) {
-            LOGGER.warn("⚠︎⚠︎⚠︎ Question has more than " + QUESTION_MAX_NUMBER_OF_WORDS + " words, asking model to generate another question...");
-            int requestNewAnswer = 0;
-            while (requestNewAnswer < MAX_NUMBER_OF_ATTEMPTS) {
-                requestNewAnswer++;
-                prompt = switch (requestNewAnswer) {
-                    case 1 ->
-                            "Please provide the next behavioral interview question in " + QUESTION_MAX_NUMBER_OF_WORDS + " words or less: " + question;
-                    case 2 ->
-                            "Give me a totally different behavioral interview question for a " + profession + difficulty + category + " Remember that the question must be less than 15 words. Only output the question.";
-                    case 3 ->
-                            "Give me a the most common behavioral interview question for a " + profession + difficulty + category + restriction;
-                    default ->
-                            "Give me a generic behavioral interview question for a " + profession + difficulty + category + restriction;
-                };
-
+            final String truncatedQuestion = Utils.truncateAtSentence(questionResponse, QUESTION_MAX_NUMBER_OF_WORDS);
+            if (!truncatedQuestion.isEmpty()) {
+                LOGGER.warn("⚠︎⚠︎⚠︎ Question has more than " + QUESTION_MAX_NUMBER_OF_WORDS + " words, keeping only its complete sentences");
+                truncatedQuestions.incrementAndGet();
+                questionResponse = truncatedQuestion;
+            } else {
+                LOGGER.warn("⚠︎⚠︎⚠︎ Question has more than " + QUESTION_MAX_NUMBER_OF_WORDS + " words and cannot be cut, asking model to shorten it...");
+                questionRetries.incrementAndGet();
+                prompt = "Please provide the next behavioral interview question in " + QUESTION_MAX_NUMBER_OF_WORDS + " words or less: " + questionResponse;
                 // Extracting the question because AI sometimes gives an explanation of what it did to shorten the question.
-                promptResponse = aiService.executePrompt(prompt);
+                promptResponse = executePrompt(prompt, createQuestionOptions(PromptPriority.QUESTION), null);
                 questionResponse = Utils.extractQuestion(promptResponse.getPromptResponse().toString());
-                words = Utils.countWords(questionResponse);
-                if (words <= QUESTION_MAX_NUMBER_OF_WORDS) {
-                    break;
-                } else {
-                    LOGGER.warn("⚠︎⚠︎⚠︎ New generated question has more than " + QUESTION_MAX_NUMBER_OF_WORDS + " words, asking model to generate another question...");
-                }
             }
         }
         words = Utils.countWords(questionResponse);
@@ -125,7 +152,62 @@ public class PromptService {
         return promptResponse;
     }
 
+    /**
+     * Generates a question for the question pool. It runs with the lowest priority, never comes from the cache
+     * and is not generated again when it is too long: it is cut after its last complete sentence, or when there
+     * is none, the returned response has an empty question.
+     *
+     * @param promptRequest the profession and the question options
+     * @return the generated question
+     */
+    public PromptResponse generatePoolQuestion(final PromptRequest promptRequest) {
+        if (promptRequest.getProfession() == null || promptRequest.getProfession().isEmpty() || promptRequest.getQuestion() == null) {
+            LOGGER.warn("Some inputs are null or empty");
+            return PromptResponseFactory.createEmptyResponse();
+        }
+
+        final String prompt = "Give me another behavioral interview question for a " + promptRequest.getProfession()
+                + getDifficultyText(promptRequest.getQuestion()) + getCategoryText(promptRequest.getQuestion()) + QUESTION_RESTRICTION;
+        final PromptResponse promptResponse = executePrompt(prompt, createQuestionOptions(PromptPriority.BACKGROUND), null);
+        String questionResponse = promptResponse.getPromptResponse().toString().trim();
+        if (Utils.countWords(questionResponse) > QUESTION_MAX_NUMBER_OF_WORDS) {
+            questionResponse = Utils.truncateAtSentence(questionResponse, QUESTION_MAX_NUMBER_OF_WORDS);
+            if (questionResponse.isEmpty()) {
+                LOGGER.warn("⚠︎⚠︎⚠︎ Pool question has more than " + QUESTION_MAX_NUMBER_OF_WORDS + " words, discarding it");
+                promptResponse.setPromptResponse("");
+                return promptResponse;
+            }
+        }
+        promptResponse.setPromptResponse(Utils.removeQuotes(questionResponse));
+        return promptResponse;
+    }
+
+    /**
+     * Records in the session that a question was already asked for the profession, so the next
+     * generated question is another one. Used when the question does not come from {@link #generateQuestion}.
+     *
+     * @param profession the profession of the question
+     * @param session    the HTTP session
+     */
+    public void markQuestionAsked(final String profession, final HttpSession session) {
+        session.setAttribute("currentProfession", profession);
+        session.setAttribute("firstQuestion", false);
+    }
+
     public PromptResponse generateFeedback(final PromptRequest promptRequest) {
+        return generateFeedback(promptRequest, null);
+    }
+
+    /**
+     * Generates feedback, sending the text of the first model answer to the given consumer while it is generated.
+     * Like the questions, a too long feedback is cut after its last complete sentence, and only when there is none
+     * the model is asked once more.
+     *
+     * @param promptRequest the input needed to generate the feedback
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the generated feedback
+     */
+    public PromptResponse generateFeedback(final PromptRequest promptRequest, final Consumer<String> tokenConsumer) {
         if (promptRequest.getProfession() == null || promptRequest.getProfession().isEmpty()
                 || promptRequest.getQuestion() == null || promptRequest.getQuestion().getQuestion() == null || promptRequest.getQuestion().getQuestion().isEmpty()
                 || promptRequest.getTranscript() == null || promptRequest.getTranscript().getTranscript() == null
@@ -146,33 +228,27 @@ public class PromptService {
                     + "Candidate answer: " + promptRequest.getTranscript().getTranscript();
         }
 
-        PromptResponse promptResponse = aiService.executePrompt(prompt);
+        final PromptOptions options = createOptions(PromptPriority.FEEDBACK, false, FEEDBACK_MAX_TOKENS, FEEDBACK_TEMPERATURE);
+        PromptResponse promptResponse = executePrompt(prompt, options, tokenConsumer);
+        feedbacks.incrementAndGet();
         String feedback = promptResponse.getPromptResponse().toString();
         if (feedback.isBlank()) {
             return promptResponse;
         }
 
-        /*
-            Sometimes the model response with a very long feedback, the next code will try to avoid returning a long feedback by asking the model to generate another feedback.
-            This process will be repeated a maximum of three time, hope the model can generate a good and short feedback.
-        */
         int words = Utils.countWords(feedback);
         if (words > FEEDBACK_MAX_NUMBER_OF_WORDS) {
-            LOGGER.warn("⚠︎⚠︎⚠︎ Feedback has more than " + FEEDBACK_MAX_NUMBER_OF_WORDS + " words, asking model to generate another feedback...");
-            int requestNewFeedback = 0;
-            while (requestNewFeedback < MAX_NUMBER_OF_ATTEMPTS) {
-                requestNewFeedback++;
+            final String truncatedFeedback = Utils.truncateAtSentence(feedback, FEEDBACK_MAX_NUMBER_OF_WORDS);
+            if (!truncatedFeedback.isEmpty()) {
+                LOGGER.warn("⚠︎⚠︎⚠︎ Feedback has more than " + FEEDBACK_MAX_NUMBER_OF_WORDS + " words, keeping only its complete sentences");
+                truncatedFeedbacks.incrementAndGet();
+                feedback = truncatedFeedback;
+            } else {
+                LOGGER.warn("⚠︎⚠︎⚠︎ Feedback has more than " + FEEDBACK_MAX_NUMBER_OF_WORDS + " words and cannot be cut, asking model to shorten it...");
+                feedbackRetries.incrementAndGet();
                 prompt = "Please provide the next feedback in " + FEEDBACK_MAX_NUMBER_OF_WORDS + " words or less: " + feedback;
-
-                promptResponse = aiService.executePrompt(prompt);
+                promptResponse = executePrompt(prompt, options, null);
                 feedback = promptResponse.getPromptResponse().toString();
-
-                words = Utils.countWords(feedback);
-                if (words <= FEEDBACK_MAX_NUMBER_OF_WORDS) {
-                    break;
-                } else {
-                    LOGGER.warn("⚠︎⚠︎⚠︎ New generated feedback has more than " + FEEDBACK_MAX_NUMBER_OF_WORDS + "  words, asking model to generate another feedback...");
-                }
             }
         }
         words = Utils.countWords(feedback);
@@ -229,35 +305,202 @@ public class PromptService {
                     + " Candidate Response: " + promptRequest.getTranscript().getTranscript();
         }
 
-        PromptResponse promptResponse = aiService.executePrompt(prompt);
-        String evaluationTxt = promptResponse.getPromptResponse().toString();
+        // The model can only answer with the Evaluation fields when the AI service supports JSON schemas
+        final PromptOptions options = createOptions(PromptPriority.EVALUATION, false, null, EVALUATION_TEMPERATURE);
+        options.setSeed(EVALUATION_SEED);
+        options.setFormat(EVALUATION_SCHEMA);
+        final PromptResponse promptResponse = aiService.executePrompt(prompt, options, null);
+        evaluations.incrementAndGet();
+        final String evaluationTxt = promptResponse.getPromptResponse() == null ? "" : promptResponse.getPromptResponse().toString();
 
-        if (evaluationTxt == null || evaluationTxt.isEmpty()) {
+        if (evaluationTxt.isEmpty()) {
             LOGGER.warn("Evaluation text is null");
+            failedEvaluations.incrementAndGet();
             promptResponse.setPromptResponse(null);
             return promptResponse;
         }
 
-        final String evaluationJson = Utils.extractJson(evaluationTxt);
+        final Evaluation evaluation = parseEvaluation(evaluationTxt, promptRequest);
+        if (evaluation == null) {
+            LOGGER.warn("Evaluation failed. Please try again later.");
+            failedEvaluations.incrementAndGet();
+        }
+        promptResponse.setPromptResponse(evaluation);
+        return promptResponse;
+    }
+
+    /**
+     * Returns how often the AI model output could not be used as an evaluation and how often it had to be repaired.
+     *
+     * @return the evaluation metrics
+     */
+    public EvaluationMetrics getEvaluationMetrics() {
+        return new EvaluationMetrics(evaluations.get(), failedEvaluations.get(), repairedEvaluationJson.get(), repairPrompts.get(), successfulRepairPrompts.get());
+    }
+
+    /**
+     * Returns how often the generated questions and feedbacks were too long, and how often they
+     * could not be cut and the AI model had to be asked again.
+     *
+     * @return the generation metrics
+     */
+    public GenerationMetrics getGenerationMetrics() {
+        return new GenerationMetrics(questions.get(), truncatedQuestions.get(), questionRetries.get(),
+                feedbacks.get(), truncatedFeedbacks.get(), feedbackRetries.get());
+    }
 
+    /**
+     * Reads the evaluation from the AI model output. Incomplete JSON (e.g. the output was cut) is repaired,
+     * and when only some fields are missing, the AI model is asked once for those fields only.
+     *
+     * @return the evaluation, or {@code null} if the output is not an evaluation
+     */
+    private Evaluation parseEvaluation(final String evaluationTxt, final PromptRequest promptRequest) {
+        final String evaluationJson = JsonUtils.repairJson(evaluationTxt);
         LOGGER.info("Evaluation JSON: {}", evaluationJson);
         if (evaluationJson == null) {
             LOGGER.warn("Evaluation in not in JSON format; Evaluation output: {}", evaluationTxt);
-            return promptResponse;
+            return null;
+        }
+        if (!evaluationTxt.contains(evaluationJson)) {
+            LOGGER.warn("Evaluation JSON was incomplete and has been repaired");
+            repairedEvaluationJson.incrementAndGet();
         }
 
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            final Evaluation evaluation = mapper.readValue(evaluationJson, Evaluation.class);
+            final JsonNode json = JsonUtils.LENIENT_MAPPER.readTree(evaluationJson);
+            final List<String> missingFields = getMissingEvaluationFields(json);
+            if (missingFields.size() == EVALUATION_SCHEMA.get("required").size()) {
+                LOGGER.warn("Evaluation JSON has none of the evaluation fields");
+                return null;
+            }
+            if (!missingFields.isEmpty()) {
+                repairMissingEvaluationFields((ObjectNode) json, missingFields, promptRequest);
+            }
+
+            final Evaluation evaluation = JsonUtils.LENIENT_MAPPER.treeToValue(json, Evaluation.class);
             validateFeedback(evaluation);
-            promptResponse.setPromptResponse(evaluation);
-            return promptResponse;
+            return evaluation;
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
         }
-        LOGGER.warn("Evaluation failed. Please try again later.");
-        promptResponse.setPromptResponse(null);
-        return promptResponse;
+        return null;
+    }
+
+    /**
+     * Asks the AI model only for the missing fields of the evaluation and adds them to it.
+     */
+    private void repairMissingEvaluationFields(final ObjectNode json, final List<String> missingFields, final PromptRequest promptRequest) throws Exception {
+        LOGGER.warn("Evaluation is missing the fields {}, asking the model for them...", missingFields);
+        repairPrompts.incrementAndGet();
+        final String prompt = "You are a technical hiring manager. Complete the evaluation of a " + promptRequest.getProfession() + " candidate's response to a behavioral interview question: " + promptRequest.getQuestion().getQuestion()
+                + " Evaluation so far: " + json
+                + " Output only a JSON object with the missing parameters: " + String.join(", ", missingFields) + ". "
+                + "Scores go from 1 to 10 (10 = excellent), feedbacks are one sentence. "
+                + " Candidate Response: " + promptRequest.getTranscript().getTranscript();
+        final PromptOptions options = createOptions(PromptPriority.EVALUATION, false, null, EVALUATION_TEMPERATURE);
+        options.setSeed(EVALUATION_SEED);
+        options.setFormat(JsonUtils.createJsonSchema(Evaluation.class, missingFields));
+
+        final PromptResponse promptResponse = aiService.executePrompt(prompt, options, null);
+        final String repairJson = JsonUtils.repairJson(promptResponse.getPromptResponse() == null ? null : promptResponse.getPromptResponse().toString());
+        if (repairJson == null) {
+            LOGGER.warn("Missing evaluation fields could not be generated");
+            return;
+        }
+        final JsonNode repair = JsonUtils.LENIENT_MAPPER.readTree(repairJson);
+        for (final String field : missingFields) {
+            if (repair.hasNonNull(field)) {
+                json.set(field, repair.get(field));
+            }
+        }
+        if (getMissingEvaluationFields(json).isEmpty()) {
+            successfulRepairPrompts.incrementAndGet();
+        }
+    }
+
+    private static List<String> getMissingEvaluationFields(final JsonNode json) {
+        final List<String> missingFields = new ArrayList<>();
+        for (final JsonNode field : EVALUATION_SCHEMA.get("required")) {
+            if (!json.hasNonNull(field.asText())) {
+                missingFields.add(field.asText());
+            }
+        }
+        return missingFields;
+    }
+
+    /**
+     * Generates the feedback and the evaluation of an answer in parallel. Both prompts are independent,
+     * so on an AI model that can serve more than one prompt at a time the total wait is close to the
+     * slowest of the two instead of their sum.
+     *
+     * @param promptRequest the input needed to generate the feedback and the evaluation
+     * @param tokenConsumer receives the feedback text chunks while it is generated, can be {@code null}
+     * @return the feedback and the evaluation
+     */
+    public ReviewResponse generateReview(final PromptRequest promptRequest, final Consumer<String> tokenConsumer) {
+        LOGGER.info("Generating feedback and evaluation in parallel");
+        final long startTime = System.currentTimeMillis();
+        final CompletableFuture<PromptResponse> feedback = CompletableFuture
+                .supplyAsync(() -> generateFeedback(promptRequest, tokenConsumer), promptExecutor)
+                .exceptionally(e -> failedReview("feedback", e, startTime));
+        final CompletableFuture<PromptResponse> evaluation = CompletableFuture
+                .supplyAsync(() -> generateEvaluation(promptRequest), promptExecutor)
+                .exceptionally(e -> failedReview("evaluation", e, startTime));
+
+        final ReviewResponse reviewResponse;
+        try {
+            reviewResponse = new ReviewResponse(feedback.join(), evaluation.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PromptQueueFullException) {
+                throw (PromptQueueFullException) e.getCause();
+            }
+            throw e;
+        }
+        LOGGER.info("Feedback and evaluation completed in {} ms", System.currentTimeMillis() - startTime);
+        return reviewResponse;
+    }
+
+    private PromptResponse failedReview(final String name, final Throwable e, final long startTime) {
+        if (e.getCause() instanceof PromptQueueFullException) {
+            // Not a failure of the prompt, the client must try again later
+            throw new CompletionException(e.getCause());
+        }
+        LOGGER.error("Failed to generate the {}", name, e);
+        return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + ": " + e.getClass().getSimpleName(), System.currentTimeMillis() - startTime);
+    }
+
+    private PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
+        return aiService.executePrompt(prompt, options, tokenConsumer);
+    }
+
+    /**
+     * Every question must be a new one, even the first question of a session, so questions never come from the cache.
+     */
+    private static PromptOptions createQuestionOptions(final PromptPriority priority) {
+        return createOptions(priority, true, QUESTION_MAX_TOKENS, QUESTION_TEMPERATURE);
+    }
+
+    private static PromptOptions createOptions(final PromptPriority priority, final boolean bypassCache, final Integer maxTokens, final double temperature) {
+        final PromptOptions options = new PromptOptions(priority);
+        options.setBypassCache(bypassCache);
+        options.setMaxTokens(maxTokens);
+        options.setTemperature(temperature);
+        return options;
+    }
+
+    private static String getDifficultyText(final Question question) {
+        if (question.getDifficulty() != null && !question.getDifficulty().isEmpty()) {
+            return " with difficulty level as " + question.getDifficulty() + ",";
+        }
+        return "";
+    }
+
+    private static String getCategoryText(final Question question) {
+        if (question.getCategory() != null && !question.getCategory().isEmpty()) {
+            return " focused on " + question.getCategory() + ". ";
+        }
+        return ". ";
     }
 
     private void validateFeedback(final Evaluation evaluation) {
@@ -0,0 +1,237 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service;
+
+import com.myinterviewbot.model.PromptQueueMetrics;
+import com.myinterviewbot.model.PromptRequest;
+import com.myinterviewbot.model.PromptResponse;
+import com.myinterviewbot.model.Question;
+import com.myinterviewbot.service.ai.QueuedAIService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that keeps a small pool of ready questions for every (profession, category, difficulty)
+ * requested by the users, so a new question can be returned without waiting for the AI model.
+ *
+ * <p>Every time a question is requested, its (profession, category, difficulty) is registered in the pool.
+ * A background task refills the pools while the AI model is idle (no prompt waiting in the queue and a free
+ * slot), so the refills never delay the prompts of the users. Only the most recently requested pools are kept.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class QuestionPoolService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuestionPoolService.class);
+
+    private final PromptService promptService;
+    private final QueuedAIService queuedAIService;
+    private final ExecutorService questionPoolExecutor;
+    private final ScheduledExecutorService questionPoolScheduler;
+
+    private final boolean enabled;
+    private final int poolSize;
+    private final long refillIntervalSeconds;
+
+    private final Map<PoolKey, Deque<String>> pools;
+    private final Set<PoolKey> refilling = ConcurrentHashMap.newKeySet();
+
+    public QuestionPoolService(final PromptService promptService, final QueuedAIService queuedAIService,
+                               @Qualifier("questionPoolExecutor") final ExecutorService questionPoolExecutor,
+                               @Qualifier("questionPoolScheduler") final ScheduledExecutorService questionPoolScheduler,
+                               @Value("${question.pool.enabled:true}") final boolean enabled,
+                               @Value("${question.pool.size:3}") final int poolSize,
+                               @Value("${question.pool.max-pools:20}") final int maxPools,
+                               @Value("${question.pool.refill-interval-seconds:30}") final long refillIntervalSeconds) {
+        this.promptService = promptService;
+        this.queuedAIService = queuedAIService;
+        this.questionPoolExecutor = questionPoolExecutor;
+        this.questionPoolScheduler = questionPoolScheduler;
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+        this.refillIntervalSeconds = refillIntervalSeconds;
+        // Access order, so the pool requested least recently is removed first
+        this.pools = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<PoolKey, Deque<String>> eldest) {
+                return size() > maxPools;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled || poolSize <= 0) {
+            LOGGER.info("Question pool disabled");
+            return;
+        }
+        LOGGER.info("Question pool: {} questions per pool, refill every {} seconds", poolSize, refillIntervalSeconds);
+        questionPoolScheduler.scheduleWithFixedDelay(this::refill, refillIntervalSeconds, refillIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Takes a question from the pool of the given profession, category and difficulty.
+     * The pool is created if it does not exist yet, so it is filled for the next requests.
+     *
+     * @param promptRequest the profession and the question options
+     * @return a question, or {@code null} if the pool is empty
+     */
+    public String takeQuestion(final PromptRequest promptRequest) {
+        if (!enabled || poolSize <= 0 || promptRequest.getProfession() == null || promptRequest.getProfession().isBlank()
+                || promptRequest.getQuestion() == null) {
+            return null;
+        }
+
+        final PoolKey key = new PoolKey(promptRequest.getProfession(), promptRequest.getQuestion().getCategory(), promptRequest.getQuestion().getDifficulty());
+        final String question;
+        synchronized (pools) {
+            question = pools.computeIfAbsent(key, k -> new ArrayDeque<>()).pollFirst();
+        }
+        LOGGER.info("Question pool {} for {}", question != null ? "hit" : "miss", key);
+        return question;
+    }
+
+    /**
+     * Starts a refill for every pool that is not full, while the AI model is idle.
+     */
+    void refill() {
+        if (!isAiModelIdle()) {
+            return;
+        }
+
+        final List<PoolKey> keys;
+        synchronized (pools) {
+            keys = new ArrayList<>(pools.keySet());
+        }
+        for (final PoolKey key : keys) {
+            if (getPoolSize(key) < poolSize && refilling.add(key)) {
+                try {
+                    questionPoolExecutor.execute(() -> fill(key));
+                } catch (RejectedExecutionException e) {
+                    refilling.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates questions for the given pool until it is full, it stops as soon as a user prompt is waiting.
+     */
+    private void fill(final PoolKey key) {
+        try {
+            // Too long questions are discarded, so a pool may need more prompts than its size
+            int attempts = 0;
+            while (getPoolSize(key) < poolSize && attempts++ < poolSize * 2 && isAiModelIdle()) {
+                final PromptRequest promptRequest = new PromptRequest();
+                promptRequest.setProfession(key.profession);
+                final Question question = new Question();
+                question.setCategory(key.category);
+                question.setDifficulty(key.difficulty);
+                promptRequest.setQuestion(question);
+
+                final PromptResponse promptResponse = promptService.generatePoolQuestion(promptRequest);
+                if (!promptResponse.getPromptStats().isExecutedSuccessfully()) {
+                    LOGGER.warn("Failed to generate a question for the pool {}, trying again later", key);
+                    return;
+                }
+
+                final String generatedQuestion = promptResponse.getPromptResponse().toString();
+                if (generatedQuestion.isBlank()) {
+                    continue;
+                }
+                synchronized (pools) {
+                    final Deque<String> pool = findPool(key);
+                    if (pool == null) {
+                        // The pool was removed while the question was generated
+                        return;
+                    }
+                    if (!pool.contains(generatedQuestion)) {
+                        pool.addLast(generatedQuestion);
+                        LOGGER.info("Question added to the pool {} ({}/{})", key, pool.size(), poolSize);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error refilling the question pool {}", key, e);
+        } finally {
+            refilling.remove(key);
+        }
+    }
+
+    private int getPoolSize(final PoolKey key) {
+        synchronized (pools) {
+            final Deque<String> pool = findPool(key);
+            // A removed pool is never refilled
+            return pool != null ? pool.size() : poolSize;
+        }
+    }
+
+    /**
+     * Finds the pool without {@code get()}, so a refill does not change the access order of the pools.
+     * Must be called holding the pools lock.
+     */
+    private Deque<String> findPool(final PoolKey key) {
+        for (final Map.Entry<PoolKey, Deque<String>> entry : pools.entrySet()) {
+            if (entry.getKey().equals(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean isAiModelIdle() {
+        final PromptQueueMetrics metrics = queuedAIService.getMetrics();
+        return metrics.getQueueDepth() == 0 && metrics.getInFlight() < metrics.getMaxInFlight();
+    }
+
+    /**
+     * The profession, category and difficulty of a pool.
+     */
+    private static final class PoolKey {
+
+        private final String profession;
+        private final String category;
+        private final String difficulty;
+
+        private PoolKey(final String profession, final String category, final String difficulty) {
+            this.profession = profession.trim();
+            this.category = category == null ? "" : category;
+            this.difficulty = difficulty == null ? "" : difficulty;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey other)) {
+                return false;
+            }
+            return profession.equalsIgnoreCase(other.profession) && category.equals(other.category) && difficulty.equals(other.difficulty);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(profession.toLowerCase(Locale.ROOT), category, difficulty);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + profession + ", " + category + ", " + difficulty + ")";
+        }
+    }
+}
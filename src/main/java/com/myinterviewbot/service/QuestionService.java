@@ -4,19 +4,18 @@
  */
 package com.myinterviewbot.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myinterviewbot.model.Question;
+import com.myinterviewbot.service.storage.QuestionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Singleton service class that manages question data during the application's runtime.
+ * The questions are stored by a {@link QuestionRepository}.
  *
  * @author Alan Quintero
  */
@@ -25,14 +24,9 @@ public class QuestionService {
     private static final Logger LOGGER = LoggerFactory.getLogger(QuestionService.class);
 
     private static QuestionService instance;
-    private Set<String> questions;
-    private final ObjectMapper objectMapper;
-    private File storageFile;
-    private String aiModelFromConfig;
+    private QuestionRepository repository;
 
     private QuestionService() {
-        this.questions = new HashSet<>();
-        this.objectMapper = new ObjectMapper();
     }
 
     public static synchronized QuestionService getInstance() {
@@ -42,63 +36,36 @@ public class QuestionService {
         return instance;
     }
 
-    public void initData() throws IOException {
+    public void initData(final QuestionRepository repository) {
         LOGGER.info("initData");
-        // Ensure base upload directory exists
-        final File uploadsDir = new File("uploads/questions");
-        if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
-            throw new IOException("Failed to create uploads/questions directory");
-        }
-
-        storageFile = new File(uploadsDir, "questions.json");
-
-        // Create empty JSON file if it doesn't exist
-        if (!storageFile.exists()) {
-            try {
-                objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, questions);
-            } catch (IOException e) {
-                throw new IOException("Failed to create questions.json");
-            }
-        }
-
-        loadFromFile();
-    }
-
-    private void loadFromFile() {
-        LOGGER.info("loadFromFile");
-        if (storageFile.exists()) {
-            try {
-                questions = objectMapper.readValue(storageFile, new TypeReference<>() {
-                });
-                LOGGER.info("Loaded questions from file: {}", questions);
-            } catch (IOException e) {
-                LOGGER.error("Failed to load questions: {}", e.getMessage());
-            }
-        }
+        this.repository = repository;
     }
 
     public Set<String> getQuestions() {
-        return questions;
+        try {
+            return repository.findAll();
+        } catch (IOException e) {
+            LOGGER.error("Failed to load questions: {}", e.getMessage());
+            return new HashSet<>();
+        }
     }
 
     public boolean saveQuestion(final Question question) {
         try {
-            questions.add(question.getQuestion());
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, questions);
+            repository.save(question.getQuestion());
             return true;
         } catch (Exception e) {
-            LOGGER.error("Failed to save questions.json", e);
+            LOGGER.error("Failed to save question", e);
         }
         return false;
     }
 
     public boolean deleteQuestion(final Question question) {
         try {
-            questions.remove(question.getQuestion());
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, questions);
+            repository.delete(question.getQuestion());
             return true;
         } catch (Exception e) {
-            LOGGER.error("Failed to save questions.json", e);
+            LOGGER.error("Failed to delete question", e);
         }
         return false;
     }
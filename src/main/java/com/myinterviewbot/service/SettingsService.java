@@ -4,13 +4,12 @@
  */
 package com.myinterviewbot.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myinterviewbot.model.settings.Settings;
+import com.myinterviewbot.service.storage.SettingsRepository;
 import com.myinterviewbot.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
@@ -18,7 +17,7 @@ import java.util.List;
  * Singleton service class that manages settings data during the application's runtime.
  * <p>
  * This class holds all settings in memory and provides methods to access, add, update settings.
- * It can also persist the data to a JSON file and load it when the application starts.
+ * They are saved by a {@link SettingsRepository} and loaded when the application starts.
  * </p>
  *
  * @author Alan Quintero
@@ -28,14 +27,13 @@ public class SettingsService {
     private static final Logger LOGGER = LoggerFactory.getLogger(SettingsService.class);
 
     private static SettingsService instance;
-    private Settings settings;
-    private final ObjectMapper objectMapper;
-    private File storageFile;
+    // Replaced when the settings are loaded, read by every request
+    private volatile Settings settings;
+    private SettingsRepository repository;
     private String aiModelFromConfig;
 
     private SettingsService() {
         this.settings = new Settings();
-        this.objectMapper = new ObjectMapper();
     }
 
     public static synchronized SettingsService getInstance() {
@@ -45,38 +43,36 @@ public class SettingsService {
         return instance;
     }
 
-    public void initData(final String aiProvider, final String aiModel, final String whisperProvider) throws IOException {
+    public void initData(final SettingsRepository repository, final String aiProvider, final String aiModel, final String whisperProvider) throws IOException {
         LOGGER.info("initData");
+        this.repository = repository;
         aiModelFromConfig = aiModel;
-        // Ensure base upload directory exists
-        final File uploadsDir = new File("uploads/settings");
-        if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
-            throw new IOException("Failed to create uploads/settings directory");
-        }
-
-        storageFile = new File(uploadsDir, "settings.json");
 
-        // Create empty JSON file if it doesn't exist
-        if (!storageFile.exists()) {
-            try {
-                settings.getSystemSettings().setAiProvider(aiProvider);
-                settings.getSystemSettings().setSelectedAiModel(aiModel);
-                settings.getSystemSettings().setWhisperProvider(whisperProvider);
-                settings.getSystemSettings().setOperatingSystem(Utils.getOperatingSystemName());
-                objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, settings);
-            } catch (IOException e) {
-                throw new IOException("Failed to create settings.json");
-            }
+        final Settings savedSettings;
+        try {
+            savedSettings = repository.load();
+        } catch (IOException e) {
+            LOGGER.error("Failed to load settings: {}", e.getMessage());
+            return;
         }
-
-        loadFromFile();
+        if (savedSettings != null) {
+            settings = savedSettings;
+            LOGGER.info("Loaded settings: {}", settings);
+            return;
+        }
+        // First start, the settings come from the config
+        settings.getSystemSettings().setAiProvider(aiProvider);
+        settings.getSystemSettings().setSelectedAiModel(aiModel);
+        settings.getSystemSettings().setWhisperProvider(whisperProvider);
+        settings.getSystemSettings().setOperatingSystem(Utils.getOperatingSystemName());
+        repository.save(settings);
     }
 
     public Settings getSettings() {
         return settings;
     }
 
-    public void saveAiModels(final List<String> aiModels) {
+    public synchronized void saveAiModels(final List<String> aiModels) {
         settings.getSystemSettings().setAiModels(aiModels);
 
         // check if selected AI Model is in the list
@@ -88,23 +84,11 @@ public class SettingsService {
         saveSettings(settings);
     }
 
-    public void saveSettings(final Settings settings) {
+    public synchronized void saveSettings(final Settings settings) {
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, settings);
+            repository.save(settings);
         } catch (Exception e) {
-            LOGGER.error("Failed to save settings.json", e);
-        }
-    }
-
-    private void loadFromFile() {
-        LOGGER.info("loadFromFile");
-        if (storageFile.exists()) {
-            try {
-                settings = objectMapper.readValue(storageFile, Settings.class);
-                LOGGER.info("Loaded settings from file: {}", settings);
-            } catch (IOException e) {
-                LOGGER.error("Failed to load settings: {}", e.getMessage());
-            }
+            LOGGER.error("Failed to save settings", e);
         }
     }
 }
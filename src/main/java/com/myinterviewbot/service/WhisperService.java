@@ -4,6 +4,8 @@
  */
 package com.myinterviewbot.service;
 
+import com.myinterviewbot.model.TranscriptStats;
+import com.myinterviewbot.service.whisper.PcmWhisper;
 import com.myinterviewbot.service.whisper.Whisper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for transcribing audio files to text.
@@ -28,6 +32,9 @@ public class WhisperService {
     @Autowired
     private Whisper whisper;
 
+    // The transcriptions running, while there is one the background transcoding waits
+    private final AtomicInteger activeTranscriptions = new AtomicInteger();
+
     /**
      * Transcribes a given audio file into text.
      *
@@ -35,7 +42,63 @@ public class WhisperService {
      * @return the transcribed text from the audio file
      */
     public String transcribe(final File audioFile) {
+        return transcribe(audioFile, null);
+    }
+
+    /**
+     * Transcribes a given audio file into text, recording the CPU time and the bytes written.
+     *
+     * @param audioFile the audio file to transcribe
+     * @param stats     receives the CPU time and the bytes written, can be {@code null}
+     * @return the transcribed text from the audio file
+     */
+    public String transcribe(final File audioFile, final TranscriptStats stats) {
         LOGGER.info("Transcribing audio file...");
-        return whisper.transcribe(audioFile);
+        activeTranscriptions.incrementAndGet();
+        try {
+            return whisper.transcribe(audioFile, stats);
+        } finally {
+            activeTranscriptions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns if the Whisper provider can transcribe raw PCM audio without an audio file.
+     *
+     * @return {@code true} if raw PCM audio is supported
+     */
+    public boolean supportsPcm() {
+        return whisper instanceof PcmWhisper;
+    }
+
+    /**
+     * Transcribes raw 16 kHz mono PCM audio read from the given stream.
+     *
+     * @param pcm   the PCM audio
+     * @param stats receives the CPU time and the bytes written, can be {@code null}
+     * @return the transcribed text, or {@code null} if the audio could not be transcribed, or the Whisper
+     * provider does not support raw PCM audio, see {@link #supportsPcm()}
+     */
+    public String transcribePcm(final InputStream pcm, final TranscriptStats stats) {
+        if (!(whisper instanceof PcmWhisper pcmWhisper)) {
+            LOGGER.warn("The Whisper provider does not support raw PCM audio");
+            return null;
+        }
+        LOGGER.info("Transcribing PCM audio...");
+        activeTranscriptions.incrementAndGet();
+        try {
+            return pcmWhisper.transcribePcm(pcm, stats);
+        } finally {
+            activeTranscriptions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns if an answer is being transcribed.
+     *
+     * @return {@code true} if a transcription is running
+     */
+    public boolean isTranscribing() {
+        return activeTranscriptions.get() > 0;
     }
 }
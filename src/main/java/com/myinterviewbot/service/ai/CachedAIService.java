@@ -0,0 +1,356 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.PromptOptions;
+import com.myinterviewbot.model.PromptResponse;
+import com.myinterviewbot.service.SettingsService;
+import com.myinterviewbot.service.ai.model.AIService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link AIService} decorator that caches the responses of the AI model.
+ * <p>
+ * Prompts built from the same inputs are the same text (e.g. the evaluation of the same transcript), so their
+ * response is taken from the cache instead of the AI model. The questions bypass the cache, every one must be new.
+ * The cache key is the AI model, the prompt with normalized white spaces, and the options that change the
+ * generated text.
+ * </p>
+ *
+ * <p>The memory cache keeps the most recently used responses, up to the max number of entries, and every
+ * response expires after the time to live. Optionally, responses are also saved in {@code uploads/cache/prompts},
+ * so they survive a restart. The disk cache keeps up to its own max number of files: the oldest ones are removed
+ * when a response is saved, and the expired ones when the cache starts and while responses are saved.</p>
+ *
+ * <p>Only successful responses are cached, and a prompt with {@link PromptOptions#isBypassCache()} always goes to
+ * the AI model and its response is not cached either, so it never evicts the responses that can be used again.</p>
+ *
+ * @author Alan Quintero
+ */
+public class CachedAIService implements AIService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedAIService.class);
+
+    public static final String CACHE_DIR = "uploads/cache/prompts";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String FILE_EXTENSION = ".json";
+
+    private final AIService aiService;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final File diskDir;
+    private final int maxDiskEntries;
+
+    private final Map<String, CachedPrompt> cache;
+    // The responses saved on disk and when they were saved, the oldest first
+    private final Map<String, Long> diskEntries = new LinkedHashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new cache in front of the given AI service, with as many responses on disk as in memory.
+     *
+     * @param aiService  the AI service that runs the prompts on a cache miss
+     * @param maxEntries the max number of responses kept in memory
+     * @param ttlMinutes the number of minutes a response is valid
+     * @param diskDir    the directory for the disk cache, {@code null} to keep the responses only in memory
+     */
+    public CachedAIService(final AIService aiService, final int maxEntries, final long ttlMinutes, final File diskDir) {
+        this(aiService, maxEntries, ttlMinutes, diskDir, maxEntries);
+    }
+
+    /**
+     * Creates a new cache in front of the given AI service.
+     *
+     * @param aiService      the AI service that runs the prompts on a cache miss
+     * @param maxEntries     the max number of responses kept in memory
+     * @param ttlMinutes     the number of minutes a response is valid
+     * @param diskDir        the directory for the disk cache, {@code null} to keep the responses only in memory
+     * @param maxDiskEntries the max number of responses kept on disk
+     */
+    public CachedAIService(final AIService aiService, final int maxEntries, final long ttlMinutes, final File diskDir,
+                           final int maxDiskEntries) {
+        this.aiService = aiService;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMs = ttlMinutes * 60 * 1000;
+        this.diskDir = diskDir;
+        this.maxDiskEntries = Math.max(1, maxDiskEntries);
+        // Access order, so the eldest entry is the least recently used one
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedPrompt> eldest) {
+                return size() > CachedAIService.this.maxEntries;
+            }
+        };
+        if (diskDir != null && !diskDir.exists() && !diskDir.mkdirs()) {
+            LOGGER.error("Failed to create {} directory, responses will be cached only in memory", diskDir);
+        }
+        if (diskDir != null) {
+            loadDiskEntries();
+        }
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt) {
+        return executePrompt(prompt, null, null);
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt, final Consumer<String> tokenConsumer) {
+        return executePrompt(prompt, null, tokenConsumer);
+    }
+
+    /**
+     * Returns the cached response of the prompt, or sends the prompt to the AI model and caches its response.
+     *
+     * @param prompt        the text prompt to send to the AI model
+     * @param options       how the prompt must be executed, can be {@code null}
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the AI-generated response
+     */
+    @Override
+    public PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
+        final String key = cacheKey(prompt, options);
+        final boolean bypassCache = options != null && options.isBypassCache();
+
+        if (!bypassCache) {
+            final long startTime = System.currentTimeMillis();
+            final CachedPrompt cachedPrompt = get(key);
+            if (cachedPrompt != null) {
+                LOGGER.info("Prompt response taken from the cache");
+                if (tokenConsumer != null) {
+                    tokenConsumer.accept(cachedPrompt.getResponse());
+                }
+                final PromptResponse promptResponse = PromptResponseFactory.createSuccessResponse(cachedPrompt.getResponse(), System.currentTimeMillis() - startTime);
+                promptResponse.getPromptStats().setCacheHit(true);
+                promptResponse.getPromptStats().setCacheHitRatio(recordLookup(true));
+                return promptResponse;
+            }
+        }
+
+        final PromptResponse promptResponse = aiService.executePrompt(prompt, options, tokenConsumer);
+        final double cacheHitRatio = bypassCache ? getCacheHitRatio() : recordLookup(false);
+        if (promptResponse != null && promptResponse.getPromptStats() != null) {
+            promptResponse.getPromptStats().setCacheHitRatio(cacheHitRatio);
+            if (!bypassCache && promptResponse.getPromptStats().isExecutedSuccessfully()
+                    && promptResponse.getPromptResponse() instanceof String response) {
+                put(key, new CachedPrompt(response, System.currentTimeMillis()));
+            }
+        }
+        return promptResponse;
+    }
+
+    /**
+     * Returns the percentage of lookups that found the response in the cache, from 0 to 1.
+     *
+     * @return the cache hit ratio
+     */
+    public synchronized double getCacheHitRatio() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private synchronized double recordLookup(final boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return getCacheHitRatio();
+    }
+
+    private CachedPrompt get(final String key) {
+        synchronized (this) {
+            final CachedPrompt cachedPrompt = cache.get(key);
+            if (cachedPrompt != null) {
+                if (!isExpired(cachedPrompt)) {
+                    return cachedPrompt;
+                }
+                cache.remove(key);
+            }
+        }
+        if (diskDir == null) {
+            return null;
+        }
+
+        final File file = new File(diskDir, key + FILE_EXTENSION);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            final CachedPrompt cachedPrompt = OBJECT_MAPPER.readValue(file, CachedPrompt.class);
+            if (isExpired(cachedPrompt)) {
+                synchronized (this) {
+                    diskEntries.remove(key);
+                }
+                Files.deleteIfExists(file.toPath());
+                return null;
+            }
+            synchronized (this) {
+                cache.put(key, cachedPrompt);
+            }
+            return cachedPrompt;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read cached prompt {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(final String key, final CachedPrompt cachedPrompt) {
+        synchronized (this) {
+            cache.put(key, cachedPrompt);
+        }
+        if (diskDir == null) {
+            return;
+        }
+
+        // Write to a temp file first, so a reader never sees a half written file
+        final File file = new File(diskDir, key + FILE_EXTENSION);
+        final File tempFile = new File(diskDir, key + ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(tempFile, cachedPrompt);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save cached prompt {}: {}", file, e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            diskEntries.remove(key);
+            diskEntries.put(key, cachedPrompt.getCreatedAt());
+            removeOldDiskEntries();
+        }
+    }
+
+    /**
+     * Indexes the responses saved on disk, from the oldest to the newest, and removes the expired ones
+     * and the oldest ones over the max number of files.
+     */
+    private synchronized void loadDiskEntries() {
+        final File[] files = diskDir.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (final File file : files) {
+            final String name = file.getName();
+            if (name.endsWith(FILE_EXTENSION)) {
+                // The file is written when the response is cached, so its time is the time of the response
+                diskEntries.put(name.substring(0, name.length() - FILE_EXTENSION.length()), file.lastModified());
+            } else {
+                // A temp file of a response that was never saved
+                deleteDiskFile(file);
+            }
+        }
+        final int savedEntries = diskEntries.size();
+        removeOldDiskEntries();
+        LOGGER.info("Disk cache: {} responses, {} expired or over the limit removed", diskEntries.size(),
+                savedEntries - diskEntries.size());
+    }
+
+    /**
+     * Removes the oldest responses on disk while they are expired or over the max number of files.
+     */
+    private void removeOldDiskEntries() {
+        final Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Long> eldest = iterator.next();
+            if (diskEntries.size() <= maxDiskEntries && System.currentTimeMillis() - eldest.getValue() < ttlMs) {
+                return;
+            }
+            iterator.remove();
+            deleteDiskFile(new File(diskDir, eldest.getKey() + FILE_EXTENSION));
+        }
+    }
+
+    private static void deleteDiskFile(final File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to remove cached prompt {}: {}", file, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(final CachedPrompt cachedPrompt) {
+        return System.currentTimeMillis() - cachedPrompt.getCreatedAt() >= ttlMs;
+    }
+
+    /**
+     * Builds the cache key: a SHA-256 of the AI model, the options and the normalized prompt.
+     * The priority and the bypass flag don't change the generated text, so they are not part of the key.
+     */
+    private static String cacheKey(final String prompt, final PromptOptions options) {
+        final String aiModel = SettingsService.getInstance().getSettings().getSystemSettings().getSelectedAiModel();
+        final String normalizedPrompt = prompt == null ? "" : prompt.trim().replaceAll("\\s+", " ");
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((aiModel + "\n").getBytes(StandardCharsets.UTF_8));
+            if (options != null && (options.getFormat() != null || options.getMaxTokens() != null || options.getStop() != null
+                    || options.getTemperature() != null || options.getSeed() != null)) {
+                final String generationOptions = options.getFormat() + "|" + options.getMaxTokens() + "|" + options.getStop()
+                        + "|" + options.getTemperature() + "|" + options.getSeed() + "\n";
+                digest.update(generationOptions.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(normalizedPrompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform must support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response, saved as JSON in the disk cache.
+     */
+    public static class CachedPrompt {
+
+        private String response;
+
+        private long createdAt;
+
+        public CachedPrompt() {
+        }
+
+        public CachedPrompt(final String response, final long createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+
+        public String getResponse() {
+            return response;
+        }
+
+        public void setResponse(final String response) {
+            this.response = response;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(final long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
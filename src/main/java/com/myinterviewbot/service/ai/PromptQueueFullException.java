@@ -0,0 +1,22 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a prompt cannot wait for the AI model because the prompt queue is full.
+ * Spring answers the request with {@code 429 Too Many Requests}.
+ *
+ * @author Alan Quintero
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PromptQueueFullException extends RuntimeException {
+
+    public PromptQueueFullException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai;
+
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.*;
+import com.myinterviewbot.service.ai.model.AIService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * {@link AIService} decorator that limits how many prompts the AI model runs at the same time.
+ * <p>
+ * Every prompt needs one of the in-flight slots before it is sent to the AI model. When all slots are busy,
+ * the prompt waits in a bounded queue ordered by {@link PromptPriority} (and by arrival inside the same
+ * priority), so an interactive question is served before a pending evaluation. When the queue is full the
+ * prompt is rejected right away with a {@link PromptQueueFullException}, and a prompt that waits longer than
+ * the max wait time returns a failed response instead of piling up behind the model.
+ * </p>
+ *
+ * <p>The queue position on arrival and the time spent waiting are added to the {@link PromptStats} of every
+ * response, and the overall numbers are available through {@link #getMetrics()}.</p>
+ *
+ * @author Alan Quintero
+ */
+public class QueuedAIService implements AIService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueuedAIService.class);
+
+    private static final Comparator<Ticket> TICKET_ORDER = Comparator
+            .comparing((Ticket ticket) -> ticket.priority)
+            .thenComparingLong(ticket -> ticket.sequence);
+
+    private final AIService aiService;
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>(TICKET_ORDER);
+    private long nextSequence;
+    private int inFlight;
+
+    // Metrics, guarded by the lock
+    private long executedPrompts;
+    private long rejectedPrompts;
+    private long timedOutPrompts;
+    private long totalWaitMs;
+    private long maxWaitMsSeen;
+
+    /**
+     * Creates a new queue in front of the given AI service.
+     *
+     * @param aiService      the AI service that runs the prompts
+     * @param maxInFlight    the max number of prompts sent to the AI model at the same time
+     * @param queueCapacity  the max number of prompts waiting for a slot
+     * @param maxWaitSeconds the max number of seconds a prompt waits for a slot
+     */
+    public QueuedAIService(final AIService aiService, final int maxInFlight, final int queueCapacity, final long maxWaitSeconds) {
+        this.aiService = aiService;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxWaitMs = maxWaitSeconds * 1000;
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt) {
+        return executePrompt(prompt, null, null);
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt, final Consumer<String> tokenConsumer) {
+        return executePrompt(prompt, null, tokenConsumer);
+    }
+
+    /**
+     * Waits for an in-flight slot and then sends the prompt to the AI model.
+     *
+     * @param prompt        the text prompt to send to the AI model
+     * @param options       how the prompt must be executed, can be {@code null}
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the AI-generated response
+     * @throws PromptQueueFullException if the queue is full
+     */
+    @Override
+    public PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
+        final PromptPriority priority = options != null && options.getPriority() != null ? options.getPriority() : PromptPriority.FEEDBACK;
+        final long startTime = System.currentTimeMillis();
+
+        final Ticket ticket;
+        try {
+            ticket = acquire(priority);
+        } catch (InterruptedException e) {
+            // Re-assert the interrupt flag
+            Thread.currentThread().interrupt();
+            LOGGER.error("Prompt was interrupted while waiting in the queue");
+            return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + ": " + e.getClass().getSimpleName(), System.currentTimeMillis() - startTime);
+        }
+        final long waitMs = System.currentTimeMillis() - startTime;
+        if (ticket == null) {
+            LOGGER.warn("{} prompt waited {} ms in the queue without getting a slot", priority, waitMs);
+            final PromptResponse promptResponse = PromptResponseFactory.createFailedResponse("", PromptExecutionResult.QUEUE_TIMEOUT, waitMs);
+            promptResponse.getPromptStats().setSlowPromptResponse(true);
+            return promptResponse;
+        }
+
+        if (waitMs > 0) {
+            LOGGER.info("{} prompt got a slot after waiting {} ms (queue position on arrival: {})", priority, waitMs, ticket.position);
+        }
+        try {
+            final PromptResponse promptResponse = aiService.executePrompt(prompt, options, tokenConsumer);
+            if (promptResponse != null && promptResponse.getPromptStats() != null) {
+                promptResponse.getPromptStats().setQueuePosition(ticket.position);
+                promptResponse.getPromptStats().setSecondsInQueue(waitMs / 1000.0);
+            }
+            return promptResponse;
+        } finally {
+            release(waitMs);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the queue metrics.
+     *
+     * @return the queue metrics
+     */
+    public PromptQueueMetrics getMetrics() {
+        synchronized (lock) {
+            final Map<PromptPriority, Integer> queueDepthByPriority = new EnumMap<>(PromptPriority.class);
+            for (final PromptPriority priority : PromptPriority.values()) {
+                queueDepthByPriority.put(priority, 0);
+            }
+            for (final Ticket ticket : queue) {
+                queueDepthByPriority.merge(ticket.priority, 1, Integer::sum);
+            }
+
+            final PromptQueueMetrics metrics = new PromptQueueMetrics();
+            metrics.setQueueDepth(queue.size());
+            metrics.setQueueDepthByPriority(queueDepthByPriority);
+            metrics.setInFlight(inFlight);
+            metrics.setMaxInFlight(maxInFlight);
+            metrics.setQueueCapacity(queueCapacity);
+            metrics.setExecutedPrompts(executedPrompts);
+            metrics.setRejectedPrompts(rejectedPrompts);
+            metrics.setTimedOutPrompts(timedOutPrompts);
+            metrics.setAverageSecondsInQueue(executedPrompts == 0 ? 0 : totalWaitMs / 1000.0 / executedPrompts);
+            metrics.setMaxSecondsInQueue(maxWaitMsSeen / 1000.0);
+            return metrics;
+        }
+    }
+
+    /**
+     * Waits until the prompt is the first one in the queue and there is a free slot.
+     *
+     * @return the ticket holding the slot, or {@code null} if the max wait time was reached
+     */
+    private Ticket acquire(final PromptPriority priority) throws InterruptedException {
+        synchronized (lock) {
+            if (inFlight >= maxInFlight && queue.size() >= queueCapacity) {
+                rejectedPrompts++;
+                LOGGER.warn("Prompt queue is full ({} waiting, {} running), rejecting {} prompt", queue.size(), inFlight, priority);
+                throw new PromptQueueFullException("The AI model is busy, please try again in a moment.");
+            }
+
+            final Ticket ticket = new Ticket(priority, nextSequence++);
+            ticket.position = (int) queue.stream().filter(waiting -> TICKET_ORDER.compare(waiting, ticket) < 0).count()
+                    + (inFlight >= maxInFlight ? 1 : 0);
+            queue.add(ticket);
+
+            final long deadline = System.currentTimeMillis() + maxWaitMs;
+            try {
+                while (inFlight >= maxInFlight || queue.peek() != ticket) {
+                    final long remainingMs = deadline - System.currentTimeMillis();
+                    if (remainingMs <= 0) {
+                        queue.remove(ticket);
+                        timedOutPrompts++;
+                        // The next prompt may be able to take the slot now
+                        lock.notifyAll();
+                        return null;
+                    }
+                    lock.wait(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                queue.remove(ticket);
+                lock.notifyAll();
+                throw e;
+            }
+
+            queue.poll();
+            inFlight++;
+            // Let the next prompt check if there is another free slot
+            lock.notifyAll();
+            return ticket;
+        }
+    }
+
+    private void release(final long waitMs) {
+        synchronized (lock) {
+            inFlight--;
+            executedPrompts++;
+            totalWaitMs += waitMs;
+            maxWaitMsSeen = Math.max(maxWaitMsSeen, waitMs);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * A prompt waiting for a slot.
+     */
+    private static class Ticket {
+
+        private final PromptPriority priority;
+        private final long sequence;
+        private int position;
+
+        private Ticket(final PromptPriority priority, final long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
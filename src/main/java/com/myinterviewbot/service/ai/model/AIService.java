@@ -4,8 +4,11 @@
  */
 package com.myinterviewbot.service.ai.model;
 
+import com.myinterviewbot.model.PromptOptions;
 import com.myinterviewbot.model.PromptResponse;
 
+import java.util.function.Consumer;
+
 /**
  * Interface for AI Services
  *
@@ -14,4 +17,39 @@ import com.myinterviewbot.model.PromptResponse;
 public interface AIService {
 
     PromptResponse executePrompt(final String prompt);
+
+    /**
+     * Executes the prompt and passes every chunk of generated text to the given consumer as soon as
+     * the model produces it. The returned response still contains the full text.
+     * <p>
+     * Implementations that cannot stream fall back to this default, which sends the whole response
+     * as a single chunk once it is ready.
+     * </p>
+     *
+     * @param prompt        the text prompt to send to the AI model
+     * @param tokenConsumer receives the generated text chunks
+     * @return the AI-generated response
+     */
+    default PromptResponse executePrompt(final String prompt, final Consumer<String> tokenConsumer) {
+        final PromptResponse promptResponse = executePrompt(prompt);
+        if (tokenConsumer != null && promptResponse.getPromptResponse() != null && !promptResponse.getPromptResponse().toString().isEmpty()) {
+            tokenConsumer.accept(promptResponse.getPromptResponse().toString());
+        }
+        return promptResponse;
+    }
+
+    /**
+     * Executes the prompt with the given options. Options that an implementation does not support are ignored.
+     *
+     * @param prompt        the text prompt to send to the AI model
+     * @param options       how the prompt must be executed, can be {@code null}
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the AI-generated response
+     */
+    default PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
+        if (tokenConsumer == null) {
+            return executePrompt(prompt);
+        }
+        return executePrompt(prompt, tokenConsumer);
+    }
 }
@@ -0,0 +1,317 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.PromptExecutionResult;
+import com.myinterviewbot.model.PromptOptions;
+import com.myinterviewbot.model.PromptResponse;
+import com.myinterviewbot.service.SettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for sending prompts to a local Ollama server through its REST API.
+ * <p>
+ * Unlike {@link OllamaService}, which starts a new {@code ollama run} process for every prompt,
+ * this implementation keeps a single {@link HttpClient} for the whole application. The client
+ * pools keep-alive connections to the Ollama server, so each prompt only pays for the model
+ * inference time and not for process start-up or model attach.
+ * </p>
+ *
+ * <p>Two Ollama endpoints are supported:</p>
+ * <ul>
+ *     <li>{@code /api/generate}: the prompt is sent as raw text (default)</li>
+ *     <li>{@code /api/chat}: the prompt is sent as a single user message</li>
+ * </ul>
+ *
+ * <p>The version of the server and the models installed are read from {@code /api/version} and
+ * {@code /api/tags}, to check the server is available.</p>
+ *
+ * @author Alan Quintero
+ */
+public class OllamaHttpService implements AIService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OllamaHttpService.class);
+
+    public static final String GENERATE_API = "generate";
+    public static final String CHAT_API = "chat";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // The server answers the version and the models right away, unlike a prompt
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient httpClient;
+    private final URI generateUri;
+    private final URI chatUri;
+    private final URI versionUri;
+    private final URI tagsUri;
+    private final boolean useChatApi;
+    private final Duration timeout;
+
+    /**
+     * Creates a new service that talks to the Ollama server located at the given base URL.
+     *
+     * @param baseUrl        the Ollama server URL, e.g. {@code http://localhost:11434}
+     * @param api            the Ollama API to use, {@link #GENERATE_API} or {@link #CHAT_API}
+     * @param timeoutSeconds the maximum number of seconds to wait for a single prompt
+     */
+    public OllamaHttpService(final String baseUrl, final String api, final long timeoutSeconds) {
+        final String url = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.generateUri = URI.create(url + "/api/generate");
+        this.chatUri = URI.create(url + "/api/chat");
+        this.versionUri = URI.create(url + "/api/version");
+        this.tagsUri = URI.create(url + "/api/tags");
+        this.useChatApi = CHAT_API.equalsIgnoreCase(api);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        // Ollama speaks HTTP/1.1, forcing it avoids the h2c upgrade round trip on every new connection
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Sends the given prompt to the Ollama server and returns the response.
+     *
+     * @param prompt the text prompt to send to Ollama
+     * @return the AI-generated response
+     */
+    @Override
+    public PromptResponse executePrompt(final String prompt) {
+        return executePrompt(prompt, null, null);
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt, final Consumer<String> tokenConsumer) {
+        return executePrompt(prompt, null, tokenConsumer);
+    }
+
+    /**
+     * Sends the given prompt to the Ollama server. When a token consumer is given, Ollama is asked to
+     * stream the answer and every chunk is forwarded to the consumer as soon as it arrives.
+     * When the options have a format, it is sent as the Ollama {@code format}, so the model can only
+     * generate JSON that follows the schema. The max tokens, stop texts, temperature and seed are sent
+     * as the Ollama model {@code options}.
+     *
+     * @param prompt        the text prompt to send to Ollama
+     * @param options       how the prompt must be executed, can be {@code null}
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the AI-generated response
+     */
+    @Override
+    public PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
+        final String aiModel = SettingsService.getInstance().getSettings().getSystemSettings().getSelectedAiModel();
+        final boolean stream = tokenConsumer != null;
+        LOGGER.info("Running Ollama HTTP API ({}, stream: {}) with model: {}", useChatApi ? CHAT_API : GENERATE_API, stream, aiModel);
+        LOGGER.info("Calling Ollama with the prompt: {}", prompt);
+
+        final long startTime = System.currentTimeMillis();
+        try {
+            final HttpRequest request = HttpRequest.newBuilder(useChatApi ? chatUri : generateUri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(buildRequestBody(aiModel, prompt, options, stream), StandardCharsets.UTF_8))
+                    .build();
+
+            final StringBuilder output = new StringBuilder();
+            long firstTokenMs = 0;
+            JsonNode lastChunk = null;
+            final int statusCode;
+            if (stream) {
+                // Ollama streams newline-delimited JSON objects, the last one has "done": true and the stats
+                final HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                statusCode = response.statusCode();
+                try (Stream<String> lines = response.body()) {
+                    final Iterator<String> iterator = lines.iterator();
+                    while (iterator.hasNext()) {
+                        final String line = iterator.next();
+                        if (line.isBlank() || statusCode != 200) {
+                            continue;
+                        }
+                        lastChunk = OBJECT_MAPPER.readTree(line);
+                        final String token = extractResponseText(lastChunk);
+                        if (!token.isEmpty()) {
+                            if (firstTokenMs == 0) {
+                                firstTokenMs = System.currentTimeMillis() - startTime;
+                                LOGGER.info("Ollama first token received after {} ms", firstTokenMs);
+                            }
+                            output.append(token);
+                            tokenConsumer.accept(token);
+                        }
+                    }
+                }
+            } else {
+                final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                statusCode = response.statusCode();
+                if (statusCode == 200) {
+                    lastChunk = OBJECT_MAPPER.readTree(response.body());
+                    output.append(extractResponseText(lastChunk));
+                    // Without streaming, the time to first token is the model load plus the prompt evaluation
+                    firstTokenMs = (lastChunk.path("load_duration").asLong(0) + lastChunk.path("prompt_eval_duration").asLong(0)) / 1_000_000;
+                }
+            }
+            final long duration = System.currentTimeMillis() - startTime;
+            LOGGER.info("Ollama call completed in {} ms with HTTP status {}", duration, statusCode);
+
+            if (statusCode != 200) {
+                LOGGER.error("Ollama returned HTTP status {}", statusCode);
+                return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + " -> Ollama HTTP status: " + statusCode, duration);
+            }
+
+            final String result = output.toString().trim();
+            if (result.isEmpty()) {
+                LOGGER.warn("Ollama returned empty output.");
+                return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EMPTY_RESULT, duration);
+            }
+
+            final double tokensPerSecond = getTokensPerSecond(lastChunk);
+            LOGGER.info("Ollama output ({} tokens/s):\n{}", tokensPerSecond, result);
+            return PromptResponseFactory.createSuccessResponse(result, duration, firstTokenMs, tokensPerSecond);
+
+        } catch (HttpTimeoutException e) {
+            LOGGER.error("Ollama request timed out after {} seconds.", timeout.toSeconds());
+            return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + ": " + e.getClass().getSimpleName(), ((System.currentTimeMillis() - startTime)));
+        } catch (InterruptedException e) {
+            // Re-assert the interrupt flag
+            Thread.currentThread().interrupt();
+            LOGGER.error("Ollama request was interrupted", e);
+            return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + ": " + e.getClass().getSimpleName(), ((System.currentTimeMillis() - startTime)));
+        } catch (Exception e) {
+            LOGGER.error("Error calling Ollama", e);
+            return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EXCEPTION + ": " + e.getClass().getSimpleName(), ((System.currentTimeMillis() - startTime)));
+        }
+    }
+
+    /**
+     * Returns the version of the Ollama server.
+     *
+     * @return the version, e.g. {@code 0.3.12}
+     * @throws IOException if the server is not available
+     */
+    public String getVersion() throws IOException {
+        return getStatus(versionUri).path("version").asText("");
+    }
+
+    /**
+     * Returns the models installed in the Ollama server.
+     *
+     * @return the names of the models, e.g. {@code llama3.1:8b}
+     * @throws IOException if the server is not available
+     */
+    public List<String> listModels() throws IOException {
+        final List<String> models = new ArrayList<>();
+        for (final JsonNode model : getStatus(tagsUri).path("models")) {
+            final String name = model.path("name").asText("");
+            if (!name.isEmpty()) {
+                models.add(name);
+            }
+        }
+        return models;
+    }
+
+    private JsonNode getStatus(final URI uri) throws IOException {
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(STATUS_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                throw new IOException("Ollama returned HTTP " + response.statusCode() + " for " + uri);
+            }
+            return OBJECT_MAPPER.readTree(response.body());
+        } catch (InterruptedException e) {
+            // Re-assert the interrupt flag
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling " + uri, e);
+        }
+    }
+
+    /**
+     * Calculates the generation speed from the stats Ollama sends in its final message:
+     * {@code eval_count} tokens generated in {@code eval_duration} nanoseconds.
+     */
+    private double getTokensPerSecond(final JsonNode finalChunk) {
+        if (finalChunk == null) {
+            return 0;
+        }
+        final long evalCount = finalChunk.path("eval_count").asLong(0);
+        final long evalDurationNs = finalChunk.path("eval_duration").asLong(0);
+        if (evalCount == 0 || evalDurationNs == 0) {
+            return 0;
+        }
+        return evalCount / (evalDurationNs / 1_000_000_000.0);
+    }
+
+    /**
+     * Builds the JSON body for the selected Ollama API.
+     */
+    private String buildRequestBody(final String aiModel, final String prompt, final PromptOptions options, final boolean stream) throws Exception {
+        final ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("model", aiModel);
+        body.put("stream", stream);
+        if (options != null) {
+            if (options.getFormat() != null) {
+                body.set("format", options.getFormat());
+            }
+            final ObjectNode modelOptions = OBJECT_MAPPER.createObjectNode();
+            if (options.getMaxTokens() != null) {
+                modelOptions.put("num_predict", options.getMaxTokens());
+            }
+            if (options.getStop() != null && !options.getStop().isEmpty()) {
+                final ArrayNode stop = modelOptions.putArray("stop");
+                options.getStop().forEach(stop::add);
+            }
+            if (options.getTemperature() != null) {
+                modelOptions.put("temperature", options.getTemperature());
+            }
+            if (options.getSeed() != null) {
+                modelOptions.put("seed", options.getSeed());
+            }
+            if (!modelOptions.isEmpty()) {
+                body.set("options", modelOptions);
+            }
+        }
+        if (useChatApi) {
+            final ObjectNode message = body.putArray("messages").addObject();
+            message.put("role", "user");
+            message.put("content", prompt);
+        } else {
+            body.put("prompt", prompt);
+        }
+        return OBJECT_MAPPER.writeValueAsString(body);
+    }
+
+    /**
+     * Extracts the generated text from an Ollama response, which is located in {@code response}
+     * for {@code /api/generate} and in {@code message.content} for {@code /api/chat}.
+     */
+    private String extractResponseText(final JsonNode json) {
+        if (useChatApi) {
+            return json.path("message").path("content").asText("");
+        }
+        return json.path("response").asText("");
+    }
+}
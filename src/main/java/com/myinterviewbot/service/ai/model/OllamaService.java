@@ -6,6 +6,7 @@ package com.myinterviewbot.service.ai.model;
 
 import com.myinterviewbot.factory.PromptResponseFactory;
 import com.myinterviewbot.model.PromptExecutionResult;
+import com.myinterviewbot.model.PromptOptions;
 import com.myinterviewbot.model.PromptResponse;
 import com.myinterviewbot.service.SettingsService;
 import org.slf4j.Logger;
@@ -17,7 +18,12 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Service responsible for sending prompts to the Ollama AI model and retrieving responses.
@@ -29,6 +35,17 @@ public class OllamaService implements AIService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OllamaService.class);
 
+    /**
+     * The CLI does not report token counts, so the generation speed is estimated using the usual
+     * rule of thumb of ~4 characters per token.
+     */
+    private static final double ESTIMATED_CHARS_PER_TOKEN = 4.0;
+
+    /**
+     * Matches the final byte of an ANSI escape sequence, used to know if a chunk ends in the middle of one.
+     */
+    private static final Pattern ESCAPE_SEQUENCE_END = Pattern.compile("\u001B\\[[;\\d?]*[ -/]*[@-~]");
+
     /**
      * Calls the Ollama AI model with a given prompt and returns the response.
      * The prompt is written directly to the process's standard input (STDIN)
@@ -39,13 +56,41 @@ public class OllamaService implements AIService {
      */
     @Override
     public PromptResponse executePrompt(final String prompt) {
+        return executePrompt(prompt, null, null);
+    }
+
+    @Override
+    public PromptResponse executePrompt(final String prompt, final Consumer<String> tokenConsumer) {
+        return executePrompt(prompt, null, tokenConsumer);
+    }
+
+    /**
+     * Calls the Ollama AI model with a given prompt, forwarding the cleaned output to the given
+     * consumer while the process is still writing it.
+     *
+     * <p>The Ollama CLI cannot receive a JSON schema, so when the options have a format the model
+     * is only asked to answer in JSON ({@code --format json}). The CLI has no flags for the max tokens,
+     * stop texts, temperature or seed, those options are ignored.</p>
+     *
+     * @param prompt        the text prompt to send to Ollama
+     * @param options       how the prompt must be executed, can be {@code null}
+     * @param tokenConsumer receives the generated text chunks, can be {@code null}
+     * @return the AI-generated response
+     */
+    @Override
+    public PromptResponse executePrompt(final String prompt, final PromptOptions options, final Consumer<String> tokenConsumer) {
         final String aiModel = SettingsService.getInstance().getSettings().getSystemSettings().getSelectedAiModel();
         LOGGER.info("Running Ollama with model: {}", aiModel);
         LOGGER.info("Calling Ollama with the prompt: {}", prompt);
 
         // Define the common executable name for the platform
         final String executable = System.getProperty("os.name").toLowerCase().contains("win") ? "ollama.exe" : "ollama";
-        final ProcessBuilder pb = new ProcessBuilder(executable, "run", aiModel);
+        final List<String> command = new ArrayList<>(List.of(executable, "run", aiModel));
+        if (options != null && options.getFormat() != null) {
+            command.add("--format");
+            command.add("json");
+        }
+        final ProcessBuilder pb = new ProcessBuilder(command);
 
         // Set environment variables directly on the ProcessBuilder
         pb.environment().put("OLLAMA_NO_COLOR", "1");
@@ -73,15 +118,32 @@ public class OllamaService implements AIService {
                     new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)
             );
             final StringBuilder output = new StringBuilder();
+            final AtomicLong firstTokenTime = new AtomicLong();
 
             // Task to read the output asynchronously
             final Future<?> readerFuture = executor.submit(() -> {
                 try {
-                    int ch;
-                    while ((ch = reader.read()) != -1) {
-                        output.append((char) ch);
-                        if (output.length() % 500 == 0) {
-                            LOGGER.debug("Ollama partial output: {} chars", output.length());
+                    final char[] buffer = new char[256];
+                    // Output not yet sent to the consumer, it may end in the middle of an escape sequence
+                    final StringBuilder pending = new StringBuilder();
+                    int read;
+                    while ((read = reader.read(buffer)) != -1) {
+                        synchronized (output) {
+                            output.append(buffer, 0, read);
+                        }
+                        LOGGER.debug("Ollama partial output: {} chars", output.length());
+                        if (tokenConsumer != null) {
+                            pending.append(buffer, 0, read);
+                            final int escapeIndex = pending.lastIndexOf("\u001B");
+                            final int emitUpTo = escapeIndex >= 0 && !ESCAPE_SEQUENCE_END.matcher(pending.substring(escapeIndex)).find() ? escapeIndex : pending.length();
+                            final String token = cleanOutput(pending.substring(0, emitUpTo));
+                            pending.delete(0, emitUpTo);
+                            if (!token.isEmpty() && (firstTokenTime.get() != 0 || !token.isBlank())) {
+                                firstTokenTime.compareAndSet(0, System.currentTimeMillis());
+                                tokenConsumer.accept(token);
+                            }
+                        } else if (firstTokenTime.get() == 0 && !cleanOutput(new String(buffer, 0, read)).isBlank()) {
+                            firstTokenTime.set(System.currentTimeMillis());
                         }
                     }
                 } catch (IOException e) {
@@ -118,7 +180,10 @@ public class OllamaService implements AIService {
                 // Ignore if it takes too long to stop, as we are shutting down the executor next
             }
 
-            final String rawResult = output.toString();
+            final String rawResult;
+            synchronized (output) {
+                rawResult = output.toString();
+            }
             LOGGER.debug("Full Ollama output (RAW):\n{}", rawResult);
 
             if (rawResult.isEmpty() || exitValue != 0) {
@@ -131,20 +196,13 @@ public class OllamaService implements AIService {
                 }
             }
 
-            /*
-             * Remove terminal and non-printable characters from the text.
-             */
-            final String cleanedResult = rawResult
-                    // Remove ANSI color codes and cursor control sequences
-                    .replaceAll("\u001B\\[[;\\d]*[ -/]*[@-~]", "")
-                    // Remove other terminal control sequences (like [?25l, [?25h)
-                    .replaceAll("\\[\\?\\d+[hl]", "")
-                    // Remove non-printable characters (excluding common whitespace)
-                    .replaceAll("[^\\p{Print}\\s]", "")
-                    .trim();
+            final String cleanedResult = cleanOutput(rawResult).trim();
 
             LOGGER.info("Clean Ollama output:\n{}", cleanedResult);
-            return PromptResponseFactory.createSuccessResponse(cleanedResult, duration);
+            final long firstTokenMs = firstTokenTime.get() == 0 ? duration : firstTokenTime.get() - startTime;
+            final long generationMs = duration - firstTokenMs;
+            final double tokensPerSecond = generationMs > 0 ? (cleanedResult.length() / ESTIMATED_CHARS_PER_TOKEN) / (generationMs / 1000.0) : 0;
+            return PromptResponseFactory.createSuccessResponse(cleanedResult, duration, firstTokenMs, tokensPerSecond);
 
         } catch (InterruptedException e) {
             // Re-assert the interrupt flag
@@ -165,4 +223,17 @@ public class OllamaService implements AIService {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Removes terminal and non-printable characters from the text.
+     */
+    private static String cleanOutput(final String text) {
+        return text
+                // Remove ANSI color codes and cursor control sequences
+                .replaceAll("\u001B\\[[;\\d]*[ -/]*[@-~]", "")
+                // Remove other terminal control sequences (like [?25l, [?25h)
+                .replaceAll("\\[\\?\\d+[hl]", "")
+                // Remove non-printable characters (excluding common whitespace)
+                .replaceAll("[^\\p{Print}\\s]", "");
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.history;
+
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.HistorySummary;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.Question;
+import com.myinterviewbot.model.ScoreBreakdown;
+import com.myinterviewbot.model.ScoreStatistics;
+import com.myinterviewbot.model.ScoreSummary;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Running score statistics of the interview history, updated when an interview is added or removed instead of
+ * being computed again from every interview on each request.
+ *
+ * <p>Every dimension of every group (the whole history, each question category and difficulty, each day and week)
+ * keeps how many times each score was given. Count, sum, average, variance, min and max come from those counts,
+ * so removing an interview gives exactly the same statistics as if it was never added. The summary is built once
+ * per change of the history; its size depends on the number of groups, not on the number of interviews.</p>
+ *
+ * @author Alan Quintero
+ */
+public class ScoreAggregator {
+
+    private final ZoneId zoneId;
+
+    private final Group total = new Group();
+    private final Map<String, Group> byCategory = new HashMap<>();
+    private final Map<String, Group> byDifficulty = new HashMap<>();
+    private final Map<LocalDate, Group> daily = new HashMap<>();
+    private final Map<LocalDate, Group> weekly = new HashMap<>();
+
+    // Built on the first request after a change
+    private HistorySummary summary;
+
+    /**
+     * @param zoneId the time zone of the days and weeks
+     */
+    public ScoreAggregator(final ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Adds the scores of an interview.
+     *
+     * @param entry the interview
+     */
+    public synchronized void add(final InterviewEntry entry) {
+        update(entry, 1);
+    }
+
+    /**
+     * Removes the scores of an interview added before.
+     *
+     * @param entry the interview
+     */
+    public synchronized void remove(final InterviewEntry entry) {
+        update(entry, -1);
+    }
+
+    /**
+     * Removes all the scores.
+     */
+    public synchronized void clear() {
+        total.clear();
+        byCategory.clear();
+        byDifficulty.clear();
+        daily.clear();
+        weekly.clear();
+        summary = null;
+    }
+
+    /**
+     * Returns the statistics of the whole history and of each group.
+     *
+     * @return the summary
+     */
+    public synchronized HistorySummary getSummary() {
+        if (summary == null) {
+            final HistorySummary newSummary = new HistorySummary();
+            newSummary.setTotal(total.toBreakdown());
+            newSummary.setByCategory(toBreakdowns(byCategory, Function.identity()));
+            newSummary.setByDifficulty(toBreakdowns(byDifficulty, Function.identity()));
+            newSummary.setDaily(toBreakdowns(daily, LocalDate::toString));
+            newSummary.setWeekly(toBreakdowns(weekly, LocalDate::toString));
+            summary = newSummary;
+        }
+        return summary;
+    }
+
+    /**
+     * Returns the average of each dimension over the whole history.
+     *
+     * @return the score summary
+     */
+    public synchronized ScoreSummary getScoreSummary() {
+        final ScoreSummary scoreSummary = new ScoreSummary();
+        scoreSummary.setClarityScoreAverage(total.clarity.getAverage());
+        scoreSummary.setStructureScoreAverage(total.structure.getAverage());
+        scoreSummary.setRelevanceScoreAverage(total.relevance.getAverage());
+        scoreSummary.setCommunicationScoreAverage(total.communication.getAverage());
+        scoreSummary.setDepthScoreAverage(total.depth.getAverage());
+        return scoreSummary;
+    }
+
+    private void update(final InterviewEntry entry, final int delta) {
+        total.update(entry, delta);
+        final Question question = entry.getQuestion();
+        if (question != null && question.getCategory() != null) {
+            updateGroup(byCategory, question.getCategory(), entry, delta);
+        }
+        if (question != null && question.getDifficulty() != null) {
+            updateGroup(byDifficulty, question.getDifficulty(), entry, delta);
+        }
+        final LocalDate day = Instant.ofEpochMilli(entry.getTimestamp()).atZone(zoneId).toLocalDate();
+        updateGroup(daily, day, entry, delta);
+        updateGroup(weekly, day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), entry, delta);
+        summary = null;
+    }
+
+    private static <K> void updateGroup(final Map<K, Group> groups, final K key, final InterviewEntry entry, final int delta) {
+        final Group group = groups.computeIfAbsent(key, k -> new Group());
+        group.update(entry, delta);
+        if (group.interviews <= 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static <K> Map<String, ScoreBreakdown> toBreakdowns(final Map<K, Group> groups, final Function<K, String> keyToString) {
+        // Sorted by key: categories and difficulties alphabetically, days and weeks chronologically
+        final Map<String, ScoreBreakdown> breakdowns = new LinkedHashMap<>();
+        for (final Map.Entry<K, Group> group : new TreeMap<>(groups).entrySet()) {
+            breakdowns.put(keyToString.apply(group.getKey()), group.getValue().toBreakdown());
+        }
+        return breakdowns;
+    }
+
+    /**
+     * The interviews of a group and the scores of each dimension.
+     */
+    private static final class Group {
+
+        private long interviews;
+        private final Scores clarity = new Scores();
+        private final Scores structure = new Scores();
+        private final Scores relevance = new Scores();
+        private final Scores communication = new Scores();
+        private final Scores depth = new Scores();
+
+        private void update(final InterviewEntry entry, final int delta) {
+            interviews += delta;
+            final Evaluation evaluation = entry.getEvaluation();
+            if (evaluation == null) {
+                return;
+            }
+            clarity.update(evaluation.getClarityScore(), delta);
+            structure.update(evaluation.getStructureScore(), delta);
+            relevance.update(evaluation.getRelevanceScore(), delta);
+            communication.update(evaluation.getCommunicationScore(), delta);
+            depth.update(evaluation.getDepthScore(), delta);
+        }
+
+        private void clear() {
+            interviews = 0;
+            clarity.clear();
+            structure.clear();
+            relevance.clear();
+            communication.clear();
+            depth.clear();
+        }
+
+        private ScoreBreakdown toBreakdown() {
+            final ScoreBreakdown breakdown = new ScoreBreakdown();
+            breakdown.setInterviews(interviews);
+            breakdown.setClarity(clarity.toStatistics());
+            breakdown.setStructure(structure.toStatistics());
+            breakdown.setRelevance(relevance.toStatistics());
+            breakdown.setCommunication(communication.toStatistics());
+            breakdown.setDepth(depth.toStatistics());
+            return breakdown;
+        }
+    }
+
+    /**
+     * The scores of one dimension: how many times each score was given, plus the running count, sum and sum of squares.
+     * A score of 0 means the dimension was not evaluated and is not counted.
+     */
+    private static final class Scores {
+
+        private final TreeMap<Integer, Long> occurrences = new TreeMap<>();
+        private long count;
+        private long sum;
+        private long sumOfSquares;
+
+        private void update(final int score, final int delta) {
+            if (score <= 0) {
+                return;
+            }
+            final long occurrence = occurrences.getOrDefault(score, 0L) + delta;
+            if (occurrence > 0) {
+                occurrences.put(score, occurrence);
+            } else {
+                occurrences.remove(score);
+            }
+            count += delta;
+            sum += (long) delta * score;
+            sumOfSquares += (long) delta * score * score;
+        }
+
+        private void clear() {
+            occurrences.clear();
+            count = 0;
+            sum = 0;
+            sumOfSquares = 0;
+        }
+
+        private double getAverage() {
+            return count > 0 ? (double) sum / count : 0;
+        }
+
+        private ScoreStatistics toStatistics() {
+            if (count <= 0) {
+                return new ScoreStatistics();
+            }
+            final double average = getAverage();
+            // The sums are integers, so they do not drift however many interviews are added and removed
+            final double variance = Math.max(0, (double) sumOfSquares / count - average * average);
+            return new ScoreStatistics(count, sum, average, occurrences.firstKey(), occurrences.lastKey(), variance);
+        }
+    }
+}
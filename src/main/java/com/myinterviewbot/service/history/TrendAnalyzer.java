@@ -0,0 +1,222 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.history;
+
+import com.myinterviewbot.model.DimensionTrends;
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.HistoryTrends;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.Question;
+import com.myinterviewbot.model.ScoreTrend;
+import com.myinterviewbot.model.TrendPoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes the score trends of the history in a single pass over the interviews, oldest first.
+ *
+ * <p>Every dimension of every group keeps only the scores of the last two windows, in a ring buffer, with their
+ * running sums and how many times each score is in the last window. Each interview updates them in constant
+ * time, and the memory used depends on the window, not on the size of the history.</p>
+ *
+ * @author Alan Quintero
+ */
+public class TrendAnalyzer {
+
+    private final int window;
+    private final double alpha;
+    private final int maxPoints;
+
+    private final Group total;
+    private final Map<String, Group> byCategory = new TreeMap<>();
+
+    /**
+     * @param window    the evaluated interviews in a moving average
+     * @param alpha     the weight of the last score in the exponential average, between 0 (exclusive) and 1
+     * @param maxPoints the last points returned for each dimension
+     */
+    public TrendAnalyzer(final int window, final double alpha, final int maxPoints) {
+        this.window = window;
+        this.alpha = alpha;
+        this.maxPoints = maxPoints;
+        this.total = new Group(this);
+    }
+
+    /**
+     * Adds the scores of the next interview. Interviews must be added oldest first.
+     *
+     * @param entry the interview
+     */
+    public void add(final InterviewEntry entry) {
+        final Evaluation evaluation = entry.getEvaluation();
+        if (evaluation == null) {
+            return;
+        }
+        total.add(entry.getTimestamp(), evaluation);
+        final Question question = entry.getQuestion();
+        if (question != null && question.getCategory() != null) {
+            byCategory.computeIfAbsent(question.getCategory(), category -> new Group(this)).add(entry.getTimestamp(), evaluation);
+        }
+    }
+
+    /**
+     * Returns the trends of the interviews added.
+     *
+     * @return the trends
+     */
+    public HistoryTrends getTrends() {
+        final HistoryTrends trends = new HistoryTrends();
+        trends.setWindow(window);
+        trends.setAlpha(alpha);
+        trends.setTotal(total.toTrends());
+        final Map<String, DimensionTrends> categories = new LinkedHashMap<>();
+        byCategory.forEach((category, group) -> categories.put(category, group.toTrends()));
+        trends.setByCategory(categories);
+        return trends;
+    }
+
+    /**
+     * The series of every dimension of a group of interviews.
+     */
+    private static final class Group {
+
+        private final Series clarity;
+        private final Series structure;
+        private final Series relevance;
+        private final Series communication;
+        private final Series depth;
+
+        private Group(final TrendAnalyzer analyzer) {
+            clarity = new Series(analyzer);
+            structure = new Series(analyzer);
+            relevance = new Series(analyzer);
+            communication = new Series(analyzer);
+            depth = new Series(analyzer);
+        }
+
+        private void add(final long timestamp, final Evaluation evaluation) {
+            clarity.add(timestamp, evaluation.getClarityScore());
+            structure.add(timestamp, evaluation.getStructureScore());
+            relevance.add(timestamp, evaluation.getRelevanceScore());
+            communication.add(timestamp, evaluation.getCommunicationScore());
+            depth.add(timestamp, evaluation.getDepthScore());
+        }
+
+        private DimensionTrends toTrends() {
+            final DimensionTrends trends = new DimensionTrends();
+            trends.setClarity(clarity.toTrend());
+            trends.setStructure(structure.toTrend());
+            trends.setRelevance(relevance.toTrend());
+            trends.setCommunication(communication.toTrend());
+            trends.setDepth(depth.toTrend());
+            return trends;
+        }
+    }
+
+    /**
+     * The scores of one dimension. A score of 0 means the dimension was not evaluated and is skipped.
+     */
+    private static final class Series {
+
+        private final int window;
+        private final double alpha;
+        private final int maxPoints;
+
+        // The scores of the last two windows, the oldest is overwritten
+        private final int[] scores;
+        private long count;
+        private long currentSum;
+        private long previousSum;
+        // How many times each score is in the last window
+        private final TreeMap<Integer, Integer> currentOccurrences = new TreeMap<>();
+        private double exponentialAverage;
+        private final Deque<TrendPoint> points = new ArrayDeque<>();
+
+        private Series(final TrendAnalyzer analyzer) {
+            this.window = analyzer.window;
+            this.alpha = analyzer.alpha;
+            this.maxPoints = analyzer.maxPoints;
+            this.scores = new int[2 * window];
+        }
+
+        private void add(final long timestamp, final int score) {
+            if (score <= 0) {
+                return;
+            }
+            if (count >= window) {
+                // The oldest score of the last window moves to the previous window
+                final int moved = scores[(int) ((count - window) % scores.length)];
+                currentSum -= moved;
+                previousSum += moved;
+                currentOccurrences.merge(moved, -1, Integer::sum);
+                currentOccurrences.remove(moved, 0);
+            }
+            if (count >= scores.length) {
+                // The oldest score of the previous window is dropped
+                previousSum -= scores[(int) (count % scores.length)];
+            }
+            scores[(int) (count % scores.length)] = score;
+            currentSum += score;
+            currentOccurrences.merge(score, 1, Integer::sum);
+            exponentialAverage = count == 0 ? score : alpha * score + (1 - alpha) * exponentialAverage;
+            count++;
+
+            if (maxPoints > 0) {
+                if (points.size() == maxPoints) {
+                    points.removeFirst();
+                }
+                points.addLast(new TrendPoint(timestamp, score, getMovingAverage(), exponentialAverage));
+            }
+        }
+
+        private double getMovingAverage() {
+            final long windowCount = Math.min(count, window);
+            return windowCount > 0 ? (double) currentSum / windowCount : 0;
+        }
+
+        private ScoreTrend toTrend() {
+            final ScoreTrend trend = new ScoreTrend();
+            trend.setCount(count);
+            trend.setPoints(new ArrayList<>(points));
+            if (count == 0) {
+                return trend;
+            }
+            final long previousCount = Math.min(Math.max(count - window, 0), window);
+            final double movingAverage = getMovingAverage();
+            trend.setMovingAverage(movingAverage);
+            trend.setExponentialAverage(exponentialAverage);
+            if (previousCount > 0) {
+                final double previousMovingAverage = (double) previousSum / previousCount;
+                trend.setPreviousMovingAverage(previousMovingAverage);
+                trend.setChange(movingAverage - previousMovingAverage);
+            }
+            trend.setPercentile10(getPercentile(10));
+            trend.setPercentile50(getPercentile(50));
+            trend.setPercentile90(getPercentile(90));
+            return trend;
+        }
+
+        /**
+         * Returns a percentile of the last window, with the nearest-rank method.
+         */
+        private int getPercentile(final int percentile) {
+            final long windowCount = Math.min(count, window);
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * windowCount));
+            long seen = 0;
+            for (final Map.Entry<Integer, Integer> occurrence : currentOccurrences.entrySet()) {
+                seen += occurrence.getValue();
+                if (seen >= rank) {
+                    return occurrence.getKey();
+                }
+            }
+            return 0;
+        }
+    }
+}
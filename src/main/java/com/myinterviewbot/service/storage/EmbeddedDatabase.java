@@ -0,0 +1,203 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Embedded H2 database where the interviews, the saved questions and the settings are stored.
+ *
+ * <p>The database is a single file opened by the application, with one connection that stays open until the
+ * application stops. Every operation runs in a transaction on that connection, one at a time.</p>
+ *
+ * <p>The tables are created when the database is opened. Every change to the tables is a new entry of
+ * {@link #SCHEMA}, applied once to the databases created by a previous version.</p>
+ *
+ * @author Alan Quintero
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    static final String SCHEMA_VERSION = "schema-version";
+
+    // The statements of each schema version, in order
+    private static final String[][] SCHEMA = {
+            {
+                    "CREATE TABLE interviews ("
+                            + "id BIGINT PRIMARY KEY, "
+                            + "created_at BIGINT NOT NULL, "
+                            + "interview_type VARCHAR(32), "
+                            + "profession VARCHAR, "
+                            + "category VARCHAR, "
+                            + "difficulty VARCHAR, "
+                            + "entry CHARACTER LARGE OBJECT NOT NULL)",
+                    "CREATE INDEX interviews_created_at ON interviews (created_at)",
+                    "CREATE INDEX interviews_profession ON interviews (profession, created_at)",
+                    "CREATE INDEX interviews_category ON interviews (category, created_at)",
+                    "CREATE INDEX interviews_difficulty ON interviews (difficulty, created_at)",
+                    "CREATE TABLE questions (question VARCHAR PRIMARY KEY)",
+                    "CREATE TABLE settings (id INT PRIMARY KEY, settings CHARACTER LARGE OBJECT NOT NULL)"
+            },
+            {
+                    // Filled for the existing rows by SqlInterviewRepository.reindex()
+                    "ALTER TABLE interviews ADD COLUMN average_score DOUBLE PRECISION DEFAULT 0 NOT NULL",
+                    "ALTER TABLE interviews ADD COLUMN index_version INT DEFAULT 1 NOT NULL",
+                    "CREATE INDEX interviews_average_score ON interviews (average_score, id)"
+            },
+            {
+                    // The scores of each dimension, NULL if the interview was not evaluated, filled for the existing
+                    // rows by SqlInterviewRepository.reindex()
+                    "ALTER TABLE interviews ADD COLUMN clarity_score INT",
+                    "ALTER TABLE interviews ADD COLUMN structure_score INT",
+                    "ALTER TABLE interviews ADD COLUMN relevance_score INT",
+                    "ALTER TABLE interviews ADD COLUMN communication_score INT",
+                    "ALTER TABLE interviews ADD COLUMN depth_score INT"
+            }
+    };
+
+    private final String url;
+
+    private Connection connection;
+    private int transactionDepth;
+
+    /**
+     * @param url the JDBC URL of the database, e.g. {@code jdbc:h2:file:/path/to/myinterviewbot}
+     */
+    public EmbeddedDatabase(final String url) {
+        this.url = url;
+    }
+
+    /**
+     * Opens the database, creating or updating its tables.
+     *
+     * @throws IOException if the database could not be opened
+     */
+    public synchronized void open() throws IOException {
+        try {
+            connection = DriverManager.getConnection(url);
+            connection.setAutoCommit(false);
+            execute(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS storage_meta (meta_key VARCHAR(64) PRIMARY KEY, meta_value VARCHAR)");
+                }
+                final String value = getMeta(SCHEMA_VERSION);
+                final int version = value != null ? Integer.parseInt(value) : 0;
+                for (int i = version; i < SCHEMA.length; i++) {
+                    try (Statement statement = connection.createStatement()) {
+                        for (final String sql : SCHEMA[i]) {
+                            statement.execute(sql);
+                        }
+                    }
+                    LOGGER.info("Database schema updated to version {}", i + 1);
+                }
+                setMeta(SCHEMA_VERSION, String.valueOf(SCHEMA.length));
+                return null;
+            });
+        } catch (SQLException | RuntimeException e) {
+            close();
+            throw new IOException("Failed to open the database " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs an operation in a transaction, which is committed if the operation succeeds and rolled back otherwise.
+     * An operation run inside another one is part of the outer transaction.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     * @throws SQLException if the operation failed
+     */
+    public synchronized <T> T execute(final SqlOperation<T> operation) throws SQLException {
+        if (connection == null) {
+            throw new SQLException("The database is not open");
+        }
+        transactionDepth++;
+        try {
+            final T result = operation.apply(connection);
+            if (transactionDepth == 1) {
+                connection.commit();
+            }
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            if (transactionDepth == 1) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            transactionDepth--;
+        }
+    }
+
+    /**
+     * Returns a value saved with {@link #setMeta(String, String)}.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if there is none
+     * @throws SQLException if the value could not be read
+     */
+    public String getMeta(final String key) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT meta_value FROM storage_meta WHERE meta_key = ?")) {
+                statement.setString(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getString(1) : null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Saves a value about the database itself, e.g. its schema version.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws SQLException if the value could not be saved
+     */
+    public void setMeta(final String key, final String value) throws SQLException {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("MERGE INTO storage_meta (meta_key, meta_value) KEY (meta_key) VALUES (?, ?)")) {
+                statement.setString(1, key);
+                statement.setString(2, value);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.warn("Failed to close the database: {}", e.getMessage());
+        }
+        connection = null;
+    }
+
+    /**
+     * An operation on the database connection.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface SqlOperation<T> {
+
+        T apply(Connection connection) throws SQLException;
+    }
+}
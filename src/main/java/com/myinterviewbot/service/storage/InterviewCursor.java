@@ -0,0 +1,106 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of an interview in a sorted history: the values it is sorted by and its id.
+ *
+ * <p>A page ends with the cursor of its last interview, and the next page starts right after it. Unlike an offset,
+ * the cursor does not move when interviews are added or removed, and the database finds it with an index instead
+ * of skipping all the previous interviews. The browser receives it as an opaque token.</p>
+ *
+ * @author Alan Quintero
+ */
+public final class InterviewCursor {
+
+    private final InterviewSort sort;
+    private final long timestamp;
+    private final double averageScore;
+    private final long id;
+
+    public InterviewCursor(final InterviewSort sort, final long timestamp, final double averageScore, final long id) {
+        this.sort = sort;
+        this.timestamp = timestamp;
+        this.averageScore = averageScore;
+        this.id = id;
+    }
+
+    /**
+     * Reads a token created by {@link #encode()}.
+     *
+     * @param token the token
+     * @param sort  the sort of the requested page, must be the sort of the cursor
+     * @return the cursor
+     * @throws InvalidHistoryQueryException if the token is not valid
+     */
+    public static InterviewCursor decode(final String token, final InterviewSort sort) {
+        try {
+            final String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (values.length != 4 || !sort.name().equals(values[0])) {
+                throw new InvalidHistoryQueryException("The cursor is not valid for the " + sort + " sort");
+            }
+            return new InterviewCursor(sort, Long.parseLong(values[1]), Double.parseDouble(values[2]), Long.parseLong(values[3]));
+        } catch (IllegalArgumentException e) {
+            // Also thrown for a token that is not Base64 or a number that cannot be parsed
+            throw new InvalidHistoryQueryException("The cursor is not valid");
+        }
+    }
+
+    /**
+     * Returns the cursor as an opaque token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        final String value = sort.name() + ":" + timestamp + ":" + averageScore + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares the positions of two interviews in the sort of this cursor.
+     *
+     * @param other the other cursor
+     * @return a negative number if this interview comes first, a positive number if the other one comes first
+     */
+    public int compareTo(final InterviewCursor other) {
+        return switch (sort) {
+            case NEWEST -> compare(other.timestamp, timestamp, other.id, id);
+            case OLDEST -> compare(timestamp, other.timestamp, id, other.id);
+            case HIGHEST_SCORE -> compare(other.averageScore, averageScore, other.id, id);
+            case LOWEST_SCORE -> compare(averageScore, other.averageScore, id, other.id);
+        };
+    }
+
+    public InterviewSort getSort() {
+        return sort;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getAverageScore() {
+        return averageScore;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    private static int compare(final long value, final long otherValue, final long id, final long otherId) {
+        final int result = Long.compare(value, otherValue);
+        return result != 0 ? result : Long.compare(id, otherId);
+    }
+
+    private static int compare(final double value, final double otherValue, final long id, final long otherId) {
+        final int result = Double.compare(value, otherValue);
+        return result != 0 ? result : Long.compare(id, otherId);
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myinterviewbot.model.InterviewEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Storage of the interview history: a snapshot with all the interviews, in a {@link SnapshotFormat}, plus an
+ * append-only journal with the changes made after the snapshot.
+ *
+ * <p>Adding or removing an interview appends one line to the journal, so a write costs the size of the entry
+ * instead of the whole history. Every line is {@code <crc32> <json>}, e.g.
+ * {@code 1a2b3c4d {"op":"add","id":1700000000000,"entry":{...}}}. The line is kept in memory and written by the
+ * {@link PersistenceWriter} on its next flush, so the changes made in its delay ({@code storage.write.delay-ms},
+ * 200 ms by default) are lost if the application is killed before they are written. Only a writer with a delay of
+ * 0 writes the line (and forces it to disk, with {@code storage.write.fsync}) before the method returns.
+ * If the application is killed while a line is written, the line has no end and is dropped on the next start,
+ * the previous changes are kept. A complete line that fails its checksum or cannot be replayed is skipped, and the
+ * records after it are still replayed.</p>
+ *
+ * <p>When the journal has {@code compactThreshold} records, the history is written to a new snapshot, which
+ * replaces the old one with an atomic rename, and the journal is emptied. Replaying a record twice gives the same
+ * result, so a crash between the rename and the truncation loses nothing.</p>
+ *
+ * @author Alan Quintero
+ */
+public class InterviewJournal implements Flushable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterviewJournal.class);
+
+    private static final String ADD = "add";
+    private static final String REMOVE = "remove";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File snapshotFile;
+    private final File journalFile;
+    private final int compactThreshold;
+    private final PersistenceWriter writer;
+    private final SnapshotFormat snapshotFormat;
+
+    // Only one thread writes the files at a time
+    private final Object fileLock = new Object();
+
+    private int records;
+    // The lines not written yet, and a number that changes when they are discarded
+    private final ByteArrayOutputStream pendingLines = new ByteArrayOutputStream();
+    private long pendingGeneration;
+
+    /**
+     * Creates a journal that writes every record before the method that adds it returns.
+     *
+     * @param snapshotFile     the snapshot with all the interviews, a JSON map by interview id
+     * @param journalFile      the journal with the changes after the snapshot
+     * @param compactThreshold the number of journal records that triggers a new snapshot
+     */
+    public InterviewJournal(final File snapshotFile, final File journalFile, final int compactThreshold) {
+        this(snapshotFile, journalFile, compactThreshold, PersistenceWriter.direct(), SnapshotFormat.JSON);
+    }
+
+    /**
+     * @param snapshotFile     the snapshot with all the interviews, a JSON map by interview id
+     * @param journalFile      the journal with the changes after the snapshot
+     * @param compactThreshold the number of journal records that triggers a new snapshot
+     * @param writer           the writer that flushes the journal
+     * @param snapshotFormat   the format of the new snapshots, the snapshot loaded can be in any format
+     */
+    public InterviewJournal(final File snapshotFile, final File journalFile, final int compactThreshold,
+                            final PersistenceWriter writer, final SnapshotFormat snapshotFormat) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+        this.compactThreshold = Math.max(1, compactThreshold);
+        this.writer = writer;
+        this.snapshotFormat = snapshotFormat;
+    }
+
+    /**
+     * Loads the snapshot and replays the journal on top of it. An incomplete last record, without its line end, is
+     * removed from the journal; an invalid complete record is skipped and stays in the journal until the next snapshot.
+     *
+     * @return the interviews by id
+     * @throws IOException if the snapshot or the journal could not be read
+     */
+    public synchronized Map<Long, InterviewEntry> load() throws IOException {
+        final long startTime = System.currentTimeMillis();
+        final Map<Long, InterviewEntry> interviews = new LinkedHashMap<>();
+        if (snapshotFile.exists()) {
+            interviews.putAll(SnapshotFormat.read(snapshotFile));
+        }
+
+        records = 0;
+        pendingLines.reset();
+        if (journalFile.exists()) {
+            final byte[] journal = Files.readAllBytes(journalFile.toPath());
+            int validLength = 0;
+            int lineStart = 0;
+            for (int i = 0; i < journal.length; i++) {
+                if (journal[i] != '\n') {
+                    continue;
+                }
+                final String line = new String(journal, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                if (!replay(line, interviews)) {
+                    LOGGER.warn("Skipping the invalid record {} of {} at byte {}", records + 1, journalFile.getName(), lineStart);
+                }
+                records++;
+                lineStart = i + 1;
+                validLength = lineStart;
+            }
+            if (validLength < journal.length) {
+                LOGGER.warn("Dropping {} bytes of an incomplete record at the end of {}", journal.length - validLength, journalFile.getName());
+                try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+            }
+        }
+        LOGGER.info("Loaded {} interviews ({} KB snapshot, {} journal records) in {} ms", interviews.size(),
+                snapshotFile.length() / 1024, records, System.currentTimeMillis() - startTime);
+        return interviews;
+    }
+
+    /**
+     * Appends the addition (or replacement) of an interview.
+     *
+     * @param id    the interview id
+     * @param entry the interview
+     * @throws IOException if the writer has no delay and the record could not be written
+     */
+    public void appendAdd(final Long id, final InterviewEntry entry) throws IOException {
+        final ObjectNode record = objectMapper.createObjectNode();
+        record.put("op", ADD);
+        record.put("id", id);
+        record.set("entry", objectMapper.valueToTree(entry));
+        append(record);
+    }
+
+    /**
+     * Appends the removal of an interview.
+     *
+     * @param id the interview id
+     * @throws IOException if the writer has no delay and the record could not be written
+     */
+    public void appendRemove(final Long id) throws IOException {
+        final ObjectNode record = objectMapper.createObjectNode();
+        record.put("op", REMOVE);
+        record.put("id", id);
+        append(record);
+    }
+
+    /**
+     * Returns if the journal has enough records to be compacted into a new snapshot.
+     *
+     * @return {@code true} if {@link #compact(Map)} should be called
+     */
+    public synchronized boolean needsCompaction() {
+        return records >= compactThreshold;
+    }
+
+    /**
+     * Writes all the interviews to a new snapshot and empties the journal.
+     *
+     * <p>The records not written yet are discarded, so no record can be added between the moment the interviews
+     * were read and this call.</p>
+     *
+     * @param interviews all the interviews
+     * @throws IOException if the snapshot could not be written
+     */
+    public void compact(final Map<Long, InterviewEntry> interviews) throws IOException {
+        discardPending();
+        writeSnapshot(interviews);
+    }
+
+    /**
+     * Discards the records not written yet, because they are in the interviews of the next snapshot.
+     */
+    public synchronized void discardPending() {
+        pendingLines.reset();
+        pendingGeneration++;
+        records = 0;
+    }
+
+    /**
+     * Writes all the interviews to a new snapshot and empties the journal. The records added after
+     * {@link #discardPending()} are written to the emptied journal by the next flush.
+     *
+     * @param interviews all the interviews, read when the records were discarded
+     * @throws IOException if the snapshot could not be written
+     */
+    public void writeSnapshot(final Map<Long, InterviewEntry> interviews) throws IOException {
+        synchronized (fileLock) {
+            final long startTime = System.currentTimeMillis();
+            final byte[] snapshot = snapshotFormat.write(interviews);
+            writer.writeFile(snapshotFile, snapshot);
+            try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+                if (writer.isFsync()) {
+                    channel.force(true);
+                }
+            }
+            LOGGER.info("Saved a {} snapshot of {} interviews ({} KB) in {} ms", snapshotFormat, interviews.size(),
+                    snapshot.length / 1024, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Writes the records not written yet at the end of the journal. If they cannot be written, they are kept
+     * for the next flush.
+     *
+     * @throws IOException if the records could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (fileLock) {
+            final byte[] lines;
+            final long generation;
+            synchronized (this) {
+                if (pendingLines.size() == 0) {
+                    return;
+                }
+                lines = pendingLines.toByteArray();
+                pendingLines.reset();
+                generation = pendingGeneration;
+            }
+            try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                final long validLength = channel.size();
+                try {
+                    channel.position(validLength);
+                    writeFully(channel, ByteBuffer.wrap(lines));
+                    if (writer.isFsync()) {
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    // A part of a line would hide the records after it
+                    channel.truncate(validLength);
+                    throw e;
+                }
+            } catch (IOException e) {
+                restorePending(lines, generation);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns the format of the new snapshots.
+     *
+     * @return the format
+     */
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    /**
+     * Returns the number of records in the journal.
+     *
+     * @return the number of records
+     */
+    public synchronized int getRecords() {
+        return records;
+    }
+
+    private void append(final ObjectNode record) throws IOException {
+        final byte[] json = objectMapper.writeValueAsBytes(record);
+        final CRC32 crc = new CRC32();
+        crc.update(json);
+        final byte[] prefix = String.format("%08x ", crc.getValue()).getBytes(StandardCharsets.US_ASCII);
+
+        synchronized (this) {
+            pendingLines.writeBytes(prefix);
+            pendingLines.writeBytes(json);
+            pendingLines.write('\n');
+            records++;
+        }
+        writer.markDirty(this);
+    }
+
+    /**
+     * Puts back lines that could not be written before the ones added since, unless they were discarded by a snapshot.
+     */
+    private synchronized void restorePending(final byte[] lines, final long generation) {
+        if (generation != pendingGeneration) {
+            return;
+        }
+        final byte[] newerLines = pendingLines.toByteArray();
+        pendingLines.reset();
+        pendingLines.writeBytes(lines);
+        pendingLines.writeBytes(newerLines);
+    }
+
+    /**
+     * Applies a journal line to the interviews.
+     *
+     * @return {@code false} if the line is not a valid record
+     */
+    private boolean replay(final String line, final Map<Long, InterviewEntry> interviews) {
+        final int separator = line.indexOf(' ');
+        if (separator != 8) {
+            return false;
+        }
+        try {
+            final String json = line.substring(separator + 1);
+            final CRC32 crc = new CRC32();
+            crc.update(json.getBytes(StandardCharsets.UTF_8));
+            if (crc.getValue() != Long.parseLong(line.substring(0, separator), 16)) {
+                return false;
+            }
+            final JsonNode record = objectMapper.readTree(json);
+            final long id = record.path("id").asLong();
+            switch (record.path("op").asText()) {
+                case ADD -> interviews.put(id, objectMapper.treeToValue(record.get("entry"), InterviewEntry.class));
+                case REMOVE -> interviews.remove(id);
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InterviewJournal{" +
+                "journalFile=" + journalFile +
+                '}';
+    }
+}
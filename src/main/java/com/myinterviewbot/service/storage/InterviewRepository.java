@@ -0,0 +1,104 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage of the interview history.
+ *
+ * @author Alan Quintero
+ */
+public interface InterviewRepository {
+
+    /**
+     * Saves an interview, replacing the interview with the same id.
+     *
+     * @param id    the interview id
+     * @param entry the interview
+     * @throws IOException if the interview could not be saved
+     */
+    void save(Long id, InterviewEntry entry) throws IOException;
+
+    /**
+     * Returns an interview.
+     *
+     * @param id the interview id
+     * @return the interview, or {@code null} if it does not exist
+     * @throws IOException if the interview could not be read
+     */
+    InterviewEntry findById(Long id) throws IOException;
+
+    /**
+     * Returns the interviews that match the filter, the most recent first.
+     *
+     * @param filter the conditions the interviews must meet
+     * @return the interviews
+     * @throws IOException if the interviews could not be read
+     */
+    List<InterviewEntry> find(InterviewFilter filter) throws IOException;
+
+    /**
+     * Returns a page of the interviews that match the filter.
+     *
+     * @param filter the conditions the interviews must meet
+     * @param sort   the order of the interviews
+     * @param after  the cursor of the last interview of the previous page, {@code null} for the first page
+     * @param limit  the max number of interviews in the page
+     * @return the page, with the cursor of the next page if there are more interviews
+     * @throws IOException if the interviews could not be read
+     */
+    InterviewPage<InterviewEntry> findPage(InterviewFilter filter, InterviewSort sort, InterviewCursor after, int limit) throws IOException;
+
+    /**
+     * Reads every interview, one at a time and the oldest first, without keeping them in memory. It is meant for
+     * statistics: the answer, the feedback and the evaluation comments may be left out.
+     *
+     * @param action the action to run for each interview
+     * @throws IOException if the interviews could not be read
+     */
+    void forEach(Consumer<InterviewEntry> action) throws IOException;
+
+    /**
+     * Reads the scores of every interview, one at a time and the oldest first. Only the timestamp, the category
+     * and difficulty of the question and the scores of the evaluation are set, which is all the score statistics
+     * and the trends need.
+     *
+     * @param action the action to run for each interview
+     * @throws IOException if the interviews could not be read
+     */
+    void forEachScores(Consumer<InterviewEntry> action) throws IOException;
+
+    /**
+     * Returns the number of interviews.
+     *
+     * @return the number of interviews
+     * @throws IOException if the interviews could not be read
+     */
+    long count() throws IOException;
+
+    /**
+     * Removes an interview.
+     *
+     * @param id the interview id
+     * @return {@code true} if the interview existed
+     * @throws IOException if the interview could not be removed
+     */
+    boolean delete(Long id) throws IOException;
+
+    /**
+     * Removes all the interviews.
+     *
+     * @throws IOException if the interviews could not be removed
+     */
+    void deleteAll() throws IOException;
+}
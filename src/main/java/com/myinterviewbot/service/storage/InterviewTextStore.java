@@ -0,0 +1,291 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * File with the long texts of the interviews (see {@link InterviewTexts}), read one interview at a time, so the
+ * history kept in memory only has what lists and statistics need.
+ *
+ * <p>Every record is {@code <id:8><length:4><crc32:4><texts>}, with the texts in binary JSON, appended at the end
+ * of the file. The index, the position of the last record of each interview, is built when the file is opened,
+ * checking the checksum of every record. Only a last record cut short, because the application was killed while
+ * writing it, is removed. A record with a wrong checksum is skipped, and its interview has no texts; a header that
+ * cannot be valid means the file is damaged, and it is not opened.</p>
+ *
+ * <p>Records of removed or replaced interviews stay in the file until it is rewritten by {@link #compact(Set)}.</p>
+ *
+ * @author Alan Quintero
+ */
+public class InterviewTextStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterviewTextStore.class);
+
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+    private final File textsFile;
+    private final boolean fsync;
+
+    private final Map<Long, TextRecord> index = new ConcurrentHashMap<>();
+    // Held for reading to read and append records, for writing to replace the file
+    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+
+    /**
+     * @param textsFile the file of the texts
+     * @param fsync     if the records are forced to the disk after they are written
+     */
+    public InterviewTextStore(final File textsFile, final boolean fsync) {
+        this.textsFile = textsFile;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the file, creating it if it does not exist, and builds the index.
+     *
+     * @throws IOException if the file could not be read, or is damaged
+     */
+    public synchronized void open() throws IOException {
+        fileLock.writeLock().lock();
+        try {
+            final long startTime = System.currentTimeMillis();
+            channel = FileChannel.open(textsFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            index.clear();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            final long size = channel.size();
+            long position = 0;
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                final long id = header.getLong();
+                final int length = header.getInt();
+                final int crc = header.getInt();
+                if (length < 0) {
+                    channel.close();
+                    throw new IOException("Invalid record at byte " + position + " of " + textsFile.getName());
+                }
+                if (position + HEADER_BYTES + length > size) {
+                    // Longer than the rest of the file, so it is the last one
+                    break;
+                }
+                if (checksum(read(position + HEADER_BYTES, length).array()) == crc) {
+                    index.put(id, new TextRecord(position + HEADER_BYTES, length));
+                } else {
+                    LOGGER.warn("The texts of interview {} at byte {} of {} are corrupted, skipped", id, position, textsFile.getName());
+                    index.remove(id);
+                }
+                position += HEADER_BYTES + length;
+            }
+            if (position < size) {
+                LOGGER.warn("Dropping {} bytes of an incomplete record at the end of {}", size - position, textsFile.getName());
+                channel.truncate(position);
+                channel.force(true);
+            }
+            LOGGER.info("Indexed the texts of {} interviews ({} KB) in {} ms", index.size(), position / 1024,
+                    System.currentTimeMillis() - startTime);
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the texts of some interviews, replacing the ones they had.
+     *
+     * @param texts the texts by interview id
+     * @throws IOException if the texts could not be written
+     */
+    public synchronized void write(final Map<Long, InterviewTexts> texts) throws IOException {
+        if (texts.isEmpty()) {
+            return;
+        }
+        fileLock.readLock().lock();
+        try {
+            final long start = channel.size();
+            long position = start;
+            final Map<Long, TextRecord> written = new HashMap<>();
+            try {
+                for (final Map.Entry<Long, InterviewTexts> entry : texts.entrySet()) {
+                    final byte[] bytes = objectMapper.writeValueAsBytes(entry.getValue());
+                    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bytes.length);
+                    buffer.putLong(entry.getKey()).putInt(bytes.length).putInt(checksum(bytes)).put(bytes).flip();
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    written.put(entry.getKey(), new TextRecord(position - bytes.length, bytes.length));
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                // A part of a record would hide the records after it
+                channel.truncate(start);
+                throw e;
+            }
+            index.putAll(written);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the texts of an interview.
+     *
+     * @param id the interview id
+     * @return the texts, or {@code null} if the interview has none
+     * @throws IOException if the texts could not be read
+     */
+    public InterviewTexts read(final Long id) throws IOException {
+        fileLock.readLock().lock();
+        try {
+            final TextRecord record = index.get(id);
+            if (record == null) {
+                return null;
+            }
+            final ByteBuffer header = read(record.offset - HEADER_BYTES, HEADER_BYTES);
+            final byte[] bytes = read(record.offset, record.length).array();
+            if (header.getInt(Long.BYTES + Integer.BYTES) != checksum(bytes)) {
+                throw new IOException("The texts of interview " + id + " are corrupted");
+            }
+            return objectMapper.readValue(bytes, InterviewTexts.class);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns if the file has more bytes of old records than of records in use.
+     *
+     * @param ids the interviews in the history
+     * @return {@code true} if {@link #compact(Set)} should be called
+     */
+    public synchronized boolean needsCompaction(final Set<Long> ids) {
+        fileLock.readLock().lock();
+        try {
+            long liveBytes = 0;
+            for (final Long id : ids) {
+                final TextRecord record = index.get(id);
+                if (record != null) {
+                    liveBytes += HEADER_BYTES + record.length;
+                }
+            }
+            return channel.size() - liveBytes > liveBytes;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file with only the texts of the given interviews.
+     *
+     * @param ids the interviews in the history
+     * @throws IOException if the file could not be rewritten
+     */
+    public synchronized void compact(final Set<Long> ids) throws IOException {
+        fileLock.writeLock().lock();
+        try {
+            final long startTime = System.currentTimeMillis();
+            final long previousSize = channel.size();
+            final File tempFile = new File(textsFile.getParentFile(), textsFile.getName() + ".tmp");
+            final Map<Long, TextRecord> compactedIndex = new HashMap<>();
+            try (FileChannel tempChannel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                for (final Long id : ids) {
+                    final TextRecord record = index.get(id);
+                    if (record == null) {
+                        continue;
+                    }
+                    // The header is copied with the texts
+                    final ByteBuffer buffer = read(record.offset - HEADER_BYTES, HEADER_BYTES + record.length);
+                    while (buffer.hasRemaining()) {
+                        position += tempChannel.write(buffer, position);
+                    }
+                    compactedIndex.put(id, new TextRecord(position - record.length, record.length));
+                }
+                tempChannel.force(true);
+            }
+            channel.close();
+            Files.move(tempFile.toPath(), textsFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(textsFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            index.clear();
+            index.putAll(compactedIndex);
+            LOGGER.info("Compacted the texts of {} interviews from {} KB to {} KB in {} ms", index.size(), previousSize / 1024,
+                    channel.size() / 1024, System.currentTimeMillis() - startTime);
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileLock.writeLock().lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    private ByteBuffer read(final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + textsFile.getName());
+            }
+        }
+    }
+
+    private static int checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * The position and length of the texts of an interview in the file.
+     */
+    private static final class TextRecord {
+
+        private final long offset;
+        private final int length;
+
+        private TextRecord(final long offset, final int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
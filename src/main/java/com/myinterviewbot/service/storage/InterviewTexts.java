@@ -0,0 +1,172 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.InterviewEntry;
+
+/**
+ * DTO class with the long texts of an interview: the answer, the feedback and the comments of the evaluation.
+ * They are most of the size of an interview and only needed to show its details (see {@link InterviewTextStore}).
+ *
+ * @author Alan Quintero
+ */
+public class InterviewTexts {
+
+    private String answer;
+    private String feedback;
+    private String clarityFeedback;
+    private String structureFeedback;
+    private String relevanceFeedback;
+    private String communicationFeedback;
+    private String depthFeedback;
+
+    public InterviewTexts() {
+    }
+
+    /**
+     * Returns the texts of an interview.
+     *
+     * @param entry the interview
+     * @return the texts
+     */
+    public static InterviewTexts of(final InterviewEntry entry) {
+        final InterviewTexts texts = new InterviewTexts();
+        texts.answer = entry.getAnswer();
+        texts.feedback = entry.getFeedback();
+        final Evaluation evaluation = entry.getEvaluation();
+        if (evaluation != null) {
+            texts.clarityFeedback = evaluation.getClarityFeedback();
+            texts.structureFeedback = evaluation.getStructureFeedback();
+            texts.relevanceFeedback = evaluation.getRelevanceFeedback();
+            texts.communicationFeedback = evaluation.getCommunicationFeedback();
+            texts.depthFeedback = evaluation.getDepthFeedback();
+        }
+        return texts;
+    }
+
+    /**
+     * Returns if an interview has any of the texts.
+     *
+     * @param entry the interview
+     * @return {@code true} if the interview has a text
+     */
+    public static boolean hasTexts(final InterviewEntry entry) {
+        final Evaluation evaluation = entry.getEvaluation();
+        return entry.getAnswer() != null || entry.getFeedback() != null
+                || (evaluation != null && (evaluation.getClarityFeedback() != null || evaluation.getStructureFeedback() != null
+                || evaluation.getRelevanceFeedback() != null || evaluation.getCommunicationFeedback() != null
+                || evaluation.getDepthFeedback() != null));
+    }
+
+    /**
+     * Returns a copy of an interview without the texts. The interview is not changed.
+     *
+     * @param entry the interview
+     * @return the copy
+     */
+    public static InterviewEntry withoutTexts(final InterviewEntry entry) {
+        return new InterviewTexts().copyTo(entry);
+    }
+
+    /**
+     * Returns a copy of an interview with these texts. The interview is not changed.
+     *
+     * @param entry the interview
+     * @return the copy
+     */
+    public InterviewEntry copyTo(final InterviewEntry entry) {
+        Evaluation evaluation = null;
+        if (entry.getEvaluation() != null) {
+            final Evaluation source = entry.getEvaluation();
+            evaluation = new Evaluation();
+            evaluation.setClarityScore(source.getClarityScore());
+            evaluation.setClarityFeedback(clarityFeedback);
+            evaluation.setStructureScore(source.getStructureScore());
+            evaluation.setStructureFeedback(structureFeedback);
+            evaluation.setRelevanceScore(source.getRelevanceScore());
+            evaluation.setRelevanceFeedback(relevanceFeedback);
+            evaluation.setCommunicationScore(source.getCommunicationScore());
+            evaluation.setCommunicationFeedback(communicationFeedback);
+            evaluation.setDepthScore(source.getDepthScore());
+            evaluation.setDepthFeedback(depthFeedback);
+        }
+        final InterviewEntry copy = new InterviewEntry(entry.getTimestamp(), entry.getInterviewType(), entry.getProfession(),
+                entry.getQuestion(), answer, feedback, entry.getVideoUrl(), evaluation);
+        copy.setThumbnailUrl(entry.getThumbnailUrl());
+        copy.setVideoSize(entry.getVideoSize());
+        copy.setOriginalVideoSize(entry.getOriginalVideoSize());
+        return copy;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(final String answer) {
+        this.answer = answer;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(final String feedback) {
+        this.feedback = feedback;
+    }
+
+    public String getClarityFeedback() {
+        return clarityFeedback;
+    }
+
+    public void setClarityFeedback(final String clarityFeedback) {
+        this.clarityFeedback = clarityFeedback;
+    }
+
+    public String getStructureFeedback() {
+        return structureFeedback;
+    }
+
+    public void setStructureFeedback(final String structureFeedback) {
+        this.structureFeedback = structureFeedback;
+    }
+
+    public String getRelevanceFeedback() {
+        return relevanceFeedback;
+    }
+
+    public void setRelevanceFeedback(final String relevanceFeedback) {
+        this.relevanceFeedback = relevanceFeedback;
+    }
+
+    public String getCommunicationFeedback() {
+        return communicationFeedback;
+    }
+
+    public void setCommunicationFeedback(final String communicationFeedback) {
+        this.communicationFeedback = communicationFeedback;
+    }
+
+    public String getDepthFeedback() {
+        return depthFeedback;
+    }
+
+    public void setDepthFeedback(final String depthFeedback) {
+        this.depthFeedback = depthFeedback;
+    }
+
+    @Override
+    public String toString() {
+        return "InterviewTexts{" +
+                "answer='" + answer + '\'' +
+                ", feedback='" + feedback + '\'' +
+                ", clarityFeedback='" + clarityFeedback + '\'' +
+                ", structureFeedback='" + structureFeedback + '\'' +
+                ", relevanceFeedback='" + relevanceFeedback + '\'' +
+                ", communicationFeedback='" + communicationFeedback + '\'' +
+                ", depthFeedback='" + depthFeedback + '\'' +
+                '}';
+    }
+}
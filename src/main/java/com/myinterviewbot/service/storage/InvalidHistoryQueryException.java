@@ -0,0 +1,22 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a history request has a cursor, sort or view that is not valid, e.g. a cursor of another sort.
+ * Spring answers the request with {@code 400 Bad Request}.
+ *
+ * @author Alan Quintero
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidHistoryQueryException extends RuntimeException {
+
+    public InvalidHistoryQueryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,359 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Interview repository that keeps all the interviews in memory, saved in a JSON snapshot and a journal
+ * (see {@link InterviewJournal}) that are loaded when the repository is opened.
+ *
+ * <p>The interviews are in a {@link ConcurrentSkipListMap}, so reads never wait for a write and never see a
+ * half-made change. Writes are synchronized: there is one writer at a time, which keeps the map and the journal in
+ * the same order. The journal and the snapshots are written by a {@link PersistenceWriter}, so a change only
+ * waits for the disk if the writer has no delay.</p>
+ *
+ * <p>The snapshot is {@code interviews} plus the extension of its {@link SnapshotFormat}. When the format changes,
+ * the snapshot in the previous format is converted when the repository is opened.</p>
+ *
+ * <p>Only what lists and statistics need is kept in memory. The answers, feedback and evaluation comments are moved
+ * to an {@link InterviewTextStore} when they are flushed, and read from it when a whole interview is requested.
+ * Snapshots of previous versions, with the texts in them, are split the first time they are opened.</p>
+ *
+ * @author Alan Quintero
+ */
+public class JsonInterviewRepository implements InterviewRepository, Flushable, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonInterviewRepository.class);
+
+    public static final String SNAPSHOT_NAME = "interviews";
+    // The snapshot of previous versions, always JSON
+    public static final String SNAPSHOT_FILE = SNAPSHOT_NAME + ".json";
+    public static final String JOURNAL_FILE = "interviews.journal";
+    public static final String TEXTS_FILE = "interviews.texts";
+
+    // Journal records written before the history is saved again as a snapshot
+    private static final int JOURNAL_COMPACT_THRESHOLD = 100;
+
+    private final File interviewsDir;
+    private final File snapshotFile;
+    private final InterviewJournal journal;
+    private final InterviewTextStore textStore;
+    private final PersistenceWriter writer;
+    private final ConcurrentSkipListMap<Long, InterviewEntry> interviews = new ConcurrentSkipListMap<>();
+
+    // The interviews saved with their texts, which are not in the text store yet
+    private final Set<Long> pendingTexts = ConcurrentHashMap.newKeySet();
+
+    // The history was cleared, or a snapshot failed after its records were discarded, so it must be saved as a snapshot
+    private boolean snapshotRequired;
+
+    /**
+     * Creates a repository that writes every change before the method that makes it returns.
+     *
+     * @param interviewsDir the directory of the snapshot and the journal
+     */
+    public JsonInterviewRepository(final File interviewsDir) {
+        this(interviewsDir, PersistenceWriter.direct());
+    }
+
+    /**
+     * @param interviewsDir the directory of the snapshot and the journal
+     * @param writer        the writer of the snapshot and the journal
+     */
+    public JsonInterviewRepository(final File interviewsDir, final PersistenceWriter writer) {
+        this(interviewsDir, writer, SnapshotFormat.JSON);
+    }
+
+    /**
+     * @param interviewsDir  the directory of the snapshot and the journal
+     * @param writer         the writer of the snapshot and the journal
+     * @param snapshotFormat the format of the snapshot
+     */
+    public JsonInterviewRepository(final File interviewsDir, final PersistenceWriter writer, final SnapshotFormat snapshotFormat) {
+        this.interviewsDir = interviewsDir;
+        this.writer = writer;
+        this.snapshotFile = new File(interviewsDir, SNAPSHOT_NAME + snapshotFormat.getExtension());
+        this.journal = new InterviewJournal(snapshotFile, new File(interviewsDir, JOURNAL_FILE), JOURNAL_COMPACT_THRESHOLD,
+                writer, snapshotFormat);
+        this.textStore = new InterviewTextStore(new File(interviewsDir, TEXTS_FILE), writer.isFsync());
+    }
+
+    /**
+     * Returns the snapshot in a directory, in any format. If there are two, because the application stopped while
+     * converting one, the newest.
+     *
+     * @param interviewsDir the directory of the snapshot
+     * @return the snapshot, or {@code null} if there is none
+     */
+    public static File findSnapshotFile(final File interviewsDir) {
+        File snapshotFile = null;
+        for (final SnapshotFormat format : SnapshotFormat.values()) {
+            final File file = new File(interviewsDir, SNAPSHOT_NAME + format.getExtension());
+            if (file.isFile() && (snapshotFile == null || file.lastModified() > snapshotFile.lastModified())) {
+                snapshotFile = file;
+            }
+        }
+        return snapshotFile;
+    }
+
+    /**
+     * Loads the interviews, creating an empty snapshot if there is none.
+     *
+     * @throws IOException if the interviews could not be loaded
+     */
+    public synchronized void open() throws IOException {
+        if (!interviewsDir.exists() && !interviewsDir.mkdirs()) {
+            throw new IOException("Failed to create " + interviewsDir + " directory");
+        }
+        final File existingSnapshotFile = findSnapshotFile(interviewsDir);
+        if (existingSnapshotFile == null) {
+            journal.compact(new LinkedHashMap<>());
+        } else if (!existingSnapshotFile.equals(snapshotFile)) {
+            final long startTime = System.currentTimeMillis();
+            SnapshotFormat.convert(existingSnapshotFile, snapshotFile, journal.getSnapshotFormat(), writer);
+            LOGGER.info("Converted {} ({} KB) to {} ({} KB) in {} ms", existingSnapshotFile.getName(), existingSnapshotFile.length() / 1024,
+                    snapshotFile.getName(), snapshotFile.length() / 1024, System.currentTimeMillis() - startTime);
+            if (!existingSnapshotFile.delete()) {
+                LOGGER.warn("Failed to remove {}", existingSnapshotFile);
+            }
+        }
+        textStore.open();
+        interviews.clear();
+        pendingTexts.clear();
+        final Map<Long, InterviewEntry> loaded = journal.load();
+        // The interviews of the journal, and of the snapshots of previous versions, have their texts
+        final Map<Long, InterviewTexts> texts = new LinkedHashMap<>();
+        loaded.forEach((id, entry) -> {
+            if (InterviewTexts.hasTexts(entry)) {
+                texts.put(id, InterviewTexts.of(entry));
+                interviews.put(id, InterviewTexts.withoutTexts(entry));
+            } else {
+                interviews.put(id, entry);
+            }
+        });
+        textStore.write(texts);
+        if (!texts.isEmpty()) {
+            // Saved again without the texts
+            snapshotRequired = true;
+            writer.markDirty(this);
+        }
+    }
+
+    @Override
+    public synchronized void save(final Long id, final InterviewEntry entry) throws IOException {
+        interviews.put(id, entry);
+        pendingTexts.add(id);
+        journal.appendAdd(id, entry);
+        // The texts are moved to the text store
+        writer.markDirty(this);
+    }
+
+    @Override
+    public InterviewEntry findById(final Long id) throws IOException {
+        final InterviewEntry entry = interviews.get(id);
+        return entry != null ? withTexts(id, entry) : null;
+    }
+
+    @Override
+    public List<InterviewEntry> find(final InterviewFilter filter) throws IOException {
+        final List<Map.Entry<Long, InterviewEntry>> matches = interviews.entrySet()
+                .stream()
+                .filter(interview -> filter.matches(interview.getValue()))
+                .sorted(Comparator.comparingLong((Map.Entry<Long, InterviewEntry> interview) -> interview.getValue().getTimestamp()).reversed())
+                .toList();
+        final List<InterviewEntry> entries = new ArrayList<>();
+        for (final Map.Entry<Long, InterviewEntry> match : matches) {
+            entries.add(withTexts(match.getKey(), match.getValue()));
+        }
+        return entries;
+    }
+
+    @Override
+    public InterviewPage<InterviewEntry> findPage(final InterviewFilter filter, final InterviewSort sort,
+                                                  final InterviewCursor after, final int limit) throws IOException {
+        final List<Map.Entry<InterviewCursor, InterviewEntry>> matches = interviews.entrySet()
+                .stream()
+                .filter(interview -> filter.matches(interview.getValue()))
+                .map(interview -> Map.entry(createCursor(sort, interview.getKey(), interview.getValue()), interview.getValue()))
+                .filter(interview -> after == null || after.compareTo(interview.getKey()) < 0)
+                .sorted((interview, other) -> interview.getKey().compareTo(other.getKey()))
+                .limit(limit + 1L)
+                .toList();
+
+        final List<InterviewEntry> entries = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, matches.size()); i++) {
+            final Map.Entry<InterviewCursor, InterviewEntry> match = matches.get(i);
+            entries.add(withTexts(match.getKey().getId(), match.getValue()));
+        }
+        final String nextCursor = matches.size() > limit ? matches.get(limit - 1).getKey().encode() : null;
+        return new InterviewPage<>(entries, nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The interviews are the ones in memory, most of them without their texts.</p>
+     */
+    @Override
+    public void forEach(final Consumer<InterviewEntry> action) {
+        interviews.values().stream()
+                .sorted(Comparator.comparingLong(InterviewEntry::getTimestamp))
+                .forEach(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The interviews are the ones in memory, with all their other fields.</p>
+     */
+    @Override
+    public void forEachScores(final Consumer<InterviewEntry> action) {
+        forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return interviews.size();
+    }
+
+    @Override
+    public synchronized boolean delete(final Long id) throws IOException {
+        if (interviews.remove(id) == null) {
+            return false;
+        }
+        pendingTexts.remove(id);
+        journal.appendRemove(id);
+        if (journal.needsCompaction()) {
+            writer.markDirty(this);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteAll() throws IOException {
+        interviews.clear();
+        pendingTexts.clear();
+        // An empty snapshot replaces the history and the journal
+        journal.discardPending();
+        snapshotRequired = true;
+        writer.markDirty(this);
+    }
+
+    /**
+     * Moves the texts of the saved interviews to the text store, and saves the history as a new snapshot when the
+     * journal has enough records or the history was cleared.
+     *
+     * @throws IOException if the texts or the snapshot could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        flushTexts();
+
+        final Map<Long, InterviewEntry> snapshot;
+        synchronized (this) {
+            if (!snapshotRequired && !journal.needsCompaction()) {
+                return;
+            }
+            // The records not written yet are in the snapshot
+            snapshot = new LinkedHashMap<>(interviews);
+            journal.discardPending();
+            snapshotRequired = false;
+        }
+        try {
+            journal.writeSnapshot(snapshot);
+        } catch (IOException e) {
+            synchronized (this) {
+                snapshotRequired = true;
+            }
+            throw e;
+        }
+        if (textStore.needsCompaction(snapshot.keySet())) {
+            textStore.compact(snapshot.keySet());
+        }
+    }
+
+    /**
+     * Writes the texts of the saved interviews to the text store, and keeps the interviews in memory without them.
+     */
+    private void flushTexts() throws IOException {
+        final Map<Long, InterviewEntry> saved = new LinkedHashMap<>();
+        synchronized (this) {
+            for (final Long id : pendingTexts) {
+                final InterviewEntry entry = interviews.get(id);
+                if (entry != null) {
+                    saved.put(id, entry);
+                }
+            }
+        }
+        if (saved.isEmpty()) {
+            return;
+        }
+        final Map<Long, InterviewTexts> texts = new LinkedHashMap<>();
+        saved.forEach((id, entry) -> texts.put(id, InterviewTexts.of(entry)));
+        textStore.write(texts);
+        synchronized (this) {
+            saved.forEach((id, entry) -> {
+                // An interview saved again while the texts were written keeps its new texts for the next flush
+                if (interviews.get(id) == entry) {
+                    interviews.put(id, InterviewTexts.withoutTexts(entry));
+                    pendingTexts.remove(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Closes the text store. Its changes are written by {@link #flush()}, so the writer must be closed first.
+     *
+     * @throws IOException if the text store could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        textStore.close();
+    }
+
+    /**
+     * Returns the interview with its texts, read from the text store unless they are still in memory.
+     */
+    private InterviewEntry withTexts(final Long id, final InterviewEntry entry) throws IOException {
+        if (pendingTexts.contains(id) || InterviewTexts.hasTexts(entry)) {
+            return entry;
+        }
+        final InterviewTexts texts = textStore.read(id);
+        return texts != null ? texts.copyTo(entry) : entry;
+    }
+
+    private static InterviewCursor createCursor(final InterviewSort sort, final Long id, final InterviewEntry entry) {
+        return new InterviewCursor(sort, entry.getTimestamp(), Utils.getAverageScore(entry.getEvaluation()), id);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonInterviewRepository{" +
+                "interviewsDir=" + interviewsDir +
+                '}';
+    }
+}
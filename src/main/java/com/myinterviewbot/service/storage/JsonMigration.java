@@ -0,0 +1,123 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.settings.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time copy of the interviews, questions and settings saved in JSON files by previous versions into the
+ * {@link EmbeddedDatabase}.
+ *
+ * <p>Everything is copied in one transaction, which also records that the migration is done, so it runs again
+ * after a failure and never after a success. The JSON files are not changed, they are left as a backup.</p>
+ *
+ * @author Alan Quintero
+ */
+public class JsonMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonMigration.class);
+
+    static final String JSON_MIGRATED = "json-migrated";
+
+    private final EmbeddedDatabase database;
+
+    /**
+     * @param database the open database
+     */
+    public JsonMigration(final EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Copies the JSON files into the database, unless it was already done.
+     *
+     * @param interviewsDir the directory of the interviews snapshot and journal
+     * @param questionsFile the questions file
+     * @param settingsFile  the settings file
+     * @return {@code true} if the files were copied now
+     * @throws IOException if the files could not be read or copied
+     */
+    public boolean migrate(final File interviewsDir, final File questionsFile, final File settingsFile) throws IOException {
+        try {
+            if (database.getMeta(JSON_MIGRATED) != null) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read the migration status", e);
+        }
+        final long startTime = System.currentTimeMillis();
+
+        final File snapshotFile = JsonInterviewRepository.findSnapshotFile(interviewsDir);
+        final Map<Long, InterviewEntry> interviews = new InterviewJournal(
+                snapshotFile != null ? snapshotFile : new File(interviewsDir, JsonInterviewRepository.SNAPSHOT_FILE),
+                new File(interviewsDir, JsonInterviewRepository.JOURNAL_FILE), Integer.MAX_VALUE).load();
+        addTexts(interviews, new File(interviewsDir, JsonInterviewRepository.TEXTS_FILE));
+        Set<String> questions = Set.of();
+        if (questionsFile.exists()) {
+            final JsonQuestionRepository questionRepository = new JsonQuestionRepository(questionsFile);
+            questionRepository.open();
+            questions = questionRepository.findAll();
+        }
+        final Settings settings = new JsonSettingsRepository(settingsFile).load();
+
+        final SqlInterviewRepository interviewRepository = new SqlInterviewRepository(database);
+        final SqlQuestionRepository questionRepository = new SqlQuestionRepository(database);
+        final SqlSettingsRepository settingsRepository = new SqlSettingsRepository(database);
+        final Set<String> savedQuestions = questions;
+        try {
+            database.execute(connection -> {
+                try {
+                    for (final Map.Entry<Long, InterviewEntry> interview : interviews.entrySet()) {
+                        interviewRepository.save(interview.getKey(), interview.getValue());
+                    }
+                    for (final String question : savedQuestions) {
+                        questionRepository.save(question);
+                    }
+                    if (settings != null) {
+                        settingsRepository.save(settings);
+                    }
+                } catch (IOException e) {
+                    throw new SQLException(e.getMessage(), e);
+                }
+                database.setMeta(JSON_MIGRATED, String.valueOf(System.currentTimeMillis()));
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to copy the JSON files to the database", e);
+        }
+        LOGGER.info("Copied {} interviews, {} questions and {} settings from the JSON files to the database in {} ms",
+                interviews.size(), questions.size(), settings != null ? 1 : 0, System.currentTimeMillis() - startTime);
+        return true;
+    }
+
+    /**
+     * Adds the texts kept in the text store by the JSON repository to the interviews that do not have them.
+     */
+    private static void addTexts(final Map<Long, InterviewEntry> interviews, final File textsFile) throws IOException {
+        if (!textsFile.exists()) {
+            return;
+        }
+        try (InterviewTextStore textStore = new InterviewTextStore(textsFile, true)) {
+            textStore.open();
+            for (final Map.Entry<Long, InterviewEntry> interview : interviews.entrySet()) {
+                if (!InterviewTexts.hasTexts(interview.getValue())) {
+                    final InterviewTexts texts = textStore.read(interview.getKey());
+                    if (texts != null) {
+                        interview.setValue(texts.copyTo(interview.getValue()));
+                    }
+                }
+            }
+        }
+    }
+}
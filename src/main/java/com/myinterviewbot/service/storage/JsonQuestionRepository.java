@@ -0,0 +1,105 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Question repository that keeps the questions in memory, saved in a JSON file that is written again after every
+ * change by a {@link PersistenceWriter}.
+ *
+ * <p>Reads use a concurrent set and never wait for a write. Writes are synchronized, and the file is written from a
+ * copy of the questions.</p>
+ *
+ * @author Alan Quintero
+ */
+public class JsonQuestionRepository implements QuestionRepository, Flushable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File storageFile;
+    private final PersistenceWriter writer;
+    private final Set<String> questions = ConcurrentHashMap.newKeySet();
+
+    // Only one thread writes the file at a time, so an older copy never replaces a newer one
+    private final Object fileLock = new Object();
+
+    /**
+     * Creates a repository that writes every change before the method that makes it returns.
+     *
+     * @param storageFile the JSON file with the questions
+     */
+    public JsonQuestionRepository(final File storageFile) {
+        this(storageFile, PersistenceWriter.direct());
+    }
+
+    /**
+     * @param storageFile the JSON file with the questions
+     * @param writer      the writer of the file
+     */
+    public JsonQuestionRepository(final File storageFile, final PersistenceWriter writer) {
+        this.storageFile = storageFile;
+        this.writer = writer;
+    }
+
+    /**
+     * Loads the questions, creating an empty file if there is none.
+     *
+     * @throws IOException if the questions could not be loaded
+     */
+    public synchronized void open() throws IOException {
+        final File dir = storageFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create " + dir + " directory");
+        }
+        questions.clear();
+        if (storageFile.exists()) {
+            questions.addAll(objectMapper.readValue(storageFile, new TypeReference<Set<String>>() {
+            }));
+        } else {
+            flush();
+        }
+    }
+
+    @Override
+    public Set<String> findAll() {
+        return new HashSet<>(questions);
+    }
+
+    @Override
+    public synchronized void save(final String question) throws IOException {
+        if (questions.add(question)) {
+            writer.markDirty(this);
+        }
+    }
+
+    @Override
+    public synchronized void delete(final String question) throws IOException {
+        if (questions.remove(question)) {
+            writer.markDirty(this);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (fileLock) {
+            writer.writeFile(storageFile, objectMapper.writeValueAsBytes(new HashSet<>(questions)));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonQuestionRepository{" +
+                "storageFile=" + storageFile +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.settings.Settings;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Settings repository that saves the settings in a JSON file, written by a {@link PersistenceWriter}. The settings
+ * are converted to JSON when they are saved, so later changes to the same object are not written by mistake.
+ *
+ * @author Alan Quintero
+ */
+public class JsonSettingsRepository implements SettingsRepository, Flushable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File storageFile;
+    private final PersistenceWriter writer;
+
+    // Only one thread writes the file at a time, so older settings never replace newer ones
+    private final Object fileLock = new Object();
+
+    // The last saved settings not written yet
+    private byte[] pendingSettings;
+
+    /**
+     * Creates a repository that writes the settings before {@link #save(Settings)} returns.
+     *
+     * @param storageFile the JSON file with the settings
+     */
+    public JsonSettingsRepository(final File storageFile) {
+        this(storageFile, PersistenceWriter.direct());
+    }
+
+    /**
+     * @param storageFile the JSON file with the settings
+     * @param writer      the writer of the file
+     */
+    public JsonSettingsRepository(final File storageFile, final PersistenceWriter writer) {
+        this.storageFile = storageFile;
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized Settings load() throws IOException {
+        if (pendingSettings != null) {
+            return objectMapper.readValue(pendingSettings, Settings.class);
+        }
+        if (!storageFile.exists()) {
+            return null;
+        }
+        return objectMapper.readValue(storageFile, Settings.class);
+    }
+
+    @Override
+    public void save(final Settings settings) throws IOException {
+        final byte[] json = objectMapper.writeValueAsBytes(settings);
+        synchronized (this) {
+            pendingSettings = json;
+        }
+        writer.markDirty(this);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (fileLock) {
+            final byte[] json;
+            synchronized (this) {
+                json = pendingSettings;
+            }
+            if (json == null) {
+                return;
+            }
+            writer.writeFile(storageFile, json);
+            synchronized (this) {
+                // Newer settings are written by the next flush
+                if (pendingSettings == json) {
+                    pendingSettings = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonSettingsRepository{" +
+                "storageFile=" + storageFile +
+                '}';
+    }
+}
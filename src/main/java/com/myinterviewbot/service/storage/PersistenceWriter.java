@@ -0,0 +1,190 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the changes of the file stores in the background, so a request that saves something does not wait for the disk.
+ *
+ * <p>A store keeps its changes in memory and marks itself dirty. The first change schedules a flush after
+ * {@code delayMs}, and every change made until then is written by that same flush, so a burst of changes costs one
+ * write. All the flushes run on one thread, one after the other. A store that fails to flush stays dirty and is
+ * tried again with the next flush.</p>
+ *
+ * <p>With a delay of 0 there is no thread: a store is flushed by the caller as soon as it is marked dirty, as it
+ * is after the writer is closed.</p>
+ *
+ * @author Alan Quintero
+ */
+public class PersistenceWriter implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceWriter.class);
+
+    private final long delayMs;
+    private final boolean fsync;
+    private final ScheduledExecutorService executor;
+
+    private final Set<Flushable> dirtyStores = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * @param delayMs how long the changes are collected before they are written, 0 to write them right away
+     * @param fsync   if the files are forced to the disk after they are written, instead of leaving it to the OS
+     */
+    public PersistenceWriter(final long delayMs, final boolean fsync) {
+        this.delayMs = Math.max(0, delayMs);
+        this.fsync = fsync;
+        if (this.delayMs > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "persistence-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns a writer that flushes every change right away, on the thread that makes it.
+     *
+     * @return the writer
+     */
+    public static PersistenceWriter direct() {
+        return new PersistenceWriter(0, true);
+    }
+
+    /**
+     * Marks a store as having changes to write.
+     *
+     * @param store the store
+     * @throws IOException if the writer has no thread and the store could not be flushed
+     */
+    public void markDirty(final Flushable store) throws IOException {
+        if (executor == null || executor.isShutdown()) {
+            store.flush();
+            return;
+        }
+        dirtyStores.add(store);
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flushDirtyStores, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the changes of all the dirty stores now and waits for them.
+     *
+     * @throws IOException if a store could not be flushed
+     */
+    public void flush() throws IOException {
+        if (executor == null) {
+            return;
+        }
+        try {
+            final List<IOException> errors = executor.submit(this::flushDirtyStores).get();
+            if (!errors.isEmpty()) {
+                throw errors.get(0);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the stores", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to flush the stores", e.getCause());
+        }
+    }
+
+    /**
+     * Returns if the files are forced to the disk after they are written.
+     *
+     * @return {@code true} if the files are forced to the disk
+     */
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    /**
+     * Replaces a file: the bytes are written to a temporary file that is then renamed, so the file is never left
+     * half written.
+     *
+     * @param file  the file
+     * @param bytes the new content
+     * @throws IOException if the file could not be written
+     */
+    public void writeFile(final File file, final byte[] bytes) throws IOException {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create " + dir + " directory");
+        }
+        final File tempFile = new File(dir, file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the changes not written yet and stops the thread.
+     */
+    @Override
+    public void close() {
+        if (executor == null) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write the last changes: {}", e.getMessage());
+        }
+        executor.shutdown();
+    }
+
+    private List<IOException> flushDirtyStores() {
+        // Changes made from now on schedule another flush
+        flushScheduled.set(false);
+        final List<IOException> errors = new ArrayList<>();
+        for (final Flushable store : new ArrayList<>(dirtyStores)) {
+            dirtyStores.remove(store);
+            try {
+                store.flush();
+            } catch (IOException e) {
+                LOGGER.error("Failed to write {}, trying again later: {}", store, e.getMessage());
+                errors.add(e);
+                dirtyStores.add(store);
+            }
+        }
+        if (!dirtyStores.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flushDirtyStores, delayMs, TimeUnit.MILLISECONDS);
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Storage of the questions saved by the user.
+ *
+ * @author Alan Quintero
+ */
+public interface QuestionRepository {
+
+    /**
+     * Returns all the saved questions.
+     *
+     * @return the questions
+     * @throws IOException if the questions could not be read
+     */
+    Set<String> findAll() throws IOException;
+
+    /**
+     * Saves a question, nothing is done if it was already saved.
+     *
+     * @param question the question
+     * @throws IOException if the question could not be saved
+     */
+    void save(String question) throws IOException;
+
+    /**
+     * Removes a question.
+     *
+     * @param question the question
+     * @throws IOException if the question could not be removed
+     */
+    void delete(String question) throws IOException;
+}
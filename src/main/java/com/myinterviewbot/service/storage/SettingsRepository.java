@@ -0,0 +1,33 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.settings.Settings;
+
+import java.io.IOException;
+
+/**
+ * Storage of the application settings.
+ *
+ * @author Alan Quintero
+ */
+public interface SettingsRepository {
+
+    /**
+     * Returns the saved settings.
+     *
+     * @return the settings, or {@code null} if they were never saved
+     * @throws IOException if the settings could not be read
+     */
+    Settings load() throws IOException;
+
+    /**
+     * Saves the settings.
+     *
+     * @param settings the settings
+     * @throws IOException if the settings could not be saved
+     */
+    void save(Settings settings) throws IOException;
+}
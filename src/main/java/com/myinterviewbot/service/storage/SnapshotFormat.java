@@ -0,0 +1,188 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.Question;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formats of the interview history snapshot.
+ *
+ * <p>{@code JSON} is the readable format of previous versions. {@code SMILE} is binary JSON: the same data and
+ * structure, but numbers are binary and a repeated profession, category or question is written once and then
+ * referenced, so it is smaller and faster to read. Both can be compressed with GZIP.</p>
+ *
+ * <p>A snapshot is always read in the format it was written in, found from its first bytes, so changing the
+ * format never loses the history: the next snapshot is written in the new format.</p>
+ *
+ * @author Alan Quintero
+ */
+public enum SnapshotFormat {
+    JSON(".json", false, false),
+    JSON_GZIP(".json.gz", false, true),
+    SMILE(".smile", true, false),
+    SMILE_GZIP(".smile.gz", true, true);
+
+    private static final TypeReference<LinkedHashMap<Long, InterviewEntry>> INTERVIEWS_TYPE = new TypeReference<>() {
+    };
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+
+    private final String extension;
+    private final boolean smile;
+    private final boolean compressed;
+
+    SnapshotFormat(final String extension, final boolean smile, final boolean compressed) {
+        this.extension = extension;
+        this.smile = smile;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Returns the format for the {@code storage.snapshot.*} properties.
+     *
+     * @param name     {@code json} or {@code smile}
+     * @param compress if the snapshot is compressed with GZIP
+     * @return the format
+     * @throws IllegalArgumentException if the name is not a format
+     */
+    public static SnapshotFormat of(final String name, final boolean compress) {
+        final boolean smile = switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "json" -> false;
+            case "smile" -> true;
+            default -> throw new IllegalArgumentException("Snapshot format " + name + " not supported");
+        };
+        for (final SnapshotFormat format : values()) {
+            if (format.smile == smile && format.compressed == compress) {
+                return format;
+            }
+        }
+        throw new IllegalStateException("No snapshot format for " + name);
+    }
+
+    /**
+     * Returns the extension of the snapshot files in this format, e.g. {@code .smile.gz}.
+     *
+     * @return the extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Writes the interviews in this format.
+     *
+     * @param interviews the interviews by id
+     * @return the snapshot
+     * @throws IOException if the interviews could not be written
+     */
+    public byte[] write(final Map<Long, InterviewEntry> interviews) throws IOException {
+        final ObjectMapper mapper = smile ? SMILE_MAPPER : JSON_MAPPER;
+        if (!compressed) {
+            return mapper.writeValueAsBytes(interviews);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(outputStream, interviews);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot in any format. The professions, categories, difficulties and questions repeated in the
+     * history share one string.
+     *
+     * @param snapshotFile the snapshot
+     * @return the interviews by id, in the order they were written
+     * @throws IOException if the snapshot could not be read
+     */
+    public static Map<Long, InterviewEntry> read(final File snapshotFile) throws IOException {
+        try (InputStream fileStream = new BufferedInputStream(Files.newInputStream(snapshotFile.toPath()))) {
+            InputStream inputStream = fileStream;
+            if (startsWith(inputStream, GZIP_MAGIC_FIRST_BYTE, GZIP_MAGIC_SECOND_BYTE)) {
+                inputStream = new BufferedInputStream(new GZIPInputStream(inputStream));
+            }
+            final ObjectMapper mapper = startsWith(inputStream, SMILE_HEADER[0], SMILE_HEADER[1], SMILE_HEADER[2])
+                    ? SMILE_MAPPER : JSON_MAPPER;
+            final Map<Long, InterviewEntry> interviews = mapper.readValue(inputStream, INTERVIEWS_TYPE);
+            internStrings(interviews);
+            return interviews;
+        }
+    }
+
+    /**
+     * Writes a snapshot in another format, e.g. to read it as JSON or to convert a JSON snapshot before it is loaded.
+     * Nothing is lost: the interviews read from the new snapshot are the same.
+     *
+     * @param snapshotFile the snapshot, in any format
+     * @param targetFile   the new snapshot
+     * @param format       the format of the new snapshot
+     * @param writer       the writer of the new snapshot
+     * @throws IOException if the snapshot could not be read or written
+     */
+    public static void convert(final File snapshotFile, final File targetFile, final SnapshotFormat format,
+                               final PersistenceWriter writer) throws IOException {
+        writer.writeFile(targetFile, format.write(read(snapshotFile)));
+    }
+
+    private static boolean startsWith(final InputStream inputStream, final int... expected) throws IOException {
+        inputStream.mark(expected.length);
+        try {
+            for (final int expectedByte : expected) {
+                if (inputStream.read() != (expectedByte & 0xff)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * The same profession, category, difficulty and question are in many interviews, one string is kept for each.
+     */
+    private static void internStrings(final Map<Long, InterviewEntry> interviews) {
+        final Map<String, String> strings = new HashMap<>();
+        for (final InterviewEntry entry : interviews.values()) {
+            entry.setProfession(intern(strings, entry.getProfession()));
+            final Question question = entry.getQuestion();
+            if (question != null) {
+                question.setQuestion(intern(strings, question.getQuestion()));
+                question.setCategory(intern(strings, question.getCategory()));
+                question.setDifficulty(intern(strings, question.getDifficulty()));
+            }
+        }
+    }
+
+    private static String intern(final Map<String, String> strings, final String value) {
+        return value == null ? null : strings.computeIfAbsent(value, key -> key);
+    }
+}
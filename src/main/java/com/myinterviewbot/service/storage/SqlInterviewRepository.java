@@ -0,0 +1,373 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+import com.myinterviewbot.model.Question;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Interview repository backed by the {@link EmbeddedDatabase}. Only the interviews requested are read,
+ * nothing is kept in memory.
+ *
+ * <p>Every interview is a row with the whole entry as JSON, plus the timestamp, profession, category and
+ * difficulty and average score in their own indexed columns, so the interviews are filtered, sorted and paginated
+ * by the database. The score of each dimension has its own column too, so the statistics are read without
+ * parsing the entries.</p>
+ *
+ * @author Alan Quintero
+ */
+public class SqlInterviewRepository implements InterviewRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlInterviewRepository.class);
+
+    // Version of the indexed columns, rows with an older version are updated by reindex()
+    static final int INDEX_VERSION = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmbeddedDatabase database;
+
+    /**
+     * @param database the open database
+     */
+    public SqlInterviewRepository(final EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public void save(final Long id, final InterviewEntry entry) throws IOException {
+        final String json = objectMapper.writeValueAsString(entry);
+        final Question question = entry.getQuestion();
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "MERGE INTO interviews (id, created_at, interview_type, profession, category, difficulty, average_score, "
+                                + "clarity_score, structure_score, relevance_score, communication_score, depth_score, "
+                                + "index_version, entry) KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    statement.setLong(1, id);
+                    statement.setLong(2, entry.getTimestamp());
+                    statement.setString(3, entry.getInterviewType() != null ? entry.getInterviewType().name() : null);
+                    statement.setString(4, entry.getProfession());
+                    statement.setString(5, question != null ? question.getCategory() : null);
+                    statement.setString(6, question != null ? question.getDifficulty() : null);
+                    statement.setDouble(7, Utils.getAverageScore(entry.getEvaluation()));
+                    setScores(statement, 8, entry.getEvaluation());
+                    statement.setInt(13, INDEX_VERSION);
+                    statement.setString(14, json);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to save interview " + id, e);
+        }
+    }
+
+    @Override
+    public InterviewEntry findById(final Long id) throws IOException {
+        final List<String> entries;
+        try {
+            entries = database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT entry FROM interviews WHERE id = ?")) {
+                    statement.setLong(1, id);
+                    return readEntries(statement);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read interview " + id, e);
+        }
+        return entries.isEmpty() ? null : toEntry(entries.get(0));
+    }
+
+    @Override
+    public List<InterviewEntry> find(final InterviewFilter filter) throws IOException {
+        final StringBuilder sql = new StringBuilder("SELECT entry FROM interviews WHERE 1 = 1");
+        final List<Object> parameters = new ArrayList<>();
+        addFilter(sql, parameters, filter);
+        sql.append(" ORDER BY created_at DESC, id DESC");
+
+        final List<String> entries;
+        try {
+            entries = database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        statement.setObject(i + 1, parameters.get(i));
+                    }
+                    return readEntries(statement);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to find interviews " + filter, e);
+        }
+        final List<InterviewEntry> interviews = new ArrayList<>(entries.size());
+        for (final String entry : entries) {
+            interviews.add(toEntry(entry));
+        }
+        return interviews;
+    }
+
+    @Override
+    public InterviewPage<InterviewEntry> findPage(final InterviewFilter filter, final InterviewSort sort,
+                                                  final InterviewCursor after, final int limit) throws IOException {
+        final String column = sort == InterviewSort.NEWEST || sort == InterviewSort.OLDEST ? "created_at" : "average_score";
+        final boolean descending = sort == InterviewSort.NEWEST || sort == InterviewSort.HIGHEST_SCORE;
+        final String direction = descending ? "DESC" : "ASC";
+
+        final StringBuilder sql = new StringBuilder("SELECT id, created_at, average_score, entry FROM interviews WHERE 1 = 1");
+        final List<Object> parameters = new ArrayList<>();
+        addFilter(sql, parameters, filter);
+        if (after != null) {
+            // Keyset pagination: the rows after the last one of the previous page, found with the index
+            final String comparison = descending ? "<" : ">";
+            final Object value = column.equals("created_at") ? after.getTimestamp() : after.getAverageScore();
+            sql.append(" AND (").append(column).append(' ').append(comparison).append(" ? OR (")
+                    .append(column).append(" = ? AND id ").append(comparison).append(" ?))");
+            parameters.add(value);
+            parameters.add(value);
+            parameters.add(after.getId());
+        }
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction).append(", id ").append(direction).append(" LIMIT ?");
+        // One more row tells if there is a next page
+        parameters.add(limit + 1);
+
+        final List<InterviewCursor> cursors = new ArrayList<>();
+        final List<String> entries = new ArrayList<>();
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        statement.setObject(i + 1, parameters.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            cursors.add(new InterviewCursor(sort, resultSet.getLong(2), resultSet.getDouble(3), resultSet.getLong(1)));
+                            entries.add(resultSet.getString(4));
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to find interviews " + filter, e);
+        }
+
+        final List<InterviewEntry> page = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            page.add(toEntry(entries.get(i)));
+        }
+        final String nextCursor = entries.size() > limit ? cursors.get(limit - 1).encode() : null;
+        return new InterviewPage<>(page, nextCursor);
+    }
+
+    /**
+     * Fills the indexed columns of the interviews saved by a previous version, which did not have all of them.
+     *
+     * @return the number of interviews updated
+     * @throws IOException if the interviews could not be updated
+     */
+    public int reindex() throws IOException {
+        try {
+            return database.execute(connection -> {
+                int updated = 0;
+                try (PreparedStatement select = connection.prepareStatement("SELECT id, entry FROM interviews WHERE index_version < ?");
+                     PreparedStatement update = connection.prepareStatement(
+                             "UPDATE interviews SET average_score = ?, clarity_score = ?, structure_score = ?, relevance_score = ?, "
+                                     + "communication_score = ?, depth_score = ?, index_version = ? WHERE id = ?")) {
+                    select.setInt(1, INDEX_VERSION);
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        while (resultSet.next()) {
+                            final InterviewEntry entry = toEntry(resultSet.getString(2));
+                            update.setDouble(1, Utils.getAverageScore(entry.getEvaluation()));
+                            setScores(update, 2, entry.getEvaluation());
+                            update.setInt(7, INDEX_VERSION);
+                            update.setLong(8, resultSet.getLong(1));
+                            update.executeUpdate();
+                            updated++;
+                        }
+                    } catch (JsonProcessingException e) {
+                        throw new SQLException("Failed to read an interview: " + e.getMessage(), e);
+                    }
+                }
+                if (updated > 0) {
+                    LOGGER.info("Reindexed {} interviews", updated);
+                }
+                return updated;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to reindex the interviews", e);
+        }
+    }
+
+    @Override
+    public void forEach(final Consumer<InterviewEntry> action) throws IOException {
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT entry FROM interviews ORDER BY created_at, id");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        action.accept(toEntry(resultSet.getString(1)));
+                    }
+                } catch (JsonProcessingException e) {
+                    throw new SQLException("Failed to read an interview: " + e.getMessage(), e);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read the interviews", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the score columns are read, the entries are not parsed.</p>
+     */
+    @Override
+    public void forEachScores(final Consumer<InterviewEntry> action) throws IOException {
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT created_at, category, difficulty, clarity_score, structure_score, relevance_score, "
+                                + "communication_score, depth_score FROM interviews ORDER BY created_at, id");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        action.accept(toScores(resultSet));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read the scores of the interviews", e);
+        }
+    }
+
+    @Override
+    public long count() throws IOException {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM interviews");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to count interviews", e);
+        }
+    }
+
+    @Override
+    public boolean delete(final Long id) throws IOException {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM interviews WHERE id = ?")) {
+                    statement.setLong(1, id);
+                    return statement.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to remove interview " + id, e);
+        }
+    }
+
+    @Override
+    public void deleteAll() throws IOException {
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM interviews")) {
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to remove the interviews", e);
+        }
+    }
+
+    private static void addFilter(final StringBuilder sql, final List<Object> parameters, final InterviewFilter filter) {
+        addCondition(sql, parameters, "profession = ?", filter.getProfession());
+        addCondition(sql, parameters, "category = ?", filter.getCategory());
+        addCondition(sql, parameters, "difficulty = ?", filter.getDifficulty());
+        addCondition(sql, parameters, "created_at >= ?", filter.getFromTimestamp());
+        addCondition(sql, parameters, "created_at < ?", filter.getToTimestamp());
+        if (filter.getMinScore() != null || filter.getMaxScore() != null) {
+            // Interviews not evaluated have a score of 0 and never match a score threshold
+            sql.append(" AND average_score > 0");
+        }
+        addCondition(sql, parameters, "average_score >= ?", filter.getMinScore());
+        addCondition(sql, parameters, "average_score <= ?", filter.getMaxScore());
+    }
+
+    private static void addCondition(final StringBuilder sql, final List<Object> parameters, final String condition, final Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(condition);
+            parameters.add(value);
+        }
+    }
+
+    private static List<String> readEntries(final PreparedStatement statement) throws SQLException {
+        final List<String> entries = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                entries.add(resultSet.getString(1));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Sets the scores of the evaluation in 5 parameters from {@code index}, all {@code NULL} if there is no evaluation.
+     */
+    private static void setScores(final PreparedStatement statement, final int index, final Evaluation evaluation) throws SQLException {
+        final Integer[] scores = evaluation == null ? new Integer[5] : new Integer[]{
+                evaluation.getClarityScore(), evaluation.getStructureScore(), evaluation.getRelevanceScore(),
+                evaluation.getCommunicationScore(), evaluation.getDepthScore()};
+        for (int i = 0; i < scores.length; i++) {
+            statement.setObject(index + i, scores[i], Types.INTEGER);
+        }
+    }
+
+    private static InterviewEntry toScores(final ResultSet resultSet) throws SQLException {
+        final InterviewEntry entry = new InterviewEntry();
+        entry.setTimestamp(resultSet.getLong(1));
+        final String category = resultSet.getString(2);
+        final String difficulty = resultSet.getString(3);
+        if (category != null || difficulty != null) {
+            final Question question = new Question();
+            question.setCategory(category);
+            question.setDifficulty(difficulty);
+            entry.setQuestion(question);
+        }
+        if (resultSet.getObject(4) != null) {
+            final Evaluation evaluation = new Evaluation();
+            evaluation.setClarityScore(resultSet.getInt(4));
+            evaluation.setStructureScore(resultSet.getInt(5));
+            evaluation.setRelevanceScore(resultSet.getInt(6));
+            evaluation.setCommunicationScore(resultSet.getInt(7));
+            evaluation.setDepthScore(resultSet.getInt(8));
+            entry.setEvaluation(evaluation);
+        }
+        return entry;
+    }
+
+    private InterviewEntry toEntry(final String json) throws JsonProcessingException {
+        return objectMapper.readValue(json, InterviewEntry.class);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Question repository backed by the {@link EmbeddedDatabase}.
+ *
+ * @author Alan Quintero
+ */
+public class SqlQuestionRepository implements QuestionRepository {
+
+    private final EmbeddedDatabase database;
+
+    /**
+     * @param database the open database
+     */
+    public SqlQuestionRepository(final EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public Set<String> findAll() throws IOException {
+        try {
+            return database.execute(connection -> {
+                final Set<String> questions = new LinkedHashSet<>();
+                try (PreparedStatement statement = connection.prepareStatement("SELECT question FROM questions ORDER BY question");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        questions.add(resultSet.getString(1));
+                    }
+                }
+                return questions;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read the questions", e);
+        }
+    }
+
+    @Override
+    public void save(final String question) throws IOException {
+        update("MERGE INTO questions (question) KEY (question) VALUES (?)", question);
+    }
+
+    @Override
+    public void delete(final String question) throws IOException {
+        update("DELETE FROM questions WHERE question = ?", question);
+    }
+
+    private void update(final String sql, final String question) throws IOException {
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, question);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to update question " + question, e);
+        }
+    }
+}
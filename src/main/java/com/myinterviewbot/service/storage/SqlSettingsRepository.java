@@ -0,0 +1,67 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.settings.Settings;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Settings repository backed by the {@link EmbeddedDatabase}, the settings are one row saved as JSON.
+ *
+ * @author Alan Quintero
+ */
+public class SqlSettingsRepository implements SettingsRepository {
+
+    private static final int SETTINGS_ID = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmbeddedDatabase database;
+
+    /**
+     * @param database the open database
+     */
+    public SqlSettingsRepository(final EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public Settings load() throws IOException {
+        final String json;
+        try {
+            json = database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT settings FROM settings WHERE id = ?")) {
+                    statement.setInt(1, SETTINGS_ID);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? resultSet.getString(1) : null;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read the settings", e);
+        }
+        return json != null ? objectMapper.readValue(json, Settings.class) : null;
+    }
+
+    @Override
+    public void save(final Settings settings) throws IOException {
+        final String json = objectMapper.writeValueAsString(settings);
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("MERGE INTO settings (id, settings) KEY (id) VALUES (?, ?)")) {
+                    statement.setInt(1, SETTINGS_ID);
+                    statement.setString(2, json);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to save the settings", e);
+        }
+    }
+}
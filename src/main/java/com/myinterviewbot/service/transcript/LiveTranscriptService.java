@@ -0,0 +1,328 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.transcript;
+
+import com.myinterviewbot.model.Transcript;
+import com.myinterviewbot.model.UploadStatus;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.PcmDecoder;
+import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.service.upload.UploadService;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Service that transcribes an answer while it is still being recorded.
+ *
+ * <p>The browser sends the video segments produced by the recorder as they are available, appended to a chunked
+ * upload (see {@link UploadService}). After every segment, the new bytes are fed to an ffmpeg decoder that lives as
+ * long as the recording (see {@link PcmDecoder}), so each byte is decoded once, and once there are at least
+ * {@code transcript.live.min-segment-seconds} of audio not transcribed yet, it is transcribed in the background.
+ * Segments are cut at the quietest moment near their end, so a word is rarely split in two. When the recording is
+ * completed only the last seconds are left to transcribe, and the partial transcripts are joined.</p>
+ *
+ * <p>If a segment cannot be transcribed, the completed video is transcribed as a whole instead.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class LiveTranscriptService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveTranscriptService.class);
+
+    private static final int BYTES_PER_SECOND = FfmpegService.PCM_SAMPLE_RATE * 2;
+
+    // A segment is cut at the quietest 100 ms of its last 2 seconds
+    private static final int CUT_SEARCH_BYTES = 2 * BYTES_PER_SECOND;
+    private static final int CUT_WINDOW_BYTES = BYTES_PER_SECOND / 10;
+
+    private final UploadService uploadService;
+    private final FfmpegService ffmpegService;
+    private final WhisperService whisperService;
+    private final TranscriptJobService transcriptJobService;
+    private final ExecutorService ffmpegExecutor;
+    private final ExecutorService whisperExecutor;
+    private final int minSegmentBytes;
+
+    private final Map<String, LiveTranscript> liveTranscripts = new ConcurrentHashMap<>();
+
+    public LiveTranscriptService(final UploadService uploadService,
+                                 final FfmpegService ffmpegService,
+                                 final WhisperService whisperService,
+                                 final TranscriptJobService transcriptJobService,
+                                 @Qualifier("ffmpegExecutor") final ExecutorService ffmpegExecutor,
+                                 @Qualifier("whisperExecutor") final ExecutorService whisperExecutor,
+                                 @Value("${transcript.live.min-segment-seconds:5}") final int minSegmentSeconds) {
+        this.uploadService = uploadService;
+        this.ffmpegService = ffmpegService;
+        this.whisperService = whisperService;
+        this.transcriptJobService = transcriptJobService;
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.whisperExecutor = whisperExecutor;
+        this.minSegmentBytes = Math.max(1, minSegmentSeconds) * BYTES_PER_SECOND;
+    }
+
+    /**
+     * Starts the upload of a recording that is transcribed while it is received.
+     *
+     * @return the upload status, with the id of the upload
+     * @throws IOException if the upload could not be started
+     */
+    public UploadStatus start() throws IOException {
+        // Recordings that were never completed are forgotten when their upload expires
+        liveTranscripts.values().removeIf(liveTranscript -> {
+            if (uploadService.getStatus(liveTranscript.uploadId) != null) {
+                return false;
+            }
+            liveTranscript.closeDecoder();
+            return true;
+        });
+
+        final UploadStatus uploadStatus = uploadService.startUpload();
+        liveTranscripts.put(uploadStatus.getUploadId(), new LiveTranscript(uploadStatus.getUploadId()));
+        return uploadStatus;
+    }
+
+    /**
+     * Appends a segment of the recording and transcribes the new audio in the background.
+     *
+     * @param uploadId    the upload id
+     * @param offset      the position of the segment in the video
+     * @param inputStream the segment
+     * @return the upload status after the segment, or {@code null} if the live transcript does not exist
+     * @throws IOException if the segment could not be saved
+     * @see UploadService#appendChunk(String, long, InputStream)
+     */
+    public UploadStatus appendSegment(final String uploadId, final long offset, final InputStream inputStream) throws IOException {
+        final LiveTranscript liveTranscript = liveTranscripts.get(uploadId);
+        if (liveTranscript == null) {
+            return null;
+        }
+        final UploadStatus uploadStatus = uploadService.appendChunk(uploadId, offset, inputStream);
+        if (uploadStatus != null) {
+            transcribeNewAudio(liveTranscript, false);
+        }
+        return uploadStatus;
+    }
+
+    /**
+     * Completes the recording: transcribes the audio not transcribed yet, moves the video to its record
+     * directory and returns the whole transcript.
+     *
+     * @param uploadId         the upload id
+     * @param originalFilename the filename sent by the browser
+     * @return the transcript, or {@code null} if the live transcript does not exist
+     * @throws IOException if the video could not be moved
+     */
+    public Transcript complete(final String uploadId, final String originalFilename) throws IOException {
+        final LiveTranscript liveTranscript = liveTranscripts.remove(uploadId);
+        if (liveTranscript == null) {
+            return null;
+        }
+        try {
+            transcribeNewAudio(liveTranscript, true).join();
+        } finally {
+            liveTranscript.closeDecoder();
+        }
+
+        final File videoFile = uploadService.completeUpload(uploadId, originalFilename);
+        if (videoFile == null) {
+            return null;
+        }
+        if (liveTranscript.failed) {
+            LOGGER.warn("Live transcript of {} failed, transcribing the whole video", videoFile.getName());
+            final Transcript transcript = transcriptJobService.transcribe(videoFile);
+            return transcript != null ? transcript : new Transcript();
+        }
+        LOGGER.info("Live transcript of {} completed: {} segments", videoFile.getName(), liveTranscript.transcripts.size());
+        return new Transcript(String.join(" ", liveTranscript.transcripts), videoFile.getName());
+    }
+
+    /**
+     * Adds a transcription of the new audio after the ones already scheduled. If one is scheduled but not
+     * started yet, it already includes the new segment and nothing is added.
+     */
+    private CompletableFuture<Void> transcribeNewAudio(final LiveTranscript liveTranscript, final boolean last) {
+        synchronized (liveTranscript) {
+            if (liveTranscript.pending && !last) {
+                return liveTranscript.tail;
+            }
+            liveTranscript.pending = true;
+            liveTranscript.tail = liveTranscript.tail
+                    .thenApplyAsync(v -> decodeNewAudio(liveTranscript, last), ffmpegExecutor)
+                    .thenAcceptAsync(segment -> transcribeSegment(liveTranscript, segment), whisperExecutor)
+                    .exceptionally(e -> {
+                        LOGGER.error("Live transcript of upload {} failed", liveTranscript.uploadId, e);
+                        liveTranscript.failed = true;
+                        return null;
+                    });
+            return liveTranscript.tail;
+        }
+    }
+
+    /**
+     * Feeds the new bytes of the recording to its decoder and returns the audio not transcribed yet. Returns
+     * {@code null} when there is not enough of it yet.
+     */
+    private Segment decodeNewAudio(final LiveTranscript liveTranscript, final boolean last) {
+        synchronized (liveTranscript) {
+            // Segments received from now on need another transcription
+            liveTranscript.pending = false;
+        }
+        final File uploadFile = uploadService.getUploadFile(liveTranscript.uploadId);
+        if (liveTranscript.failed || uploadFile == null) {
+            return null;
+        }
+
+        try {
+            if (liveTranscript.decoder == null) {
+                liveTranscript.decoder = ffmpegService.startPcmDecoder(liveTranscript.uploadId);
+            }
+            liveTranscript.decoder.feed(uploadFile);
+            liveTranscript.addAudio(last ? liveTranscript.decoder.finish() : liveTranscript.decoder.takeDecoded());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final byte[] pcm = liveTranscript.pcm;
+        if (last) {
+            return new Segment(pcm, pcm.length);
+        }
+        if (pcm.length < minSegmentBytes) {
+            return null;
+        }
+        return new Segment(pcm, findQuietestCut(pcm, pcm.length));
+    }
+
+    private void transcribeSegment(final LiveTranscript liveTranscript, final Segment segment) {
+        if (segment == null || segment.length == 0) {
+            return;
+        }
+        final String transcript;
+        if (whisperService.supportsPcm()) {
+            transcript = whisperService.transcribePcm(new ByteArrayInputStream(segment.pcm, 0, segment.length), null);
+        } else {
+            transcript = transcribeWav(liveTranscript, segment);
+        }
+        if (transcript == null) {
+            liveTranscript.failed = true;
+            LOGGER.warn("Segment {} of upload {} could not be transcribed", liveTranscript.transcripts.size() + 1, liveTranscript.uploadId);
+            return;
+        }
+        if (!transcript.isBlank()) {
+            liveTranscript.transcripts.add(transcript.trim());
+        }
+        liveTranscript.transcribedBytes += segment.length;
+        liveTranscript.pcm = Arrays.copyOfRange(segment.pcm, segment.length, segment.pcm.length);
+        LOGGER.info("Upload {} transcribed up to {} s", liveTranscript.uploadId, liveTranscript.transcribedBytes / BYTES_PER_SECOND);
+    }
+
+    /**
+     * Transcribes a segment with a Whisper service that can only read files, through a temporary WAV file.
+     */
+    private String transcribeWav(final LiveTranscript liveTranscript, final Segment segment) {
+        final File wavFile = new File(UploadService.UPLOADS_TMP_DIR, liveTranscript.uploadId + "-" + liveTranscript.transcribedBytes + ".wav");
+        try {
+            Utils.writeWav(wavFile, segment.pcm, segment.length, FfmpegService.PCM_SAMPLE_RATE);
+            return whisperService.transcribe(wavFile);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save the audio segment {}", wavFile, e);
+            return null;
+        } finally {
+            if (wavFile.exists() && !wavFile.delete()) {
+                LOGGER.warn("Failed to remove the audio segment {}", wavFile);
+            }
+        }
+    }
+
+    /**
+     * Returns the position, in bytes, of the quietest 100 ms window in the last seconds before the end,
+     * so a segment is cut between words instead of in the middle of one.
+     */
+    static int findQuietestCut(final byte[] pcm, final int end) {
+        final int searchStart = Math.max(0, end - CUT_SEARCH_BYTES);
+        int cut = end;
+        long lowestEnergy = Long.MAX_VALUE;
+        for (int windowStart = searchStart; windowStart + CUT_WINDOW_BYTES <= end; windowStart += CUT_WINDOW_BYTES) {
+            long energy = 0;
+            for (int i = windowStart; i < windowStart + CUT_WINDOW_BYTES; i += 2) {
+                final int sample = (short) ((pcm[i] & 0xff) | (pcm[i + 1] << 8));
+                energy += (long) sample * sample;
+            }
+            if (energy < lowestEnergy) {
+                lowestEnergy = energy;
+                // Middle of the window, on a whole sample
+                cut = windowStart + CUT_WINDOW_BYTES / 2;
+            }
+        }
+        return cut - cut % 2;
+    }
+
+    /**
+     * A recording being transcribed. Its transcriptions run one after the other, so the decoder, the audio and
+     * the partial transcripts are only changed by one thread at a time.
+     */
+    private static final class LiveTranscript {
+
+        private final String uploadId;
+        private final List<String> transcripts = new ArrayList<>();
+        private long transcribedBytes;
+        private volatile PcmDecoder decoder;
+        // The decoded audio after the transcribed position
+        private byte[] pcm = new byte[0];
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private boolean pending;
+        private volatile boolean failed;
+
+        private LiveTranscript(final String uploadId) {
+            this.uploadId = uploadId;
+        }
+
+        private void addAudio(final byte[] newPcm) {
+            if (newPcm.length > 0) {
+                final byte[] audio = Arrays.copyOf(pcm, pcm.length + newPcm.length);
+                System.arraycopy(newPcm, 0, audio, pcm.length, newPcm.length);
+                pcm = audio;
+            }
+        }
+
+        private void closeDecoder() {
+            final PcmDecoder pcmDecoder = decoder;
+            if (pcmDecoder != null) {
+                pcmDecoder.close();
+            }
+        }
+    }
+
+    /**
+     * Decoded audio to transcribe: the first {@code length} bytes of {@code pcm}.
+     */
+    private static final class Segment {
+
+        private final byte[] pcm;
+        private final int length;
+
+        private Segment(final byte[] pcm, final int length) {
+            this.pcm = pcm;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.transcript;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a new transcript job cannot be accepted because too many jobs are already running.
+ * Spring answers the request with {@code 429 Too Many Requests}.
+ *
+ * @author Alan Quintero
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TranscriptJobQueueFullException extends RuntimeException {
+
+    public TranscriptJobQueueFullException(final String message) {
+        super(message);
+    }
+}
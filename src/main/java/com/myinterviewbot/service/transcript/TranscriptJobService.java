@@ -0,0 +1,370 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.transcript;
+
+import com.myinterviewbot.model.Transcript;
+import com.myinterviewbot.model.TranscriptJob;
+import com.myinterviewbot.model.TranscriptJobStage;
+import com.myinterviewbot.model.TranscriptMetrics;
+import com.myinterviewbot.model.TranscriptStats;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Service that turns a saved video into a transcript in the background.
+ *
+ * <p>Every video is a job with an id, so the request that uploads the video returns right away and the
+ * client asks for the job status (or listens to its stage changes) until the transcript is ready.
+ * Each stage runs on its own thread pool: the audio extraction on the ffmpeg pool and the transcription on
+ * the whisper pool, so the number of ffmpeg and whisper processes running at the same time is limited.
+ * In PCM mode ({@code transcript.audio-mode=pcm}) ffmpeg streams the decoded audio straight to Whisper, so no
+ * audio file is written; both processes then run together on the whisper pool. If the PCM transcription fails,
+ * the job uses an audio file instead. When the audio file works, the input was fine and PCM itself failed; after
+ * {@value #MAX_PCM_FAILURES} such failures in a row, the next jobs use audio files. A recording that cannot be
+ * transcribed in either mode never turns PCM mode off.
+ * New jobs are rejected when too many jobs are not finished yet, and finished jobs are removed after
+ * the time to live.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class TranscriptJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptJobService.class);
+
+    static final int MAX_PCM_FAILURES = 3;
+
+    private final FfmpegService ffmpegService;
+    private final WhisperService whisperService;
+    private final ExecutorService ffmpegExecutor;
+    private final ExecutorService whisperExecutor;
+    private final int capacity;
+    private final long ttlMs;
+    private volatile boolean pcmMode;
+    // PCM failures in a row of recordings that could be transcribed from an audio file
+    private final AtomicInteger pcmFailures = new AtomicInteger();
+
+    // Number of transcripts, CPU time and bytes written for each audio mode: index 0 is PCM, index 1 is file
+    private final long[] transcripts = new long[2];
+    private final long[] cpuMillis = new long[2];
+    private final long[] bytesWritten = new long[2];
+
+    private final Map<String, TranscriptJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<TranscriptJob>>> listeners = new ConcurrentHashMap<>();
+
+    public TranscriptJobService(final FfmpegService ffmpegService, final WhisperService whisperService,
+                                @Qualifier("ffmpegExecutor") final ExecutorService ffmpegExecutor,
+                                @Qualifier("whisperExecutor") final ExecutorService whisperExecutor,
+                                @Value("${transcript.jobs.capacity:16}") final int capacity,
+                                @Value("${transcript.jobs.ttl-minutes:60}") final long ttlMinutes,
+                                @Value("${transcript.audio-mode:pcm}") final String audioMode) {
+        this.ffmpegService = ffmpegService;
+        this.whisperService = whisperService;
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.whisperExecutor = whisperExecutor;
+        this.capacity = capacity;
+        this.ttlMs = ttlMinutes * 60 * 1000;
+        this.pcmMode = TranscriptStats.PCM_MODE.equalsIgnoreCase(audioMode) && whisperService.supportsPcm();
+        LOGGER.info("Transcript audio mode: {}", pcmMode ? TranscriptStats.PCM_MODE : TranscriptStats.FILE_MODE);
+    }
+
+    /**
+     * Starts a transcript job for the given video.
+     *
+     * @param videoFile the saved video
+     * @return the new job
+     * @throws TranscriptJobQueueFullException if too many jobs are not finished yet
+     */
+    public TranscriptJob submit(final File videoFile) {
+        return copy(start(videoFile).job);
+    }
+
+    /**
+     * Runs a transcript job for the given video and waits for its transcript. Used by the clients that
+     * still wait for the transcript in the same request, the job still respects the limits of every stage.
+     *
+     * @param videoFile the saved video
+     * @return the transcript, or {@code null} if it could not be generated
+     * @throws TranscriptJobQueueFullException if too many jobs are not finished yet
+     */
+    public Transcript transcribe(final File videoFile) {
+        return start(videoFile).future.join();
+    }
+
+    /**
+     * Returns the current status of a job.
+     *
+     * @param jobId the job id
+     * @return a copy of the job, or {@code null} if the job does not exist
+     */
+    public TranscriptJob getJob(final String jobId) {
+        final TranscriptJob job = jobs.get(jobId);
+        return job == null ? null : copy(job);
+    }
+
+    /**
+     * Registers a listener that receives a copy of the job every time its stage changes.
+     * The listener is removed when the job is finished.
+     *
+     * @param jobId    the job id
+     * @param listener the listener
+     * @return the current status of the job, or {@code null} if the job does not exist
+     */
+    public TranscriptJob addListener(final String jobId, final Consumer<TranscriptJob> listener) {
+        if (!jobs.containsKey(jobId)) {
+            return null;
+        }
+        listeners.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        // The job may have finished before the listener was added
+        final TranscriptJob job = getJob(jobId);
+        if (job.getStage().isFinished()) {
+            removeListener(jobId, listener);
+        }
+        return job;
+    }
+
+    /**
+     * Removes a listener, e.g. when the client went away.
+     *
+     * @param jobId    the job id
+     * @param listener the listener
+     */
+    public void removeListener(final String jobId, final Consumer<TranscriptJob> listener) {
+        final List<Consumer<TranscriptJob>> jobListeners = listeners.get(jobId);
+        if (jobListeners != null) {
+            jobListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Returns the average CPU time and bytes written per transcript, for each audio mode.
+     *
+     * @return the transcript metrics
+     */
+    public TranscriptMetrics getMetrics() {
+        final TranscriptMetrics metrics = new TranscriptMetrics();
+        metrics.setAudioMode(pcmMode ? TranscriptStats.PCM_MODE : TranscriptStats.FILE_MODE);
+        synchronized (transcripts) {
+            metrics.setPcmTranscripts(transcripts[0]);
+            metrics.setPcmAverageCpuMillis(average(cpuMillis[0], transcripts[0]));
+            metrics.setPcmAverageBytesWritten(average(bytesWritten[0], transcripts[0]));
+            metrics.setFileTranscripts(transcripts[1]);
+            metrics.setFileAverageCpuMillis(average(cpuMillis[1], transcripts[1]));
+            metrics.setFileAverageBytesWritten(average(bytesWritten[1], transcripts[1]));
+        }
+        return metrics;
+    }
+
+    private synchronized RunningJob start(final File videoFile) {
+        removeExpiredJobs();
+        final long activeJobs = jobs.values().stream().filter(job -> !job.getStage().isFinished()).count();
+        if (activeJobs >= capacity) {
+            LOGGER.warn("Transcript job rejected, {} jobs are running", activeJobs);
+            throw new TranscriptJobQueueFullException("Too many transcripts are being generated, please try again in a moment");
+        }
+
+        final TranscriptJob job = new TranscriptJob(UUID.randomUUID().toString());
+        jobs.put(job.getJobId(), job);
+        LOGGER.info("Transcript job {} created for {}", job.getJobId(), videoFile.getName());
+
+        final TranscriptStats stats = new TranscriptStats(pcmMode ? TranscriptStats.PCM_MODE : TranscriptStats.FILE_MODE);
+        final CompletableFuture<Transcript> transcriptFuture;
+        if (pcmMode) {
+            transcriptFuture = CompletableFuture
+                    .supplyAsync(() -> transcribePcm(job, videoFile, stats), whisperExecutor)
+                    .thenCompose(transcript -> {
+                        if (transcript != null) {
+                            pcmFailures.set(0);
+                            return CompletableFuture.completedFuture(transcript);
+                        }
+                        LOGGER.warn("PCM transcription of {} failed, using an audio file for this job", videoFile.getName());
+                        stats.setAudioMode(TranscriptStats.FILE_MODE);
+                        return transcribeFile(job, videoFile, stats).whenComplete((fileTranscript, e) -> {
+                            if (e == null) {
+                                // The recording is fine, so PCM mode failed on its own
+                                recordPcmFailure();
+                            }
+                        });
+                    });
+        } else {
+            transcriptFuture = transcribeFile(job, videoFile, stats);
+        }
+
+        final CompletableFuture<Transcript> future = transcriptFuture
+                .handle((transcript, e) -> {
+                    if (e != null) {
+                        final Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        LOGGER.error("Transcript job {} failed", job.getJobId(), cause);
+                        synchronized (job) {
+                            job.setError(cause.getMessage());
+                        }
+                        updateStage(job, TranscriptJobStage.FAILED);
+                        return null;
+                    }
+                    synchronized (job) {
+                        job.setTranscript(transcript);
+                        job.setStats(stats);
+                    }
+                    recordStats(stats);
+                    updateStage(job, TranscriptJobStage.COMPLETED);
+                    return transcript;
+                });
+        return new RunningJob(job, future);
+    }
+
+    /**
+     * Extracts the audio to a file on the ffmpeg pool, then transcribes the file on the whisper pool.
+     */
+    private CompletableFuture<Transcript> transcribeFile(final TranscriptJob job, final File videoFile, final TranscriptStats stats) {
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    if (Utils.getPcmDataOffset(videoFile) >= 0) {
+                        // Audio-only recording already in the Whisper format, nothing to extract
+                        return videoFile;
+                    }
+                    updateStage(job, TranscriptJobStage.EXTRACTING_AUDIO);
+                    final File audioFile = ffmpegService.extractAudio(videoFile, stats);
+                    if (audioFile == null) {
+                        throw new IllegalStateException("The audio could not be extracted from the video");
+                    }
+                    return audioFile;
+                }, ffmpegExecutor)
+                .thenApplyAsync(audioFile -> {
+                    updateStage(job, TranscriptJobStage.TRANSCRIBING);
+                    final String transcript = whisperService.transcribe(audioFile, stats);
+                    if (transcript == null) {
+                        throw new IllegalStateException("The audio could not be transcribed");
+                    }
+                    return new Transcript(transcript, videoFile.getName());
+                }, whisperExecutor);
+    }
+
+    /**
+     * Streams the audio decoded by ffmpeg to Whisper, the audio extraction and the transcription run at the same time.
+     *
+     * @return the transcript, or {@code null} if the PCM transcription failed
+     */
+    private Transcript transcribePcm(final TranscriptJob job, final File videoFile, final TranscriptStats stats) {
+        updateStage(job, TranscriptJobStage.TRANSCRIBING);
+        try (InputStream pcm = openPcm(videoFile, stats)) {
+            final String transcript = whisperService.transcribePcm(pcm, stats);
+            return transcript == null ? null : new Transcript(transcript, videoFile.getName());
+        } catch (Exception e) {
+            LOGGER.error("Failed to stream the audio of {} to Whisper", videoFile.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the PCM audio of a recording: read straight from an audio-only WAV recording already in the
+     * Whisper format, or decoded by ffmpeg from any other recording.
+     */
+    private InputStream openPcm(final File videoFile, final TranscriptStats stats) throws IOException {
+        final long pcmOffset = Utils.getPcmDataOffset(videoFile);
+        if (pcmOffset < 0) {
+            return ffmpegService.streamPcm(videoFile, stats);
+        }
+        LOGGER.info("Reading PCM audio from {}, no conversion needed", videoFile.getName());
+        final InputStream pcm = new BufferedInputStream(Files.newInputStream(videoFile.toPath()));
+        pcm.skipNBytes(pcmOffset);
+        return pcm;
+    }
+
+    /**
+     * Counts a failure of PCM mode on a valid recording, and turns PCM mode off after too many in a row.
+     */
+    private void recordPcmFailure() {
+        final int failures = pcmFailures.incrementAndGet();
+        if (failures >= MAX_PCM_FAILURES && pcmMode) {
+            pcmMode = false;
+            LOGGER.warn("PCM transcription failed {} times in a row, using audio files for the next transcripts", failures);
+        }
+    }
+
+    /**
+     * Adds the cost of a transcript to the metrics.
+     */
+    private void recordStats(final TranscriptStats stats) {
+        LOGGER.info("Transcript stats: {}", stats);
+        final int mode = TranscriptStats.PCM_MODE.equals(stats.getAudioMode()) ? 0 : 1;
+        synchronized (transcripts) {
+            transcripts[mode]++;
+            cpuMillis[mode] += stats.getCpuMillis();
+            bytesWritten[mode] += stats.getBytesWritten();
+        }
+    }
+
+    private static double average(final long sum, final long count) {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    private void updateStage(final TranscriptJob job, final TranscriptJobStage stage) {
+        final TranscriptJob snapshot;
+        synchronized (job) {
+            job.setStage(stage);
+            snapshot = new TranscriptJob(job);
+        }
+        LOGGER.info("Transcript job {}: {} after {} ms", job.getJobId(), stage, snapshot.getUpdatedAt() - snapshot.getCreatedAt());
+
+        final List<Consumer<TranscriptJob>> jobListeners = stage.isFinished() ? listeners.remove(job.getJobId()) : listeners.get(job.getJobId());
+        if (jobListeners == null) {
+            return;
+        }
+        for (final Consumer<TranscriptJob> listener : jobListeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                LOGGER.warn("Transcript job {} listener failed: {}", job.getJobId(), e.getMessage());
+                jobListeners.remove(listener);
+            }
+        }
+    }
+
+    private void removeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.getStage().isFinished() && now - job.getUpdatedAt() >= ttlMs);
+    }
+
+    private static TranscriptJob copy(final TranscriptJob job) {
+        synchronized (job) {
+            return new TranscriptJob(job);
+        }
+    }
+
+    /**
+     * A job and the future that completes with its transcript.
+     */
+    private static final class RunningJob {
+
+        private final TranscriptJob job;
+        private final CompletableFuture<Transcript> future;
+
+        private RunningJob(final TranscriptJob job, final CompletableFuture<Transcript> future) {
+            this.job = job;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.upload;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a chunk does not start where the upload ends (e.g. a chunk was lost or sent twice).
+ * Spring answers the request with {@code 409 Conflict}, the browser must ask for the upload status
+ * and continue from the received bytes.
+ *
+ * @author Alan Quintero
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadOffsetMismatchException extends RuntimeException {
+
+    public UploadOffsetMismatchException(final String message) {
+        super(message);
+    }
+}
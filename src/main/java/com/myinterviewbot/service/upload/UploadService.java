@@ -0,0 +1,230 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.upload;
+
+import com.myinterviewbot.model.UploadStatus;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that receives a video in chunks, so a long answer can be uploaded in small requests
+ * and an interrupted upload can continue from the last received byte.
+ *
+ * <p>Every chunk is written straight from the request body to {@code uploads/tmp/<uploadId>.part}
+ * with a {@link FileChannel}, so the memory used by an upload does not depend on the video size.
+ * When the upload is completed, the file is moved to its record directory under "uploads/interviews/".
+ * Uploads not completed after the expire time are removed.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class UploadService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadService.class);
+
+    public static final String UPLOADS_TMP_DIR = "uploads/tmp";
+
+    private static final String PART_EXTENSION = ".part";
+
+    private final File uploadsDir;
+    private final long maxBytes;
+    private final long expireMs;
+
+    // One lock per upload, so two chunks of the same upload are never written at the same time. Removed once the
+    // upload file is gone (completed or expired), so the file is checked again when the lock is held
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UploadService(@Value("${upload.max-size-mb:500}") final long maxSizeMb,
+                         @Value("${upload.expire-hours:24}") final long expireHours) {
+        this(new File(UPLOADS_TMP_DIR), maxSizeMb * 1024 * 1024, expireHours * 60 * 60 * 1000);
+    }
+
+    UploadService(final File uploadsDir, final long maxBytes, final long expireMs) {
+        this.uploadsDir = uploadsDir;
+        this.maxBytes = maxBytes;
+        this.expireMs = expireMs;
+    }
+
+    /**
+     * Starts a new upload.
+     *
+     * @return the status of the new upload, with its id
+     * @throws IOException if the upload file could not be created
+     */
+    public UploadStatus startUpload() throws IOException {
+        if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
+            throw new IOException("Failed to create " + uploadsDir + " directory");
+        }
+        removeExpiredUploads();
+
+        final String uploadId = UUID.randomUUID().toString();
+        Files.createFile(getPartFile(uploadId).toPath());
+        LOGGER.info("Upload {} started", uploadId);
+        return new UploadStatus(uploadId, 0, maxBytes);
+    }
+
+    /**
+     * Returns the status of an upload, used by the browser to know where to continue an interrupted upload.
+     *
+     * @param uploadId the upload id
+     * @return the upload status, or {@code null} if the upload does not exist
+     */
+    public UploadStatus getStatus(final String uploadId) {
+        final File partFile = findPartFile(uploadId);
+        if (partFile == null) {
+            return null;
+        }
+        return new UploadStatus(uploadId, partFile.length(), maxBytes);
+    }
+
+    /**
+     * Returns the file with the bytes received so far, used to process the video while it is still being uploaded.
+     *
+     * @param uploadId the upload id
+     * @return the upload file, or {@code null} if the upload does not exist
+     */
+    public File getUploadFile(final String uploadId) {
+        return findPartFile(uploadId);
+    }
+
+    /**
+     * Writes a chunk at the end of the upload.
+     *
+     * @param uploadId    the upload id
+     * @param offset      the position of the chunk in the video, must be the number of bytes already received
+     * @param inputStream the chunk
+     * @return the upload status after the chunk, or {@code null} if the upload does not exist
+     * @throws UploadOffsetMismatchException  if the offset is not the number of bytes already received
+     * @throws MaxUploadSizeExceededException if the video is bigger than the max upload size
+     * @throws IOException                    if the chunk could not be read or written
+     */
+    public UploadStatus appendChunk(final String uploadId, final long offset, final InputStream inputStream) throws IOException {
+        final File partFile = findPartFile(uploadId);
+        if (partFile == null) {
+            return null;
+        }
+
+        final Object lock = locks.computeIfAbsent(uploadId, id -> new Object());
+        synchronized (lock) {
+            // Completed or expired while the chunk waited for the lock
+            if (!partFile.isFile()) {
+                locks.remove(uploadId, lock);
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(partFile.toPath(), StandardOpenOption.WRITE)) {
+                final long receivedBytes = channel.size();
+                if (offset != receivedBytes) {
+                    throw new UploadOffsetMismatchException("Upload " + uploadId + " has " + receivedBytes + " bytes, the chunk starts at " + offset);
+                }
+
+                // Reads at most one byte more than allowed, to know if the video is too big
+                final long written = channel.transferFrom(Channels.newChannel(inputStream), offset, maxBytes - offset + 1);
+                if (offset + written > maxBytes) {
+                    channel.truncate(offset);
+                    throw new MaxUploadSizeExceededException(maxBytes);
+                }
+                return new UploadStatus(uploadId, offset + written, maxBytes);
+            }
+        }
+    }
+
+    /**
+     * Completes the upload, moving the video to its record directory.
+     *
+     * @param uploadId         the upload id
+     * @param originalFilename the filename sent by the browser
+     * @return the video file, or {@code null} if the upload does not exist
+     * @throws IOException if the video could not be moved
+     */
+    public File completeUpload(final String uploadId, final String originalFilename) throws IOException {
+        final File partFile = findPartFile(uploadId);
+        if (partFile == null) {
+            return null;
+        }
+
+        final Object lock = locks.computeIfAbsent(uploadId, id -> new Object());
+        synchronized (lock) {
+            if (!partFile.isFile()) {
+                locks.remove(uploadId, lock);
+                return null;
+            }
+            final File videoFile = Utils.createVideoFile(originalFilename);
+            Files.move(partFile.toPath(), videoFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            locks.remove(uploadId, lock);
+            LOGGER.info("Upload {} completed: {} ({} bytes)", uploadId, videoFile.getName(), videoFile.length());
+            return videoFile;
+        }
+    }
+
+    /**
+     * Returns the number of uploads with a lock. Only for the tests.
+     */
+    int getLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * Returns the file of an existing upload. The id must be a UUID, so it can never point outside the uploads directory.
+     */
+    private File findPartFile(final String uploadId) {
+        try {
+            UUID.fromString(uploadId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        final File partFile = getPartFile(uploadId);
+        return partFile.isFile() ? partFile : null;
+    }
+
+    private File getPartFile(final String uploadId) {
+        return new File(uploadsDir, uploadId + PART_EXTENSION);
+    }
+
+    private void removeExpiredUploads() {
+        final File[] partFiles = uploadsDir.listFiles((dir, name) -> name.endsWith(PART_EXTENSION));
+        if (partFiles == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        for (final File partFile : partFiles) {
+            if (now - partFile.lastModified() < expireMs) {
+                continue;
+            }
+            final String uploadId = partFile.getName().substring(0, partFile.getName().length() - PART_EXTENSION.length());
+            final Object lock = locks.computeIfAbsent(uploadId, id -> new Object());
+            synchronized (lock) {
+                // A chunk may have been written while the lock was taken
+                if (partFile.isFile() && now - partFile.lastModified() >= expireMs) {
+                    if (partFile.delete()) {
+                        LOGGER.info("Expired upload {} removed", partFile.getName());
+                    } else {
+                        LOGGER.warn("Failed to remove expired upload {}", partFile.getName());
+                    }
+                }
+                if (!partFile.isFile()) {
+                    locks.remove(uploadId, lock);
+                }
+            }
+        }
+    }
+}
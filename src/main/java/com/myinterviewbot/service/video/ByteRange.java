@@ -0,0 +1,97 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+/**
+ * A range of bytes of a file requested with a {@code Range} header, e.g. {@code bytes=1000-1999}.
+ *
+ * @author Alan Quintero
+ */
+public class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    // Both inclusive
+    private final long start;
+    private final long end;
+
+    public ByteRange(final long start, final long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses a {@code Range} header. Only one range is supported, a header with several ranges is ignored and the
+     * whole file is sent, as the HTTP specification allows.
+     *
+     * @param header the value of the header, can be {@code null}
+     * @param length the length of the file
+     * @return the range, or {@code null} if the whole file must be sent
+     * @throws RangeNotSatisfiableException if the range starts after the end of the file
+     */
+    public static ByteRange parse(final String header, final long length) {
+        if (header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') != -1) {
+            return null;
+        }
+        final String range = header.substring(BYTES_UNIT.length()).trim();
+        final int dash = range.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            final String first = range.substring(0, dash).trim();
+            final String last = range.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // The last bytes of the file, e.g. bytes=-500
+                final long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    throw new RangeNotSatisfiableException(header, length);
+                }
+                return new ByteRange(Math.max(0, length - suffixLength), length - 1);
+            }
+            final long start = Long.parseLong(first);
+            final long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            if (start >= length) {
+                throw new RangeNotSatisfiableException(header, length);
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * Returns the value of the {@code Content-Range} header of the range.
+     *
+     * @param length the length of the file
+     * @return the header value, e.g. {@code bytes 1000-1999/5000}
+     */
+    public String toContentRange(final long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    @Override
+    public String toString() {
+        return "ByteRange{" +
+                "start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
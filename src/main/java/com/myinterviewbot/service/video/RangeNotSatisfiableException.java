@@ -0,0 +1,25 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+/**
+ * Thrown when a {@code Range} header asks for bytes after the end of the file. The request is answered with
+ * {@code 416 Range Not Satisfiable} and the length of the file.
+ *
+ * @author Alan Quintero
+ */
+public class RangeNotSatisfiableException extends RuntimeException {
+
+    private final long length;
+
+    public RangeNotSatisfiableException(final String range, final long length) {
+        super("Range " + range + " is not satisfiable for " + length + " bytes");
+        this.length = length;
+    }
+
+    public long getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Service that finds the recorded interviews and sends them, or a range of their bytes, to the browser.
+ *
+ * <p>A recording is never changed after it is saved, its name has the time it was recorded, so its size and
+ * modification time are a strong ETag.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class VideoStreamService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoStreamService.class);
+
+    // A file or directory name, never a path or a hidden file
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9_.-]*");
+
+    // Added to the name of a recording by VideoTranscodeService, e.g. 1699999999999-answer-compact.webm
+    static final String TRANSCODED_SUFFIX = "-compact";
+
+    private final File interviewsDir;
+
+    public VideoStreamService() {
+        this(new File(Utils.INTERVIEWS_DIR));
+    }
+
+    VideoStreamService(final File interviewsDir) {
+        this.interviewsDir = interviewsDir;
+    }
+
+    /**
+     * Returns a recording inside the interviews directory.
+     *
+     * @param record   the record directory, e.g. {@code 1699999999999-answer}
+     * @param filename the file in the record directory, e.g. {@code 1699999999999-answer.webm}
+     * @return the recording, or {@code null} if the names are not valid or the file does not exist
+     */
+    public File findRecording(final String record, final String filename) {
+        if (!isSafeName(record) || !isSafeName(filename)) {
+            LOGGER.warn("Invalid recording path: {}/{}", record, filename);
+            return null;
+        }
+        try {
+            final Path baseDir = interviewsDir.toPath().toRealPath();
+            // The real path follows the links, so a link cannot point out of the interviews directory either
+            final Path recording = baseDir.resolve(record).resolve(filename).toRealPath();
+            if (!recording.startsWith(baseDir) || !Files.isRegularFile(recording)) {
+                LOGGER.warn("Invalid recording path: {}/{}", record, filename);
+                return null;
+            }
+            return recording.toFile();
+        } catch (IOException e) {
+            // The file does not exist
+            return null;
+        }
+    }
+
+    /**
+     * Returns the transcoded file of a recording, which replaces it once it is transcoded. Browsers may still have
+     * the URL of the original in their cache.
+     *
+     * @param record   the record directory
+     * @param filename the original recording in the record directory
+     * @return the transcoded recording, or {@code null} if there is none
+     */
+    public File findTranscodedRecording(final String record, final String filename) {
+        final int dotIndex = filename.lastIndexOf('.');
+        if (dotIndex == -1 || !isSafeName(record)) {
+            return null;
+        }
+        final String prefix = filename.substring(0, dotIndex) + TRANSCODED_SUFFIX + ".";
+        final File[] files = new File(interviewsDir, record).listFiles((dir, name) -> name.startsWith(prefix));
+        return files != null && files.length > 0 ? findRecording(record, files[0].getName()) : null;
+    }
+
+    /**
+     * Returns the strong ETag of a recording.
+     *
+     * @param recording the recording
+     * @return the ETag, quoted
+     */
+    public String getETag(final File recording) {
+        return "\"" + Long.toHexString(recording.length()) + "-" + Long.toHexString(recording.lastModified()) + "\"";
+    }
+
+    /**
+     * Writes a range of a recording with {@link FileChannel#transferTo}, so the bytes are not copied to the heap
+     * and, when the target allows it, not even to user space.
+     *
+     * @param recording the recording
+     * @param range     the bytes to write
+     * @param target    the channel of the response
+     * @throws IOException if the recording could not be read or the response was closed
+     */
+    public void transfer(final File recording, final ByteRange range, final WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(recording.toPath(), StandardOpenOption.READ)) {
+            long position = range.getStart();
+            final long end = range.getEnd() + 1;
+            while (position < end) {
+                final long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    // The file is shorter than the range, the response cannot be completed
+                    throw new IOException("Recording ended at " + position + " of " + end + " bytes: " + recording.getName());
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static boolean isSafeName(final String name) {
+        return name != null && SAFE_NAME.matcher(name).matches() && !name.contains("..");
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.InterviewDataService;
+import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that transcodes the recorded interviews in the background to a smaller file, saves a thumbnail of them
+ * and removes the files that are not needed anymore (the extracted audio, the whisper output and, unless
+ * {@code video.transcode.delete-original} is off, the original recording). The sizes of the recording before
+ * and after are saved in the {@link InterviewEntry}.
+ *
+ * <p>A recording is transcoded after its interview is saved, and the recordings not transcoded yet are queued
+ * when the app starts. The transcoding never competes with a transcription the user is waiting for: it only starts
+ * while no audio is extracted or transcribed, ffmpeg runs with the lowest CPU priority, and if a transcription
+ * starts, ffmpeg is stopped and started again once the transcription is done.</p>
+ *
+ * <p>The browsers that played the original recording keep its URL in their cache, the
+ * {@link com.myinterviewbot.controller.VideoController} redirects it to the transcoded file.</p>
+ *
+ * @author Alan Quintero
+ */
+@Service
+public class VideoTranscodeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoTranscodeService.class);
+
+    private static final String THUMBNAIL_SUFFIX = "-poster.jpg";
+    private static final int THUMBNAIL_WIDTH = 320;
+    private static final long IDLE_CHECK_MS = 1000;
+
+    private final FfmpegService ffmpegService;
+    private final WhisperService whisperService;
+    private final VideoStreamService videoStreamService;
+    private final ExecutorService transcodeExecutor;
+    private final InterviewDataService interviewDataService;
+
+    private final boolean enabled;
+    private final List<String> outputOptions;
+    private final String extension;
+    private final boolean deleteOriginal;
+    private final long idleCheckMs;
+
+    // The interviews waiting or being transcoded, so a recording is never transcoded twice at the same time
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public VideoTranscodeService(final FfmpegService ffmpegService, final WhisperService whisperService,
+                                 final VideoStreamService videoStreamService,
+                                 @Qualifier("transcodeExecutor") final ExecutorService transcodeExecutor,
+                                 @Value("${video.transcode.enabled:true}") final boolean enabled,
+                                 @Value("${video.transcode.output-options:-c:v libvpx-vp9 -b:v 0 -crf 40 -deadline good -cpu-used 4 -threads 1 -vf scale=-2:'min(480,ih)' -c:a libopus -b:a 48k}") final String outputOptions,
+                                 @Value("${video.transcode.extension:webm}") final String extension,
+                                 @Value("${video.transcode.delete-original:true}") final boolean deleteOriginal) {
+        this(ffmpegService, whisperService, videoStreamService, transcodeExecutor, InterviewDataService.getInstance(),
+                enabled, outputOptions, extension, deleteOriginal, IDLE_CHECK_MS);
+    }
+
+    VideoTranscodeService(final FfmpegService ffmpegService, final WhisperService whisperService,
+                          final VideoStreamService videoStreamService, final ExecutorService transcodeExecutor,
+                          final InterviewDataService interviewDataService, final boolean enabled, final String outputOptions,
+                          final String extension, final boolean deleteOriginal, final long idleCheckMs) {
+        this.ffmpegService = ffmpegService;
+        this.whisperService = whisperService;
+        this.videoStreamService = videoStreamService;
+        this.transcodeExecutor = transcodeExecutor;
+        this.interviewDataService = interviewDataService;
+        this.enabled = enabled;
+        this.outputOptions = Arrays.asList(outputOptions.trim().split("\\s+"));
+        this.extension = extension;
+        this.deleteOriginal = deleteOriginal;
+        this.idleCheckMs = idleCheckMs;
+    }
+
+    /**
+     * Queues the recordings of the history that were not transcoded yet, once the history is loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void transcodeHistory() {
+        if (!enabled) {
+            LOGGER.info("Video transcoding disabled");
+            return;
+        }
+        final List<Long> ids = new ArrayList<>();
+        interviewDataService.forEachInterview(entry -> {
+            if (needsTranscoding(entry)) {
+                ids.add(entry.getTimestamp());
+            }
+        });
+        LOGGER.info("{} recordings to transcode", ids.size());
+        ids.forEach(this::submit);
+    }
+
+    /**
+     * Queues the recording of an interview to be transcoded.
+     *
+     * @param id the interview id
+     */
+    public void submit(final Long id) {
+        if (!enabled || !queued.add(id)) {
+            return;
+        }
+        try {
+            transcodeExecutor.execute(() -> {
+                try {
+                    transcode(id);
+                } finally {
+                    queued.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(id);
+        }
+    }
+
+    /**
+     * Transcodes the recording of an interview, saves its thumbnail and records the new recording in the interview.
+     *
+     * @param id the interview id
+     */
+    void transcode(final Long id) {
+        final InterviewEntry entry = interviewDataService.getInterview(id);
+        if (entry == null || !needsTranscoding(entry)) {
+            return;
+        }
+        final File recording = findRecording(entry.getVideoUrl());
+        if (recording == null) {
+            LOGGER.warn("Recording of interview {} not found: {}", id, entry.getVideoUrl());
+            return;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final String baseName = getBaseName(recording.getName());
+        final File recordDir = recording.getParentFile();
+        final File thumbnail = new File(recordDir, baseName + THUMBNAIL_SUFFIX);
+        final File transcoded = new File(recordDir, baseName + VideoStreamService.TRANSCODED_SUFFIX + "." + extension);
+        try {
+            // An audio recording has no thumbnail
+            final boolean hasThumbnail = runWhenIdle(() -> ffmpegService.startThumbnail(recording, thumbnail, THUMBNAIL_WIDTH), thumbnail)
+                    && thumbnail.length() > 0;
+            if (!hasThumbnail) {
+                deleteFile(thumbnail);
+            }
+            if (!runWhenIdle(() -> ffmpegService.startTranscode(recording, transcoded, outputOptions), transcoded)) {
+                LOGGER.warn("Failed to transcode {}, it is tried again on the next start", recording.getName());
+                deleteFile(transcoded);
+                return;
+            }
+
+            final long originalSize = recording.length();
+            // A recording that is already smaller than its transcoded file is kept as it is
+            final File video = transcoded.length() > 0 && transcoded.length() < originalSize ? transcoded : recording;
+            if (video != transcoded) {
+                deleteFile(transcoded);
+            }
+            final String urlPrefix = entry.getVideoUrl().substring(0, entry.getVideoUrl().lastIndexOf('/') + 1);
+            if (!interviewDataService.updateVideo(id, urlPrefix + video.getName(),
+                    hasThumbnail ? urlPrefix + thumbnail.getName() : null, video.length(), originalSize)) {
+                LOGGER.info("Interview {} was removed while it was transcoded", id);
+                return;
+            }
+            final Set<File> keptFiles = new HashSet<>(List.of(video, thumbnail));
+            if (!deleteOriginal) {
+                keptFiles.add(recording);
+            }
+            deleteIntermediateFiles(recordDir, keptFiles);
+            LOGGER.info("Recording of interview {} transcoded in {} ms: {} KB -> {} KB", id,
+                    System.currentTimeMillis() - startTime, originalSize / 1024, video.length() / 1024);
+        } catch (InterruptedException e) {
+            deleteFile(transcoded);
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.error("Failed to transcode {}: {}", recording.getName(), e.getMessage());
+            deleteFile(transcoded);
+        }
+    }
+
+    /**
+     * Runs ffmpeg while no answer is being transcribed. If a transcription starts, ffmpeg is stopped, its output is
+     * removed, and it starts again when the transcription is done.
+     *
+     * @return {@code true} if ffmpeg succeeded
+     */
+    private boolean runWhenIdle(final FfmpegCommand command, final File outputFile) throws IOException, InterruptedException {
+        while (true) {
+            while (isTranscribing()) {
+                Thread.sleep(idleCheckMs);
+            }
+            final Process process = command.start();
+            try {
+                while (!process.waitFor(idleCheckMs, TimeUnit.MILLISECONDS)) {
+                    if (isTranscribing()) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+            if (!process.isAlive()) {
+                return process.exitValue() == 0;
+            }
+            LOGGER.info("A transcription started, {} will be created after it", outputFile.getName());
+            process.destroyForcibly().waitFor();
+            deleteFile(outputFile);
+        }
+    }
+
+    private boolean isTranscribing() {
+        return ffmpegService.isExtractingAudio() || whisperService.isTranscribing();
+    }
+
+    private static boolean needsTranscoding(final InterviewEntry entry) {
+        return entry.getVideoUrl() != null && entry.getVideoSize() == null;
+    }
+
+    /**
+     * Returns the recording of a video URL, e.g. {@code uploads/interviews/<record>/<file>}, only if it is inside
+     * the interviews directory.
+     */
+    private File findRecording(final String videoUrl) {
+        final String path = videoUrl.startsWith("/") ? videoUrl.substring(1) : videoUrl;
+        if (!path.startsWith(Utils.INTERVIEWS_DIR)) {
+            return null;
+        }
+        final String[] names = path.substring(Utils.INTERVIEWS_DIR.length()).split("/");
+        return names.length == 2 ? videoStreamService.findRecording(names[0], names[1]) : null;
+    }
+
+    /**
+     * Removes the files of the record directory that are not kept, like the extracted audio and the whisper output.
+     */
+    private static void deleteIntermediateFiles(final File recordDir, final Set<File> keptFiles) {
+        final File[] files = recordDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            if (file.isFile() && !keptFiles.contains(file)) {
+                deleteFile(file);
+            }
+        }
+    }
+
+    private static void deleteFile(final File file) {
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Could not delete: {}", file.getAbsolutePath());
+        }
+    }
+
+    private static String getBaseName(final String filename) {
+        final int dotIndex = filename.lastIndexOf('.');
+        return dotIndex != -1 ? filename.substring(0, dotIndex) : filename;
+    }
+
+    /**
+     * Starts an ffmpeg process.
+     */
+    @FunctionalInterface
+    private interface FfmpegCommand {
+
+        Process start() throws IOException;
+    }
+}
@@ -4,45 +4,92 @@
  */
 package com.myinterviewbot.service.whisper;
 
+import com.myinterviewbot.model.TranscriptStats;
+import com.myinterviewbot.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service responsible for using Open-AI Whisper to transcribe audio to text.
  *
+ * <p>Audio files are transcribed with the {@code whisper} command. Raw PCM audio is sent to a small Python
+ * script that passes it to the Whisper library as a sample array, because the {@code whisper} command
+ * can only read files.</p>
+ *
  * @author Alan Quintero
  */
 @Service
-public class OpenAiWhisper implements Whisper {
+public class OpenAiWhisper implements PcmWhisper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenAiWhisper.class);
 
+    static final String MODEL = "base";
+    static final String LANGUAGE = "en";
+
+    // Reads signed 16-bit PCM from stdin and prints the transcript, arguments: model, language
+    private static final String PCM_SCRIPT = String.join("\n",
+            "import sys, numpy, whisper",
+            "model = whisper.load_model(sys.argv[1])",
+            "audio = numpy.frombuffer(sys.stdin.buffer.read(), numpy.int16).astype(numpy.float32) / 32768.0",
+            "result = model.transcribe(audio, language=sys.argv[2])",
+            "sys.stdout.write(result['text'].strip())");
+
+    private final String python;
+
+    public OpenAiWhisper() {
+        this("python3");
+    }
+
+    /**
+     * @param python the Python executable where the Whisper library is installed, used for raw PCM audio
+     */
+    public OpenAiWhisper(final String python) {
+        this.python = python;
+    }
+
     @Override
     public String transcribe(final File audioFile) {
+        return transcribe(audioFile, null);
+    }
+
+    @Override
+    public String transcribe(final File audioFile, final TranscriptStats stats) {
         LOGGER.info("Transcribing audio file...");
         try {
             final ProcessBuilder pb = new ProcessBuilder(
                     "whisper",
                     audioFile.getAbsolutePath(),
-                    "--model", "base",
-                    "--language", "en",
+                    "--model", MODEL,
+                    "--language", LANGUAGE,
                     "--output_format", "txt",
                     "--output_dir", audioFile.getParent()
             );
 
             pb.redirectErrorStream(true);
+            // The output is not used, discard it so the process never blocks on a full pipe
+            pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
             final Process process = pb.start();
-            process.waitFor();
+            final long cpuMillis = Utils.waitForProcess(process);
 
             // Whisper saves a file like filename.txt
-            final String baseName = audioFile.getName().replaceFirst("\\.mp3$", "");
+            final String baseName = audioFile.getName().replaceFirst("\\.[^.]+$", "");
             final File transcriptFile = new File(audioFile.getParentFile(), baseName + ".txt");
             if (!transcriptFile.exists()) {
                 throw new RuntimeException("Whisper transcription failed — no output file found.");
             }
+            if (stats != null) {
+                stats.setWhisperCpuMillis(stats.getWhisperCpuMillis() + cpuMillis);
+                stats.addBytesWritten(transcriptFile.length());
+            }
 
             final String transcript = new String(java.nio.file.Files.readAllBytes(transcriptFile.toPath()));
             LOGGER.info("Text generated from audio file: {}", transcript);
@@ -52,4 +99,42 @@ public class OpenAiWhisper implements Whisper {
         }
         return null;
     }
+
+    @Override
+    public String transcribePcm(final InputStream pcm, final TranscriptStats stats) {
+        LOGGER.info("Transcribing PCM audio...");
+        try {
+            final ProcessBuilder pb = new ProcessBuilder(python, "-c", PCM_SCRIPT, MODEL, LANGUAGE);
+            pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+            final Process process = pb.start();
+
+            // The transcript is read in the background, so the CPU time can be sampled while Whisper runs
+            final CompletableFuture<String> output = CompletableFuture.supplyAsync(() -> {
+                try (InputStream stdout = process.getInputStream()) {
+                    return new String(stdout.readAllBytes(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            try (OutputStream stdin = process.getOutputStream()) {
+                pcm.transferTo(stdin);
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+            final long cpuMillis = Utils.waitForProcess(process);
+            final String transcript = output.join();
+            if (process.exitValue() != 0) {
+                throw new RuntimeException("Whisper PCM transcription failed with exit code " + process.exitValue());
+            }
+            if (stats != null) {
+                stats.setWhisperCpuMillis(stats.getWhisperCpuMillis() + cpuMillis);
+            }
+            LOGGER.info("Text generated from PCM audio: {}", transcript);
+            return transcript;
+        } catch (Exception e) {
+            LOGGER.error("Whisper PCM transcription failed.", e);
+        }
+        return null;
+    }
 }
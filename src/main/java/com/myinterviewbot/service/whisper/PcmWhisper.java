@@ -0,0 +1,26 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.whisper;
+
+import com.myinterviewbot.model.TranscriptStats;
+
+import java.io.InputStream;
+
+/**
+ * Interface for Whisper Services that can transcribe raw PCM audio, so the audio never has to be written to disk.
+ *
+ * @author Alan Quintero
+ */
+public interface PcmWhisper extends Whisper {
+
+    /**
+     * Transcribes raw 16 kHz mono PCM audio (signed 16-bit little-endian) read from the given stream.
+     *
+     * @param pcm   the PCM audio
+     * @param stats receives the CPU time and the bytes written, can be {@code null}
+     * @return the transcript, or {@code null} if the audio could not be transcribed
+     */
+    String transcribePcm(final InputStream pcm, final TranscriptStats stats);
+}
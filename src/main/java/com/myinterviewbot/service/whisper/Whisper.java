@@ -4,6 +4,8 @@
  */
 package com.myinterviewbot.service.whisper;
 
+import com.myinterviewbot.model.TranscriptStats;
+
 import java.io.File;
 
 /**
@@ -14,4 +16,15 @@ import java.io.File;
 public interface Whisper {
 
     String transcribe(final File audioFile);
+
+    /**
+     * Transcribes an audio file, recording the CPU time and the bytes written by the transcription.
+     *
+     * @param audioFile the audio file to transcribe
+     * @param stats     receives the CPU time and the bytes written, can be {@code null}
+     * @return the transcript, or {@code null} if the audio could not be transcribed
+     */
+    default String transcribe(final File audioFile, final TranscriptStats stats) {
+        return transcribe(audioFile);
+    }
 }
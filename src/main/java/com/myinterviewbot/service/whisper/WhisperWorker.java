@@ -0,0 +1,352 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.whisper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myinterviewbot.model.TranscriptStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whisper service that keeps a Whisper model loaded in a long-lived Python process (the worker), instead of
+ * starting the {@code whisper} command and loading the model again for every answer.
+ *
+ * <p>The worker reads one JSON request per line from its stdin and writes one JSON response per line to its stdout:</p>
+ * <ul>
+ *   <li>{@code {"id":1,"type":"file","file":"/path/audio.wav"}} transcribes an audio file.</li>
+ *   <li>{@code {"id":2,"type":"pcm"}} is followed by the raw 16 kHz PCM audio in chunks, each one prefixed with its
+ *   length as a 4-byte big-endian integer, and a chunk of length 0 at the end.</li>
+ *   <li>{@code {"id":3,"type":"ping"}} is answered with a {@code pong}, used by the health check.</li>
+ * </ul>
+ * <p>Responses have the id of the request and are {@code transcript} (with the {@code text}) or {@code error}.
+ * When the model is loaded the worker writes {@code {"id":0,"type":"ready"}}.</p>
+ *
+ * <p>Requests are sent one at a time. The worker is started in the background by the first health check, so the
+ * model is already loaded for the first answer. If the worker exits, or does not answer in time, it is stopped and
+ * started again by the next request or health check.</p>
+ *
+ * @author Alan Quintero
+ */
+public class WhisperWorker implements PcmWhisper, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WhisperWorker.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final long PING_TIMEOUT_MS = 10_000;
+
+    private static final int PCM_CHUNK_SIZE = 64 * 1024;
+
+    // Arguments: model, language. Anything the libraries print goes to stderr, stdout is only for responses
+    private static final String WORKER_SCRIPT = String.join("\n",
+            "import sys, json, struct, numpy, whisper",
+            "out = sys.stdout",
+            "sys.stdout = sys.stderr",
+            "stdin = sys.stdin.buffer",
+            "def reply(response):",
+            "    out.write(json.dumps(response) + '\\n')",
+            "    out.flush()",
+            "model = whisper.load_model(sys.argv[1])",
+            "reply({'id': 0, 'type': 'ready'})",
+            "while True:",
+            "    line = stdin.readline()",
+            "    if not line:",
+            "        break",
+            "    request = json.loads(line)",
+            "    try:",
+            "        if request['type'] == 'ping':",
+            "            reply({'id': request['id'], 'type': 'pong'})",
+            "            continue",
+            "        if request['type'] == 'pcm':",
+            "            chunks = []",
+            "            while True:",
+            "                size = struct.unpack('>I', stdin.read(4))[0]",
+            "                if size == 0:",
+            "                    break",
+            "                chunks.append(stdin.read(size))",
+            "            audio = numpy.frombuffer(b''.join(chunks), numpy.int16).astype(numpy.float32) / 32768.0",
+            "        else:",
+            "            audio = request['file']",
+            "        text = model.transcribe(audio, language=sys.argv[2])['text'].strip()",
+            "        reply({'id': request['id'], 'type': 'transcript', 'text': text})",
+            "    except Exception as e:",
+            "        reply({'id': request['id'], 'type': 'error', 'error': str(e)})");
+
+    private final List<String> command;
+    private final long startTimeoutMs;
+    private final long requestTimeoutMs;
+    private final ScheduledExecutorService healthChecker;
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private Process process;
+    private DataOutputStream stdin;
+    private BlockingQueue<JsonNode> responses;
+    private boolean started;
+    private int restarts;
+    private volatile boolean closed;
+
+    /**
+     * Creates the worker client, the worker is started by the first health check or request.
+     *
+     * @param python                the Python executable where the Whisper library is installed
+     * @param startTimeoutSeconds   max seconds to wait for the worker to load the model
+     * @param requestTimeoutSeconds max seconds to wait for a transcript
+     * @param healthCheckSeconds    seconds between health checks, 0 to disable them
+     */
+    public WhisperWorker(final String python, final long startTimeoutSeconds, final long requestTimeoutSeconds, final long healthCheckSeconds) {
+        this(List.of(python, "-u", "-c", WORKER_SCRIPT, OpenAiWhisper.MODEL, OpenAiWhisper.LANGUAGE),
+                startTimeoutSeconds * 1000, requestTimeoutSeconds * 1000, healthCheckSeconds * 1000);
+    }
+
+    WhisperWorker(final List<String> command, final long startTimeoutMs, final long requestTimeoutMs, final long healthCheckMs) {
+        this.command = command;
+        this.startTimeoutMs = startTimeoutMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "whisper-worker-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (healthCheckMs > 0) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String transcribe(final File audioFile) {
+        return transcribe(audioFile, null);
+    }
+
+    @Override
+    public String transcribe(final File audioFile, final TranscriptStats stats) {
+        LOGGER.info("Transcribing audio file with the Whisper worker...");
+        final ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        request.put("type", "file");
+        request.put("file", audioFile.getAbsolutePath());
+        return sendTranscriptRequest(request, null, stats);
+    }
+
+    @Override
+    public String transcribePcm(final InputStream pcm, final TranscriptStats stats) {
+        LOGGER.info("Transcribing PCM audio with the Whisper worker...");
+        final ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        request.put("type", "pcm");
+        return sendTranscriptRequest(request, pcm, stats);
+    }
+
+    /**
+     * Returns if the worker process is running.
+     *
+     * @return {@code true} if the worker is running
+     */
+    public synchronized boolean isRunning() {
+        return process != null && process.isAlive();
+    }
+
+    /**
+     * Returns the number of times the worker was started again after it exited or stopped answering.
+     *
+     * @return the number of restarts
+     */
+    public synchronized int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Stops the health checks and the worker.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        healthChecker.shutdownNow();
+        synchronized (this) {
+            stop();
+        }
+    }
+
+    private String sendTranscriptRequest(final ObjectNode request, final InputStream pcm, final TranscriptStats stats) {
+        try {
+            final JsonNode response = send(request, pcm, stats, requestTimeoutMs);
+            if (!"transcript".equals(response.path("type").asText())) {
+                LOGGER.error("Whisper worker transcription failed: {}", response.path("error").asText());
+                return null;
+            }
+            final String transcript = response.path("text").asText();
+            LOGGER.info("Text generated by the Whisper worker: {}", transcript);
+            return transcript;
+        } catch (Exception e) {
+            LOGGER.error("Whisper worker transcription failed.", e);
+        }
+        return null;
+    }
+
+    private void checkHealth() {
+        if (closed) {
+            return;
+        }
+        try {
+            final ObjectNode request = OBJECT_MAPPER.createObjectNode();
+            request.put("type", "ping");
+            send(request, null, null, PING_TIMEOUT_MS);
+        } catch (Exception e) {
+            LOGGER.warn("Whisper worker health check failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a request to the worker, starting it if needed, and waits for its response.
+     * If the worker fails or does not answer in time it is stopped, so the next request starts it again.
+     */
+    private synchronized JsonNode send(final ObjectNode request, final InputStream pcm, final TranscriptStats stats,
+                                       final long timeoutMs) throws IOException, TimeoutException, InterruptedException {
+        if (closed) {
+            throw new IOException("Whisper worker is closed");
+        }
+        ensureStarted();
+
+        final long requestId = requestIds.incrementAndGet();
+        request.put("id", requestId);
+        final long startCpuMillis = getCpuMillis(process);
+        try {
+            stdin.write(OBJECT_MAPPER.writeValueAsBytes(request));
+            stdin.write('\n');
+            if (pcm != null) {
+                final byte[] buffer = new byte[PCM_CHUNK_SIZE];
+                int read;
+                while ((read = pcm.read(buffer)) != -1) {
+                    if (read > 0) {
+                        stdin.writeInt(read);
+                        stdin.write(buffer, 0, read);
+                    }
+                }
+                stdin.writeInt(0);
+            }
+            stdin.flush();
+
+            final JsonNode response = awaitResponse(requestId, timeoutMs);
+            if (stats != null) {
+                stats.setWhisperCpuMillis(stats.getWhisperCpuMillis() + Math.max(0, getCpuMillis(process) - startCpuMillis));
+            }
+            return response;
+        } catch (IOException | TimeoutException | InterruptedException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    private void ensureStarted() throws IOException, TimeoutException, InterruptedException {
+        if (process != null && process.isAlive()) {
+            return;
+        }
+        if (process != null) {
+            LOGGER.warn("Whisper worker exited with code {}", process.exitValue());
+            stop();
+        }
+        if (started) {
+            restarts++;
+            LOGGER.warn("Restarting Whisper worker (restart {})", restarts);
+        }
+        started = true;
+
+        LOGGER.info("Starting Whisper worker...");
+        final long startTime = System.currentTimeMillis();
+        final ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        process = pb.start();
+        stdin = new DataOutputStream(process.getOutputStream());
+        responses = new LinkedBlockingQueue<>();
+        startReader(process, responses);
+
+        try {
+            awaitResponse(0, startTimeoutMs);
+        } catch (IOException | TimeoutException | InterruptedException e) {
+            stop();
+            throw e;
+        }
+        LOGGER.info("Whisper worker ready in {} ms", System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Reads the responses of the worker in the background. When the worker exits, a {@link NullNode} is added,
+     * so a request waiting for its response fails right away.
+     */
+    private static void startReader(final Process process, final BlockingQueue<JsonNode> responses) {
+        final Thread reader = new Thread(() -> {
+            try (BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = stdout.readLine()) != null) {
+                    try {
+                        responses.add(OBJECT_MAPPER.readTree(line));
+                    } catch (IOException e) {
+                        LOGGER.debug("Ignoring Whisper worker output: {}", line);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Whisper worker output closed: {}", e.getMessage());
+            }
+            responses.add(NullNode.getInstance());
+        }, "whisper-worker-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private JsonNode awaitResponse(final long requestId, final long timeoutMs) throws IOException, TimeoutException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            final long remainingMs = deadline - System.currentTimeMillis();
+            final JsonNode response = remainingMs > 0 ? responses.poll(remainingMs, TimeUnit.MILLISECONDS) : null;
+            if (response == null) {
+                throw new TimeoutException("Whisper worker did not answer in " + timeoutMs + " ms");
+            }
+            if (response.isNull()) {
+                throw new IOException("Whisper worker exited");
+            }
+            // Responses of requests that already timed out are skipped
+            if (response.path("id").asLong(-1) == requestId) {
+                return response;
+            }
+        }
+    }
+
+    private void stop() {
+        if (process == null) {
+            return;
+        }
+        process.destroyForcibly();
+        try {
+            stdin.close();
+        } catch (IOException e) {
+            LOGGER.debug("Failed to close Whisper worker input: {}", e.getMessage());
+        }
+        process = null;
+        stdin = null;
+        responses = null;
+    }
+
+    private static long getCpuMillis(final Process process) {
+        return process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+    }
+}
@@ -6,6 +6,7 @@ package com.myinterviewbot.system;
 
 import com.myinterviewbot.model.SystemRequirements;
 import com.myinterviewbot.service.SettingsService;
+import com.myinterviewbot.service.ai.model.OllamaHttpService;
 import com.myinterviewbot.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import oshi.hardware.CentralProcessor;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.GraphicsCard;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -46,6 +48,15 @@ public class SystemChecker {
     @Value("${ai.provider}")
     private String aiProvider;
 
+    @Value("${ai.ollama.base-url:http://localhost:11434}")
+    private String ollamaBaseUrl;
+
+    @Value("${ai.ollama.api:generate}")
+    private String ollamaApi;
+
+    @Value("${ai.ollama.timeout-seconds:90}")
+    private long ollamaTimeoutSeconds;
+
     @Value("${whisper.provider}")
     private String whisperProvider;
 
@@ -65,6 +76,8 @@ public class SystemChecker {
 
     private String whisperProviderMessage = "";
 
+    private OllamaHttpService ollamaHttpService;
+
     private final SystemInfo systemInfo;
 
     private final SystemRequirements systemRequirements;
@@ -195,7 +208,18 @@ public class SystemChecker {
 
     // ---------------- AI Provider ----------------
     private boolean checkAiProviderInstalled() {
-        if ("ollama".equalsIgnoreCase(aiProvider)) {
+        if (isOllamaHttpProvider()) {
+            // The Ollama server can run on another machine, without the CLI
+            try {
+                final String version = getOllamaHttpService().getVersion();
+                LOGGER.info("✅ Ollama server detected at {}: {}", ollamaBaseUrl, version);
+                return true;
+            } catch (IOException e) {
+                aiProviderMessage = "❌ Ollama server not reachable at " + ollamaBaseUrl + ".";
+                LOGGER.warn("{} : {}", aiProviderMessage, e.getMessage());
+                return false;
+            }
+        } else if (isOllamaProvider()) {
             try {
                 String output = runCommand("ollama --version");
                 boolean installed = output.toLowerCase().contains("ollama");
@@ -221,23 +245,9 @@ public class SystemChecker {
 
     // ---------------- AI model ----------------
     public boolean checkAiModelInstalled() {
-        if ("ollama".equalsIgnoreCase(aiProvider)) {
+        if (isOllamaProvider()) {
             try {
-                String output = runCommand("ollama list");
-                String[] lines = output.split("\\r?\\n");
-
-                // Extract model list for settings
-                final List<String> models = new ArrayList<>();
-                for (int i = 1; i < lines.length; i++) {
-                    String line = lines[i].trim();
-                    if (line.isEmpty()) continue;
-
-                    // First column is model name
-                    String[] columns = line.split("\\s+");
-                    if (columns.length > 0) {
-                        models.add(columns[0]);
-                    }
-                }
+                final List<String> models = isOllamaHttpProvider() ? getOllamaHttpService().listModels() : listOllamaCliModels();
                 SettingsService.getInstance().saveAiModels(models);
 
                 if (models.isEmpty()) {
@@ -262,6 +272,25 @@ public class SystemChecker {
         }
     }
 
+    private List<String> listOllamaCliModels() throws Exception {
+        String output = runCommand("ollama list");
+        String[] lines = output.split("\\r?\\n");
+
+        // Extract model list for settings
+        final List<String> models = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) continue;
+
+            // First column is model name
+            String[] columns = line.split("\\s+");
+            if (columns.length > 0) {
+                models.add(columns[0]);
+            }
+        }
+        return models;
+    }
+
     // ---------------- FFmpeg ----------------
     private boolean checkFfmpegInstalled() {
         try {
@@ -283,7 +312,8 @@ public class SystemChecker {
 
     // ---------------- Whisper ----------------
     private boolean checkWhisperInstalled() {
-        if ("openai-whisper".equalsIgnoreCase(whisperProvider)) {
+        // The Whisper worker uses the same openai-whisper package
+        if ("openai-whisper".equalsIgnoreCase(whisperProvider) || "whisper-worker".equalsIgnoreCase(whisperProvider)) {
             try {
                 String output = runCommand("whisper --help");
                 if (output.toLowerCase().contains("usage") || output.toLowerCase().contains("options")) {
@@ -307,6 +337,21 @@ public class SystemChecker {
     }
 
     // ---------------- Helper Methods ----------------
+    private boolean isOllamaProvider() {
+        return "ollama".equalsIgnoreCase(aiProvider) || "ollama-http".equalsIgnoreCase(aiProvider);
+    }
+
+    private boolean isOllamaHttpProvider() {
+        return "ollama-http".equalsIgnoreCase(aiProvider);
+    }
+
+    private OllamaHttpService getOllamaHttpService() {
+        if (ollamaHttpService == null) {
+            ollamaHttpService = new OllamaHttpService(ollamaBaseUrl, ollamaApi, ollamaTimeoutSeconds);
+        }
+        return ollamaHttpService;
+    }
+
     private String runCommand(String command) throws Exception {
         String os = System.getProperty("os.name").toLowerCase();
         ProcessBuilder builder;
@@ -0,0 +1,204 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.utils;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Utility class providing helper methods for the JSON generated by the AI model.
+ *
+ * @author Alan Quintero
+ */
+public class JsonUtils {
+
+    /**
+     * Shared mapper that accepts the small mistakes AI models make when writing JSON
+     * (unquoted field names, single quotes, trailing commas, comments) and ignores unknown fields.
+     */
+    public static final ObjectMapper LENIENT_MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    /**
+     * Creates the JSON schema of an object with the given class fields, all of them required.
+     * Used to ask the AI model for JSON with exactly those fields.
+     *
+     * @param type the class with the fields
+     * @return the JSON schema
+     */
+    public static ObjectNode createJsonSchema(final Class<?> type) {
+        final List<String> fieldNames = new ArrayList<>();
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fieldNames.add(field.getName());
+            }
+        }
+        return createJsonSchema(type, fieldNames);
+    }
+
+    /**
+     * Creates the JSON schema of an object with only the given fields of the class, all of them required.
+     *
+     * @param type       the class with the fields
+     * @param fieldNames the fields to include
+     * @return the JSON schema
+     */
+    public static ObjectNode createJsonSchema(final Class<?> type, final Collection<String> fieldNames) {
+        final ObjectNode schema = LENIENT_MAPPER.createObjectNode();
+        schema.put("type", "object");
+        final ObjectNode properties = schema.putObject("properties");
+        final ArrayNode required = schema.putArray("required");
+        for (final String fieldName : fieldNames) {
+            try {
+                final Class<?> fieldType = type.getDeclaredField(fieldName).getType();
+                properties.putObject(fieldName).put("type", getJsonType(fieldType));
+                required.add(fieldName);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException(type.getSimpleName() + " has no field " + fieldName, e);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Finds the first JSON object in the text and, if the text ends before the object is complete
+     * (e.g. the AI model reached its token limit), repairs it: an open string is closed, the last
+     * incomplete field is removed if needed, and the open objects and arrays are closed.
+     *
+     * <p>The text is read only once, keeping the position of every comma, so the repair only has to try
+     * cutting the text at those positions.</p>
+     *
+     * @param text the AI model output
+     * @return the JSON object, repaired if it was incomplete, or {@code null} if there is no usable JSON object
+     */
+    public static String repairJson(final String text) {
+        if (text == null) {
+            return null;
+        }
+        final int start = text.indexOf('{');
+        if (start == -1) {
+            return null;
+        }
+
+        final StringBuilder json = new StringBuilder();
+        final Deque<Character> closers = new ArrayDeque<>();
+        // Places where the JSON can be cut: the length before every comma and the closers needed at that point
+        final List<Integer> cutLengths = new ArrayList<>();
+        final List<String> cutClosers = new ArrayList<>();
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = start; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (inString) {
+                json.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '{' -> closers.push('}');
+                case '[' -> closers.push(']');
+                case '}', ']' -> {
+                    if (closers.isEmpty() || closers.peek() != c) {
+                        // Not valid JSON, nothing to repair
+                        return null;
+                    }
+                    closers.pop();
+                }
+                case ',' -> {
+                    cutLengths.add(json.length());
+                    cutClosers.add(toString(closers));
+                }
+                default -> {
+                }
+            }
+            json.append(c);
+
+            if (closers.isEmpty()) {
+                // The object is complete, the rest of the text is not part of it
+                return isValidJson(json.toString()) ? json.toString() : null;
+            }
+        }
+
+        // The text ended before the object was complete
+        if (escaped) {
+            json.setLength(json.length() - 1);
+        }
+        final String candidate = json + (inString ? "\"" : "") + toString(closers);
+        if (isValidJson(candidate)) {
+            return candidate;
+        }
+        for (int i = cutLengths.size() - 1; i >= 0; i--) {
+            final String cutCandidate = json.substring(0, cutLengths.get(i)) + cutClosers.get(i);
+            if (isValidJson(cutCandidate)) {
+                return cutCandidate;
+            }
+        }
+        // Not even the first field is complete
+        return "{}";
+    }
+
+    private static String getJsonType(final Class<?> fieldType) {
+        if (fieldType == int.class || fieldType == long.class || fieldType == Integer.class || fieldType == Long.class) {
+            return "integer";
+        }
+        if (fieldType == double.class || fieldType == float.class || fieldType == Double.class || fieldType == Float.class) {
+            return "number";
+        }
+        if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return "boolean";
+        }
+        if (Collection.class.isAssignableFrom(fieldType) || fieldType.isArray()) {
+            return "array";
+        }
+        if (fieldType == String.class || fieldType.isEnum()) {
+            return "string";
+        }
+        return "object";
+    }
+
+    private static String toString(final Deque<Character> closers) {
+        final StringBuilder sb = new StringBuilder();
+        for (final Character closer : closers) {
+            sb.append(closer);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isValidJson(final String json) {
+        try {
+            LENIENT_MAPPER.readTree(json);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
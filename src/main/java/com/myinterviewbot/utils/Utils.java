@@ -6,15 +6,26 @@ package com.myinterviewbot.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myinterviewbot.model.Evaluation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,6 +42,8 @@ public class Utils {
 
     public final static String INTERVIEWS_DIR = "uploads/interviews/";
 
+    private static final long PROCESS_CPU_SAMPLE_MS = 100;
+
     private static boolean slowSystemDetected = false;
 
     /**
@@ -38,7 +51,8 @@ public class Utils {
      *
      * <p>The method generates a directory based on the current timestamp and the original
      * filename (without the ".webm" extension), creates the directory if it does not exist,
-     * and then writes the contents of the uploaded file into this directory.</p>
+     * and then streams the contents of the uploaded file into this directory, so the video
+     * is never loaded in memory.</p>
      *
      * <p>Example:</p>
      * <pre>
@@ -52,24 +66,9 @@ public class Utils {
      */
     public static File saveVideo(final MultipartFile file) {
         try {
-            // Ensure base upload directory exists
-            final File uploadsDir = new File(INTERVIEWS_DIR);
-            if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
-                throw new IOException("Failed to create uploads/interviews directory");
-            }
-
-            // Generate timestamped filename and directory
-            final String filename = System.currentTimeMillis() + "-" + file.getOriginalFilename();
-            final String baseName = filename.replaceFirst("\\.webm$", "");
-            final File recordDir = new File(INTERVIEWS_DIR + baseName);
-            if (!recordDir.exists() && !recordDir.mkdirs()) {
-                throw new IOException("Failed to create record directory: " + recordDir.getAbsolutePath());
-            }
-
-            // Save video file
-            final File videoFile = new File(recordDir, filename);
-            try (FileOutputStream fos = new FileOutputStream(videoFile)) {
-                fos.write(file.getBytes());
+            final File videoFile = createVideoFile(file.getOriginalFilename());
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, videoFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
             return videoFile;
         } catch (Exception e) {
@@ -78,6 +77,34 @@ public class Utils {
         return null;
     }
 
+    /**
+     * Creates the timestamped directory of a new video under "uploads/interviews/" and returns
+     * the file where the video must be saved, see {@link #saveVideo(MultipartFile)}.
+     *
+     * @param originalFilename the filename sent by the browser
+     * @return the video file, not created yet
+     * @throws IOException if a directory could not be created
+     */
+    public static File createVideoFile(final String originalFilename) throws IOException {
+        // Ensure base upload directory exists
+        final File uploadsDir = new File(INTERVIEWS_DIR);
+        if (!uploadsDir.exists() && !uploadsDir.mkdirs()) {
+            throw new IOException("Failed to create uploads/interviews directory");
+        }
+
+        // Generate timestamped filename and directory, keeping only the name of the original file
+        final String name = originalFilename == null || originalFilename.isBlank() ? "answer.webm" : new File(originalFilename).getName();
+        final String filename = System.currentTimeMillis() + "-" + name;
+        // Without the extension, like getVideoUrl, so audio recordings (e.g. ".weba" or ".wav") are found too
+        final int dotIndex = filename.indexOf('.');
+        final String baseName = dotIndex != -1 ? filename.substring(0, dotIndex) : filename;
+        final File recordDir = new File(INTERVIEWS_DIR + baseName);
+        if (!recordDir.exists() && !recordDir.mkdirs()) {
+            throw new IOException("Failed to create record directory: " + recordDir.getAbsolutePath());
+        }
+        return new File(recordDir, filename);
+    }
+
 
     /**
      * Deletes all interview folders inside the uploads/interviews directory.
@@ -174,6 +201,43 @@ public class Utils {
         return wordCount;
     }
 
+    /**
+     * Cuts the text after the last complete sentence (ending with '.', '?' or '!') within the given number of words.
+     * Used to shorten a too long AI model answer without asking the model again.
+     *
+     * @param text     the text to cut
+     * @param maxWords the max number of words of the result
+     * @return the complete sentences within the max number of words, or an empty string if there is none
+     */
+    public static String truncateAtSentence(final String text, final int maxWords) {
+        if (text == null || text.isBlank() || maxWords <= 0) {
+            return "";
+        }
+        final String trimmedText = text.trim();
+        if (countWords(trimmedText) <= maxWords) {
+            return trimmedText;
+        }
+
+        // The end of the first maxWords words
+        int end = 0;
+        int words = 0;
+        while (end < trimmedText.length() && words < maxWords) {
+            end = trimmedText.indexOf(' ', end + 1);
+            if (end == -1) {
+                end = trimmedText.length();
+            }
+            words++;
+        }
+
+        for (int i = end - 1; i >= 0; i--) {
+            final char c = trimmedText.charAt(i);
+            if (c == '.' || c == '?' || c == '!') {
+                return trimmedText.substring(0, i + 1).trim();
+            }
+        }
+        return "";
+    }
+
     /**
      * Removes all double quotes from the given response string.
      *
@@ -266,6 +330,120 @@ public class Utils {
         return System.getProperty("os.name");
     }
 
+    /**
+     * Waits for a process to finish and returns the CPU time it used.
+     *
+     * <p>The CPU time of a process cannot be read once it has finished, so it is sampled while the process
+     * runs; the last sample can miss the CPU used in the final moments of the process.</p>
+     *
+     * @param process the running process
+     * @return the CPU time used by the process, in milliseconds
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public static long waitForProcess(final Process process) throws InterruptedException {
+        long cpuMillis = 0;
+        while (!process.waitFor(PROCESS_CPU_SAMPLE_MS, TimeUnit.MILLISECONDS)) {
+            cpuMillis = process.info().totalCpuDuration().map(Duration::toMillis).orElse(cpuMillis);
+        }
+        return cpuMillis;
+    }
+
+    /**
+     * Saves raw mono PCM audio (signed 16-bit little-endian) as a WAV file.
+     *
+     * @param wavFile    the WAV file to write
+     * @param pcm        the PCM audio
+     * @param length     the number of PCM bytes to write
+     * @param sampleRate the sample rate of the audio
+     * @throws IOException if the file could not be written
+     */
+    public static void writeWav(final File wavFile, final byte[] pcm, final int length, final int sampleRate) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + length);
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1) // PCM
+                .putShort((short) 1) // mono
+                .putInt(sampleRate)
+                .putInt(sampleRate * 2) // bytes per second
+                .putShort((short) 2) // bytes per sample
+                .putShort((short) 16); // bits per sample
+        header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(length);
+        try (OutputStream outputStream = Files.newOutputStream(wavFile.toPath())) {
+            outputStream.write(header.array());
+            outputStream.write(pcm, 0, length);
+        }
+    }
+
+    /**
+     * Returns the position of the audio samples of a WAV file that is already in the format used by Whisper
+     * (16 kHz mono, signed 16-bit PCM), so it can be transcribed without converting it with ffmpeg.
+     *
+     * @param audioFile the recorded file
+     * @return the position of the first audio sample, or -1 if the file is not a WAV file in that format
+     */
+    public static long getPcmDataOffset(final File audioFile) {
+        if (!audioFile.getName().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            return -1;
+        }
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(audioFile.toPath()))) {
+            final ByteBuffer riff = ByteBuffer.wrap(inputStream.readNBytes(12)).order(ByteOrder.LITTLE_ENDIAN);
+            if (riff.limit() < 12 || riff.getInt(0) != 0x46464952 || riff.getInt(8) != 0x45564157) { // "RIFF", "WAVE"
+                return -1;
+            }
+            long offset = 12;
+            boolean whisperFormat = false;
+            while (true) {
+                final ByteBuffer chunk = ByteBuffer.wrap(inputStream.readNBytes(8)).order(ByteOrder.LITTLE_ENDIAN);
+                if (chunk.limit() < 8) {
+                    return -1;
+                }
+                final String chunkId = new String(chunk.array(), 0, 4, StandardCharsets.US_ASCII);
+                final long chunkSize = chunk.getInt(4) & 0xffffffffL;
+                offset += 8;
+                if ("data".equals(chunkId)) {
+                    return whisperFormat ? offset : -1;
+                }
+                final byte[] data = inputStream.readNBytes((int) Math.min(chunkSize, 64));
+                inputStream.skipNBytes(chunkSize - data.length + chunkSize % 2);
+                offset += chunkSize + chunkSize % 2;
+                if ("fmt ".equals(chunkId) && data.length >= 16) {
+                    final ByteBuffer format = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+                    whisperFormat = format.getShort(0) == 1 // PCM
+                            && format.getShort(2) == 1 // mono
+                            && format.getInt(4) == 16000
+                            && format.getShort(14) == 16; // bits per sample
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read the WAV header of {}: {}", audioFile.getName(), e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the average of the scores of an evaluation. A score of 0 means the dimension was not evaluated,
+     * so it is not counted, as in the score summary.
+     *
+     * @param evaluation the evaluation, can be {@code null}
+     * @return the average score, or 0 if nothing was evaluated
+     */
+    public static double getAverageScore(final Evaluation evaluation) {
+        if (evaluation == null) {
+            return 0;
+        }
+        int count = 0;
+        int total = 0;
+        for (final int score : new int[]{evaluation.getClarityScore(), evaluation.getStructureScore(), evaluation.getRelevanceScore(),
+                evaluation.getCommunicationScore(), evaluation.getDepthScore()}) {
+            if (score > 0) {
+                count++;
+                total += score;
+            }
+        }
+        return count > 0 ? (double) total / count : 0;
+    }
+
     public static boolean isSlowSystemDetected() {
         return slowSystemDetected;
     }
@@ -2,6 +2,8 @@ import {appState} from './globalState.js';
 import {checkSlowPromptResponse} from './system-requirements.js';
 
 const PLEASE_TRY_AGAIN = "Something went wrong. Please try again.";
+const AI_MODEL_BUSY = "The AI model is busy, please try again in a moment.";
+const PROMPT_REJECTED_ERROR = "PromptRejectedError";
 
 /* Behavioral section */
 const inputProfession = document.getElementById("inputProfession");
@@ -65,10 +67,29 @@ const MAX_RECORDING_TIME = 150; // in seconds (2 minutes 30 seconds)
 const RECORD_VIDEO_AGAIN_TXT = "Click to record again →";
 const RECORD_BTN_IMG_URL = "img/button/record.png";
 const STOP_RECORD_BTN_IMG_URL = "img/button/stop.gif";
+const UPLOAD_CHUNK_SIZE = 2 * 1024 * 1024; // 2 MB per upload request
+const UPLOAD_MAX_RETRIES = 3;
+const TRANSCRIPT_JOB_POLL_INTERVAL = 2000; // in milliseconds
+const LIVE_SEGMENT_INTERVAL = 5000; // in milliseconds, recorded segments sent while recording
+const VIDEO_RECORDING_TYPE = {mimeType: "video/webm; codecs=vp8,opus", filename: "answer.webm"};
+// Audio-only recordings, the first one supported by the browser is used
+const AUDIO_RECORDING_TYPES = [
+    {mimeType: "audio/webm; codecs=opus", filename: "answer.weba"},
+    {mimeType: "audio/ogg; codecs=opus", filename: "answer.ogg"},
+    {mimeType: "audio/mp4", filename: "answer.m4a"},
+];
+const AUDIO_BITS_PER_SECOND = 32000; // enough for speech
+const TRANSCRIPT_JOB_STAGE_TXT = {
+    QUEUED: "Waiting to transcribe...",
+    EXTRACTING_AUDIO: "Extracting audio...",
+    TRANSCRIBING: "Transcribing answer...",
+};
 let timerInterval;
 let mediaRecorder;
 let currentStream = null;
 let recordedChunks = [];
+let recordingType = VIDEO_RECORDING_TYPE;
+let liveTranscript = null;
 let isRecording = false;
 
 // Save question
@@ -206,19 +227,10 @@ async function generateQuestion(profession) {
             question: question,
         };
 
-        await fetch("/prompt/v1/generateQuestion", {
-                method: "POST",
-                headers: {
-                    'Content-Type': 'application/json'
-                },
-                body: JSON.stringify(promptRequest)
-            }
-        ).then(response => {
-            if (!response.ok) {
-                // Response status is not in the range 200–299
-                throw new Error(`HTTP error! Status: ${response.status}`);
-            }
-            return response.json();
+        // Show the question while the model is writing it
+        inputQuestion.value = "";
+        await streamPrompt("/prompt/v1/generateQuestion/stream", promptRequest, token => {
+            inputQuestion.value += token;
         })
             .then(data => {
                 if (!data) {
@@ -229,6 +241,7 @@ async function generateQuestion(profession) {
                 }
 
                 if (!data.promptResponse.question || data.promptResponse.question.trim() === '') {
+                    inputQuestion.value = "";
                     alert('No question was generated. Please try again.');
                 } else {
                     inputQuestion.value = data.promptResponse.question;
@@ -236,7 +249,7 @@ async function generateQuestion(profession) {
             })
             .catch(error => {
                 console.error('Error fetching data:', error);
-                alert(PLEASE_TRY_AGAIN);
+                alert(getErrorMessage(error));
             });
     } catch (err) {
         console.error(err);
@@ -288,6 +301,7 @@ nextQuestionBtn.addEventListener("click", async () => {
     feedbackEl.innerText = "";
     evaluationContainer.innerHTML = "";
     recordedChunks = [];
+    liveTranscript = null;
     timerInterval = null;
     mediaRecorder = null;
     currentStream = null;
@@ -321,6 +335,7 @@ function reset() {
     categorySelect.value = "";
     difficultySelect.value = "";
     recordedChunks = [];
+    liveTranscript = null;
     timerInterval = null;
     mediaRecorder = null;
     currentStream = null;
@@ -339,7 +354,7 @@ generateFeedbackBtn.addEventListener("click", async () => {
     }
     console.log("Generating feedback...");
     setResetButtonsDisabled(true);
-    const blob = new Blob(recordedChunks, {type: "video/webm"});
+    const blob = new Blob(recordedChunks, {type: recordingType.mimeType});
     await sendVideo(blob);
     setResetButtonsDisabled(false);
 });
@@ -360,15 +375,22 @@ recordBtn.addEventListener("click", async () => {
                 return;
             }
             recordedChunks = [];
-            mediaRecorder = new MediaRecorder(currentStream, {mimeType: 'video/webm; codecs=vp8,opus'});
+            liveTranscript = startLiveTranscript();
+            recordingType = getRecordingType();
+            mediaRecorder = appState.recordingMode === 'audio'
+                ? new MediaRecorder(currentStream, {mimeType: recordingType.mimeType, audioBitsPerSecond: AUDIO_BITS_PER_SECOND})
+                : new MediaRecorder(currentStream, {mimeType: recordingType.mimeType});
 
             mediaRecorder.ondataavailable = e => {
-                if (e.data.size > 0) recordedChunks.push(e.data);
+                if (e.data.size > 0) {
+                    recordedChunks.push(e.data);
+                    sendLiveSegment(liveTranscript, e.data);
+                }
             };
 
             mediaRecorder.onstop = () => {
                 console.log("Stop recording...");
-                const blob = new Blob(recordedChunks, {type: "video/webm"});
+                const blob = new Blob(recordedChunks, {type: recordingType.mimeType});
                 playbackEl.src = URL.createObjectURL(blob);
 
                 // Show Playback and Generate Feedback sections
@@ -376,7 +398,8 @@ recordBtn.addEventListener("click", async () => {
                 generateFeedbackSection.classList.remove("hidden");
             };
 
-            mediaRecorder.start();
+            // Segments are produced while recording, so the answer is transcribed before the recording ends
+            mediaRecorder.start(LIVE_SEGMENT_INTERVAL);
             isRecording = true;
             recordBtnImg.src = STOP_RECORD_BTN_IMG_URL;
             recordLabel.textContent = "";
@@ -468,11 +491,6 @@ async function sendVideo(blob) {
         return;
     }
 
-    const formData = new FormData();
-    formData.append("file", blob, "answer.webm");
-    formData.append("profession", inputProfession.value)
-    formData.append("question", inputQuestion.value)
-
     generateFeedbackBtn.disabled = true;
     loadingFeedback.classList.remove("hidden");
     loadingFeedbackText.innerText = "Loading transcript...";
@@ -481,11 +499,7 @@ async function sendVideo(blob) {
     stopCamera();
 
     try {
-        const res = await fetch("/api/v1/transcript", {
-            method: "POST",
-            body: formData
-        });
-        const transcript = await res.json();
+        const transcript = await transcribeRecording(blob);
 
         if (!transcript) {
             alert('No transcript was generated. Please try again.');
@@ -499,18 +513,18 @@ async function sendVideo(blob) {
             transcriptFeedbackContainer.classList.remove("hidden");
             transcriptSection.classList.remove("hidden");
             transcriptEl.innerText = transcript.transcript || "";
-            loadingFeedbackText.innerText = "Loading feedback...";
+            loadingFeedbackText.innerText = "Loading feedback and evaluation...";
 
-            const feedback = await generateFeedback(transcript);
+            // Feedback and evaluation are generated at the same time
+            const review = await generateReview(transcript);
+            const feedback = review?.feedback;
+            const evaluationResponse = review?.evaluation;
             checkSlowPromptResponse(feedback)
+            checkSlowPromptResponse(evaluationResponse)
 
             feedbackSection.classList.remove("hidden");
 
-            feedbackEl.innerText = feedback.promptResponse || "No feedback returned";
-
-            loadingFeedbackText.innerText = "Loading evaluation...";
-            const evaluationResponse = await generateEvaluation(transcript, feedback.promptResponse);
-            checkSlowPromptResponse(evaluationResponse.promptStats)
+            feedbackEl.innerText = feedback?.promptResponse || "No feedback returned";
 
             // Evaluation
             if (evaluationResponse?.promptResponse) {
@@ -565,44 +579,201 @@ async function sendVideo(blob) {
     }
 }
 
-// Call API to generate feedback
-async function generateFeedback(transcript) {
-    const question = {
-        question: inputQuestion.value,
+// Returns the transcript of the recording: the live transcript when every segment was received while recording,
+// otherwise the video is uploaded and transcribed as a whole.
+async function transcribeRecording(blob) {
+    const live = liveTranscript;
+    liveTranscript = null;
+    if (live) {
+        await live.chain;
+        if (!live.failed && live.offset === blob.size) {
+            try {
+                const res = await fetch(`/api/v1/transcript/live/${live.uploadId}/transcript?filename=${encodeURIComponent(recordingType.filename)}`, {
+                    method: "POST"
+                });
+                if (res.ok) {
+                    return await res.json();
+                }
+                console.warn("Live transcript not available: " + res.status);
+            } catch (err) {
+                console.warn("Live transcript not available", err);
+            }
+        }
     }
+    const job = await uploadVideo(blob, recordingType.filename);
+    return await waitForTranscript(job);
+}
 
-    const promptRequest = {
-        transcript: transcript,
-        profession: inputProfession.value,
-        question: question,
-    };
-
-    return await fetch("/prompt/v1/feedback", {
-        method: "POST",
-        headers: {
-            'Content-Type': 'application/json'
-        },
-        body: JSON.stringify(promptRequest)
-    }).then(response => {
-        if (!response.ok) {
-            // Response status is not in the range 200–299
-            throw new Error(`HTTP error! Status: ${response.status}`);
+// Returns the MIME type and file name of the recording. In audio mode only the audio is recorded, so the server
+// stores a much smaller file and does not have to demux a video to transcribe it.
+function getRecordingType() {
+    if (appState.recordingMode === 'audio') {
+        const audioType = AUDIO_RECORDING_TYPES.find(type => MediaRecorder.isTypeSupported(type.mimeType));
+        if (audioType) {
+            return audioType;
         }
-        return response.json();
-    })
-        .then(data => {
-            console.log('Data received:', data);
-            return data;
+    }
+    return VIDEO_RECORDING_TYPE;
+}
+
+// Starts a live transcript, the recorded segments are sent one after the other in its chain
+function startLiveTranscript() {
+    const live = {uploadId: null, offset: 0, failed: false};
+    live.chain = fetch("/api/v1/transcript/live", {method: "POST"})
+        .then(res => {
+            if (!res.ok) {
+                throw new Error("Failed to start the live transcript: " + res.status);
+            }
+            return res.json();
         })
-        .catch(error => {
-            console.error('Error generating feedback:', error);
-            alert(PLEASE_TRY_AGAIN);
-            return null;
+        .then(upload => {
+            live.uploadId = upload.uploadId;
+        })
+        .catch(err => {
+            console.warn("Live transcript not started, the video will be uploaded after the recording", err);
+            live.failed = true;
+        });
+    return live;
+}
+
+// Sends a recorded segment after the previous ones. If one fails, the next segments are not sent
+function sendLiveSegment(live, segment) {
+    if (!live) {
+        return;
+    }
+    live.chain = live.chain.then(async () => {
+        if (live.failed) {
+            return;
+        }
+        try {
+            const res = await fetch(`/api/v1/transcript/live/${live.uploadId}?offset=${live.offset}`, {
+                method: "PUT",
+                headers: {"Content-Type": "application/octet-stream"},
+                body: segment
+            });
+            if (!res.ok) {
+                throw new Error("Failed to send the recorded segment: " + res.status);
+            }
+            live.offset = (await res.json()).receivedBytes;
+        } catch (err) {
+            console.warn("Live transcript stopped, the video will be uploaded after the recording", err);
+            live.failed = true;
+        }
+    });
+}
+
+// Call API to generate feedback and evaluation
+// Uploads the video in chunks and returns the transcript job started for it. A failed chunk is sent again from the
+// last byte received by the backend, so a network error does not restart the whole upload.
+async function uploadVideo(blob, filename) {
+    const startRes = await fetch("/api/v1/upload", {method: "POST"});
+    if (!startRes.ok) {
+        throw new Error("Failed to start the upload: " + startRes.status);
+    }
+    const upload = await startRes.json();
+
+    let offset = 0;
+    let retries = 0;
+    while (offset < blob.size) {
+        const chunk = blob.slice(offset, offset + UPLOAD_CHUNK_SIZE);
+        try {
+            const res = await fetch(`/api/v1/upload/${upload.uploadId}?offset=${offset}`, {
+                method: "PUT",
+                headers: {"Content-Type": "application/octet-stream"},
+                body: chunk
+            });
+            if (res.ok) {
+                offset = (await res.json()).receivedBytes;
+                retries = 0;
+                continue;
+            }
+            // 409: the chunk does not start where the upload ends
+            throw new Error("Failed to upload the video chunk: " + res.status);
+        } catch (err) {
+            if (++retries > UPLOAD_MAX_RETRIES) {
+                throw err;
+            }
+            console.warn("Upload interrupted, resuming...", err);
+        }
+        // Continue from the bytes the backend already has
+        const statusRes = await fetch(`/api/v1/upload/${upload.uploadId}`);
+        if (!statusRes.ok) {
+            throw new Error("Failed to resume the upload: " + statusRes.status);
+        }
+        offset = (await statusRes.json()).receivedBytes;
+    }
+
+    const res = await fetch(`/api/v1/upload/${upload.uploadId}/transcript/jobs?filename=${encodeURIComponent(filename)}`, {
+        method: "POST"
+    });
+    if (!res.ok) {
+        throw new Error("Failed to start the transcript: " + res.status);
+    }
+    return await res.json();
+}
+
+// Follows the transcript job until it is finished and returns its transcript (null if it failed).
+// Stage changes are received as Server-Sent Events, if the event stream fails the job is polled instead.
+function waitForTranscript(job) {
+    return new Promise((resolve, reject) => {
+        let lastUpdate = 0;
+        let finished = false;
+        const onJob = (current) => {
+            // Events can arrive out of order, keep only the newest one
+            if (finished || current.updatedAt < lastUpdate) {
+                return;
+            }
+            lastUpdate = current.updatedAt;
+            if (TRANSCRIPT_JOB_STAGE_TXT[current.stage]) {
+                loadingFeedbackText.innerText = TRANSCRIPT_JOB_STAGE_TXT[current.stage];
+            }
+            if (current.stage === "COMPLETED" || current.stage === "FAILED") {
+                finished = true;
+                if (current.stage === "FAILED") {
+                    console.error("Transcript job failed:", current.error);
+                }
+                resolve(current.transcript);
+            }
+        };
+
+        const poll = async () => {
+            try {
+                while (!finished) {
+                    const res = await fetch(`/api/v1/transcript/jobs/${job.jobId}`);
+                    if (!res.ok) {
+                        throw new Error("Failed to get the transcript job: " + res.status);
+                    }
+                    onJob(await res.json());
+                    if (!finished) {
+                        await new Promise(r => setTimeout(r, TRANSCRIPT_JOB_POLL_INTERVAL));
+                    }
+                }
+            } catch (err) {
+                reject(err);
+            }
+        };
+
+        onJob(job);
+        if (finished) {
+            return;
+        }
+        const events = new EventSource(`/api/v1/transcript/jobs/${job.jobId}/events`);
+        events.addEventListener("stage", event => {
+            onJob(JSON.parse(event.data));
+            if (finished) {
+                events.close();
+            }
         });
+        events.onerror = () => {
+            events.close();
+            if (!finished) {
+                poll();
+            }
+        };
+    });
 }
 
-// Call API to generate evaluation
-async function generateEvaluation(transcript, feedback) {
+async function generateReview(transcript) {
     const question = {
         question: inputQuestion.value,
         category: categorySelect.value,
@@ -611,35 +782,102 @@ async function generateEvaluation(transcript, feedback) {
 
     const promptRequest = {
         transcript: transcript,
-        feedback: feedback,
         profession: inputProfession.value,
         question: question,
     };
 
-    return await fetch("/prompt/v1/evaluation", {
-        method: "POST",
-        headers: {
-            'Content-Type': 'application/json'
-        },
-        body: JSON.stringify(promptRequest)
-    }).then(response => {
-        if (!response.ok) {
-            // Response status is not in the range 200–299
-            throw new Error(`HTTP error! Status: ${response.status}`);
-        }
-        return response.json();
+    // Show the feedback while the model is writing it
+    feedbackEl.innerText = "";
+    return await streamPrompt("/prompt/v1/review/stream", promptRequest, token => {
+        feedbackSection.classList.remove("hidden");
+        feedbackEl.innerText += token;
     })
         .then(data => {
             console.log('Data received:', data);
             return data;
         })
         .catch(error => {
-            console.error('Error generating evaluation:', error);
-            alert(PLEASE_TRY_AGAIN);
+            console.error('Error generating feedback and evaluation:', error);
+            alert(getErrorMessage(error));
             return null;
         });
 }
 
+// Call a streaming prompt API (Server-Sent Events), passing every generated text chunk to onToken.
+// Returns the final prompt response sent in the "done" event.
+async function streamPrompt(url, promptRequest, onToken) {
+    const response = await fetch(url, {
+        method: "POST",
+        headers: {
+            'Content-Type': 'application/json',
+            'Accept': 'text/event-stream'
+        },
+        body: JSON.stringify(promptRequest)
+    });
+    if (response.status === 429) {
+        throw promptRejectedError(AI_MODEL_BUSY);
+    }
+    if (!response.ok) {
+        // Response status is not in the range 200–299
+        throw new Error(`HTTP error! Status: ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = "";
+    let result = null;
+    while (true) {
+        const {value, done} = await reader.read();
+        if (done) {
+            break;
+        }
+        buffer += decoder.decode(value, {stream: true});
+
+        // Events are separated by a blank line
+        let boundary;
+        while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+            const rawEvent = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+
+            let eventName = "message";
+            let data = "";
+            rawEvent.split("\n").forEach(line => {
+                if (line.startsWith("event:")) {
+                    eventName = line.slice(6).trim();
+                } else if (line.startsWith("data:")) {
+                    data += line.slice(5);
+                }
+            });
+            if (!data) {
+                continue;
+            }
+
+            const payload = JSON.parse(data);
+            if (eventName === "token") {
+                onToken(payload.token);
+            } else if (eventName === "done") {
+                result = payload;
+            } else if (eventName === "rejected") {
+                // The prompt queue is full
+                throw promptRejectedError(payload.message || AI_MODEL_BUSY);
+            }
+        }
+    }
+    return result;
+}
+
+// Error thrown when the server has too many prompts waiting and rejects a new one
+function promptRejectedError(message) {
+    const error = new Error(message);
+    error.name = PROMPT_REJECTED_ERROR;
+    return error;
+}
+
+// Message to show to the user for the given error
+function getErrorMessage(error) {
+    return error?.name === PROMPT_REJECTED_ERROR ? error.message : PLEASE_TRY_AGAIN;
+}
+
 // Show UI elements for when Recording is active
 function startRecordingUI() {
     console.log("start Recording UI...");
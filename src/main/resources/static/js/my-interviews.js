@@ -1,11 +1,17 @@
+const PAGE_SIZE = 10;
+
+// Cursor of the first interview of each page visited, the first page has none
+let pageCursors = [null];
+
 export async function loadInterviews(page = 1) {
     const listContainer = document.getElementById('interviewsList');
     const paginationTop = document.getElementById('paginationTop');
     const paginationBottom = document.getElementById('paginationBottom');
     const loading = document.getElementById('historyLoading');
-    const PAGE_SIZE = 10;
-    let currentPage = 1;
-    let interviewsData = [];
+
+    if (page === 1) {
+        pageCursors = [null];
+    }
 
     loading.classList.remove('hidden');
     listContainer.innerHTML = '';
@@ -13,50 +19,41 @@ export async function loadInterviews(page = 1) {
     paginationBottom.innerHTML = '';
 
     try {
-        const response = await fetch('/history/v1/all');
-        interviewsData = await response.json();
-
-        if (!interviewsData.entries.length) {
+        const params = new URLSearchParams({limit: PAGE_SIZE, view: 'list'});
+        if (pageCursors[page - 1]) {
+            params.set('cursor', pageCursors[page - 1]);
+        }
+        const [response, summaryResponse] = await Promise.all([
+            fetch(`/history/v1/interviews?${params}`),
+            fetch('/history/v1/summary')
+        ]);
+        const interviewsPage = await response.json();
+
+        if (!interviewsPage.entries.length) {
+            if (page > 1) {
+                // The last interviews of the page were deleted
+                loadInterviews(page - 1);
+                return;
+            }
             listContainer.innerHTML = '<p>No interviews found.</p>';
             return;
         }
 
         // Displaying Score summary
-        renderScoreSummary(interviewsData.scoreSummary);
+        if (summaryResponse.ok) {
+            const summary = await summaryResponse.json();
+            renderScoreSummary(summary.total);
+        }
 
-        const totalPages = Math.ceil(interviewsData.entries.length / PAGE_SIZE);
-        const start = (page - 1) * PAGE_SIZE;
-        const end = start + PAGE_SIZE;
-        const pageItems = interviewsData.entries.slice(start, end);
+        pageCursors[page] = interviewsPage.nextCursor;
 
         // Render interviews
-        pageItems.forEach(interview => {
+        interviewsPage.entries.forEach(interview => {
             const card = document.createElement('div');
             card.className = 'card mb-4 p-3';
             const date = new Date(interview.timestamp);
             const formattedTime = date.toLocaleString();
-
-            /* Evaluation start */
-            // Clarity
-            const clarityScore = interview.evaluation?.clarityScore ?? "N/A";
-            const clarityFeedback = interview.evaluation?.clarityFeedback && interview.evaluation.clarityFeedback.trim() !== '' ? interview.evaluation.clarityFeedback : "No feedback provided";
-
-            // Structure
-            const structureScore = interview.evaluation?.structureScore ?? "N/A";
-            const structureFeedback = interview.evaluation?.structureFeedback && interview.evaluation.structureFeedback.trim() !== '' ? interview.evaluation.structureFeedback : "No feedback provided";
-
-            // Relevance
-            const relevanceScore = interview.evaluation?.relevanceScore ?? "N/A";
-            const relevanceFeedback = interview.evaluation?.relevanceFeedback && interview.evaluation.relevanceFeedback.trim() !== '' ? interview.evaluation.relevanceFeedback : "No feedback provided";
-
-            // Communication
-            const communicationScore = interview.evaluation?.communicationScore ?? "N/A";
-            const communicationFeedback = interview.evaluation?.communicationFeedback && interview.evaluation.communicationFeedback.trim() !== '' ? interview.evaluation.communicationFeedback : "No feedback provided";
-
-            // Depth
-            const depthScore = interview.evaluation?.depthScore ?? "N/A";
-            const depthFeedback = interview.evaluation?.depthFeedback && interview.evaluation.depthFeedback.trim() !== '' ? interview.evaluation.depthFeedback : "No feedback provided";
-            /* Evaluation ends */
+            const evaluated = interview.averageScore > 0;
 
             card.innerHTML = `
                 <p><strong>Date:</strong> ${formattedTime}</p>
@@ -66,23 +63,11 @@ export async function loadInterviews(page = 1) {
                 ${interview.question?.category ? `<p><strong>Category:</strong> ${interview.question.category}</p>` : ''}
                 ${interview.question?.difficulty ? `<p><strong>Difficulty:</strong> ${interview.question.difficulty}</p>` : ''}
                 
-                <p><strong>Answer:</strong> ${interview.answer}</p>
-                <p><strong>Feedback:</strong> ${interview.feedback}</p>
-            
-                ${interview.evaluation ? `
-                <div class="evaluation mt-2">
-                    <p><strong>Evaluation:</strong></p>
-                    <ul class="list-unstyled ms-3">
-                        <li><strong>Clarity</strong> (${clarityScore}/10): ${clarityFeedback}</li>
-                        <li><strong>Structure</strong> (${structureScore}/10): ${structureFeedback}</li>
-                        <li><strong>Relevance</strong> (${relevanceScore}/10): ${relevanceFeedback}</li>
-                        <li><strong>Communication</strong> (${communicationScore}/10): ${communicationFeedback}</li>
-                        <li><strong>Depth</strong> (${depthScore}/10): ${depthFeedback}</li>
-                    </ul>
-                </div>
-                ` : ''}
+                ${evaluated ? `<p><strong>Average score:</strong> ${interview.averageScore.toFixed(1)}/10</p>` : ''}
+                <div class="interview-details"></div>
+                <button class="btn btn-secondary btn-sm details-btn mb-2" data-id="${interview.timestamp}">Show details</button>
             
-                <video controls src="${interview.videoUrl}" width="320" height="240"></video>
+                <video controls preload="none" src="${interview.videoUrl}" ${interview.thumbnailUrl ? `poster="${interview.thumbnailUrl}"` : ''} width="320" height="240"></video>
                 <button class="btn btn-danger btn-sm delete-btn" data-id="${interview.timestamp}">Delete</button>
             `;
 
@@ -91,22 +76,52 @@ export async function loadInterviews(page = 1) {
 
         // Helper to create pagination buttons
         const createPagination = (container) => {
-            for (let i = 1; i <= totalPages; i++) {
+            const addItem = (label, targetPage, disabled, active) => {
                 const li = document.createElement('li');
-                li.className = `page-item ${i === page ? 'active' : ''}`;
-                li.innerHTML = `<a class="page-link" href="#">${i}</a>`;
-                li.addEventListener('click', (e) => {
-                    e.preventDefault();
-                    loadInterviews(i);
-                });
+                li.className = `page-item ${disabled ? 'disabled' : ''} ${active ? 'active' : ''}`;
+                li.innerHTML = `<a class="page-link" href="#">${label}</a>`;
+                if (!disabled && !active) {
+                    li.addEventListener('click', (e) => {
+                        e.preventDefault();
+                        loadInterviews(targetPage);
+                    });
+                }
                 container.appendChild(li);
-            }
+            };
+            addItem('Previous', page - 1, page === 1, false);
+            addItem(page, page, false, true);
+            addItem('Next', page + 1, !interviewsPage.nextCursor, false);
         };
 
         // Render pagination at top and bottom
         createPagination(paginationTop);
         createPagination(paginationBottom);
 
+        // Attach details listeners, the answer and the feedback are only loaded when requested
+        document.querySelectorAll('.details-btn').forEach(btn => {
+            btn.addEventListener('click', async (e) => {
+                const button = e.target;
+                const details = button.previousElementSibling;
+                if (details.innerHTML) {
+                    details.innerHTML = '';
+                    button.innerText = 'Show details';
+                    return;
+                }
+                try {
+                    const res = await fetch(`/history/v1/interviews/${button.dataset.id}`);
+                    if (!res.ok) {
+                        alert('Failed to load the interview details');
+                        return;
+                    }
+                    details.innerHTML = renderInterviewDetails(await res.json());
+                    button.innerText = 'Hide details';
+                } catch (err) {
+                    console.error(err);
+                    alert('Error loading the interview details');
+                }
+            });
+        });
+
         // Attach delete listeners
         document.querySelectorAll('.delete-btn').forEach(btn => {
             btn.addEventListener('click', async (e) => {
@@ -117,7 +132,7 @@ export async function loadInterviews(page = 1) {
                     const res = await fetch(`/history/v1/delete/${id}`, {method: 'DELETE'});
                     if (res.ok) {
                         alert('Interview deleted successfully');
-                        loadInterviews(currentPage);
+                        loadInterviews(page);
                     } else {
                         alert('Failed to delete interview');
                     }
@@ -133,12 +148,53 @@ export async function loadInterviews(page = 1) {
         listContainer.innerHTML = '<p>Error loading interviews.</p>';
     } finally {
         loading.classList.add('hidden');
-        currentPage = page;
     }
 }
 
-function renderScoreSummary(scoreSummary) {
-    if (!scoreSummary) {
+function renderInterviewDetails(interview) {
+    /* Evaluation start */
+    // Clarity
+    const clarityScore = interview.evaluation?.clarityScore ?? "N/A";
+    const clarityFeedback = interview.evaluation?.clarityFeedback && interview.evaluation.clarityFeedback.trim() !== '' ? interview.evaluation.clarityFeedback : "No feedback provided";
+
+    // Structure
+    const structureScore = interview.evaluation?.structureScore ?? "N/A";
+    const structureFeedback = interview.evaluation?.structureFeedback && interview.evaluation.structureFeedback.trim() !== '' ? interview.evaluation.structureFeedback : "No feedback provided";
+
+    // Relevance
+    const relevanceScore = interview.evaluation?.relevanceScore ?? "N/A";
+    const relevanceFeedback = interview.evaluation?.relevanceFeedback && interview.evaluation.relevanceFeedback.trim() !== '' ? interview.evaluation.relevanceFeedback : "No feedback provided";
+
+    // Communication
+    const communicationScore = interview.evaluation?.communicationScore ?? "N/A";
+    const communicationFeedback = interview.evaluation?.communicationFeedback && interview.evaluation.communicationFeedback.trim() !== '' ? interview.evaluation.communicationFeedback : "No feedback provided";
+
+    // Depth
+    const depthScore = interview.evaluation?.depthScore ?? "N/A";
+    const depthFeedback = interview.evaluation?.depthFeedback && interview.evaluation.depthFeedback.trim() !== '' ? interview.evaluation.depthFeedback : "No feedback provided";
+    /* Evaluation ends */
+
+    return `
+        <p><strong>Answer:</strong> ${interview.answer}</p>
+        <p><strong>Feedback:</strong> ${interview.feedback}</p>
+    
+        ${interview.evaluation ? `
+        <div class="evaluation mt-2">
+            <p><strong>Evaluation:</strong></p>
+            <ul class="list-unstyled ms-3">
+                <li><strong>Clarity</strong> (${clarityScore}/10): ${clarityFeedback}</li>
+                <li><strong>Structure</strong> (${structureScore}/10): ${structureFeedback}</li>
+                <li><strong>Relevance</strong> (${relevanceScore}/10): ${relevanceFeedback}</li>
+                <li><strong>Communication</strong> (${communicationScore}/10): ${communicationFeedback}</li>
+                <li><strong>Depth</strong> (${depthScore}/10): ${depthFeedback}</li>
+            </ul>
+        </div>
+        ` : ''}
+    `;
+}
+
+function renderScoreSummary(scoreBreakdown) {
+    if (!scoreBreakdown) {
         return;
     }
 
@@ -155,15 +211,15 @@ function renderScoreSummary(scoreSummary) {
     list.className = 'list-group list-group-horizontal justify-content-center';
 
     const keys = [
-        {key: 'clarityScoreAverage', label: 'Clarity'},
-        {key: 'structureScoreAverage', label: 'Structure'},
-        {key: 'relevanceScoreAverage', label: 'Relevance'},
-        {key: 'communicationScoreAverage', label: 'Communication'},
-        {key: 'depthScoreAverage', label: 'Depth'}
+        {key: 'clarity', label: 'Clarity'},
+        {key: 'structure', label: 'Structure'},
+        {key: 'relevance', label: 'Relevance'},
+        {key: 'communication', label: 'Communication'},
+        {key: 'depth', label: 'Depth'}
     ];
 
     keys.forEach(k => {
-        const value = scoreSummary[k.key] ?? 0;
+        const value = scoreBreakdown[k.key]?.average ?? 0;
         const item = document.createElement('li');
         item.className = 'list-group-item';
         item.innerHTML = `<strong>${k.label}:</strong> ${value.toFixed(1)}/10`;
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.controller;
+
+import com.myinterviewbot.service.video.VideoStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class VideoControllerTest {
+
+    private static final String RECORD = "1700000000000-answer";
+    private static final String FILENAME = RECORD + ".webm";
+    private static final String URL = "/uploads/interviews/" + RECORD + "/" + FILENAME;
+
+    @TempDir
+    File tempDir;
+
+    private VideoStreamService videoStreamService;
+    private MockMvc mockMvc;
+    private String eTag;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final File recording = new File(tempDir, FILENAME);
+        Files.writeString(recording.toPath(), "0123456789");
+        // Only the recording is looked up, the ETag and the transfer are the real ones
+        videoStreamService = mock(VideoStreamService.class, CALLS_REAL_METHODS);
+        doReturn(recording).when(videoStreamService).findRecording(RECORD, FILENAME);
+        eTag = videoStreamService.getETag(recording);
+        mockMvc = MockMvcBuilders.standaloneSetup(new VideoController(videoStreamService, 365)).build();
+    }
+
+    @Test
+    void streamRecording_rangeIsPartialContent() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void streamRecording_rangeAfterTheEndIsNotSatisfiable() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void streamRecording_matchingETagIsNotModified() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void streamRecording_outdatedIfRangeGetsTheWholeRecording() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string("0123456789"));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"));
+    }
+
+    @Test
+    void streamRecording_removedOriginalRedirectsToTheTranscodedFile() throws Exception {
+        // Given
+        doReturn(null).when(videoStreamService).findRecording(RECORD, RECORD + ".mp4");
+        doReturn(new File(tempDir, RECORD + "-compact.webm")).when(videoStreamService).findTranscodedRecording(RECORD, RECORD + ".mp4");
+        doReturn(null).when(videoStreamService).findRecording(RECORD, "missing.webm");
+        doReturn(null).when(videoStreamService).findTranscodedRecording(RECORD, "missing.webm");
+
+        // When / Then
+        mockMvc.perform(get("/uploads/interviews/" + RECORD + "/" + RECORD + ".mp4").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/uploads/interviews/" + RECORD + "/" + RECORD + "-compact.webm"));
+        mockMvc.perform(get("/uploads/interviews/" + RECORD + "/missing.webm"))
+                .andExpect(status().isNotFound());
+    }
+}
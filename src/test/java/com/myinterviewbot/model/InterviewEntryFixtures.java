@@ -0,0 +1,47 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.model;
+
+/**
+ * Interviews for the tests of the history and the storage, evaluated with the same score in every dimension,
+ * or with only an answer.
+ *
+ * @author Alan Quintero
+ */
+public final class InterviewEntryFixtures {
+
+    private InterviewEntryFixtures() {
+    }
+
+    public static InterviewEntry createEntry(final long timestamp, final int score) {
+        return createEntry(timestamp, null, null, score);
+    }
+
+    public static InterviewEntry createEntry(final long timestamp, final String answer) {
+        final InterviewEntry entry = new InterviewEntry();
+        entry.setTimestamp(timestamp);
+        entry.setAnswer(answer);
+        return entry;
+    }
+
+    public static InterviewEntry createEntry(final long timestamp, final String category, final String difficulty, final int score) {
+        final Evaluation evaluation = new Evaluation();
+        evaluation.setClarityScore(score);
+        evaluation.setStructureScore(score);
+        evaluation.setRelevanceScore(score);
+        evaluation.setCommunicationScore(score);
+        evaluation.setDepthScore(score);
+        final InterviewEntry entry = new InterviewEntry();
+        entry.setTimestamp(timestamp);
+        if (category != null || difficulty != null) {
+            final Question question = new Question();
+            question.setCategory(category);
+            question.setDifficulty(difficulty);
+            entry.setQuestion(question);
+        }
+        entry.setEvaluation(evaluation);
+        return entry;
+    }
+}
@@ -5,26 +5,59 @@
 package com.myinterviewbot.service;
 
 import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.HistorySummary;
 import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewSort;
 import com.myinterviewbot.model.ScoreSummary;
+import com.myinterviewbot.service.storage.InterviewRepository;
+import com.myinterviewbot.service.storage.JsonInterviewRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class InterviewDataServiceTest {
 
+    private static final int WRITERS = 8;
+    private static final int INTERVIEWS_PER_WRITER = 200;
+
     private InterviewDataService interviewDataService;
 
+    @TempDir
+    private File tempDir;
+
     @BeforeEach
     public void setup() {
         interviewDataService = InterviewDataService.getInstance();
     }
 
+    @AfterEach
+    public void tearDown() {
+        // The other tests must not use the repositories of these ones
+        InterviewDataService.resetInstance();
+    }
+
     @Test
     void createScoreSummary() {
         // Given
@@ -73,4 +106,94 @@ public class InterviewDataServiceTest {
         assertEquals(0, scoreSummary.getCommunicationScoreAverage());
         assertEquals(0, scoreSummary.getDepthScoreAverage());
     }
+
+    @Test
+    void concurrentChanges_noLostUpdates() throws Exception {
+        // Given
+        final JsonInterviewRepository repository = new JsonInterviewRepository(tempDir);
+        repository.open();
+        interviewDataService.initData(repository);
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 2);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int writer = 0; writer < WRITERS; writer++) {
+            final long firstId = writer * 10_000L;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INTERVIEWS_PER_WRITER; i++) {
+                    final long id = firstId + i;
+                    interviewDataService.addInterview(id, createEntry(id, 5));
+                    if (i % 4 == 0) {
+                        // Replaced with a new evaluation
+                        interviewDataService.addInterview(id, createEntry(id, 10));
+                    } else if (i % 4 == 1) {
+                        interviewDataService.removeInterview(id);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < 2; reader++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    interviewDataService.getMyInterviews();
+                    interviewDataService.findInterviewPage(new InterviewFilter(), InterviewSort.HIGHEST_SCORE, null, 20);
+                    interviewDataService.getHistorySummary();
+                    interviewDataService.getTrends(5, 0.3, 10);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            // Rethrows any exception of the threads, e.g. a ConcurrentModificationException
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        final int expected = WRITERS * INTERVIEWS_PER_WRITER * 3 / 4;
+        final int replaced = WRITERS * INTERVIEWS_PER_WRITER / 4;
+        assertEquals(expected, repository.count());
+        final HistorySummary summary = interviewDataService.getHistorySummary();
+        assertEquals(expected, summary.getTotal().getInterviews());
+        assertEquals(replaced * 10L + (expected - replaced) * 5L, summary.getTotal().getClarity().getSum());
+        // Every change reached the journal
+        final JsonInterviewRepository reopened = new JsonInterviewRepository(tempDir);
+        reopened.open();
+        assertEquals(expected, reopened.count());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void version_changesAfterTheRepositoryIsWritten() throws Exception {
+        // Given
+        final InterviewRepository repository = mock(InterviewRepository.class);
+        interviewDataService.initData(repository);
+        final AtomicLong versionWhileWriting = new AtomicLong();
+        doAnswer(invocation -> {
+            versionWhileWriting.set(interviewDataService.getVersion());
+            return null;
+        }).when(repository).save(anyLong(), any(InterviewEntry.class));
+        when(repository.findById(1L)).thenReturn(createEntry(1L, 5));
+        when(repository.delete(anyLong())).thenAnswer(invocation -> {
+            versionWhileWriting.set(interviewDataService.getVersion());
+            return true;
+        });
+
+        // When / Then
+        // A response read while the change is written must not be cached under the new version
+        final long initialVersion = interviewDataService.getVersion();
+        interviewDataService.addInterview(1L, createEntry(1L, 5));
+        assertEquals(initialVersion, versionWhileWriting.get());
+        assertTrue(interviewDataService.getVersion() > initialVersion);
+
+        final long versionAfterAdd = interviewDataService.getVersion();
+        assertTrue(interviewDataService.removeInterview(1L));
+        assertEquals(versionAfterAdd, versionWhileWriting.get());
+        assertTrue(interviewDataService.getVersion() > versionAfterAdd);
+    }
 }
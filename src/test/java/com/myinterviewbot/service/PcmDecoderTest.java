@@ -0,0 +1,49 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PcmDecoderTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void feed_eachByteIsWrittenOnce() throws IOException {
+        // Given
+        // cat returns what it reads, like a decoder of raw PCM
+        final AtomicInteger activeExtractions = new AtomicInteger(1);
+        final PcmDecoder pcmDecoder = new PcmDecoder(new ProcessBuilder("cat").start(), "answer", activeExtractions);
+        final File recording = new File(tempDir, "answer.part");
+        Files.writeString(recording.toPath(), "first segment ");
+        final ByteArrayOutputStream pcm = new ByteArrayOutputStream();
+
+        // When
+        pcmDecoder.feed(recording);
+        pcm.writeBytes(pcmDecoder.takeDecoded());
+        Files.writeString(recording.toPath(), "second segment", StandardOpenOption.APPEND);
+        pcmDecoder.feed(recording);
+        pcm.writeBytes(pcmDecoder.finish());
+
+        // Then
+        assertEquals("first segment second segment", pcm.toString(StandardCharsets.UTF_8));
+        assertEquals(0, activeExtractions.get());
+    }
+}
@@ -9,17 +9,24 @@ import com.myinterviewbot.service.ai.model.AIService;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 public class PromptServiceTest {
 
-    @Mock
+    // Real default methods, so the prompts sent with options reach the stubbed executePrompt(String)
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private AIService aiService;
 
     @InjectMocks
@@ -129,6 +136,51 @@ public class PromptServiceTest {
         verify(aiService, atLeast(2)).executePrompt(anyString());
     }
 
+    @Test
+    void generateQuestion_longQuestionIsTruncated() {
+        // Given
+        final PromptRequest input = new PromptRequest();
+        input.setProfession("software engineer");
+        input.setQuestion(new Question());
+        final String longQuestion = "Tell me about a time you faced a challenge at work? This question helps the interviewer understand how you handle problems, how you communicate with your team and what you learn from difficult situations at work or in your personal projects.";
+        when(aiService.executePrompt(anyString())).thenReturn(new PromptResponse(null, longQuestion));
+        final HttpSession session = mock(HttpSession.class);
+        when(session.getAttribute("firstQuestion")).thenReturn(true);
+
+        // When
+        final PromptResponse promptResponse = promptService.generateQuestion(input, session);
+
+        // Then
+        assertEquals("Tell me about a time you faced a challenge at work?", promptResponse.getPromptResponse());
+        verify(aiService, times(1)).executePrompt(anyString());
+        final GenerationMetrics generationMetrics = promptService.getGenerationMetrics();
+        assertEquals(1, generationMetrics.getQuestions());
+        assertEquals(1, generationMetrics.getTruncatedQuestions());
+        assertEquals(0, generationMetrics.getQuestionRetries());
+    }
+
+    @Test
+    void generateQuestion_generationOptions() {
+        // Given
+        final PromptRequest input = new PromptRequest();
+        input.setProfession("software engineer");
+        input.setQuestion(new Question());
+        when(aiService.executePrompt(anyString())).thenReturn(new PromptResponse(null, "Tell me about a time you faced a challenge."));
+        final HttpSession session = mock(HttpSession.class);
+        when(session.getAttribute("firstQuestion")).thenReturn(true);
+
+        // When
+        promptService.generateQuestion(input, session);
+
+        // Then
+        final ArgumentCaptor<PromptOptions> options = ArgumentCaptor.forClass(PromptOptions.class);
+        verify(aiService).executePrompt(anyString(), options.capture(), isNull());
+        assertNotNull(options.getValue().getMaxTokens());
+        assertNotNull(options.getValue().getTemperature());
+        // Even the first question of a session must not be the same cached question for every session
+        assertTrue(options.getValue().isBypassCache());
+    }
+
     @Test
     void generateFeedback() {
         // Given
@@ -227,4 +279,83 @@ public class PromptServiceTest {
         assertNotNull(promptResponse);
         assertNull(promptResponse.getPromptResponse());
     }
+
+    @Test
+    void generateReview() {
+        // Given
+        ReflectionTestUtils.setField(promptService, "promptExecutor", Executors.newFixedThreadPool(2));
+        final String expectedFeedback = "Good example of problem-solving and teamwork.";
+        final String evaluationResponse = "{ \"clarityScore\": 1,\"clarityFeedback\": \"good\",\"structureScore\": 5,\"structureFeedback\": \"nice\",\"relevanceScore\": 2,\"relevanceFeedback\": \"ok then\",\"communicationScore\": 3,\"communicationFeedback\": \"excellent\",\"depthScore\": 4,\"depthFeedback\": \"ok\"}";
+        when(aiService.executePrompt(anyString())).thenAnswer(invocation -> {
+            final String prompt = invocation.getArgument(0);
+            return new PromptResponse(null, prompt.contains("JSON") ? evaluationResponse : expectedFeedback);
+        });
+        final PromptRequest input = new PromptRequest();
+        input.setProfession("software engineer");
+        input.setQuestion(new Question("Tell me about a time you faced a challenge."));
+        input.setTranscript(new Transcript("transcript", ""));
+
+        // When
+        final ReviewResponse reviewResponse = promptService.generateReview(input, null);
+
+        // Then
+        assertNotNull(reviewResponse);
+        assertEquals(expectedFeedback, reviewResponse.getFeedback().getPromptResponse());
+        final Evaluation evaluation = (Evaluation) reviewResponse.getEvaluation().getPromptResponse();
+        assertNotNull(evaluation);
+        assertEquals(1, evaluation.getClarityScore());
+        assertEquals(4, evaluation.getDepthScore());
+        verify(aiService, times(2)).executePrompt(anyString());
+    }
+
+    @Test
+    void generateEvaluation_truncatedEvaluationIsRepaired() {
+        // Given
+        final String evaluationResponse = "{ \"clarityScore\": 1,\"clarityFeedback\": \"good\",\"structureScore\": 5,\"structureFeedback\": \"nice\",\"relevanceScore\": 2,\"relevanceFeedback\": \"ok then\",\"communicationScore\": 3,\"communicationFeedback\": \"excellent\",\"depthScore\": 4,\"depthFeedback\": \"ok but it was cut";
+        when(aiService.executePrompt(anyString())).thenReturn(new PromptResponse(null, evaluationResponse));
+        final PromptRequest input = new PromptRequest();
+        input.setProfession("profession");
+        input.setQuestion(new Question("question"));
+        input.setTranscript(new Transcript("transcript", ""));
+
+        // When
+        final PromptResponse promptResponse = promptService.generateEvaluation(input);
+
+        // Then
+        final Evaluation evaluation = (Evaluation) promptResponse.getPromptResponse();
+        assertNotNull(evaluation);
+        assertEquals(4, evaluation.getDepthScore());
+        assertEquals("ok but it was cut", evaluation.getDepthFeedback());
+        verify(aiService, times(1)).executePrompt(anyString());
+        assertEquals(1, promptService.getEvaluationMetrics().getRepairedJson());
+        assertEquals(0, promptService.getEvaluationMetrics().getRepairPrompts());
+    }
+
+    @Test
+    void generateEvaluation_missingFieldsAreRequestedOnce() {
+        // Given
+        final String evaluationResponse = "{ \"clarityScore\": 1,\"clarityFeedback\": \"good\",\"structureScore\": 5,\"structureFeedback\": \"nice\",\"relevanceScore\": 2,\"relevanceFeedback\": \"ok then\",\"communicationScore\": 3,\"communicationFeedback\": \"excellent\"}";
+        final String repairResponse = "{\"depthScore\": 4,\"depthFeedback\": \"ok\"}";
+        when(aiService.executePrompt(anyString()))
+                .thenReturn(new PromptResponse(null, evaluationResponse))
+                .thenReturn(new PromptResponse(null, repairResponse));
+        final PromptRequest input = new PromptRequest();
+        input.setProfession("profession");
+        input.setQuestion(new Question("question"));
+        input.setTranscript(new Transcript("transcript", ""));
+
+        // When
+        final PromptResponse promptResponse = promptService.generateEvaluation(input);
+
+        // Then
+        final Evaluation evaluation = (Evaluation) promptResponse.getPromptResponse();
+        assertNotNull(evaluation);
+        assertEquals(1, evaluation.getClarityScore());
+        assertEquals(4, evaluation.getDepthScore());
+        assertEquals("ok", evaluation.getDepthFeedback());
+        verify(aiService, times(2)).executePrompt(anyString());
+        assertEquals(1, promptService.getEvaluationMetrics().getRepairPrompts());
+        assertEquals(1, promptService.getEvaluationMetrics().getSuccessfulRepairPrompts());
+        assertEquals(0, promptService.getEvaluationMetrics().getFailedEvaluations());
+    }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service;
+
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.PromptQueueMetrics;
+import com.myinterviewbot.model.PromptRequest;
+import com.myinterviewbot.model.Question;
+import com.myinterviewbot.service.ai.QueuedAIService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class QuestionPoolServiceTest {
+
+    private final PromptService promptService = mock(PromptService.class);
+    private final QueuedAIService queuedAIService = mock(QueuedAIService.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final PromptQueueMetrics metrics = new PromptQueueMetrics();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        metrics.setMaxInFlight(1);
+        when(queuedAIService.getMetrics()).thenReturn(metrics);
+        final AtomicInteger counter = new AtomicInteger();
+        when(promptService.generatePoolQuestion(any(PromptRequest.class)))
+                .thenAnswer(invocation -> PromptResponseFactory.createSuccessResponse("Question " + counter.incrementAndGet() + "?", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void takeQuestion_poolIsFilledAfterTheFirstRequest() throws InterruptedException {
+        // Given
+        final QuestionPoolService questionPoolService = new QuestionPoolService(promptService, queuedAIService, executor, scheduler, true, 2, 10, 30);
+        final PromptRequest promptRequest = createPromptRequest("Software Engineer");
+
+        // When
+        final String firstQuestion = questionPoolService.takeQuestion(promptRequest);
+        questionPoolService.refill();
+        waitForRefills();
+
+        // Then
+        assertNull(firstQuestion);
+        verify(promptService, times(2)).generatePoolQuestion(any(PromptRequest.class));
+        // The profession is not case-sensitive
+        assertEquals("Question 1?", questionPoolService.takeQuestion(createPromptRequest("software engineer")));
+        assertEquals("Question 2?", questionPoolService.takeQuestion(promptRequest));
+        assertNull(questionPoolService.takeQuestion(promptRequest));
+    }
+
+    @Test
+    void refill_aiModelIsBusy() throws InterruptedException {
+        // Given
+        final QuestionPoolService questionPoolService = new QuestionPoolService(promptService, queuedAIService, executor, scheduler, true, 2, 10, 30);
+        questionPoolService.takeQuestion(createPromptRequest("Software Engineer"));
+        metrics.setQueueDepth(1);
+
+        // When
+        questionPoolService.refill();
+        waitForRefills();
+
+        // Then
+        verify(promptService, never()).generatePoolQuestion(any(PromptRequest.class));
+    }
+
+    @Test
+    void takeQuestion_poolDisabled() throws InterruptedException {
+        // Given
+        final QuestionPoolService questionPoolService = new QuestionPoolService(promptService, queuedAIService, executor, scheduler, false, 2, 10, 30);
+        final PromptRequest promptRequest = createPromptRequest("Software Engineer");
+
+        // When
+        questionPoolService.takeQuestion(promptRequest);
+        questionPoolService.refill();
+        waitForRefills();
+
+        // Then
+        assertNull(questionPoolService.takeQuestion(promptRequest));
+        verify(promptService, never()).generatePoolQuestion(any(PromptRequest.class));
+    }
+
+    private PromptRequest createPromptRequest(final String profession) {
+        final Question question = new Question();
+        question.setCategory("TEAMWORK");
+        question.setDifficulty("EASY");
+        final PromptRequest promptRequest = new PromptRequest();
+        promptRequest.setProfession(profession);
+        promptRequest.setQuestion(question);
+        return promptRequest;
+    }
+
+    private void waitForRefills() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai;
+
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.PromptExecutionResult;
+import com.myinterviewbot.model.PromptOptions;
+import com.myinterviewbot.model.PromptResponse;
+import com.myinterviewbot.service.SettingsService;
+import com.myinterviewbot.service.ai.model.AIService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedAIServiceTest {
+
+    private final List<String> executedPrompts = new ArrayList<>();
+
+    private final AIService aiService = prompt -> {
+        executedPrompts.add(prompt);
+        if (prompt.startsWith("fail")) {
+            return PromptResponseFactory.createFailedResponse("", PromptExecutionResult.EMPTY_RESULT, 1);
+        }
+        return PromptResponseFactory.createSuccessResponse("response " + executedPrompts.size(), 1);
+    };
+
+    @TempDir
+    File tempDir;
+
+    @BeforeEach
+    void setUp() {
+        SettingsService.getInstance().getSettings().getSystemSettings().setSelectedAiModel("test-model");
+    }
+
+    @Test
+    void executePrompt_samePromptIsTakenFromCache() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 60, null);
+        final List<String> tokens = new ArrayList<>();
+
+        // When
+        final PromptResponse first = cachedAIService.executePrompt("Tell me  about\n a time");
+        final PromptResponse second = cachedAIService.executePrompt(" Tell me about a time ", tokens::add);
+
+        // Then
+        assertEquals(1, executedPrompts.size());
+        assertFalse(first.getPromptStats().isCacheHit());
+        assertTrue(second.getPromptStats().isCacheHit());
+        assertEquals("response 1", second.getPromptResponse());
+        assertEquals(List.of("response 1"), tokens);
+        assertEquals(0.5, second.getPromptStats().getCacheHitRatio());
+    }
+
+    @Test
+    void executePrompt_bypassCache() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 60, null);
+        final PromptOptions options = new PromptOptions();
+        options.setBypassCache(true);
+        cachedAIService.executePrompt("question");
+
+        // When
+        final PromptResponse promptResponse = cachedAIService.executePrompt("question", options, null);
+
+        // Then
+        assertEquals(2, executedPrompts.size());
+        assertFalse(promptResponse.getPromptStats().isCacheHit());
+        assertEquals("response 2", promptResponse.getPromptResponse());
+    }
+
+    @Test
+    void executePrompt_bypassedResponseIsNotCached() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 60, tempDir);
+        final PromptOptions options = new PromptOptions();
+        options.setBypassCache(true);
+        cachedAIService.executePrompt("question", options, null);
+
+        // When
+        final PromptResponse promptResponse = cachedAIService.executePrompt("question");
+
+        // Then
+        assertEquals(2, executedPrompts.size());
+        assertFalse(promptResponse.getPromptStats().isCacheHit());
+        // Only the second response was saved
+        assertEquals(1, tempDir.list().length);
+    }
+
+    @Test
+    void executePrompt_failedResponseIsNotCached() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 60, null);
+        cachedAIService.executePrompt("fail");
+
+        // When
+        cachedAIService.executePrompt("fail");
+
+        // Then
+        assertEquals(2, executedPrompts.size());
+    }
+
+    @Test
+    void executePrompt_leastRecentlyUsedIsEvicted() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 2, 60, null);
+        cachedAIService.executePrompt("a");
+        cachedAIService.executePrompt("b");
+        cachedAIService.executePrompt("a");
+
+        // When
+        cachedAIService.executePrompt("c");
+        cachedAIService.executePrompt("a");
+        cachedAIService.executePrompt("b");
+
+        // Then
+        assertEquals(List.of("a", "b", "c", "b"), executedPrompts);
+    }
+
+    @Test
+    void executePrompt_expiredResponseIsNotUsed() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 0, null);
+        cachedAIService.executePrompt("question");
+
+        // When
+        final PromptResponse promptResponse = cachedAIService.executePrompt("question");
+
+        // Then
+        assertEquals(2, executedPrompts.size());
+        assertFalse(promptResponse.getPromptStats().isCacheHit());
+    }
+
+    @Test
+    void executePrompt_diskCacheSurvivesRestart() {
+        // Given
+        new CachedAIService(aiService, 10, 60, tempDir).executePrompt("question");
+        final CachedAIService restarted = new CachedAIService(aiService, 10, 60, tempDir);
+
+        // When
+        final PromptResponse promptResponse = restarted.executePrompt("question");
+
+        // Then
+        assertEquals(1, executedPrompts.size());
+        assertTrue(promptResponse.getPromptStats().isCacheHit());
+        assertEquals("response 1", promptResponse.getPromptResponse());
+    }
+
+    @Test
+    void executePrompt_oldestDiskResponsesAreRemoved() {
+        // Given
+        final CachedAIService cachedAIService = new CachedAIService(aiService, 10, 60, tempDir, 2);
+
+        // When
+        cachedAIService.executePrompt("a");
+        cachedAIService.executePrompt("b");
+        cachedAIService.executePrompt("c");
+
+        // Then
+        assertEquals(2, tempDir.list().length);
+        // Only the newest responses survive a restart
+        final CachedAIService restarted = new CachedAIService(aiService, 10, 60, tempDir, 2);
+        assertTrue(restarted.executePrompt("c").getPromptStats().isCacheHit());
+        assertFalse(restarted.executePrompt("a").getPromptStats().isCacheHit());
+    }
+
+    @Test
+    void constructor_expiredDiskResponsesAreRemoved() {
+        // Given
+        new CachedAIService(aiService, 10, 60, tempDir).executePrompt("question");
+        assertEquals(1, tempDir.list().length);
+
+        // When
+        new CachedAIService(aiService, 10, 0, tempDir);
+
+        // Then
+        assertEquals(0, tempDir.list().length);
+    }
+}
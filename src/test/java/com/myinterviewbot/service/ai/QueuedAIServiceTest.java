@@ -0,0 +1,125 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai;
+
+import com.myinterviewbot.factory.PromptResponseFactory;
+import com.myinterviewbot.model.*;
+import com.myinterviewbot.service.ai.model.AIService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueuedAIServiceTest {
+
+    private final List<String> executedPrompts = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstPromptStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstPrompt = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    // Blocks the "first" prompt until the test releases it, so the next prompts must wait in the queue
+    private final AIService aiService = prompt -> {
+        executedPrompts.add(prompt);
+        if (prompt.equals("first")) {
+            firstPromptStarted.countDown();
+            try {
+                releaseFirstPrompt.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return PromptResponseFactory.createSuccessResponse(prompt, 1);
+    };
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstPrompt.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executePrompt_questionRunsBeforeEvaluation() throws Exception {
+        // Given
+        final QueuedAIService queuedAIService = new QueuedAIService(aiService, 1, 10, 5);
+        final Future<PromptResponse> first = executor.submit(() -> queuedAIService.executePrompt("first"));
+        firstPromptStarted.await(5, TimeUnit.SECONDS);
+        final Future<PromptResponse> evaluation = executor.submit(() -> queuedAIService.executePrompt("evaluation", new PromptOptions(PromptPriority.EVALUATION), null));
+        waitForQueueDepth(queuedAIService, 1);
+        final Future<PromptResponse> question = executor.submit(() -> queuedAIService.executePrompt("question", new PromptOptions(PromptPriority.QUESTION), null));
+        waitForQueueDepth(queuedAIService, 2);
+
+        // When
+        releaseFirstPrompt.countDown();
+
+        // Then
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getPromptResponse());
+        final PromptResponse questionResponse = question.get(5, TimeUnit.SECONDS);
+        final PromptResponse evaluationResponse = evaluation.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("first", "question", "evaluation"), executedPrompts);
+        // Both arrived with only the running prompt ahead, the question got ahead of the evaluation
+        assertEquals(1, questionResponse.getPromptStats().getQueuePosition());
+        assertEquals(1, evaluationResponse.getPromptStats().getQueuePosition());
+        assertTrue(evaluationResponse.getPromptStats().getSecondsInQueue() > 0);
+
+        final PromptQueueMetrics metrics = queuedAIService.getMetrics();
+        assertEquals(3, metrics.getExecutedPrompts());
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(0, metrics.getInFlight());
+        assertTrue(metrics.getMaxSecondsInQueue() > 0);
+    }
+
+    @Test
+    void executePrompt_queueFull() throws Exception {
+        // Given
+        final QueuedAIService queuedAIService = new QueuedAIService(aiService, 1, 1, 5);
+        executor.submit(() -> queuedAIService.executePrompt("first"));
+        firstPromptStarted.await(5, TimeUnit.SECONDS);
+        final Future<PromptResponse> waiting = executor.submit(() -> queuedAIService.executePrompt("waiting"));
+        waitForQueueDepth(queuedAIService, 1);
+
+        // When
+        assertThrows(PromptQueueFullException.class, () -> queuedAIService.executePrompt("rejected"));
+        releaseFirstPrompt.countDown();
+
+        // Then
+        assertEquals("waiting", waiting.get(5, TimeUnit.SECONDS).getPromptResponse());
+        assertFalse(executedPrompts.contains("rejected"));
+        assertEquals(1, queuedAIService.getMetrics().getRejectedPrompts());
+    }
+
+    @Test
+    void executePrompt_maxWaitReached() throws Exception {
+        // Given
+        final QueuedAIService queuedAIService = new QueuedAIService(aiService, 1, 10, 0);
+        executor.submit(() -> queuedAIService.executePrompt("first"));
+        firstPromptStarted.await(5, TimeUnit.SECONDS);
+
+        // When
+        final PromptResponse promptResponse = queuedAIService.executePrompt("timeout");
+
+        // Then
+        assertFalse(promptResponse.getPromptStats().isExecutedSuccessfully());
+        assertEquals(PromptExecutionResult.QUEUE_TIMEOUT, promptResponse.getPromptStats().getReasonExecutionFailed());
+        assertFalse(executedPrompts.contains("timeout"));
+        assertEquals(1, queuedAIService.getMetrics().getTimedOutPrompts());
+    }
+
+    private static void waitForQueueDepth(final QueuedAIService queuedAIService, final int queueDepth) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (queuedAIService.getMetrics().getQueueDepth() < queueDepth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(queueDepth, queuedAIService.getMetrics().getQueueDepth());
+    }
+}
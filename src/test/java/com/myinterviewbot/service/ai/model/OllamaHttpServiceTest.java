@@ -0,0 +1,206 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.ai.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.PromptOptions;
+import com.myinterviewbot.model.PromptResponse;
+import com.myinterviewbot.service.SettingsService;
+import com.myinterviewbot.utils.JsonUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OllamaHttpServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SettingsService.getInstance().getSettings().getSystemSettings().setSelectedAiModel("test-model");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/generate", exchange -> {
+            lastRequest.set(OBJECT_MAPPER.readTree(exchange.getRequestBody()));
+            if (lastRequest.get().path("stream").asBoolean()) {
+                respond(exchange, 200, "{\"response\":\"Tell me \",\"done\":false}\n"
+                        + "{\"response\":\"about a time.\",\"done\":false}\n"
+                        + "{\"response\":\"\",\"done\":true,\"eval_count\":10,\"eval_duration\":2000000000}\n");
+            } else {
+                respond(exchange, 200, "{\"model\":\"test-model\",\"response\":\" Tell me about a time you failed. \",\"done\":true}");
+            }
+        });
+        server.createContext("/api/chat", exchange -> {
+            lastRequest.set(OBJECT_MAPPER.readTree(exchange.getRequestBody()));
+            respond(exchange, 200, "{\"model\":\"test-model\",\"message\":{\"role\":\"assistant\",\"content\":\"Chat answer\"},\"done\":true}");
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void executePrompt_generateApi() {
+        // Given
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+
+        // When
+        final PromptResponse promptResponse = service.executePrompt("Generate a question");
+
+        // Then
+        assertNotNull(promptResponse);
+        assertTrue(promptResponse.getPromptStats().isExecutedSuccessfully());
+        assertEquals("Tell me about a time you failed.", promptResponse.getPromptResponse());
+        assertEquals("test-model", lastRequest.get().path("model").asText());
+        assertEquals("Generate a question", lastRequest.get().path("prompt").asText());
+        assertFalse(lastRequest.get().path("stream").asBoolean());
+    }
+
+    @Test
+    void executePrompt_chatApi() {
+        // Given
+        final OllamaHttpService service = new OllamaHttpService(baseUrl + "/", OllamaHttpService.CHAT_API, 5);
+
+        // When
+        final PromptResponse promptResponse = service.executePrompt("Hello");
+
+        // Then
+        assertNotNull(promptResponse);
+        assertTrue(promptResponse.getPromptStats().isExecutedSuccessfully());
+        assertEquals("Chat answer", promptResponse.getPromptResponse());
+        assertEquals("user", lastRequest.get().path("messages").get(0).path("role").asText());
+        assertEquals("Hello", lastRequest.get().path("messages").get(0).path("content").asText());
+    }
+
+    @Test
+    void executePrompt_stream() {
+        // Given
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+        final List<String> tokens = new ArrayList<>();
+
+        // When
+        final PromptResponse promptResponse = service.executePrompt("Generate a question", tokens::add);
+
+        // Then
+        assertNotNull(promptResponse);
+        assertTrue(promptResponse.getPromptStats().isExecutedSuccessfully());
+        assertEquals("Tell me about a time.", promptResponse.getPromptResponse());
+        assertEquals(List.of("Tell me ", "about a time."), tokens);
+        assertTrue(lastRequest.get().path("stream").asBoolean());
+        assertEquals(5.0, promptResponse.getPromptStats().getTokensPerSecond());
+    }
+
+    @Test
+    void executePrompt_format() {
+        // Given
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+        final PromptOptions options = new PromptOptions();
+        options.setFormat(JsonUtils.createJsonSchema(Evaluation.class));
+
+        // When
+        service.executePrompt("Evaluate", options, null);
+
+        // Then
+        assertEquals("object", lastRequest.get().path("format").path("type").asText());
+        assertEquals("integer", lastRequest.get().path("format").path("properties").path("clarityScore").path("type").asText());
+    }
+
+    @Test
+    void executePrompt_generationOptions() {
+        // Given
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+        final PromptOptions options = new PromptOptions();
+        options.setMaxTokens(80);
+        options.setStop(List.of("\n\n"));
+        options.setTemperature(0.5);
+        options.setSeed(42);
+
+        // When
+        service.executePrompt("Generate a question", options, null);
+
+        // Then
+        final JsonNode modelOptions = lastRequest.get().path("options");
+        assertEquals(80, modelOptions.path("num_predict").asInt());
+        assertEquals("\n\n", modelOptions.path("stop").get(0).asText());
+        assertEquals(0.5, modelOptions.path("temperature").asDouble());
+        assertEquals(42, modelOptions.path("seed").asInt());
+    }
+
+    @Test
+    void executePrompt_serverError() {
+        // Given
+        server.createContext("/error/api/generate", exchange -> respond(exchange, 500, "{\"error\":\"model not found\"}"));
+        final OllamaHttpService service = new OllamaHttpService(baseUrl + "/error", OllamaHttpService.GENERATE_API, 5);
+
+        // When
+        final PromptResponse promptResponse = service.executePrompt("Generate a question");
+
+        // Then
+        assertNotNull(promptResponse);
+        assertFalse(promptResponse.getPromptStats().isExecutedSuccessfully());
+        assertTrue(promptResponse.getPromptStats().isExceptionDetected());
+        assertEquals("", promptResponse.getPromptResponse());
+    }
+
+    @Test
+    void getVersion_versionOfTheServer() throws IOException {
+        // Given
+        server.createContext("/api/version", exchange -> respond(exchange, 200, "{\"version\":\"0.3.12\"}"));
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+
+        // When / Then
+        assertEquals("0.3.12", service.getVersion());
+    }
+
+    @Test
+    void listModels_installedModels() throws IOException {
+        // Given
+        server.createContext("/api/tags", exchange -> respond(exchange, 200,
+                "{\"models\":[{\"name\":\"llama3.1:8b\",\"size\":4920753328},{\"name\":\"phi3:latest\"}]}"));
+        final OllamaHttpService service = new OllamaHttpService(baseUrl, OllamaHttpService.GENERATE_API, 5);
+
+        // When / Then
+        assertEquals(List.of("llama3.1:8b", "phi3:latest"), service.listModels());
+    }
+
+    @Test
+    void getVersion_serverError() {
+        // Given
+        server.createContext("/error/api/version", exchange -> respond(exchange, 500, "{\"error\":\"unavailable\"}"));
+        final OllamaHttpService service = new OllamaHttpService(baseUrl + "/error", OllamaHttpService.GENERATE_API, 5);
+
+        // When / Then
+        assertThrows(IOException.class, service::getVersion);
+    }
+
+    private static void respond(final com.sun.net.httpserver.HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.history;
+
+import com.myinterviewbot.model.HistorySummary;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.ScoreStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreAggregatorTest {
+
+    private final ScoreAggregator scoreAggregator = new ScoreAggregator(ZoneOffset.UTC);
+
+    @Test
+    void getSummary_statisticsOfEachDimension() {
+        // Given
+        scoreAggregator.add(createEntry(noon("2025-01-06"), "Teamwork", "Easy", 4));
+        scoreAggregator.add(createEntry(noon("2025-01-07"), "Teamwork", "Hard", 8));
+        scoreAggregator.add(createEntry(noon("2025-01-13"), "Leadership", "Hard", 6));
+        // Not evaluated, counted as an interview but not as a score
+        scoreAggregator.add(createEntry(noon("2025-01-13"), "Leadership", "Hard", 0));
+
+        // When
+        final HistorySummary summary = scoreAggregator.getSummary();
+
+        // Then
+        assertEquals(4, summary.getTotal().getInterviews());
+        final ScoreStatistics clarity = summary.getTotal().getClarity();
+        assertEquals(3, clarity.getCount());
+        assertEquals(18, clarity.getSum());
+        assertEquals(6.0, clarity.getAverage());
+        assertEquals(4, clarity.getMin());
+        assertEquals(8, clarity.getMax());
+        assertEquals(8.0 / 3, clarity.getVariance(), 1e-9);
+        assertEquals(List.of("Leadership", "Teamwork"), List.copyOf(summary.getByCategory().keySet()));
+        assertEquals(6.0, summary.getByCategory().get("Teamwork").getDepth().getAverage());
+        assertEquals(7.0, summary.getByDifficulty().get("Hard").getStructure().getAverage());
+        assertEquals(List.of("2025-01-06", "2025-01-07", "2025-01-13"), List.copyOf(summary.getDaily().keySet()));
+        // Weeks start on Monday
+        assertEquals(2, summary.getWeekly().get("2025-01-06").getInterviews());
+        assertEquals(2, summary.getWeekly().get("2025-01-13").getInterviews());
+    }
+
+    @Test
+    void remove_statisticsAreTheSameAsIfNeverAdded() {
+        // Given
+        final InterviewEntry lowest = createEntry(noon("2025-01-06"), "Teamwork", "Easy", 2);
+        scoreAggregator.add(createEntry(noon("2025-01-07"), "Teamwork", "Hard", 8));
+        scoreAggregator.add(lowest);
+        scoreAggregator.add(createEntry(noon("2025-01-08"), "Teamwork", "Hard", 6));
+        final HistorySummary before = scoreAggregator.getSummary();
+
+        // When
+        scoreAggregator.remove(lowest);
+        final HistorySummary after = scoreAggregator.getSummary();
+
+        // Then
+        assertEquals(2, before.getTotal().getClarity().getMin());
+        final ScoreStatistics clarity = after.getTotal().getClarity();
+        assertEquals(2, clarity.getCount());
+        assertEquals(6, clarity.getMin());
+        assertEquals(8, clarity.getMax());
+        assertEquals(1.0, clarity.getVariance(), 1e-9);
+        // Groups left without interviews are removed
+        assertFalse(after.getByDifficulty().containsKey("Easy"));
+        assertFalse(after.getDaily().containsKey("2025-01-06"));
+        assertEquals(7.0, scoreAggregator.getScoreSummary().getClarityScoreAverage());
+    }
+
+    private static long noon(final String day) {
+        return LocalDate.parse(day).atTime(12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.history;
+
+import com.myinterviewbot.model.HistoryTrends;
+import com.myinterviewbot.model.ScoreTrend;
+import com.myinterviewbot.model.TrendPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrendAnalyzerTest {
+
+    @Test
+    void getTrends_averagesPercentilesAndPoints() {
+        // Given
+        final TrendAnalyzer analyzer = new TrendAnalyzer(3, 0.5, 2);
+        final int[] scores = {2, 4, 6, 8, 10, 3};
+        for (int i = 0; i < scores.length; i++) {
+            analyzer.add(createEntry(i, i % 2 == 0 ? "Teamwork" : "Leadership", null, scores[i]));
+        }
+        // Not evaluated, skipped
+        analyzer.add(createEntry(scores.length, "Teamwork", null, 0));
+
+        // When
+        final HistoryTrends trends = analyzer.getTrends();
+
+        // Then
+        final ScoreTrend clarity = trends.getTotal().getClarity();
+        assertEquals(6, clarity.getCount());
+        assertEquals(7.0, clarity.getMovingAverage(), 1e-9);
+        assertEquals(4.0, clarity.getPreviousMovingAverage(), 1e-9);
+        assertEquals(3.0, clarity.getChange(), 1e-9);
+        assertEquals(5.5625, clarity.getExponentialAverage(), 1e-9);
+        assertEquals(3, clarity.getPercentile10());
+        assertEquals(8, clarity.getPercentile50());
+        assertEquals(10, clarity.getPercentile90());
+        final List<TrendPoint> points = clarity.getPoints();
+        assertEquals(2, points.size());
+        assertEquals(10, points.get(0).getScore());
+        assertEquals(8.0, points.get(0).getMovingAverage(), 1e-9);
+        assertEquals(3, points.get(1).getScore());
+        assertEquals(5, points.get(1).getTimestamp());
+        assertEquals(List.of("Leadership", "Teamwork"), List.copyOf(trends.getByCategory().keySet()));
+        // Teamwork: 2, 6, 10
+        assertEquals(6.0, trends.getByCategory().get("Teamwork").getDepth().getMovingAverage(), 1e-9);
+        assertEquals(3, trends.getByCategory().get("Teamwork").getDepth().getCount());
+    }
+
+    @Test
+    void getTrends_sameAsRecomputingTheWindows() {
+        // Given
+        final int window = 7;
+        final Random random = new Random(42);
+        final TrendAnalyzer analyzer = new TrendAnalyzer(window, 0.3, 0);
+        final List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int score = 1 + random.nextInt(10);
+            scores.add(score);
+            analyzer.add(createEntry(i, "Teamwork", null, score));
+        }
+
+        // When
+        final ScoreTrend relevance = analyzer.getTrends().getTotal().getRelevance();
+
+        // Then
+        final List<Integer> current = scores.subList(scores.size() - window, scores.size());
+        final List<Integer> previous = scores.subList(scores.size() - 2 * window, scores.size() - window);
+        assertEquals(average(current), relevance.getMovingAverage(), 1e-9);
+        assertEquals(average(previous), relevance.getPreviousMovingAverage(), 1e-9);
+        final List<Integer> sorted = new ArrayList<>(current);
+        sorted.sort(null);
+        // Nearest rank: the 4th of 7 scores
+        assertEquals(sorted.get(3), relevance.getPercentile50());
+        assertTrue(relevance.getPoints().isEmpty());
+    }
+
+    private static double average(final List<Integer> scores) {
+        return scores.stream().mapToInt(Integer::intValue).average().orElse(0);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterviewJournalTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void load_journalIsReplayed() throws IOException {
+        // Given
+        final InterviewJournal journal = createJournal(100);
+        journal.appendAdd(1L, createEntry(1L, "first answer"));
+        journal.appendAdd(2L, createEntry(2L, "second answer"));
+        journal.appendRemove(1L);
+
+        // When
+        final InterviewJournal reopenedJournal = createJournal(100);
+        final Map<Long, InterviewEntry> interviews = reopenedJournal.load();
+
+        // Then
+        assertEquals(1, interviews.size());
+        assertEquals("second answer", interviews.get(2L).getAnswer());
+        assertEquals(3, reopenedJournal.getRecords());
+    }
+
+    @Test
+    void load_incompleteRecordIsDropped() throws IOException {
+        // Given
+        final InterviewJournal journal = createJournal(100);
+        journal.appendAdd(1L, createEntry(1L, "first answer"));
+        final File journalFile = new File(tempDir, "interviews.journal");
+        final long validLength = journalFile.length();
+        // The application was killed while writing the next record
+        Files.write(journalFile.toPath(), "0badc0de {\"op\":\"add\",\"id\":2,\"ent".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // When
+        final InterviewJournal reopenedJournal = createJournal(100);
+        final Map<Long, InterviewEntry> interviews = reopenedJournal.load();
+        reopenedJournal.appendAdd(3L, createEntry(3L, "third answer"));
+
+        // Then
+        assertEquals(1, interviews.size());
+        assertEquals("first answer", interviews.get(1L).getAnswer());
+        assertTrue(journalFile.length() > validLength);
+        // New records are written after the last complete one
+        assertEquals(2, createJournal(100).load().size());
+    }
+
+    @Test
+    void load_corruptedRecordIsSkipped() throws IOException {
+        // Given
+        final InterviewJournal journal = createJournal(100);
+        journal.appendAdd(1L, createEntry(1L, "first answer"));
+        journal.appendAdd(2L, createEntry(2L, "second answer"));
+        journal.appendAdd(3L, createEntry(3L, "third answer"));
+        final File journalFile = new File(tempDir, "interviews.journal");
+        // A changed byte in the middle record, which no longer matches its checksum
+        final String lines = Files.readString(journalFile.toPath());
+        Files.writeString(journalFile.toPath(), lines.replace("second answer", "secXnd answer"));
+        final long length = journalFile.length();
+
+        // When
+        final InterviewJournal reopenedJournal = createJournal(100);
+        final Map<Long, InterviewEntry> interviews = reopenedJournal.load();
+
+        // Then
+        // The records after it are replayed, and the journal is not cut
+        assertEquals(2, interviews.size());
+        assertEquals("first answer", interviews.get(1L).getAnswer());
+        assertEquals("third answer", interviews.get(3L).getAnswer());
+        assertEquals(length, journalFile.length());
+        assertEquals(3, reopenedJournal.getRecords());
+    }
+
+    @Test
+    void compact_journalIsSavedAsSnapshot() throws IOException {
+        // Given
+        final InterviewJournal journal = createJournal(2);
+        final Map<Long, InterviewEntry> interviews = new LinkedHashMap<>();
+        interviews.put(1L, createEntry(1L, "first answer"));
+        journal.appendAdd(1L, interviews.get(1L));
+        assertFalse(journal.needsCompaction());
+        interviews.put(2L, createEntry(2L, "second answer"));
+        journal.appendAdd(2L, interviews.get(2L));
+
+        // When
+        assertTrue(journal.needsCompaction());
+        journal.compact(interviews);
+
+        // Then
+        assertEquals(0, journal.getRecords());
+        assertEquals(0, new File(tempDir, "interviews.journal").length());
+        assertFalse(new File(tempDir, "interviews.json.tmp").exists());
+        final InterviewJournal reopenedJournal = createJournal(2);
+        final Map<Long, InterviewEntry> loaded = reopenedJournal.load();
+        assertEquals(2, loaded.size());
+        assertEquals("second answer", loaded.get(2L).getAnswer());
+        assertEquals(0, reopenedJournal.getRecords());
+    }
+
+    private InterviewJournal createJournal(final int compactThreshold) {
+        return new InterviewJournal(new File(tempDir, "interviews.json"), new File(tempDir, "interviews.journal"), compactThreshold);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterviewTextStoreTest {
+
+    private static final int HEADER_BYTES = 16;
+
+    @TempDir
+    File tempDir;
+
+    private File textsFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        textsFile = new File(tempDir, JsonInterviewRepository.TEXTS_FILE);
+        final InterviewTextStore textStore = new InterviewTextStore(textsFile, false);
+        textStore.open();
+        final Map<Long, InterviewTexts> texts = new LinkedHashMap<>();
+        for (long id = 1; id <= 3; id++) {
+            texts.put(id, createTexts("answer " + id));
+        }
+        textStore.write(texts);
+        textStore.close();
+    }
+
+    @Test
+    void open_incompleteLastRecordIsRemoved() throws IOException {
+        // Given
+        final long length = textsFile.length();
+        try (RandomAccessFile file = new RandomAccessFile(textsFile, "rw")) {
+            // The header of a record of 100 bytes, killed after 10 of them
+            file.seek(length);
+            file.writeLong(4L);
+            file.writeInt(100);
+            file.writeInt(0);
+            file.write(new byte[10]);
+        }
+
+        // When
+        final InterviewTextStore textStore = new InterviewTextStore(textsFile, false);
+        textStore.open();
+
+        // Then
+        assertEquals(length, textsFile.length());
+        assertEquals("answer 3", textStore.read(3L).getAnswer());
+        assertNull(textStore.read(4L));
+        textStore.close();
+    }
+
+    @Test
+    void open_corruptedRecordIsSkipped() throws IOException {
+        // Given
+        final long length = textsFile.length();
+        try (RandomAccessFile file = new RandomAccessFile(textsFile, "rw")) {
+            // The last byte of the texts of the second record
+            file.seek(Long.BYTES);
+            final int firstLength = file.readInt();
+            file.seek(HEADER_BYTES + firstLength + Long.BYTES);
+            final int secondLength = file.readInt();
+            final long lastByte = 2L * HEADER_BYTES + firstLength + secondLength - 1;
+            file.seek(lastByte);
+            final int value = file.read();
+            file.seek(lastByte);
+            file.write(value ^ 0xff);
+        }
+
+        // When
+        final InterviewTextStore textStore = new InterviewTextStore(textsFile, false);
+        textStore.open();
+
+        // Then
+        // The records after it are kept
+        assertEquals(length, textsFile.length());
+        assertEquals("answer 1", textStore.read(1L).getAnswer());
+        assertNull(textStore.read(2L));
+        assertEquals("answer 3", textStore.read(3L).getAnswer());
+        textStore.close();
+    }
+
+    @Test
+    void open_invalidHeaderFails() throws IOException {
+        // Given
+        final long length = textsFile.length();
+        try (RandomAccessFile file = new RandomAccessFile(textsFile, "rw")) {
+            file.seek(Long.BYTES);
+            file.writeInt(-1);
+        }
+
+        // When / Then
+        final InterviewTextStore textStore = new InterviewTextStore(textsFile, false);
+        assertThrows(IOException.class, textStore::open);
+        assertEquals(length, textsFile.length());
+    }
+
+    private static InterviewTexts createTexts(final String answer) {
+        final InterviewTexts texts = new InterviewTexts();
+        texts.setAnswer(answer);
+        texts.setFeedback("Feedback: " + answer);
+        return texts;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonInterviewRepositoryTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void findPage_pagesFollowTheCursor() throws IOException {
+        // Given
+        final JsonInterviewRepository repository = new JsonInterviewRepository(tempDir);
+        repository.open();
+        repository.save(1L, createEntry(1L, 8));
+        repository.save(2L, createEntry(2L, 4));
+        repository.save(3L, createEntry(3L, 8));
+        repository.save(4L, createEntry(4L, 0));
+
+        // When
+        final InterviewPage<InterviewEntry> firstPage = repository.findPage(new InterviewFilter(), InterviewSort.OLDEST, null, 3);
+        final InterviewPage<InterviewEntry> lastPage = repository.findPage(new InterviewFilter(), InterviewSort.OLDEST,
+                InterviewCursor.decode(firstPage.getNextCursor(), InterviewSort.OLDEST), 3);
+        final InterviewPage<InterviewEntry> highest = repository.findPage(new InterviewFilter(), InterviewSort.HIGHEST_SCORE, null, 2);
+        final InterviewPage<InterviewEntry> highestNext = repository.findPage(new InterviewFilter(), InterviewSort.HIGHEST_SCORE,
+                InterviewCursor.decode(highest.getNextCursor(), InterviewSort.HIGHEST_SCORE), 2);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), firstPage.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(4L), lastPage.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertNull(lastPage.getNextCursor());
+        assertEquals(List.of(3L, 1L), highest.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(2L, 4L), highestNext.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+    }
+
+    @Test
+    void findById_textsAreReadFromTheTextStore() throws IOException {
+        // Given
+        // A snapshot of a previous version, with the texts in it
+        final Map<Long, InterviewEntry> previousSnapshot = new LinkedHashMap<>();
+        previousSnapshot.put(1L, createEntryWithTexts(1L, "first answer"));
+        Files.write(new File(tempDir, JsonInterviewRepository.SNAPSHOT_FILE).toPath(), SnapshotFormat.JSON.write(previousSnapshot));
+        final JsonInterviewRepository repository = new JsonInterviewRepository(tempDir);
+        repository.open();
+        repository.save(2L, createEntryWithTexts(2L, "second answer"));
+        repository.save(2L, createEntryWithTexts(2L, "second answer, again"));
+
+        // When
+        final JsonInterviewRepository reopened = new JsonInterviewRepository(tempDir);
+        reopened.open();
+        final List<InterviewEntry> inMemory = new ArrayList<>();
+        reopened.forEach(inMemory::add);
+
+        // Then
+        // Only the scores are kept in memory
+        assertEquals(2, inMemory.size());
+        assertNull(inMemory.get(0).getAnswer());
+        assertNull(inMemory.get(0).getEvaluation().getClarityFeedback());
+        assertEquals(7, inMemory.get(0).getEvaluation().getClarityScore());
+        final InterviewEntry second = reopened.findById(2L);
+        assertEquals("second answer, again", second.getAnswer());
+        assertEquals("Clear: second answer, again", second.getEvaluation().getClarityFeedback());
+        assertEquals(7, second.getEvaluation().getClarityScore());
+        assertEquals("first answer", reopened.find(new InterviewFilter()).get(1).getAnswer());
+        assertEquals("first answer", reopened.findPage(new InterviewFilter(), InterviewSort.OLDEST, null, 1).getEntries().get(0).getAnswer());
+        // The snapshot was saved again without the texts
+        assertFalse(new String(Files.readAllBytes(new File(tempDir, JsonInterviewRepository.SNAPSHOT_FILE).toPath())).contains("first answer"));
+    }
+
+    @Test
+    void deleteAll_textStoreIsCompacted() throws IOException {
+        // Given
+        final JsonInterviewRepository repository = new JsonInterviewRepository(tempDir);
+        repository.open();
+        for (long id = 1; id <= 20; id++) {
+            repository.save(id, createEntryWithTexts(id, "answer " + id));
+        }
+        final File textsFile = new File(tempDir, JsonInterviewRepository.TEXTS_FILE);
+        final long textsLength = textsFile.length();
+
+        // When
+        repository.deleteAll();
+        repository.save(21L, createEntryWithTexts(21L, "answer 21"));
+
+        // Then
+        assertTrue(textsFile.length() < textsLength / 10);
+        assertEquals("answer 21", repository.findById(21L).getAnswer());
+        assertNull(repository.findById(1L));
+    }
+
+    private static InterviewEntry createEntryWithTexts(final long timestamp, final String answer) {
+        final InterviewEntry entry = createEntry(timestamp, 7);
+        entry.setAnswer(answer);
+        entry.setFeedback("Feedback: " + answer);
+        entry.getEvaluation().setClarityFeedback("Clear: " + answer);
+        return entry;
+    }
+}
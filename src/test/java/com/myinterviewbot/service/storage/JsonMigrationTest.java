@@ -0,0 +1,89 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.settings.Settings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonMigrationTest {
+
+    @TempDir
+    File tempDir;
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        database = new EmbeddedDatabase("jdbc:h2:file:" + new File(tempDir, "test").getAbsolutePath());
+        database.open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void migrate_jsonFilesAreCopiedOnce() throws IOException {
+        // Given
+        final File interviewsDir = new File(tempDir, "interviews");
+        final JsonInterviewRepository jsonInterviews = new JsonInterviewRepository(interviewsDir);
+        jsonInterviews.open();
+        jsonInterviews.save(1L, createEntry(1L, "first answer"));
+        jsonInterviews.save(2L, createEntry(2L, "second answer"));
+        final File questionsFile = new File(tempDir, "questions/questions.json");
+        final JsonQuestionRepository jsonQuestions = new JsonQuestionRepository(questionsFile);
+        jsonQuestions.open();
+        jsonQuestions.save("Why do you want this job?");
+        final File settingsFile = new File(tempDir, "settings/settings.json");
+        final Settings settings = new Settings();
+        settings.getSystemSettings().setSelectedAiModel("phi3");
+        new JsonSettingsRepository(settingsFile).save(settings);
+        final JsonMigration migration = new JsonMigration(database);
+
+        // When
+        final boolean migrated = migration.migrate(interviewsDir, questionsFile, settingsFile);
+        // Interviews added to the JSON files later are not copied
+        jsonInterviews.save(3L, createEntry(3L, "third answer"));
+        final boolean migratedAgain = migration.migrate(interviewsDir, questionsFile, settingsFile);
+
+        // Then
+        assertTrue(migrated);
+        assertFalse(migratedAgain);
+        final List<InterviewEntry> interviews = new SqlInterviewRepository(database).find(new InterviewFilter());
+        assertEquals(List.of("second answer", "first answer"), interviews.stream().map(InterviewEntry::getAnswer).toList());
+        assertEquals(Set.of("Why do you want this job?"), new SqlQuestionRepository(database).findAll());
+        assertEquals("phi3", new SqlSettingsRepository(database).load().getSystemSettings().getSelectedAiModel());
+    }
+
+    @Test
+    void migrate_noJsonFiles() throws IOException {
+        // Given
+        final JsonMigration migration = new JsonMigration(database);
+
+        // When
+        final boolean migrated = migration.migrate(new File(tempDir, "interviews"), new File(tempDir, "questions.json"),
+                new File(tempDir, "settings.json"));
+
+        // Then
+        assertTrue(migrated);
+        assertEquals(0, new SqlInterviewRepository(database).count());
+        assertTrue(new SqlQuestionRepository(database).findAll().isEmpty());
+        assertNull(new SqlSettingsRepository(database).load());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.myinterviewbot.model.InterviewEntryFixtures.createEntry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PersistenceWriterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void markDirty_burstIsWrittenOnce() throws IOException {
+        // Given
+        final PersistenceWriter writer = new PersistenceWriter(60_000, false);
+        final AtomicInteger flushes = new AtomicInteger();
+        final Flushable store = flushes::incrementAndGet;
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            writer.markDirty(store);
+        }
+        writer.flush();
+        writer.close();
+
+        // Then
+        assertEquals(1, flushes.get());
+    }
+
+    @Test
+    void jsonInterviewRepository_changesAreWrittenInTheBackground() throws IOException {
+        // Given
+        final PersistenceWriter writer = new PersistenceWriter(60_000, true);
+        final JsonInterviewRepository repository = new JsonInterviewRepository(tempDir, writer);
+        repository.open();
+        final File journalFile = new File(tempDir, JsonInterviewRepository.JOURNAL_FILE);
+
+        // When
+        // More changes than the journal keeps before a new snapshot
+        for (long id = 1; id <= 150; id++) {
+            repository.save(id, createEntry(id, "answer " + id));
+        }
+        repository.delete(1L);
+        final long journalLengthBeforeFlush = journalFile.length();
+        writer.close();
+
+        // Then
+        assertEquals(0, journalLengthBeforeFlush);
+        final JsonInterviewRepository reopened = new JsonInterviewRepository(tempDir);
+        reopened.open();
+        assertEquals(149, reopened.count());
+        assertEquals(150L, reopened.findById(150L).getTimestamp());
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewType;
+import com.myinterviewbot.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void read_everyFormatIsLossless() throws IOException {
+        // Given
+        final Map<Long, InterviewEntry> interviews = createInterviews(50);
+        final File jsonFile = new File(tempDir, "interviews.json");
+        Files.write(jsonFile.toPath(), SnapshotFormat.JSON.write(interviews));
+
+        for (final SnapshotFormat format : SnapshotFormat.values()) {
+            // When
+            final File file = new File(tempDir, "converted" + format.getExtension());
+            SnapshotFormat.convert(jsonFile, file, format, PersistenceWriter.direct());
+            final Map<Long, InterviewEntry> loaded = SnapshotFormat.read(file);
+
+            // Then
+            assertEquals(objectMapper.valueToTree(interviews), objectMapper.valueToTree(loaded), format.name());
+            assertEquals(interviews.keySet().stream().toList(), loaded.keySet().stream().toList());
+            // Repeated strings are shared
+            assertSame(loaded.get(0L).getProfession(), loaded.get(2L).getProfession());
+            assertSame(loaded.get(0L).getQuestion().getCategory(), loaded.get(4L).getQuestion().getCategory());
+            if (format != SnapshotFormat.JSON) {
+                assertTrue(file.length() < jsonFile.length(), format.name());
+            }
+        }
+    }
+
+    @Test
+    void open_snapshotIsConvertedWhenTheFormatChanges() throws IOException {
+        // Given
+        final JsonInterviewRepository jsonRepository = new JsonInterviewRepository(tempDir);
+        jsonRepository.open();
+        createInterviews(10).forEach((id, entry) -> {
+            try {
+                jsonRepository.save(id, entry);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // When
+        final JsonInterviewRepository smileRepository = new JsonInterviewRepository(tempDir, PersistenceWriter.direct(),
+                SnapshotFormat.SMILE_GZIP);
+        smileRepository.open();
+        final JsonInterviewRepository reopenedJsonRepository = new JsonInterviewRepository(tempDir);
+        reopenedJsonRepository.open();
+
+        // Then
+        assertEquals(10, smileRepository.count());
+        assertEquals(10, reopenedJsonRepository.count());
+        assertEquals("answer 9", reopenedJsonRepository.findById(9L).getAnswer());
+        assertTrue(new File(tempDir, JsonInterviewRepository.SNAPSHOT_FILE).exists());
+        assertFalse(new File(tempDir, "interviews.smile.gz").exists());
+    }
+
+    @Test
+    void of_unknownFormat() {
+        // Given && When && Then
+        assertEquals(SnapshotFormat.SMILE_GZIP, SnapshotFormat.of("Smile", true));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotFormat.of("xml", false));
+    }
+
+    private static Map<Long, InterviewEntry> createInterviews(final int count) {
+        final Map<Long, InterviewEntry> interviews = new LinkedHashMap<>();
+        for (long id = 0; id < count; id++) {
+            final Evaluation evaluation = new Evaluation();
+            evaluation.setClarityScore((int) (id % 10));
+            evaluation.setClarityFeedback("Clear answer " + id);
+            final InterviewEntry entry = new InterviewEntry(id, InterviewType.BEHAVIORAL, id % 2 == 0 ? "Software Engineer" : "Designer",
+                    new Question("Tell me about a conflict", id % 4 == 0 ? "Teamwork" : "Leadership", "Easy"),
+                    "answer " + id, "feedback " + id, "/uploads/interviews/" + id + "-answer/answer.webm", evaluation);
+            interviews.put(id, entry);
+        }
+        return interviews;
+    }
+}
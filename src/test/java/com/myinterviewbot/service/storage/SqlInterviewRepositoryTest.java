@@ -0,0 +1,233 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.storage;
+
+import com.myinterviewbot.model.Evaluation;
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.model.InterviewFilter;
+import com.myinterviewbot.model.InterviewPage;
+import com.myinterviewbot.model.InterviewSort;
+import com.myinterviewbot.model.InterviewType;
+import com.myinterviewbot.model.Question;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlInterviewRepositoryTest {
+
+    @TempDir
+    File tempDir;
+
+    private EmbeddedDatabase database;
+    private SqlInterviewRepository repository;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        database = openDatabase();
+        repository = new SqlInterviewRepository(database);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void find_filtersAndSortsByTimestamp() throws IOException {
+        // Given
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy"));
+        repository.save(3L, createEntry(3L, "Software Engineer", "Leadership", "Hard"));
+        repository.save(2L, createEntry(2L, "Software Engineer", "Teamwork", "Hard"));
+        repository.save(4L, createEntry(4L, "Data Scientist", "Teamwork", "Easy"));
+
+        // When
+        final List<InterviewEntry> all = repository.find(new InterviewFilter());
+        final List<InterviewEntry> teamwork = repository.find(new InterviewFilter("Software Engineer", "Teamwork", null, null, null));
+        final List<InterviewEntry> hard = repository.find(new InterviewFilter(null, null, "Hard", null, null));
+        final List<InterviewEntry> range = repository.find(new InterviewFilter(null, null, null, 2L, 4L));
+
+        // Then
+        assertEquals(List.of(4L, 3L, 2L, 1L), all.stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(2L, 1L), teamwork.stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(3L, 2L), hard.stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(3L, 2L), range.stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(InterviewType.BEHAVIORAL, all.get(0).getInterviewType());
+        assertEquals("Teamwork", all.get(0).getQuestion().getCategory());
+    }
+
+    @Test
+    void save_interviewsAreKeptAfterReopening() throws IOException {
+        // Given
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy"));
+        final InterviewEntry replaced = createEntry(1L, "Software Engineer", "Teamwork", "Easy");
+        replaced.setAnswer("second answer");
+        repository.save(1L, replaced);
+        repository.save(2L, createEntry(2L, "Software Engineer", "Teamwork", "Easy"));
+        database.close();
+
+        // When
+        database = openDatabase();
+        repository = new SqlInterviewRepository(database);
+
+        // Then
+        assertEquals(2, repository.count());
+        assertEquals("second answer", repository.findById(1L).getAnswer());
+    }
+
+    @Test
+    void delete_interviewIsRemoved() throws IOException {
+        // Given
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy"));
+        repository.save(2L, createEntry(2L, "Software Engineer", "Teamwork", "Easy"));
+
+        // When
+        final boolean removed = repository.delete(1L);
+        final boolean removedAgain = repository.delete(1L);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertNull(repository.findById(1L));
+        assertEquals(1, repository.count());
+
+        // When
+        repository.deleteAll();
+
+        // Then
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void findPage_pagesFollowTheCursor() throws IOException {
+        // Given
+        for (long timestamp = 1; timestamp <= 5; timestamp++) {
+            repository.save(timestamp, createEntry(timestamp, "Software Engineer", "Teamwork", "Easy"));
+        }
+
+        // When
+        final InterviewPage<InterviewEntry> firstPage = repository.findPage(new InterviewFilter(), InterviewSort.NEWEST, null, 2);
+        final InterviewPage<InterviewEntry> secondPage = repository.findPage(new InterviewFilter(), InterviewSort.NEWEST,
+                InterviewCursor.decode(firstPage.getNextCursor(), InterviewSort.NEWEST), 2);
+        // An interview added while paging does not move the next pages
+        repository.save(6L, createEntry(6L, "Software Engineer", "Teamwork", "Easy"));
+        final InterviewPage<InterviewEntry> lastPage = repository.findPage(new InterviewFilter(), InterviewSort.NEWEST,
+                InterviewCursor.decode(secondPage.getNextCursor(), InterviewSort.NEWEST), 2);
+
+        // Then
+        assertEquals(List.of(5L, 4L), firstPage.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(3L, 2L), secondPage.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(1L), lastPage.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertNull(lastPage.getNextCursor());
+        assertThrows(InvalidHistoryQueryException.class, () -> InterviewCursor.decode(firstPage.getNextCursor(), InterviewSort.OLDEST));
+        assertThrows(InvalidHistoryQueryException.class, () -> InterviewCursor.decode("not a cursor", InterviewSort.NEWEST));
+    }
+
+    @Test
+    void findPage_sortsAndFiltersByScore() throws IOException {
+        // Given
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy", 8));
+        repository.save(2L, createEntry(2L, "Software Engineer", "Teamwork", "Easy", 4));
+        repository.save(3L, createEntry(3L, "Software Engineer", "Teamwork", "Easy", 8));
+        repository.save(4L, createEntry(4L, "Software Engineer", "Teamwork", "Easy"));
+        final InterviewFilter minScore = new InterviewFilter();
+        minScore.setMinScore(5.0);
+        final InterviewFilter maxScore = new InterviewFilter();
+        maxScore.setMaxScore(5.0);
+
+        // When
+        final InterviewPage<InterviewEntry> highest = repository.findPage(new InterviewFilter(), InterviewSort.HIGHEST_SCORE, null, 2);
+        final InterviewPage<InterviewEntry> highestNext = repository.findPage(new InterviewFilter(), InterviewSort.HIGHEST_SCORE,
+                InterviewCursor.decode(highest.getNextCursor(), InterviewSort.HIGHEST_SCORE), 2);
+        final InterviewPage<InterviewEntry> lowest = repository.findPage(new InterviewFilter(), InterviewSort.LOWEST_SCORE, null, 10);
+
+        // Then
+        assertEquals(List.of(3L, 1L), highest.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(2L, 4L), highestNext.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(4L, 2L, 1L, 3L), lowest.getEntries().stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals(List.of(3L, 1L), repository.find(minScore).stream().map(InterviewEntry::getTimestamp).toList());
+        // Interviews not evaluated never match a score threshold
+        assertEquals(List.of(2L), repository.find(maxScore).stream().map(InterviewEntry::getTimestamp).toList());
+    }
+
+    @Test
+    void reindex_rowsOfPreviousVersionAreUpdated() throws IOException, SQLException {
+        // Given
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy", 6));
+        database.execute(connection -> connection.createStatement().executeUpdate(
+                "UPDATE interviews SET average_score = 0, clarity_score = NULL, index_version = 1"));
+
+        // When
+        final int reindexed = repository.reindex();
+        final int reindexedAgain = repository.reindex();
+
+        // Then
+        assertEquals(1, reindexed);
+        assertEquals(0, reindexedAgain);
+        final InterviewFilter filter = new InterviewFilter();
+        filter.setMinScore(6.0);
+        assertEquals(1, repository.find(filter).size());
+        final List<InterviewEntry> scores = new ArrayList<>();
+        repository.forEachScores(scores::add);
+        assertEquals(6, scores.get(0).getEvaluation().getClarityScore());
+    }
+
+    @Test
+    void forEachScores_entriesAreNotParsed() throws IOException, SQLException {
+        // Given
+        repository.save(2L, createEntry(2L, "Software Engineer", "Leadership", "Hard", 8));
+        repository.save(1L, createEntry(1L, "Software Engineer", "Teamwork", "Easy", 6));
+        repository.save(3L, createEntry(3L, "Software Engineer", null, null));
+        database.execute(connection -> connection.createStatement().executeUpdate("UPDATE interviews SET entry = 'not JSON'"));
+
+        // When
+        final List<InterviewEntry> scores = new ArrayList<>();
+        repository.forEachScores(scores::add);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), scores.stream().map(InterviewEntry::getTimestamp).toList());
+        assertEquals("Teamwork", scores.get(0).getQuestion().getCategory());
+        assertEquals("Easy", scores.get(0).getQuestion().getDifficulty());
+        assertEquals(6, scores.get(0).getEvaluation().getClarityScore());
+        assertEquals(8, scores.get(1).getEvaluation().getStructureScore());
+        assertEquals(0, scores.get(1).getEvaluation().getDepthScore());
+        assertNull(scores.get(1).getAnswer());
+        // Not evaluated
+        assertNull(scores.get(2).getQuestion());
+        assertNull(scores.get(2).getEvaluation());
+    }
+
+    private EmbeddedDatabase openDatabase() throws IOException {
+        final EmbeddedDatabase embeddedDatabase = new EmbeddedDatabase("jdbc:h2:file:" + new File(tempDir, "test").getAbsolutePath());
+        embeddedDatabase.open();
+        return embeddedDatabase;
+    }
+
+    private static InterviewEntry createEntry(final long timestamp, final String profession, final String category, final String difficulty) {
+        final Question question = new Question();
+        question.setQuestion("Tell me about a time you worked in a team.");
+        question.setCategory(category);
+        question.setDifficulty(difficulty);
+        return new InterviewEntry(timestamp, InterviewType.BEHAVIORAL, profession, question, "answer", "feedback", null, null);
+    }
+
+    private static InterviewEntry createEntry(final long timestamp, final String profession, final String category, final String difficulty,
+                                              final int score) {
+        final InterviewEntry entry = createEntry(timestamp, profession, category, difficulty);
+        final Evaluation evaluation = new Evaluation();
+        evaluation.setClarityScore(score);
+        evaluation.setStructureScore(score);
+        entry.setEvaluation(evaluation);
+        return entry;
+    }
+}
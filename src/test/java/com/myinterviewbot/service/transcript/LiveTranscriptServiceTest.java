@@ -0,0 +1,148 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.transcript;
+
+import com.myinterviewbot.model.Transcript;
+import com.myinterviewbot.model.UploadStatus;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.PcmDecoder;
+import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.service.upload.UploadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LiveTranscriptServiceTest {
+
+    private static final String UPLOAD_ID = "6f1c1c1e-4a3b-4a8e-9c4e-6a1b2c3d4e5f";
+    private static final int BYTES_PER_SECOND = FfmpegService.PCM_SAMPLE_RATE * 2;
+
+    private final UploadService uploadService = mock(UploadService.class);
+    private final FfmpegService ffmpegService = mock(FfmpegService.class);
+    private final WhisperService whisperService = mock(WhisperService.class);
+    private final TranscriptJobService transcriptJobService = mock(TranscriptJobService.class);
+    private final PcmDecoder pcmDecoder = mock(PcmDecoder.class);
+    private final ExecutorService ffmpegExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService whisperExecutor = Executors.newSingleThreadExecutor();
+    private final File uploadFile = new File(UPLOAD_ID + ".part");
+    private final File videoFile = new File("1700000000000-answer.webm");
+
+    // Seconds of audio in the recording received so far, and bytes of it returned by the decoder
+    private final AtomicInteger recordedSeconds = new AtomicInteger();
+    private final AtomicInteger decodedBytes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(uploadService.startUpload()).thenReturn(new UploadStatus(UPLOAD_ID, 0, 100));
+        when(uploadService.appendChunk(eq(UPLOAD_ID), anyLong(), any(InputStream.class))).thenReturn(new UploadStatus(UPLOAD_ID, 10, 100));
+        when(uploadService.getUploadFile(UPLOAD_ID)).thenReturn(uploadFile);
+        when(uploadService.completeUpload(UPLOAD_ID, "answer.webm")).thenReturn(videoFile);
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(ffmpegService.startPcmDecoder(UPLOAD_ID)).thenReturn(pcmDecoder);
+        when(pcmDecoder.takeDecoded()).thenAnswer(invocation -> decodeNewAudio());
+        when(pcmDecoder.finish()).thenAnswer(invocation -> decodeNewAudio());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ffmpegExecutor.shutdownNow();
+        whisperExecutor.shutdownNow();
+    }
+
+    @Test
+    void complete_segmentsAreTranscribedWhileRecording() throws IOException {
+        // Given
+        final List<Integer> segmentLengths = new CopyOnWriteArrayList<>();
+        when(whisperService.transcribePcm(any(InputStream.class), isNull())).thenAnswer(invocation -> {
+            segmentLengths.add(((InputStream) invocation.getArgument(0)).readAllBytes().length);
+            return segmentLengths.size() == 1 ? "first part" : "second part";
+        });
+        final LiveTranscriptService liveTranscriptService = createLiveTranscriptService();
+        liveTranscriptService.start();
+
+        // When
+        // Not enough audio to transcribe yet
+        recordedSeconds.set(3);
+        liveTranscriptService.appendSegment(UPLOAD_ID, 0, new ByteArrayInputStream(new byte[5]));
+        verify(pcmDecoder, timeout(5000).times(1)).takeDecoded();
+        recordedSeconds.set(8);
+        liveTranscriptService.appendSegment(UPLOAD_ID, 5, new ByteArrayInputStream(new byte[5]));
+        verify(whisperService, timeout(5000).times(1)).transcribePcm(any(InputStream.class), isNull());
+        recordedSeconds.set(10);
+        final Transcript transcript = liveTranscriptService.complete(UPLOAD_ID, "answer.webm");
+
+        // Then
+        assertEquals("first part second part", transcript.getTranscript());
+        assertEquals(videoFile.getName(), transcript.getFileName());
+        // The first segment is cut at the quiet moment, the last one has the rest of the audio
+        assertEquals(List.of(193_600, 10 * BYTES_PER_SECOND - 193_600), segmentLengths);
+        // One decoder reads the whole recording, the segments are fed to it as they are received
+        verify(ffmpegService, times(1)).startPcmDecoder(UPLOAD_ID);
+        verify(pcmDecoder, times(3)).feed(uploadFile);
+        verify(pcmDecoder).finish();
+        verify(pcmDecoder).close();
+        verify(transcriptJobService, never()).transcribe(any(File.class));
+    }
+
+    @Test
+    void complete_segmentFailsAndWholeVideoIsTranscribed() throws IOException {
+        // Given
+        when(whisperService.transcribePcm(any(InputStream.class), isNull())).thenReturn(null);
+        when(transcriptJobService.transcribe(videoFile)).thenReturn(new Transcript("whole answer", videoFile.getName()));
+        final LiveTranscriptService liveTranscriptService = createLiveTranscriptService();
+        liveTranscriptService.start();
+
+        // When
+        recordedSeconds.set(8);
+        liveTranscriptService.appendSegment(UPLOAD_ID, 0, new ByteArrayInputStream(new byte[5]));
+        final Transcript transcript = liveTranscriptService.complete(UPLOAD_ID, "answer.webm");
+
+        // Then
+        assertEquals("whole answer", transcript.getTranscript());
+        verify(transcriptJobService).transcribe(videoFile);
+    }
+
+    @Test
+    void appendSegment_unknownUpload() throws IOException {
+        // Given
+        final LiveTranscriptService liveTranscriptService = createLiveTranscriptService();
+
+        // When / Then
+        assertNull(liveTranscriptService.appendSegment(UPLOAD_ID, 0, new ByteArrayInputStream(new byte[5])));
+        assertNull(liveTranscriptService.complete(UPLOAD_ID, "answer.webm"));
+        verify(uploadService, never()).appendChunk(anyString(), anyLong(), any(InputStream.class));
+    }
+
+    /**
+     * Returns the audio recorded since the last call: loud audio, with a quiet moment between 6.0 and 6.1 seconds.
+     */
+    private byte[] decodeNewAudio() {
+        final byte[] audio = new byte[recordedSeconds.get() * BYTES_PER_SECOND];
+        for (int i = 0; i < audio.length; i += 2) {
+            final boolean quiet = i >= 6 * BYTES_PER_SECOND && i < 6 * BYTES_PER_SECOND + BYTES_PER_SECOND / 10;
+            audio[i + 1] = (byte) (quiet ? 0 : 0x20);
+        }
+        return Arrays.copyOfRange(audio, decodedBytes.getAndSet(audio.length), audio.length);
+    }
+
+    private LiveTranscriptService createLiveTranscriptService() {
+        return new LiveTranscriptService(uploadService, ffmpegService, whisperService, transcriptJobService, ffmpegExecutor, whisperExecutor, 5);
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.transcript;
+
+import com.myinterviewbot.model.Transcript;
+import com.myinterviewbot.model.TranscriptJob;
+import com.myinterviewbot.model.TranscriptJobStage;
+import com.myinterviewbot.model.TranscriptMetrics;
+import com.myinterviewbot.model.TranscriptStats;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.WhisperService;
+import com.myinterviewbot.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TranscriptJobServiceTest {
+
+    private final FfmpegService ffmpegService = mock(FfmpegService.class);
+    private final WhisperService whisperService = mock(WhisperService.class);
+    private final ExecutorService ffmpegExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService whisperExecutor = Executors.newSingleThreadExecutor();
+    private final File videoFile = new File("1700000000000-answer.webm");
+    private final File audioFile = new File("1700000000000-answer.mp3");
+
+    @AfterEach
+    void tearDown() {
+        ffmpegExecutor.shutdownNow();
+        whisperExecutor.shutdownNow();
+    }
+
+    @Test
+    void submit_jobGoesThroughEveryStage() throws InterruptedException {
+        // Given
+        when(ffmpegService.extractAudio(eq(videoFile), any(TranscriptStats.class))).thenReturn(audioFile);
+        final CountDownLatch transcribing = new CountDownLatch(1);
+        when(whisperService.transcribe(eq(audioFile), any(TranscriptStats.class))).thenAnswer(invocation -> {
+            assertTrue(transcribing.await(5, TimeUnit.SECONDS));
+            return "my answer";
+        });
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "file");
+        final List<TranscriptJobStage> stages = new CopyOnWriteArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        // When
+        final TranscriptJob job = transcriptJobService.submit(videoFile);
+        transcriptJobService.addListener(job.getJobId(), current -> {
+            stages.add(current.getStage());
+            if (current.getStage().isFinished()) {
+                finished.countDown();
+            }
+        });
+        transcribing.countDown();
+
+        // Then
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(TranscriptJobStage.COMPLETED, stages.get(stages.size() - 1));
+        final TranscriptJob completedJob = transcriptJobService.getJob(job.getJobId());
+        assertEquals(TranscriptJobStage.COMPLETED, completedJob.getStage());
+        assertEquals(100, completedJob.getProgress());
+        assertEquals("my answer", completedJob.getTranscript().getTranscript());
+        assertEquals(videoFile.getName(), completedJob.getTranscript().getFileName());
+    }
+
+    @Test
+    void transcribe_audioCannotBeExtracted() {
+        // Given
+        when(ffmpegService.extractAudio(any(File.class), any(TranscriptStats.class))).thenReturn(null);
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "file");
+
+        // When
+        final Transcript transcript = transcriptJobService.transcribe(videoFile);
+
+        // Then
+        assertNull(transcript);
+        verify(whisperService, never()).transcribe(any(File.class), any(TranscriptStats.class));
+    }
+
+    @Test
+    void submit_tooManyJobs() throws InterruptedException {
+        // Given
+        final CountDownLatch extracting = new CountDownLatch(1);
+        when(ffmpegService.extractAudio(any(File.class), any(TranscriptStats.class))).thenAnswer(invocation -> {
+            extracting.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 1, 60, "file");
+        final TranscriptJob job = transcriptJobService.submit(videoFile);
+
+        // When / Then
+        assertThrows(TranscriptJobQueueFullException.class, () -> transcriptJobService.submit(videoFile));
+        extracting.countDown();
+        ffmpegExecutor.shutdown();
+        assertTrue(ffmpegExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(TranscriptJobStage.FAILED, transcriptJobService.getJob(job.getJobId()).getStage());
+    }
+
+    @Test
+    void transcribe_pcmMode() throws IOException {
+        // Given
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(ffmpegService.streamPcm(eq(videoFile), any(TranscriptStats.class))).thenReturn(new ByteArrayInputStream(new byte[32]));
+        when(whisperService.transcribePcm(any(InputStream.class), any(TranscriptStats.class))).thenReturn("my answer");
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "pcm");
+
+        // When
+        final Transcript transcript = transcriptJobService.transcribe(videoFile);
+
+        // Then
+        assertEquals("my answer", transcript.getTranscript());
+        verify(ffmpegService, never()).extractAudio(any(File.class), any(TranscriptStats.class));
+        final TranscriptMetrics metrics = transcriptJobService.getMetrics();
+        assertEquals(1, metrics.getPcmTranscripts());
+        assertEquals(0, metrics.getPcmAverageBytesWritten());
+        assertEquals(0, metrics.getFileTranscripts());
+    }
+
+    @Test
+    void transcribe_pcmModeFailsAndUsesAudioFile() throws IOException {
+        // Given
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(ffmpegService.streamPcm(eq(videoFile), any(TranscriptStats.class))).thenReturn(new ByteArrayInputStream(new byte[32]));
+        when(whisperService.transcribePcm(any(InputStream.class), any(TranscriptStats.class))).thenReturn(null);
+        when(ffmpegService.extractAudio(eq(videoFile), any(TranscriptStats.class))).thenReturn(audioFile);
+        when(whisperService.transcribe(eq(audioFile), any(TranscriptStats.class))).thenReturn("my answer");
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "pcm");
+
+        // When
+        final Transcript transcript = transcriptJobService.transcribe(videoFile);
+        transcriptJobService.transcribe(videoFile);
+
+        // Then
+        assertEquals("my answer", transcript.getTranscript());
+        // Only the failed jobs use an audio file, the next one tries PCM again
+        verify(whisperService, times(2)).transcribePcm(any(InputStream.class), any(TranscriptStats.class));
+        assertEquals("pcm", transcriptJobService.getMetrics().getAudioMode());
+        assertEquals(2, transcriptJobService.getMetrics().getFileTranscripts());
+    }
+
+    @Test
+    void transcribe_pcmModeIsTurnedOffAfterRepeatedFailures() throws IOException {
+        // Given
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(ffmpegService.streamPcm(eq(videoFile), any(TranscriptStats.class))).thenReturn(new ByteArrayInputStream(new byte[32]));
+        when(whisperService.transcribePcm(any(InputStream.class), any(TranscriptStats.class))).thenReturn(null);
+        when(ffmpegService.extractAudio(eq(videoFile), any(TranscriptStats.class))).thenReturn(audioFile);
+        when(whisperService.transcribe(eq(audioFile), any(TranscriptStats.class))).thenReturn("my answer");
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "pcm");
+
+        // When
+        for (int i = 0; i <= TranscriptJobService.MAX_PCM_FAILURES; i++) {
+            transcriptJobService.transcribe(videoFile);
+        }
+
+        // Then
+        // The recordings could be transcribed from a file, so PCM mode itself fails and is not tried after the limit
+        verify(whisperService, times(TranscriptJobService.MAX_PCM_FAILURES)).transcribePcm(any(InputStream.class), any(TranscriptStats.class));
+        assertEquals("file", transcriptJobService.getMetrics().getAudioMode());
+    }
+
+    @Test
+    void transcribe_invalidRecordingsKeepPcmMode() throws IOException {
+        // Given
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(ffmpegService.streamPcm(eq(videoFile), any(TranscriptStats.class))).thenThrow(new IOException("Invalid data found"));
+        when(ffmpegService.extractAudio(eq(videoFile), any(TranscriptStats.class))).thenReturn(null);
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "pcm");
+
+        // When
+        for (int i = 0; i <= TranscriptJobService.MAX_PCM_FAILURES; i++) {
+            assertNull(transcriptJobService.transcribe(videoFile));
+        }
+
+        // Then
+        assertEquals("pcm", transcriptJobService.getMetrics().getAudioMode());
+    }
+
+    @Test
+    void transcribe_audioOnlyWavRecording(@TempDir final File tempDir) throws IOException {
+        // Given
+        final File wavFile = new File(tempDir, "1700000000000-answer.wav");
+        Utils.writeWav(wavFile, new byte[3200], 3200, FfmpegService.PCM_SAMPLE_RATE);
+        when(whisperService.supportsPcm()).thenReturn(true);
+        when(whisperService.transcribePcm(any(InputStream.class), any(TranscriptStats.class)))
+                .thenAnswer(invocation -> "samples: " + ((InputStream) invocation.getArgument(0)).readAllBytes().length);
+        final TranscriptJobService transcriptJobService = new TranscriptJobService(ffmpegService, whisperService, ffmpegExecutor, whisperExecutor, 2, 60, "pcm");
+
+        // When
+        final Transcript transcript = transcriptJobService.transcribe(wavFile);
+
+        // Then
+        // The samples are read from the recording, ffmpeg is not used
+        assertEquals("samples: 3200", transcript.getTranscript());
+        verifyNoInteractions(ffmpegService);
+    }
+}
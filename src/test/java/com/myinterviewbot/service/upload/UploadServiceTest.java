@@ -0,0 +1,146 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.upload;
+
+import com.myinterviewbot.model.UploadStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UploadServiceTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void appendChunk_chunksAreAppended() throws IOException {
+        // Given
+        final UploadService uploadService = new UploadService(tempDir, 100, 60_000);
+        final UploadStatus upload = uploadService.startUpload();
+
+        // When
+        uploadService.appendChunk(upload.getUploadId(), 0, stream("hello "));
+        final UploadStatus uploadStatus = uploadService.appendChunk(upload.getUploadId(), 6, stream("world"));
+
+        // Then
+        assertEquals(11, uploadStatus.getReceivedBytes());
+        assertEquals(11, uploadService.getStatus(upload.getUploadId()).getReceivedBytes());
+        assertEquals("hello world", Files.readString(new File(tempDir, upload.getUploadId() + ".part").toPath()));
+    }
+
+    @Test
+    void appendChunk_offsetMismatch() throws IOException {
+        // Given
+        final UploadService uploadService = new UploadService(tempDir, 100, 60_000);
+        final UploadStatus upload = uploadService.startUpload();
+        uploadService.appendChunk(upload.getUploadId(), 0, stream("hello "));
+
+        // When / Then
+        // The same chunk sent twice is rejected, the upload is not changed
+        assertThrows(UploadOffsetMismatchException.class, () -> uploadService.appendChunk(upload.getUploadId(), 0, stream("hello ")));
+        assertEquals(6, uploadService.getStatus(upload.getUploadId()).getReceivedBytes());
+    }
+
+    @Test
+    void appendChunk_uploadTooBig() throws IOException {
+        // Given
+        final UploadService uploadService = new UploadService(tempDir, 8, 60_000);
+        final UploadStatus upload = uploadService.startUpload();
+        uploadService.appendChunk(upload.getUploadId(), 0, stream("hello "));
+
+        // When / Then
+        assertThrows(MaxUploadSizeExceededException.class, () -> uploadService.appendChunk(upload.getUploadId(), 6, stream("world")));
+        assertEquals(6, uploadService.getStatus(upload.getUploadId()).getReceivedBytes());
+    }
+
+    @Test
+    void getStatus_unknownUpload() throws IOException {
+        // Given
+        final UploadService uploadService = new UploadService(tempDir, 100, 60_000);
+
+        // When / Then
+        assertNull(uploadService.getStatus("../../application"));
+        assertNull(uploadService.getStatus("6f1c1c1e-4a3b-4a8e-9c4e-6a1b2c3d4e5f"));
+        assertNull(uploadService.appendChunk("../../application", 0, stream("hello")));
+    }
+
+    @Test
+    void startUpload_locksOfExpiredUploadsAreRemoved() throws IOException {
+        // Given
+        // Every upload is expired when the next one starts
+        final UploadService uploadService = new UploadService(tempDir, 100, 0);
+        final UploadStatus upload = uploadService.startUpload();
+        uploadService.appendChunk(upload.getUploadId(), 0, stream("hello "));
+
+        // When
+        uploadService.startUpload();
+
+        // Then
+        assertEquals(0, uploadService.getLockCount());
+        assertNull(uploadService.getStatus(upload.getUploadId()));
+        assertNull(uploadService.appendChunk(upload.getUploadId(), 6, stream("world")));
+        assertEquals(0, uploadService.getLockCount());
+    }
+
+    @Test
+    void appendChunk_uploadRemovedWhileTheChunkWaits() throws Exception {
+        // Given
+        final UploadService uploadService = new UploadService(tempDir, 100, 60_000);
+        final UploadStatus upload = uploadService.startUpload();
+        final CountDownLatch firstChunkStarted = new CountDownLatch(1);
+        final CountDownLatch firstChunkReleased = new CountDownLatch(1);
+        // Holds the lock of the upload until it is released
+        final InputStream slowChunk = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                firstChunkStarted.countDown();
+                try {
+                    firstChunkReleased.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<UploadStatus> firstChunk = executor.submit(() -> uploadService.appendChunk(upload.getUploadId(), 0, slowChunk));
+            firstChunkStarted.await();
+            final Future<UploadStatus> secondChunk = executor.submit(() -> uploadService.appendChunk(upload.getUploadId(), 0, stream("hello")));
+
+            // When
+            // The upload is removed while the second chunk waits for the lock
+            Thread.sleep(100);
+            Files.delete(new File(tempDir, upload.getUploadId() + ".part").toPath());
+            firstChunkReleased.countDown();
+
+            // Then
+            assertNotNull(firstChunk.get(5, TimeUnit.SECONDS));
+            assertNull(secondChunk.get(5, TimeUnit.SECONDS));
+            assertEquals(0, uploadService.getLockCount());
+        } finally {
+            firstChunkReleased.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static ByteArrayInputStream stream(final String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VideoStreamServiceTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void findRecording_pathsOutOfTheInterviewsDirAreRejected() throws IOException {
+        // Given
+        final File interviewsDir = new File(tempDir, "interviews");
+        final File recordDir = new File(interviewsDir, "1700000000000-answer");
+        assertTrue(recordDir.mkdirs());
+        Files.writeString(new File(recordDir, "1700000000000-answer.webm").toPath(), "video");
+        Files.writeString(new File(tempDir, "secret.webm").toPath(), "secret");
+        final VideoStreamService videoStreamService = new VideoStreamService(interviewsDir);
+
+        // When / Then
+        assertNotNull(videoStreamService.findRecording("1700000000000-answer", "1700000000000-answer.webm"));
+        assertNull(videoStreamService.findRecording("1700000000000-answer", "missing.webm"));
+        assertNull(videoStreamService.findRecording("..", "secret.webm"));
+        assertNull(videoStreamService.findRecording("1700000000000-answer", "../../secret.webm"));
+        assertNull(videoStreamService.findRecording("1700000000000-answer", ".."));
+        assertNull(videoStreamService.findRecording("/tmp", "secret.webm"));
+    }
+
+    @Test
+    void findTranscodedRecording_replacesTheOriginal() throws IOException {
+        // Given
+        final File recordDir = new File(tempDir, "1700000000000-answer");
+        assertTrue(recordDir.mkdirs());
+        Files.writeString(new File(recordDir, "1700000000000-answer-compact.webm").toPath(), "video");
+        final VideoStreamService videoStreamService = new VideoStreamService(tempDir);
+
+        // When / Then
+        assertEquals("1700000000000-answer-compact.webm",
+                videoStreamService.findTranscodedRecording("1700000000000-answer", "1700000000000-answer.mp4").getName());
+        assertNull(videoStreamService.findTranscodedRecording("1700000000000-answer", "other.webm"));
+        assertNull(videoStreamService.findTranscodedRecording("..", "1700000000000-answer.mp4"));
+    }
+
+    @Test
+    void transfer_onlyTheRangeIsWritten() throws IOException {
+        // Given
+        final File recording = new File(tempDir, "recording.webm");
+        Files.writeString(recording.toPath(), "0123456789");
+        final VideoStreamService videoStreamService = new VideoStreamService(tempDir);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        final ByteRange range = ByteRange.parse("bytes=2-5", recording.length());
+        videoStreamService.transfer(recording, range, Channels.newChannel(outputStream));
+
+        // Then
+        assertEquals("2345", outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals("bytes 2-5/10", range.toContentRange(recording.length()));
+    }
+
+    @Test
+    void parseRange() {
+        // When / Then
+        assertNull(ByteRange.parse(null, 10));
+        assertNull(ByteRange.parse("bytes=0-1,4-5", 10));
+        assertNull(ByteRange.parse("bytes=5-2", 10));
+        assertEquals(7, ByteRange.parse("bytes=7-", 10).getStart());
+        assertEquals(9, ByteRange.parse("bytes=7-100", 10).getEnd());
+        assertEquals(6, ByteRange.parse("bytes=-4", 10).getStart());
+        assertEquals(10, ByteRange.parse("bytes=-40", 10).getLength());
+        assertThrows(RangeNotSatisfiableException.class, () -> ByteRange.parse("bytes=10-", 10));
+    }
+}
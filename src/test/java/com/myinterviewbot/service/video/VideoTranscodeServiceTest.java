@@ -0,0 +1,194 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.video;
+
+import com.myinterviewbot.model.InterviewEntry;
+import com.myinterviewbot.service.FfmpegService;
+import com.myinterviewbot.service.InterviewDataService;
+import com.myinterviewbot.service.WhisperService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class VideoTranscodeServiceTest {
+
+    private static final long ID = 1700000000000L;
+    private static final String RECORD = "1700000000000-answer";
+
+    private final FfmpegService ffmpegService = mock(FfmpegService.class);
+    private final WhisperService whisperService = mock(WhisperService.class);
+    // A mock, so the tests never change the history of the InterviewDataService singleton
+    private final InterviewDataService interviewDataService = mock(InterviewDataService.class);
+
+    @TempDir
+    File tempDir;
+
+    private File recordDir;
+    private VideoTranscodeService videoTranscodeService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        final File interviewsDir = new File(tempDir, "interviews");
+        recordDir = new File(interviewsDir, RECORD);
+        assertTrue(recordDir.mkdirs());
+        Files.write(new File(recordDir, RECORD + ".webm").toPath(), new byte[1000]);
+        Files.writeString(new File(recordDir, RECORD + ".wav").toPath(), "audio");
+        Files.writeString(new File(recordDir, RECORD + ".txt").toPath(), "my answer");
+        final InterviewEntry entry = new InterviewEntry();
+        entry.setTimestamp(ID);
+        entry.setVideoUrl("uploads/interviews/" + RECORD + "/" + RECORD + ".webm");
+        when(interviewDataService.getInterview(ID)).thenReturn(entry);
+        when(interviewDataService.updateVideo(eq(ID), anyString(), any(), anyLong(), anyLong())).thenReturn(true);
+
+        videoTranscodeService = createVideoTranscodeService(true);
+    }
+
+    @Test
+    void transcode_recordingIsReplaced() throws IOException {
+        // Given
+        mockTranscoding();
+
+        // When
+        videoTranscodeService.transcode(ID);
+
+        // Then
+        verify(interviewDataService).updateVideo(ID, "uploads/interviews/" + RECORD + "/" + RECORD + "-compact.webm",
+                "uploads/interviews/" + RECORD + "/" + RECORD + "-poster.jpg", 100, 1000);
+        // The original recording, the extracted audio and the whisper output are removed
+        final String[] files = recordDir.list();
+        Arrays.sort(files);
+        assertArrayEquals(new String[]{RECORD + "-compact.webm", RECORD + "-poster.jpg"}, files);
+    }
+
+    @Test
+    void transcode_originalIsKeptWithoutDeleteOriginal() throws IOException {
+        // Given
+        mockTranscoding();
+        videoTranscodeService = createVideoTranscodeService(false);
+
+        // When
+        videoTranscodeService.transcode(ID);
+
+        // Then
+        final String[] files = recordDir.list();
+        Arrays.sort(files);
+        assertArrayEquals(new String[]{RECORD + "-compact.webm", RECORD + "-poster.jpg", RECORD + ".webm"}, files);
+    }
+
+    @Test
+    void transcode_restartedAfterTranscription() throws IOException {
+        // Given
+        // An audio recording, without a thumbnail
+        when(ffmpegService.startThumbnail(any(File.class), any(File.class), anyInt())).thenReturn(new FakeProcess(1, false));
+        final FakeProcess stoppedProcess = new FakeProcess(0, true);
+        when(ffmpegService.startTranscode(any(File.class), any(File.class), anyList())).thenReturn(stoppedProcess).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, File.class).toPath(), new byte[100]);
+            return new FakeProcess(0, false);
+        });
+        // A transcription starts while the first transcoding is running
+        when(whisperService.isTranscribing()).thenReturn(false, false, true, true, false);
+
+        // When
+        videoTranscodeService.transcode(ID);
+
+        // Then
+        verify(ffmpegService, times(2)).startTranscode(any(File.class), any(File.class), eq(List.of("-c:v", "libvpx-vp9", "-c:a", "libopus")));
+        assertFalse(stoppedProcess.isAlive());
+        verify(interviewDataService).updateVideo(eq(ID), anyString(), isNull(), eq(100L), eq(1000L));
+    }
+
+    private VideoTranscodeService createVideoTranscodeService(final boolean deleteOriginal) {
+        return new VideoTranscodeService(ffmpegService, whisperService, new VideoStreamService(new File(tempDir, "interviews")),
+                null, interviewDataService, true, "-c:v libvpx-vp9 -c:a libopus", "webm", deleteOriginal, 10);
+    }
+
+    /**
+     * ffmpeg saves a thumbnail and a transcoded recording of 100 bytes.
+     */
+    private void mockTranscoding() throws IOException {
+        when(ffmpegService.startThumbnail(any(File.class), any(File.class), anyInt())).thenAnswer(invocation -> {
+            Files.writeString(invocation.getArgument(1, File.class).toPath(), "jpeg");
+            return new FakeProcess(0, false);
+        });
+        when(ffmpegService.startTranscode(any(File.class), any(File.class), anyList())).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, File.class).toPath(), new byte[100]);
+            return new FakeProcess(0, false);
+        });
+    }
+
+    /**
+     * A process that is finished, or runs until it is destroyed.
+     */
+    private static final class FakeProcess extends Process {
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final int exitValue;
+
+        private FakeProcess(final int exitValue, final boolean running) {
+            this.exitValue = exitValue;
+            if (!running) {
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            finished.await();
+            return exitValue;
+        }
+
+        @Override
+        public boolean waitFor(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return finished.await(timeout, unit);
+        }
+
+        @Override
+        public int exitValue() {
+            if (finished.getCount() > 0) {
+                throw new IllegalThreadStateException("Process is running");
+            }
+            return exitValue;
+        }
+
+        @Override
+        public void destroy() {
+            finished.countDown();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.whisper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Whisper worker used by the tests, speaks the protocol of {@link WhisperWorker} without loading a model.
+ * Files named "crash" make the worker exit, and files named "hang" are never answered.
+ *
+ * @author Alan Quintero
+ */
+public class FakeWhisperWorker {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(final String[] args) throws Exception {
+        final DataInputStream stdin = new DataInputStream(System.in);
+        final PrintStream stdout = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        // Output that is not JSON is ignored
+        stdout.println("Loading model...");
+        reply(stdout, 0, "ready", null);
+
+        String line;
+        while ((line = readLine(stdin)) != null) {
+            final JsonNode request = OBJECT_MAPPER.readTree(line);
+            final long id = request.path("id").asLong();
+            switch (request.path("type").asText()) {
+                case "ping" -> reply(stdout, id, "pong", null);
+                case "pcm" -> {
+                    long bytes = 0;
+                    int size;
+                    while ((size = stdin.readInt()) != 0) {
+                        stdin.readNBytes(size);
+                        bytes += size;
+                    }
+                    reply(stdout, id, "transcript", "pcm " + bytes + " bytes");
+                }
+                default -> {
+                    final String name = new File(request.path("file").asText()).getName();
+                    if (name.equals("crash")) {
+                        System.exit(1);
+                    }
+                    if (!name.equals("hang")) {
+                        reply(stdout, id, "transcript", "transcript of " + name);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reply(final PrintStream stdout, final long id, final String type, final String text) {
+        final ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.put("id", id);
+        response.put("type", type);
+        if (text != null) {
+            response.put("text", text);
+        }
+        stdout.println(response);
+    }
+
+    private static String readLine(final DataInputStream stdin) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = stdin.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        return b == -1 && line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+    }
+}
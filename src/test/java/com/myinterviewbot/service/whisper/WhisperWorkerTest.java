@@ -0,0 +1,93 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.service.whisper;
+
+import com.myinterviewbot.model.TranscriptStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WhisperWorkerTest {
+
+    // Runs FakeWhisperWorker with the same Java and classpath as the tests
+    private static final List<String> FAKE_WORKER_COMMAND = List.of(
+            ProcessHandle.current().info().command().orElse("java"),
+            "-cp", System.getProperty("java.class.path"),
+            FakeWhisperWorker.class.getName());
+
+    @Test
+    void transcribe_fileAndPcm() {
+        // Given
+        try (WhisperWorker whisperWorker = new WhisperWorker(FAKE_WORKER_COMMAND, 30_000, 30_000, 0)) {
+            final TranscriptStats stats = new TranscriptStats();
+
+            // When
+            final String fileTranscript = whisperWorker.transcribe(new File("answer.wav"), stats);
+            final String pcmTranscript = whisperWorker.transcribePcm(new ByteArrayInputStream(new byte[100_000]), stats);
+
+            // Then
+            assertEquals("transcript of answer.wav", fileTranscript);
+            assertEquals("pcm 100000 bytes", pcmTranscript);
+            // Both answers were transcribed by the same worker
+            assertEquals(0, whisperWorker.getRestarts());
+            assertTrue(whisperWorker.isRunning());
+        }
+    }
+
+    @Test
+    void transcribe_workerExitsAndIsRestarted() {
+        // Given
+        try (WhisperWorker whisperWorker = new WhisperWorker(FAKE_WORKER_COMMAND, 30_000, 30_000, 0)) {
+
+            // When
+            final String crashTranscript = whisperWorker.transcribe(new File("crash"));
+            final String transcript = whisperWorker.transcribe(new File("answer.wav"));
+
+            // Then
+            assertNull(crashTranscript);
+            assertEquals("transcript of answer.wav", transcript);
+            assertEquals(1, whisperWorker.getRestarts());
+        }
+    }
+
+    @Test
+    void transcribe_workerDoesNotAnswer() {
+        // Given
+        try (WhisperWorker whisperWorker = new WhisperWorker(FAKE_WORKER_COMMAND, 30_000, 1_000, 0)) {
+
+            // When
+            final String hangTranscript = whisperWorker.transcribe(new File("hang"));
+
+            // Then
+            // The worker is stopped, the next answer starts a new one
+            assertNull(hangTranscript);
+            assertFalse(whisperWorker.isRunning());
+            assertEquals("transcript of answer.wav", whisperWorker.transcribe(new File("answer.wav")));
+            assertEquals(1, whisperWorker.getRestarts());
+        }
+    }
+
+    @Test
+    void healthCheck_startsWorker() throws InterruptedException {
+        // Given
+        try (WhisperWorker whisperWorker = new WhisperWorker(FAKE_WORKER_COMMAND, 30_000, 30_000, 100)) {
+
+            // When
+            final long deadline = System.currentTimeMillis() + 30_000;
+            while (!whisperWorker.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            // Then
+            // The worker is started before the first answer
+            assertTrue(whisperWorker.isRunning());
+            assertEquals(0, whisperWorker.getRestarts());
+        }
+    }
+}
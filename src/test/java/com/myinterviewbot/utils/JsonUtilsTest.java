@@ -0,0 +1,83 @@
+/**
+ * Copyright 2025 Alan Quintero
+ * Source: https://github.com/alanquintero/myInterviewBot
+ */
+package com.myinterviewbot.utils;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myinterviewbot.model.Evaluation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonUtilsTest {
+
+    @Test
+    void createJsonSchema() {
+        // When
+        final ObjectNode schema = JsonUtils.createJsonSchema(Evaluation.class);
+
+        // Then
+        assertEquals("object", schema.get("type").asText());
+        assertEquals("integer", schema.get("properties").get("clarityScore").get("type").asText());
+        assertEquals("string", schema.get("properties").get("depthFeedback").get("type").asText());
+        assertEquals(10, schema.get("required").size());
+    }
+
+    @Test
+    void createJsonSchema_someFields() {
+        // When
+        final ObjectNode schema = JsonUtils.createJsonSchema(Evaluation.class, List.of("depthScore"));
+
+        // Then
+        assertEquals(1, schema.get("properties").size());
+        assertEquals("depthScore", schema.get("required").get(0).asText());
+    }
+
+    @Test
+    void repairJson_completeJson() {
+        // Given
+        final String text = "Here is the evaluation: {\"clarityScore\": 7, \"clarityFeedback\": \"Clear {answer}\"} Hope it helps! {}";
+
+        // When
+        final String json = JsonUtils.repairJson(text);
+
+        // Then
+        assertEquals("{\"clarityScore\": 7, \"clarityFeedback\": \"Clear {answer}\"}", json);
+    }
+
+    @Test
+    void repairJson_textEndsInsideString() {
+        // Given
+        final String text = "{\"clarityScore\": 7, \"clarityFeedback\": \"Clear but";
+
+        // When
+        final String json = JsonUtils.repairJson(text);
+
+        // Then
+        assertEquals("{\"clarityScore\": 7, \"clarityFeedback\": \"Clear but\"}", json);
+    }
+
+    @Test
+    void repairJson_textEndsAfterFieldName() {
+        // Given
+        final String text = "{\"clarityScore\": 7, \"structureScore\": [1, 2], \"clarityFeedback\":";
+
+        // When
+        final String json = JsonUtils.repairJson(text);
+
+        // Then
+        assertEquals("{\"clarityScore\": 7, \"structureScore\": [1, 2]}", json);
+    }
+
+    @Test
+    void repairJson_noJson() {
+        // When
+        final String json = JsonUtils.repairJson("I cannot evaluate this answer.");
+
+        // Then
+        assertNull(json);
+    }
+}
@@ -5,6 +5,11 @@
 package com.myinterviewbot.utils;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -81,6 +86,36 @@ public class UtilsTest {
         assertEquals(0, words);
     }
 
+    @Test
+    void truncateAtSentence() {
+        // Given
+        final String text = "Tell me about a time you led a team. What was the result? And what would you change";
+
+        // When
+        final String truncatedText = Utils.truncateAtSentence(text, 13);
+
+        // Then
+        assertEquals("Tell me about a time you led a team. What was the result?", truncatedText);
+    }
+
+    @Test
+    void truncateAtSentence_textIsShortEnough() {
+        // When
+        final String truncatedText = Utils.truncateAtSentence(" hello this is a test ", 5);
+
+        // Then
+        assertEquals("hello this is a test", truncatedText);
+    }
+
+    @Test
+    void truncateAtSentence_noSentenceWithinMaxWords() {
+        // When
+        final String truncatedText = Utils.truncateAtSentence("hello this is a very long test.", 5);
+
+        // Then
+        assertEquals("", truncatedText);
+    }
+
     @Test
     void removeQuotes() {
         // Given
@@ -272,4 +307,35 @@ public class UtilsTest {
         // Then
         assertEquals(text, question);
     }
+
+    @Test
+    void getPcmDataOffset_wavInWhisperFormat(@TempDir final File tempDir) throws IOException {
+        // Given
+        final File wavFile = new File(tempDir, "answer.wav");
+        Utils.writeWav(wavFile, new byte[3200], 3200, 16000);
+
+        // When
+        final long offset = Utils.getPcmDataOffset(wavFile);
+
+        // Then
+        assertEquals(44, offset);
+        assertEquals(44 + 3200, wavFile.length());
+    }
+
+    @Test
+    void getPcmDataOffset_otherFormats(@TempDir final File tempDir) throws IOException {
+        // Given
+        final File wavFile = new File(tempDir, "answer.wav");
+        Utils.writeWav(wavFile, new byte[3200], 3200, 44100);
+        final File webmFile = new File(tempDir, "answer.webm");
+        Files.write(webmFile.toPath(), new byte[100]);
+        final File notWavFile = new File(tempDir, "other.wav");
+        Files.write(notWavFile.toPath(), new byte[100]);
+
+        // When / Then
+        // Only 16 kHz WAV files can be transcribed without ffmpeg
+        assertEquals(-1, Utils.getPcmDataOffset(wavFile));
+        assertEquals(-1, Utils.getPcmDataOffset(webmFile));
+        assertEquals(-1, Utils.getPcmDataOffset(notWavFile));
+    }
 }